@@ -0,0 +1,42 @@
+package net.coderodde.graph.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, which reports the
+ * allocation rate and the bytes allocated per operation, and writes the
+ * results as JSON to {@code jmh-result.json} for comparing versions. Accepts
+ * the usual JMH command line options, which take precedence; for example,
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar Traversal -p nodes=10000 -rff v1.6.json
+ * </pre>
+ * runs the traversal benchmarks on the small graphs only and writes the
+ * results to {@code v1.6.json}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args)
+    throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(commandLine.getResultFormat()
+                                         .orElse(ResultFormatType.JSON))
+                .result(commandLine.getResult().orElse("jmh-result.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
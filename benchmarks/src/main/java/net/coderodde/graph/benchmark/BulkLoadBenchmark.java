@@ -0,0 +1,84 @@
+package net.coderodde.graph.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.CompressedGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building a whole graph from an edge list, both edge by edge and
+ * through the bulk loader, as well as freezing a built graph.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkLoadBenchmark {
+
+    @Param({ "POWER_LAW", "GRID" })
+    public GraphShape shape;
+
+    @Param({ "10000", "1000000" })
+    public int nodes;
+
+    @Param({ "true", "false" })
+    public boolean directed;
+
+    private SyntheticGraph synthetic;
+    private AbstractGraph built;
+
+    @Setup
+    public void setUp() {
+        synthetic = SyntheticGraph.generate(shape, nodes, 1L);
+        built = synthetic.build(directed);
+    }
+
+    private AbstractGraph newGraph() {
+        return directed ? new DirectedGraph() : new UndirectedGraph();
+    }
+
+    @Benchmark
+    public AbstractGraph addEdgeLoop() {
+        AbstractGraph graph = newGraph();
+        int[] tails = synthetic.getTailNodeIds();
+        int[] heads = synthetic.getHeadNodeIds();
+        double[] weights = synthetic.getWeights();
+
+        for (int i = 0; i < tails.length; ++i) {
+            graph.addEdge(tails[i], heads[i], weights[i]);
+        }
+
+        return graph;
+    }
+
+    @Benchmark
+    public AbstractGraph addEdges() {
+        AbstractGraph graph = newGraph();
+        graph.addEdges(synthetic.getTailNodeIds(),
+                       synthetic.getHeadNodeIds(),
+                       synthetic.getWeights());
+        return graph;
+    }
+
+    @Benchmark
+    public CompressedGraph freeze() {
+        return built.freeze();
+    }
+}
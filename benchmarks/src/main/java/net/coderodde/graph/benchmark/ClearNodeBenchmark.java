@@ -0,0 +1,104 @@
+package net.coderodde.graph.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.AbstractGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures clearing and removing the node of the highest degree of a
+ * power-law graph. The edges of the hub are restored before each invocation,
+ * outside of the measured time.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClearNodeBenchmark {
+
+    @Param({ "10000", "1000000" })
+    public int nodes;
+
+    @Param({ "true", "false" })
+    public boolean directed;
+
+    private AbstractGraph graph;
+    private int hubNodeId;
+    private int[] tails;
+    private int[] heads;
+    private double[] weights;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        SyntheticGraph synthetic =
+                SyntheticGraph.generate(GraphShape.POWER_LAW,
+                                        nodes,
+                                        1L);
+        graph = synthetic.build(directed);
+        int maximumDegree = -1;
+
+        for (int nodeId : graph.getAllNodes()) {
+            int degree = graph.getNumberOfChildren(nodeId) +
+                         graph.getNumberOfParents(nodeId);
+
+            if (degree > maximumDegree) {
+                maximumDegree = degree;
+                hubNodeId = nodeId;
+            }
+        }
+
+        // Remember the incident edges of the hub as an edge list.
+        int[] ends = new int[maximumDegree];
+        int parents = 0;
+
+        for (int parentId : graph.getParentsOf(hubNodeId)) {
+            ends[parents++] = parentId;
+        }
+
+        int i = parents;
+
+        for (int childId : graph.getChildrenOf(hubNodeId)) {
+            ends[i++] = childId;
+        }
+
+        tails = new int[i];
+        heads = new int[i];
+        weights = new double[i];
+
+        for (int j = 0; j < i; ++j) {
+            tails[j] = j < parents ? ends[j] : hubNodeId;
+            heads[j] = j < parents ? hubNodeId : ends[j];
+            weights[j] = graph.getEdgeWeight(tails[j], heads[j]);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void restoreHub() {
+        graph.addEdges(tails, heads, weights);
+    }
+
+    @Benchmark
+    public boolean clearNode() {
+        return graph.clearNode(hubNodeId);
+    }
+
+    @Benchmark
+    public boolean removeNode() {
+        return graph.removeNode(hubNodeId);
+    }
+}
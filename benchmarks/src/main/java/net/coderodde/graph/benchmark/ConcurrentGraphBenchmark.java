@@ -0,0 +1,105 @@
+package net.coderodde.graph.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.ConcurrentDirectedGraph;
+import net.coderodde.graph.DirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the mixed read/write throughput of {@link ConcurrentDirectedGraph}
+ * against a {@link DirectedGraph} guarded by a single lock. All threads share
+ * one graph; each operation is an edge lookup with the probability
+ * {@link #READ_PERCENTAGE} percent and an edge insertion otherwise. The number
+ * of threads defaults to the number of processors and may be changed with the
+ * {@code -t} option.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class ConcurrentGraphBenchmark {
+
+    private static final int NODES = 1_000_000;
+
+    /**
+     * The percentage of reads in the workload.
+     */
+    private static final int READ_PERCENTAGE = 80;
+
+    @Param({ "synchronized", "concurrent" })
+    public String implementation;
+
+    private AbstractGraph graph;
+
+    @Setup
+    public void setUp() {
+        graph = implementation.equals("concurrent") ?
+                new ConcurrentDirectedGraph() :
+                new SynchronizedGraph();
+    }
+
+    /**
+     * Holds the random number generator of a single thread.
+     */
+    @State(Scope.Thread)
+    public static class Worker {
+
+        private static int seeds;
+
+        Random random;
+
+        @Setup
+        public void setUp() {
+            synchronized (Worker.class) {
+                random = new Random(seeds++);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean mixed(Worker worker) {
+        int tail = worker.random.nextInt(NODES);
+        int head = worker.random.nextInt(NODES);
+
+        return worker.random.nextInt(100) < READ_PERCENTAGE ?
+               graph.hasEdge(tail, head) :
+               graph.addEdge(tail, head);
+    }
+
+    /**
+     * Serializes all operations of a directed graph on a single monitor.
+     */
+    private static final class SynchronizedGraph extends DirectedGraph {
+
+        @Override
+        public synchronized boolean addEdge(int tailNodeId,
+                                            int headNodeId,
+                                            double weight) {
+            return super.addEdge(tailNodeId, headNodeId, weight);
+        }
+
+        @Override
+        public synchronized boolean hasEdge(int tailNodeId, int headNodeId) {
+            return super.hasEdge(tailNodeId, headNodeId);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package net.coderodde.graph.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.AbstractGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the single-edge and single-node operations of the mutable graphs.
+ * Each invocation works on the next entry of a pre-generated query array, so
+ * the lookups are spread over the whole graph. The mutating benchmarks undo
+ * their change within the same invocation, which keeps the graph stable.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphOperationBenchmark {
+
+    private static final int QUERIES = 1 << 12;
+
+    @Param({ "POWER_LAW", "GRID" })
+    public GraphShape shape;
+
+    @Param({ "10000", "1000000" })
+    public int nodes;
+
+    @Param({ "true", "false" })
+    public boolean directed;
+
+    private AbstractGraph graph;
+    private final int[] edgeTails = new int[QUERIES];
+    private final int[] edgeHeads = new int[QUERIES];
+    private final int[] randomTails = new int[QUERIES];
+    private final int[] randomHeads = new int[QUERIES];
+    private final int[] isolatedNodeIds = new int[QUERIES];
+    private final int[] freshNodeIds = new int[QUERIES];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        SyntheticGraph synthetic = SyntheticGraph.generate(shape, nodes, 1L);
+        graph = synthetic.build(directed);
+        Random random = new Random(2L);
+        int n = synthetic.getNumberOfNodes();
+
+        for (int i = 0; i < QUERIES; ++i) {
+            int edge = random.nextInt(synthetic.getNumberOfEdges());
+            edgeTails[i] = synthetic.getTailNodeIds()[edge];
+            edgeHeads[i] = synthetic.getHeadNodeIds()[edge];
+            randomTails[i] = random.nextInt(n);
+            randomHeads[i] = random.nextInt(n);
+            isolatedNodeIds[i] = n + i;
+            freshNodeIds[i] = n + QUERIES + i;
+            graph.addNode(isolatedNodeIds[i]);
+        }
+    }
+
+    private int next() {
+        return query = (query + 1) & (QUERIES - 1);
+    }
+
+    @Benchmark
+    public boolean hasEdgeHit() {
+        int i = next();
+        return graph.hasEdge(edgeTails[i], edgeHeads[i]);
+    }
+
+    @Benchmark
+    public boolean hasEdgeRandom() {
+        int i = next();
+        return graph.hasEdge(randomTails[i], randomHeads[i]);
+    }
+
+    @Benchmark
+    public double getEdgeWeight() {
+        int i = next();
+        return graph.getEdgeWeight(edgeTails[i], edgeHeads[i]);
+    }
+
+    @Benchmark
+    public boolean updateEdgeWeight() {
+        int i = next();
+        return graph.addEdge(edgeTails[i], edgeHeads[i], query & 7);
+    }
+
+    @Benchmark
+    public boolean addAndRemoveEdge() {
+        int i = next();
+        graph.addEdge(randomTails[i], isolatedNodeIds[i]);
+        return graph.removeEdge(randomTails[i], isolatedNodeIds[i]);
+    }
+
+    @Benchmark
+    public boolean addAndRemoveNode() {
+        int i = next();
+        graph.addNode(freshNodeIds[i]);
+        return graph.removeNode(freshNodeIds[i]);
+    }
+
+    @Benchmark
+    public int getNumberOfChildren() {
+        return graph.getNumberOfChildren(randomTails[next()]);
+    }
+}
@@ -0,0 +1,21 @@
+package net.coderodde.graph.benchmark;
+
+/**
+ * This enumeration lists the shapes of the synthetic graphs generated by
+ * {@link SyntheticGraph}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public enum GraphShape {
+
+    /**
+     * A preferential attachment graph with a power-law degree distribution.
+     */
+    POWER_LAW,
+
+    /**
+     * A square lattice.
+     */
+    GRID
+}
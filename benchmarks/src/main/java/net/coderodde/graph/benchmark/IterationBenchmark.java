@@ -0,0 +1,118 @@
+package net.coderodde.graph.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.IntDoubleConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures visiting every edge of a graph through the boxed set views and
+ * through the primitive visitor, on the mutable graph and on its compressed
+ * copy.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IterationBenchmark {
+
+    @Param({ "POWER_LAW", "GRID" })
+    public GraphShape shape;
+
+    @Param({ "10000", "1000000" })
+    public int nodes;
+
+    @Param({ "true", "false" })
+    public boolean directed;
+
+    private AbstractGraph graph;
+    private AbstractGraph frozen;
+    private int[] nodeIds;
+    private final WeightSum weightSum = new WeightSum();
+
+    /**
+     * Sums the weights passed to it.
+     */
+    private static final class WeightSum implements IntDoubleConsumer {
+
+        double sum;
+
+        @Override
+        public void accept(int nodeId, double weight) {
+            sum += weight;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        graph = SyntheticGraph.generate(shape, nodes, 1L).build(directed);
+        frozen = graph.freeze();
+        nodeIds = new int[graph.size()];
+        int i = 0;
+
+        for (int nodeId : graph.getAllNodes()) {
+            nodeIds[i++] = nodeId;
+        }
+    }
+
+    @Benchmark
+    public long childrenSetViews() {
+        long sum = 0L;
+
+        for (Integer nodeId : graph.getAllNodes()) {
+            for (Integer childId : graph.getChildrenOf(nodeId)) {
+                sum += childId;
+            }
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public double forEachChild() {
+        return sumWeights(graph);
+    }
+
+    @Benchmark
+    public double forEachChildFrozen() {
+        return sumWeights(frozen);
+    }
+
+    @Benchmark
+    public long parentSetViews() {
+        long sum = 0L;
+
+        for (int nodeId : nodeIds) {
+            for (Integer parentId : graph.getParentsOf(nodeId)) {
+                sum += parentId;
+            }
+        }
+
+        return sum;
+    }
+
+    private double sumWeights(AbstractGraph graph) {
+        weightSum.sum = 0.0;
+
+        for (int nodeId : nodeIds) {
+            graph.forEachChild(nodeId, weightSum);
+        }
+
+        return weightSum.sum;
+    }
+}
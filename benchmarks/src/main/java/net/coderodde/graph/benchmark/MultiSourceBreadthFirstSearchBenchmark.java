@@ -0,0 +1,129 @@
+package net.coderodde.graph.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.CompressedGraph;
+import net.coderodde.graph.traversal.MultiSourceBreadthFirstSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the multi-source breadth-first search against one array-based
+ * breadth-first search per source over the same compressed graph. Each
+ * invocation sums up the hop distances from all {@link #SOURCES} random
+ * sources. The batch size of the multi-source search is a parameter of the
+ * multi-source benchmark only.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class MultiSourceBreadthFirstSearchBenchmark {
+
+    private static final int SOURCES = 512;
+
+    @Param({ "POWER_LAW", "GRID" })
+    public GraphShape shape;
+
+    @Param({ "200000" })
+    public int nodes;
+
+    private CompressedGraph graph;
+    private final int[] sourceNodeIds = new int[SOURCES];
+    private int[] distances;
+    private int[] queue;
+
+    @Setup
+    public void setUp() {
+        SyntheticGraph synthetic = SyntheticGraph.generate(shape, nodes, 1L);
+        graph = synthetic.build(true).freeze();
+        distances = new int[graph.size()];
+        queue = new int[graph.size()];
+        Random random = new Random(4L);
+
+        for (int i = 0; i < SOURCES; ++i) {
+            sourceNodeIds[i] = graph.getNodeId(random.nextInt(graph.size()));
+        }
+    }
+
+    /**
+     * Holds the multi-source search with the batch size under test.
+     */
+    @State(Scope.Thread)
+    public static class Batch {
+
+        @Param({ "64", "128", "256" })
+        public int batchSize;
+
+        MultiSourceBreadthFirstSearch search;
+
+        @Setup
+        public void setUp(MultiSourceBreadthFirstSearchBenchmark benchmark) {
+            search = new MultiSourceBreadthFirstSearch(benchmark.graph);
+            search.setBatchSize(batchSize);
+        }
+    }
+
+    @Benchmark
+    public long singleSource() {
+        long sum = 0L;
+
+        for (int sourceNodeId : sourceNodeIds) {
+            sum += breadthFirstSearch(graph.indexOf(sourceNodeId));
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long multiSource(Batch batch) {
+        long[] sum = new long[1];
+        batch.search.search(sourceNodeIds, (source, nodeId, distance) -> {
+            sum[0] += distance;
+        });
+        return sum[0];
+    }
+
+    /**
+     * Returns the sum of the hop distances from the node with index
+     * {@code source}.
+     */
+    private long breadthFirstSearch(int source) {
+        Arrays.fill(distances, -1);
+        distances[source] = 0;
+        queue[0] = source;
+        long sum = 0L;
+
+        for (int head = 0, tail = 1; head < tail; ++head) {
+            int node = queue[head];
+            int end = graph.getChildOffset(node + 1);
+
+            for (int p = graph.getChildOffset(node); p < end; ++p) {
+                int child = graph.getChildIndex(p);
+
+                if (distances[child] < 0) {
+                    distances[child] = distances[node] + 1;
+                    sum += distances[child];
+                    queue[tail++] = child;
+                }
+            }
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,141 @@
+package net.coderodde.graph.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.pathfinding.AStarPathFinder;
+import net.coderodde.graph.pathfinding.BidirectionalPathFinder;
+import net.coderodde.graph.pathfinding.DijkstraPathFinder;
+import net.coderodde.graph.pathfinding.Heuristic;
+import net.coderodde.graph.pathfinding.PathFinder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the point-to-point path finders on a road-like graph: a grid with
+ * random coordinate jitter, where each edge is somewhat longer than the
+ * straight line between its end nodes, so that the Euclidean distance is an
+ * admissible heuristic. Besides the latency per query, the secondary result
+ * {@code settled} reports how many nodes the queries of each iteration
+ * settled in total, which shows how much the heuristic and the second search
+ * direction shrink the search space.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathFinderBenchmark {
+
+    private static final int QUERIES = 1 << 10;
+
+    @Param({ "DIJKSTRA", "A_STAR", "BIDIRECTIONAL", "BIDIRECTIONAL_A_STAR" })
+    public String finder;
+
+    @Param({ "300" })
+    public int side;
+
+    private PathFinder pathFinder;
+    private final int[] sources = new int[QUERIES];
+    private final int[] targets = new int[QUERIES];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1L);
+        double[] x = new double[side * side];
+        double[] y = new double[side * side];
+
+        for (int i = 0; i < x.length; ++i) {
+            x[i] = i % side + 0.4 * random.nextDouble();
+            y[i] = i / side + 0.4 * random.nextDouble();
+        }
+
+        DirectedGraph graph = new DirectedGraph();
+
+        for (int i = 0; i < x.length; ++i) {
+            if (i % side + 1 < side) {
+                connect(graph, x, y, i, i + 1, random);
+            }
+
+            if (i + side < x.length) {
+                connect(graph, x, y, i, i + side, random);
+            }
+        }
+
+        Heuristic euclidean = (u, v) -> Math.hypot(x[u] - x[v], y[u] - y[v]);
+
+        switch (finder) {
+            case "A_STAR":
+                pathFinder = new AStarPathFinder(graph, euclidean);
+                break;
+
+            case "BIDIRECTIONAL":
+                pathFinder = new BidirectionalPathFinder(graph);
+                break;
+
+            case "BIDIRECTIONAL_A_STAR":
+                pathFinder = new BidirectionalPathFinder(graph, euclidean);
+                break;
+
+            default:
+                pathFinder = new DijkstraPathFinder(graph);
+                break;
+        }
+
+        for (int i = 0; i < QUERIES; ++i) {
+            sources[i] = random.nextInt(x.length);
+            targets[i] = random.nextInt(x.length);
+        }
+    }
+
+    /**
+     * Counts the nodes settled by the queries of an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Settled {
+
+        public long settled;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            settled = 0L;
+        }
+    }
+
+    @Benchmark
+    public double getDistance(Settled counter) {
+        int i = query = (query + 1) & (QUERIES - 1);
+        double distance = pathFinder.getDistance(sources[i], targets[i]);
+        counter.settled += pathFinder.getSettledCount();
+        return distance;
+    }
+
+    private static void connect(DirectedGraph graph,
+                                double[] x,
+                                double[] y,
+                                int u,
+                                int v,
+                                Random random) {
+        double length = Math.hypot(x[u] - x[v], y[u] - y[v]) *
+                        (1.0 + 0.5 * random.nextDouble());
+        graph.addEdge(u, v, length);
+        graph.addEdge(v, u, length);
+    }
+}
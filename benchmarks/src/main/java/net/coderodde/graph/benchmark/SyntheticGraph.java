@@ -0,0 +1,136 @@
+package net.coderodde.graph.benchmark;
+
+import java.util.Random;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+
+/**
+ * This class generates the edge lists of the synthetic graphs used by the
+ * benchmarks. The power-law graphs follow the preferential attachment model:
+ * each new node links to {@link #ATTACHMENT} earlier nodes picked with a
+ * probability proportional to their degree, which produces a few hubs and a
+ * long tail of low-degree nodes. The grids are square lattices, the typical
+ * shape of road networks. Weights are drawn uniformly from {@code [1, 10)}. A
+ * generator with the same arguments always produces the same graph.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class SyntheticGraph {
+
+    /**
+     * The number of edges each new node of a power-law graph adds.
+     */
+    static final int ATTACHMENT = 4;
+
+    private final int nodes;
+    private final int[] tailNodeIds;
+    private final int[] headNodeIds;
+    private final double[] weights;
+
+    private SyntheticGraph(int nodes, int edges) {
+        this.nodes = nodes;
+        this.tailNodeIds = new int[edges];
+        this.headNodeIds = new int[edges];
+        this.weights = new double[edges];
+    }
+
+    /**
+     * Generates a graph of shape {@code shape} with approximately
+     * {@code nodes} nodes. The nodes are numbered from zero.
+     *
+     * @param shape the shape of the graph.
+     * @param nodes the requested number of nodes.
+     * @param seed  the seed of the generator.
+     * @return the generated graph.
+     */
+    static SyntheticGraph generate(GraphShape shape, int nodes, long seed) {
+        Random random = new Random(seed);
+        return shape == GraphShape.GRID ?
+               grid((int) Math.sqrt(nodes), random) :
+               powerLaw(nodes, random);
+    }
+
+    private static SyntheticGraph powerLaw(int nodes, Random random) {
+        SyntheticGraph graph =
+                new SyntheticGraph(nodes, (nodes - ATTACHMENT) * ATTACHMENT);
+        int edge = 0;
+
+        for (int nodeId = ATTACHMENT; nodeId < nodes; ++nodeId) {
+            // The edges of the earlier nodes.
+            final int earlierEdges = edge;
+
+            for (int i = 0; i < ATTACHMENT; ++i) {
+                // Picking an endpoint of a uniformly chosen earlier edge picks
+                // a node with a probability proportional to its degree.
+                int target = earlierEdges == 0 ?
+                             random.nextInt(nodeId) :
+                             random.nextBoolean() ?
+                             graph.tailNodeIds[random.nextInt(earlierEdges)] :
+                             graph.headNodeIds[random.nextInt(earlierEdges)];
+                graph.set(edge++, nodeId, target, random);
+            }
+        }
+
+        return graph;
+    }
+
+    private static SyntheticGraph grid(int side, Random random) {
+        SyntheticGraph graph =
+                new SyntheticGraph(side * side, 2 * side * (side - 1));
+        int edge = 0;
+
+        for (int nodeId = 0; nodeId < side * side; ++nodeId) {
+            if (nodeId % side + 1 < side) {
+                graph.set(edge++, nodeId, nodeId + 1, random);
+            }
+
+            if (nodeId + side < side * side) {
+                graph.set(edge++, nodeId, nodeId + side, random);
+            }
+        }
+
+        return graph;
+    }
+
+    private void set(int edge, int tailNodeId, int headNodeId, Random random) {
+        tailNodeIds[edge] = tailNodeId;
+        headNodeIds[edge] = headNodeId;
+        weights[edge] = 1.0 + 9.0 * random.nextDouble();
+    }
+
+    /**
+     * Returns a new graph holding the edges of this synthetic graph.
+     *
+     * @param directed whether to build a directed graph.
+     * @return the new graph.
+     */
+    AbstractGraph build(boolean directed) {
+        AbstractGraph graph = directed ?
+                              new DirectedGraph() :
+                              new UndirectedGraph();
+        graph.addEdges(tailNodeIds, headNodeIds, weights);
+        return graph;
+    }
+
+    int getNumberOfNodes() {
+        return nodes;
+    }
+
+    int getNumberOfEdges() {
+        return tailNodeIds.length;
+    }
+
+    int[] getTailNodeIds() {
+        return tailNodeIds;
+    }
+
+    int[] getHeadNodeIds() {
+        return headNodeIds;
+    }
+
+    double[] getWeights() {
+        return weights;
+    }
+}
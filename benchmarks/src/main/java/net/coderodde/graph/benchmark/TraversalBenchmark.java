@@ -0,0 +1,88 @@
+package net.coderodde.graph.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.pathfinding.DijkstraPathFinder;
+import net.coderodde.graph.pathfinding.ShortestPathTree;
+import net.coderodde.graph.traversal.BreadthFirstTree;
+import net.coderodde.graph.traversal.ParallelBreadthFirstSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the breadth-first search and Dijkstra's algorithm from random
+ * sources. The search objects are built once, so the measured time excludes
+ * freezing the graph.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraversalBenchmark {
+
+    private static final int SOURCES = 64;
+
+    @Param({ "POWER_LAW", "GRID" })
+    public GraphShape shape;
+
+    @Param({ "10000", "1000000" })
+    public int nodes;
+
+    @Param({ "true", "false" })
+    public boolean directed;
+
+    private ParallelBreadthFirstSearch breadthFirstSearch;
+    private DijkstraPathFinder dijkstra;
+    private final int[] sources = new int[SOURCES];
+    private final int[] targets = new int[SOURCES];
+    private int query;
+
+    @Setup
+    public void setUp() {
+        SyntheticGraph synthetic = SyntheticGraph.generate(shape, nodes, 1L);
+        AbstractGraph graph = synthetic.build(directed);
+        breadthFirstSearch = new ParallelBreadthFirstSearch(graph);
+        dijkstra = new DijkstraPathFinder(graph);
+        Random random = new Random(3L);
+
+        for (int i = 0; i < SOURCES; ++i) {
+            sources[i] = random.nextInt(synthetic.getNumberOfNodes());
+            targets[i] = random.nextInt(synthetic.getNumberOfNodes());
+        }
+    }
+
+    private int next() {
+        return query = (query + 1) % SOURCES;
+    }
+
+    @Benchmark
+    public BreadthFirstTree breadthFirstSearch() {
+        return breadthFirstSearch.search(sources[next()]);
+    }
+
+    @Benchmark
+    public ShortestPathTree dijkstraTree() {
+        return dijkstra.computeTree(sources[next()]);
+    }
+
+    @Benchmark
+    public double dijkstraPointToPoint() {
+        int i = next();
+        return dijkstra.getDistance(sources[i], targets[i]);
+    }
+}
@@ -0,0 +1,767 @@
+package net.coderodde.graph;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This abstract class implements the lock striping shared by the thread-safe
+ * graphs. The nodes are partitioned into stripes by the hash of their IDs, and
+ * each stripe guards the node table and the adjacency of its nodes with its
+ * own read-write lock. Queries take the read lock of a single stripe, so they
+ * run in parallel with each other and with the writers of the other stripes.
+ * An edge operation locks the stripes of both of its end nodes, always in the
+ * ascending order of the stripe indices, which rules out deadlocks.
+ * Operations spanning many nodes, such as {@link #clearNode(int)}, lock all
+ * the stripes they touch in the same order.
+ * <p>
+ * The counters are kept in {@link java.util.concurrent.atomic.LongAdder}s so
+ * that the writers do not contend on them.
+ * <p>
+ * {@link #getChildrenOf(int)}, {@link #getParentsOf(int)} and
+ * {@link #getAllNodes()} return snapshots sorted by node ID rather than live
+ * views. The consumers passed to
+ * {@link #forEachChild(int, IntDoubleConsumer)} and
+ * {@link #forEachParent(int, IntDoubleConsumer)} visit a copy of the row
+ * taken under the read lock of a stripe, and run after the lock is released;
+ * they may thus query and even modify this graph without deadlocking, but do
+ * not see the changes made meanwhile.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+abstract class AbstractConcurrentGraph extends AbstractGraph {
+
+    /**
+     * The default number of stripes per available processor.
+     */
+    private static final int STRIPES_PER_PROCESSOR = 4;
+
+    private static final int MINIMUM_STRIPES = 16;
+
+    /**
+     * Holds the nodes of a single stripe.
+     */
+    static final class Stripe {
+
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * The position of this stripe, which defines the locking order.
+         */
+        final int index;
+
+        /**
+         * Maps each node of this stripe to its children.
+         */
+        final IntObjectHashMap<IntDoubleHashMap> children =
+                new IntObjectHashMap<>();
+
+        /**
+         * Maps each node of this stripe to its parents. In undirected graphs
+         * this is the same map as {@link #children}.
+         */
+        final IntObjectHashMap<IntDoubleHashMap> parents;
+
+        Stripe(int index, boolean directed) {
+            this.index = index;
+            this.parents = directed ? new IntObjectHashMap<>() : children;
+        }
+    }
+
+    final Stripe[] stripes;
+    private final int mask;
+    private final boolean directed;
+
+    final LongAdder nodeCounter = new LongAdder();
+    final LongAdder edgeCounter = new LongAdder();
+    final LongAdder modificationCounter = new LongAdder();
+
+    /**
+     * Constructs an empty graph.
+     *
+     * @param directed         {@code true} for a directed graph.
+     * @param concurrencyLevel the expected number of concurrently mutating
+     *                         threads, or zero for the default. The number of
+     *                         stripes is the smallest power of two not below
+     *                         this value.
+     */
+    AbstractConcurrentGraph(boolean directed, int concurrencyLevel) {
+        if (concurrencyLevel < 0) {
+            throw new IllegalArgumentException(
+                    "Negative concurrency level: " + concurrencyLevel + ".");
+        }
+
+        if (concurrencyLevel == 0) {
+            concurrencyLevel = Math.max(
+                    MINIMUM_STRIPES,
+                    STRIPES_PER_PROCESSOR *
+                    Runtime.getRuntime().availableProcessors());
+        }
+
+        int stripeCount = Integer.highestOneBit(concurrencyLevel);
+
+        if (stripeCount < concurrencyLevel) {
+            stripeCount <<= 1;
+        }
+
+        this.directed = directed;
+        this.stripes = new Stripe[stripeCount];
+        this.mask = stripeCount - 1;
+
+        for (int i = 0; i < stripeCount; ++i) {
+            stripes[i] = new Stripe(i, directed);
+        }
+    }
+
+    /**
+     * Returns {@code true} if edges from {@code tailNodeId} to
+     * {@code headNodeId} may be added to this graph.
+     *
+     * @param tailNodeId the tail node.
+     * @param headNodeId the head node.
+     * @return {@code true} if such an edge is allowed.
+     */
+    abstract boolean allowsEdge(int tailNodeId, int headNodeId);
+
+    /**
+     * Returns the index of the stripe holding {@code nodeId}.
+     *
+     * @param nodeId the node ID.
+     * @return the stripe index.
+     */
+    final int stripeOf(int nodeId) {
+        return AbstractIntHashMap.hash(nodeId) & mask;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int size() {
+        return nodeCounter.intValue();
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return edgeCounter.intValue();
+    }
+
+    @Override
+    public int getModificationCount() {
+        return modificationCounter.intValue();
+    }
+
+    @Override
+    public boolean addNode(int nodeId) {
+        final Stripe stripe = stripes[stripeOf(nodeId)];
+        stripe.lock.writeLock().lock();
+
+        try {
+            if (!createNode(stripe, nodeId)) {
+                return false;
+            }
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+
+        modificationCounter.increment();
+        return true;
+    }
+
+    @Override
+    public boolean hasNode(int nodeId) {
+        final Stripe stripe = stripes[stripeOf(nodeId)];
+        stripe.lock.readLock().lock();
+
+        try {
+            return stripe.children.containsKey(nodeId);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean clearNode(int nodeId) {
+        return clearNode(nodeId, false);
+    }
+
+    @Override
+    public boolean removeNode(int nodeId) {
+        return clearNode(nodeId, true);
+    }
+
+    @Override
+    public boolean addEdge(int tailNodeId, int headNodeId, double weight) {
+        if (!allowsEdge(tailNodeId, headNodeId)) {
+            return false;
+        }
+
+        final Stripe tailStripe = stripes[stripeOf(tailNodeId)];
+        final Stripe headStripe = stripes[stripeOf(headNodeId)];
+        lockPair(tailStripe, headStripe);
+        int mod = 0;
+        boolean added = false;
+
+        try {
+            if (createNode(tailStripe, tailNodeId)) {
+                mod++;
+            }
+
+            if (createNode(headStripe, headNodeId)) {
+                mod++;
+            }
+
+            final IntDoubleHashMap children =
+                    tailStripe.children.get(tailNodeId);
+            final int index = children.indexOf(headNodeId);
+
+            if (index >= 0) {
+                final double oldWeight = children.valueAt(index);
+                children.setValueAt(index, weight);
+                headStripe.parents.get(headNodeId).put(tailNodeId, weight);
+
+                if (oldWeight != weight) {
+                    mod++;
+                }
+            } else {
+                children.putAbsent(headNodeId, weight);
+                headStripe.parents.get(headNodeId).putAbsent(tailNodeId,
+                                                             weight);
+                added = true;
+                mod++;
+            }
+        } finally {
+            unlockPair(tailStripe, headStripe);
+        }
+
+        if (added) {
+            edgeCounter.increment();
+        }
+
+        if (mod > 0) {
+            modificationCounter.add(mod);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean hasEdge(int tailNodeId, int headNodeId) {
+        final Stripe stripe = stripes[stripeOf(tailNodeId)];
+        stripe.lock.readLock().lock();
+
+        try {
+            final IntDoubleHashMap children = stripe.children.get(tailNodeId);
+            return children != null && children.containsKey(headNodeId);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double getEdgeWeight(int tailNodeId, int headNodeId) {
+        final Stripe stripe = stripes[stripeOf(tailNodeId)];
+        stripe.lock.readLock().lock();
+
+        try {
+            final IntDoubleHashMap children = stripe.children.get(tailNodeId);
+            return children == null ? Double.NaN : children.get(headNodeId);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean removeEdge(int tailNodeId, int headNodeId) {
+        final Stripe tailStripe = stripes[stripeOf(tailNodeId)];
+        final Stripe headStripe = stripes[stripeOf(headNodeId)];
+        lockPair(tailStripe, headStripe);
+
+        try {
+            final IntDoubleHashMap children =
+                    tailStripe.children.get(tailNodeId);
+
+            if (children == null || !children.remove(headNodeId)) {
+                return false;
+            }
+
+            headStripe.parents.get(headNodeId).remove(tailNodeId);
+        } finally {
+            unlockPair(tailStripe, headStripe);
+        }
+
+        edgeCounter.decrement();
+        modificationCounter.increment();
+        return true;
+    }
+
+    @Override
+    public Set<Integer> getChildrenOf(int nodeId) {
+        return snapshot(nodeId, true);
+    }
+
+    @Override
+    public Set<Integer> getParentsOf(int nodeId) {
+        return snapshot(nodeId, false);
+    }
+
+    @Override
+    public void forEachChild(int nodeId, IntDoubleConsumer consumer) {
+        forEachNeighbor(nodeId, true, consumer);
+    }
+
+    @Override
+    public void forEachParent(int nodeId, IntDoubleConsumer consumer) {
+        forEachNeighbor(nodeId, false, consumer);
+    }
+
+    @Override
+    public int getNumberOfChildren(int nodeId) {
+        final Stripe stripe = stripes[stripeOf(nodeId)];
+        stripe.lock.readLock().lock();
+
+        try {
+            final IntDoubleHashMap children = stripe.children.get(nodeId);
+            return children == null ? 0 : children.size();
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getNumberOfParents(int nodeId) {
+        final Stripe stripe = stripes[stripeOf(nodeId)];
+        stripe.lock.readLock().lock();
+
+        try {
+            final IntDoubleHashMap parents = stripe.parents.get(nodeId);
+            return parents == null ? 0 : parents.size();
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of all nodes. Each stripe is copied atomically, but
+     * the stripes are copied one after another, so the snapshot is only
+     * weakly consistent with respect to concurrent mutations.
+     *
+     * @return the set of all nodes.
+     */
+    @Override
+    public Set<Integer> getAllNodes() {
+        int[] nodes = new int[Math.max(16, size())];
+        int count = 0;
+
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+
+            try {
+                final IntObjectHashMap<IntDoubleHashMap> table =
+                        stripe.children;
+
+                if (count + table.size() > nodes.length) {
+                    nodes = Arrays.copyOf(nodes,
+                                          Math.max(2 * nodes.length,
+                                                   count + table.size()));
+                }
+
+                for (int i = 0; i < table.end(); ++i) {
+                    if (!table.isHole(i)) {
+                        nodes[count++] = table.keyAt(i);
+                    }
+                }
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+
+        return new IntArraySet(Arrays.copyOf(nodes, count));
+    }
+
+    /**
+     * Returns a compressed copy of this graph. All stripes are read-locked
+     * while copying, so the copy is consistent.
+     *
+     * @return a compressed copy of this graph.
+     */
+    @Override
+    public CompressedGraph freeze() {
+        lockAll(false);
+
+        try {
+            return new CompressedGraph(this, directed);
+        } finally {
+            unlockAll(false);
+        }
+    }
+
+    @Override
+    public void clear() {
+        lockAll(true);
+
+        try {
+            int edges = edgeCounter.intValue();
+            // Count like the sequential graph of the same kind would.
+            int mod = directed ? 3 * edges : nodeCounter.intValue() + edges;
+
+            for (Stripe stripe : stripes) {
+                stripe.children.clear();
+                stripe.parents.clear();
+            }
+
+            modificationCounter.add(mod);
+            nodeCounter.reset();
+            edgeCounter.reset();
+        } finally {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * Creates the node {@code nodeId} in {@code stripe} unless it is already
+     * there. The caller holds the write lock of the stripe and is responsible
+     * for the modification count.
+     *
+     * @return {@code true} if the node was created.
+     */
+    private boolean createNode(Stripe stripe, int nodeId) {
+        if (stripe.children.containsKey(nodeId)) {
+            return false;
+        }
+
+        stripe.children.put(nodeId, new IntDoubleHashMap());
+
+        if (stripe.parents != stripe.children) {
+            stripe.parents.put(nodeId, new IntDoubleHashMap());
+        }
+
+        nodeCounter.increment();
+        return true;
+    }
+
+    /**
+     * Clears the node {@code nodeId} and optionally removes it. All the
+     * stripes holding the node or its neighbors are write-locked in ascending
+     * order. If the neighborhood grows into an unlocked stripe between
+     * collecting the stripes and locking them, the operation is retried.
+     */
+    private boolean clearNode(int nodeId, boolean remove) {
+        final int home = stripeOf(nodeId);
+        final long[] locked = new long[(stripes.length + 63) >>> 6];
+        final long[] needed = new long[locked.length];
+        set(needed, home);
+
+        while (true) {
+            collectNeighborStripes(nodeId, needed);
+            lockSet(needed);
+            System.arraycopy(needed, 0, locked, 0, locked.length);
+            collectNeighborStripesLocked(nodeId, needed);
+
+            if (Arrays.equals(locked, needed)) {
+                break;
+            }
+
+            // A neighbor appeared in a stripe not locked yet.
+            unlockSet(locked);
+        }
+
+        int mod = 0;
+        int removedEdges = 0;
+        boolean changed = false;
+
+        try {
+            final Stripe stripe = stripes[home];
+            final IntDoubleHashMap children = stripe.children.get(nodeId);
+
+            if (children == null) {
+                return false;
+            }
+
+            final IntDoubleHashMap parents = stripe.parents.get(nodeId);
+
+            for (int i = 0; i < children.end(); ++i) {
+                if (!children.isHole(i)) {
+                    final int childId = children.keyAt(i);
+
+                    // A self-loop is left for the scan of the parents.
+                    if (childId != nodeId || parents == children) {
+                        stripes[stripeOf(childId)].parents.get(childId)
+                                                  .remove(nodeId);
+                    }
+                }
+            }
+
+            if (parents != children) {
+                for (int i = 0; i < parents.end(); ++i) {
+                    if (!parents.isHole(i)) {
+                        final int parentId = parents.keyAt(i);
+                        stripes[stripeOf(parentId)].children.get(parentId)
+                                                   .remove(nodeId);
+                    }
+                }
+
+                // The scan of the parents removed a possible self-loop
+                // from 'children', so it is counted once, in 'parents'.
+                removedEdges = children.size() + parents.size();
+            } else {
+                removedEdges = children.size();
+            }
+
+            mod = removedEdges;
+            changed = removedEdges > 0;
+            children.clear();
+            parents.clear();
+
+            if (remove) {
+                stripe.children.remove(nodeId);
+                stripe.parents.remove(nodeId);
+                nodeCounter.decrement();
+                mod++;
+                changed = true;
+            }
+        } finally {
+            unlockSet(locked);
+        }
+
+        edgeCounter.add(-removedEdges);
+        modificationCounter.add(mod);
+        return changed;
+    }
+
+    /**
+     * Adds the stripes of the neighbors of {@code nodeId} to {@code set},
+     * read-locking the home stripe of the node.
+     */
+    private void collectNeighborStripes(int nodeId, long[] set) {
+        final Stripe stripe = stripes[stripeOf(nodeId)];
+        stripe.lock.readLock().lock();
+
+        try {
+            collectNeighborStripesLocked(nodeId, set);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    private void collectNeighborStripesLocked(int nodeId, long[] set) {
+        final Stripe stripe = stripes[stripeOf(nodeId)];
+        final IntDoubleHashMap children = stripe.children.get(nodeId);
+
+        if (children == null) {
+            return;
+        }
+
+        addStripes(children, set);
+
+        if (stripe.parents != stripe.children) {
+            addStripes(stripe.parents.get(nodeId), set);
+        }
+    }
+
+    private void addStripes(IntDoubleHashMap map, long[] set) {
+        for (int i = 0; i < map.end(); ++i) {
+            if (!map.isHole(i)) {
+                set(set, stripeOf(map.keyAt(i)));
+            }
+        }
+    }
+
+    private static void set(long[] set, int index) {
+        set[index >>> 6] |= 1L << index;
+    }
+
+    private void lockSet(long[] set) {
+        for (int word = 0; word < set.length; ++word) {
+            long bits = set[word];
+
+            while (bits != 0L) {
+                final int bit = Long.numberOfTrailingZeros(bits);
+                stripes[(word << 6) + bit].lock.writeLock().lock();
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private void unlockSet(long[] set) {
+        for (int word = 0; word < set.length; ++word) {
+            long bits = set[word];
+
+            while (bits != 0L) {
+                final int bit = Long.numberOfTrailingZeros(bits);
+                stripes[(word << 6) + bit].lock.writeLock().unlock();
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private static void lockPair(Stripe a, Stripe b) {
+        if (a == b) {
+            a.lock.writeLock().lock();
+        } else if (a.index < b.index) {
+            a.lock.writeLock().lock();
+            b.lock.writeLock().lock();
+        } else {
+            b.lock.writeLock().lock();
+            a.lock.writeLock().lock();
+        }
+    }
+
+    private static void unlockPair(Stripe a, Stripe b) {
+        a.lock.writeLock().unlock();
+
+        if (a != b) {
+            b.lock.writeLock().unlock();
+        }
+    }
+
+    private void lockAll(boolean write) {
+        for (Stripe stripe : stripes) {
+            if (write) {
+                stripe.lock.writeLock().lock();
+            } else {
+                stripe.lock.readLock().lock();
+            }
+        }
+    }
+
+    private void unlockAll(boolean write) {
+        for (int i = stripes.length - 1; i >= 0; --i) {
+            if (write) {
+                stripes[i].lock.writeLock().unlock();
+            } else {
+                stripes[i].lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Copies the children or the parents of the node {@code nodeId} with
+     * their weights under the read lock of its stripe, and passes them to
+     * {@code consumer} after releasing the lock. Calling the consumer under
+     * the lock could deadlock: a consumer waiting for the read lock of
+     * another stripe and a writer holding that stripe while waiting for this
+     * one would block each other for good.
+     */
+    private void forEachNeighbor(int nodeId,
+                                 boolean children,
+                                 IntDoubleConsumer consumer) {
+        final Stripe stripe = stripes[stripeOf(nodeId)];
+        final int[] keys;
+        final double[] weights;
+        stripe.lock.readLock().lock();
+
+        try {
+            final IntDoubleHashMap map = children ?
+                                         stripe.children.get(nodeId) :
+                                         stripe.parents.get(nodeId);
+
+            if (map == null || map.isEmpty()) {
+                return;
+            }
+
+            keys = new int[map.size()];
+            weights = new double[map.size()];
+            int count = 0;
+
+            for (int i = 0; i < map.end(); ++i) {
+                if (!map.isHole(i)) {
+                    keys[count] = map.keyAt(i);
+                    weights[count++] = map.valueAt(i);
+                }
+            }
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+
+        for (int i = 0; i < keys.length; ++i) {
+            consumer.accept(keys[i], weights[i]);
+        }
+    }
+
+    private Set<Integer> snapshot(int nodeId, boolean children) {
+        final Stripe stripe = stripes[stripeOf(nodeId)];
+        stripe.lock.readLock().lock();
+
+        try {
+            final IntDoubleHashMap map = children ?
+                                         stripe.children.get(nodeId) :
+                                         stripe.parents.get(nodeId);
+
+            if (map == null) {
+                return new IntArraySet(new int[0]);
+            }
+
+            final int[] keys = new int[map.size()];
+            int count = 0;
+
+            for (int i = 0; i < map.end(); ++i) {
+                if (!map.isHole(i)) {
+                    keys[count++] = map.keyAt(i);
+                }
+            }
+
+            return new IntArraySet(keys);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Implements a read-only set over an array of distinct integers. The
+     * array is sorted so that the membership queries are binary searches.
+     */
+    private static final class IntArraySet extends AbstractSet<Integer> {
+
+        private final int[] elements;
+
+        IntArraySet(int[] elements) {
+            Arrays.sort(elements);
+            this.elements = elements;
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Integer)) {
+                return false;
+            }
+
+            return Arrays.binarySearch(elements, (Integer) o) >= 0;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < elements.length;
+                }
+
+                @Override
+                public Integer next() {
+                    if (index == elements.length) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return elements[index++];
+                }
+            };
+        }
+    }
+}
@@ -16,6 +16,17 @@ import java.util.Set;
  */
 public abstract class AbstractGraph {
 
+    /**
+     * The number of changes delivered to the change listeners at once unless
+     * configured otherwise.
+     */
+    public static final int DEFAULT_CHANGE_BATCH_SIZE = 256;
+
+    /**
+     * The largest supported change batch size.
+     */
+    public static final int MAXIMUM_CHANGE_BATCH_SIZE = 1 << 24;
+
     /**
      * This field caches the amount of changes made to this graph. This is used
      * for keeping track whether the structure of the graph has changed since 
@@ -32,6 +43,21 @@ public abstract class AbstractGraph {
      */
     protected int edges;
 
+    /**
+     * Buffers the changes for the change listeners, or is {@code null} if
+     * there are no listeners. The mutators record their changes only if this
+     * field is set.
+     */
+    GraphChangeFeed changeFeed;
+
+    private int changeBatchSize = DEFAULT_CHANGE_BATCH_SIZE;
+
+    /**
+     * Records the operations of this graph, or is {@code null} if metrics are
+     * disabled.
+     */
+    GraphMetrics metrics;
+
     /**
      * Returns the number of nodes in this graph.
      * 
@@ -55,6 +81,24 @@ public abstract class AbstractGraph {
      */
     public abstract boolean addNode(int nodeId);
 
+    /**
+     * Adds the node with ID {@code nodeId} to this graph and reserves room for
+     * {@code expectedDegree} children, so that adding them does not grow the
+     * adjacency storage. If the node is already present, only the room is
+     * reserved.
+     * <p>
+     * The default implementation ignores the hint.
+     *
+     * @param nodeId         the ID of the node to add.
+     * @param expectedDegree the expected number of children of the node.
+     * @return {@code true} if the node was not present in the graph.
+     * @throws IllegalArgumentException if {@code expectedDegree} is negative.
+     */
+    public boolean addNode(int nodeId, int expectedDegree) {
+        checkCapacityHint("expected degree", expectedDegree);
+        return addNode(nodeId);
+    }
+
     /**
      * Checks whether the given node is present in this graph.
      * 
@@ -117,6 +161,82 @@ public abstract class AbstractGraph {
         return addEdge(tailNodeId, headNodeId, 1.0);
     }
 
+    /**
+     * Adds all edges {@code (tailNodeIds[i], headNodeIds[i])} with weights
+     * {@code weights[i]}. The effect, including the resulting modification 
+     * count, is the same as calling {@link #addEdge(int, int, double)} for 
+     * each edge in order, but the implementations in this package resolve the
+     * adjacency of every node once per batch and pre-size it before inserting.
+     * 
+     * @see #addEdges(int[], int[], double[], int, int) 
+     * @param tailNodeIds the tail nodes of the edges.
+     * @param headNodeIds the head nodes of the edges.
+     * @param weights     the weights of the edges, or {@code null} for the
+     *                    default weight of 1.0.
+     * @return {@code true} if the structure of the graph has changed.
+     */
+    public boolean addEdges(int[] tailNodeIds, 
+                            int[] headNodeIds, 
+                            double[] weights) {
+        return addEdges(tailNodeIds, headNodeIds, weights, 
+                        0, tailNodeIds.length);
+    }
+
+    /**
+     * Adds the edges stored in the range {@code [offset, offset + length)} of
+     * the argument arrays. Huge edge lists can be streamed in by refilling the
+     * same arrays chunk by chunk and calling this method for each chunk.
+     * 
+     * @param tailNodeIds the tail nodes of the edges.
+     * @param headNodeIds the head nodes of the edges.
+     * @param weights     the weights of the edges, or {@code null} for the
+     *                    default weight of 1.0.
+     * @param offset      the index of the first edge to add.
+     * @param length      the number of edges to add.
+     * @return {@code true} if the structure of the graph has changed.
+     */
+    public boolean addEdges(int[] tailNodeIds,
+                            int[] headNodeIds,
+                            double[] weights,
+                            int offset,
+                            int length) {
+        checkEdgeArrays(tailNodeIds, headNodeIds, weights, offset, length);
+        boolean changed = false;
+
+        for (int i = offset; i < offset + length; ++i) {
+            changed |= addEdge(tailNodeIds[i], 
+                               headNodeIds[i], 
+                               weights == null ? 1.0 : weights[i]);
+        }
+
+        return changed;
+    }
+
+    /**
+     * Checks that the range {@code [offset, offset + length)} is valid for all
+     * the edge arrays.
+     * 
+     * @param tailNodeIds the tail node array.
+     * @param headNodeIds the head node array.
+     * @param weights     the weight array, or {@code null}.
+     * @param offset      the index of the first edge.
+     * @param length      the number of edges.
+     */
+    protected static void checkEdgeArrays(int[] tailNodeIds,
+                                          int[] headNodeIds,
+                                          double[] weights,
+                                          int offset,
+                                          int length) {
+        if (offset < 0 || length < 0 
+                || offset + length > tailNodeIds.length
+                || offset + length > headNodeIds.length
+                || (weights != null && offset + length > weights.length)) {
+            throw new IndexOutOfBoundsException(
+                    "Bad edge range: offset = " + offset + 
+                    ", length = " + length + ".");
+        }
+    }
+
     /**
      * Returns a boolean value indicating whether this graph contains an edge
      * from {@code tailNodeId} to {@code headNodeId}. 
@@ -168,6 +288,62 @@ public abstract class AbstractGraph {
      */
     public abstract Set<Integer> getParentsOf(int nodeId);
 
+    /**
+     * Passes each child of the node {@code nodeId} together with the weight of
+     * the edge leading to it to {@code consumer}. Unlike
+     * {@link #getChildrenOf(int)}, this method does not box the node IDs, and
+     * the implementations in this package allocate nothing per visited edge.
+     * The graph must not be modified while the children are being visited.
+     * Does nothing if the node is not in this graph.
+     * <p>
+     * The default implementation is built on top of
+     * {@link #getChildrenOf(int)} and {@link #getEdgeWeight(int, int)}.
+     * 
+     * @param nodeId   the query node.
+     * @param consumer the child consumer.
+     */
+    public void forEachChild(int nodeId, IntDoubleConsumer consumer) {
+        for (Integer childId : getChildrenOf(nodeId)) {
+            consumer.accept(childId, getEdgeWeight(nodeId, childId));
+        }
+    }
+
+    /**
+     * Passes each parent of the node {@code nodeId} together with the weight
+     * of the edge leading from it to {@code consumer}. 
+     * 
+     * @see #forEachChild(int, net.coderodde.graph.IntDoubleConsumer) 
+     * @param nodeId   the query node.
+     * @param consumer the parent consumer.
+     */
+    public void forEachParent(int nodeId, IntDoubleConsumer consumer) {
+        for (Integer parentId : getParentsOf(nodeId)) {
+            consumer.accept(parentId, getEdgeWeight(parentId, nodeId));
+        }
+    }
+
+    /**
+     * Returns the number of children of the node {@code nodeId}, or zero if
+     * the node is not in this graph.
+     * 
+     * @param nodeId the query node.
+     * @return the number of children.
+     */
+    public int getNumberOfChildren(int nodeId) {
+        return getChildrenOf(nodeId).size();
+    }
+
+    /**
+     * Returns the number of parents of the node {@code nodeId}, or zero if the
+     * node is not in this graph.
+     * 
+     * @param nodeId the query node.
+     * @return the number of parents.
+     */
+    public int getNumberOfParents(int nodeId) {
+        return getParentsOf(nodeId).size();
+    }
+
     /**
      * Returns the set of all nodes stored in this graph.
      * 
@@ -180,6 +356,268 @@ public abstract class AbstractGraph {
      */
     public abstract void clear();
     
+    /**
+     * Returns {@code true} if this graph is directed. In an undirected graph,
+     * each edge is reported in both directions, so the children of each node
+     * coincide with its parents.
+     *
+     * @return {@code true} if this graph is directed.
+     */
+    public abstract boolean isDirected();
+
+    /**
+     * Returns an immutable, compressed copy of this graph. The copy supports
+     * the entire read API and is meant for workloads that build a graph once
+     * and query it many times. Later changes to this graph are not reflected
+     * in the copy.
+     * <p>
+     * The default implementation builds both the forward and the reverse
+     * adjacency of a directed graph, and a single adjacency shared by both
+     * directions of an undirected graph.
+     * 
+     * @return a compressed, read-only copy of this graph.
+     */
+    public CompressedGraph freeze() {
+        return new CompressedGraph(this, isDirected());
+    }
+
+    /**
+     * Returns a read-only view of this graph as it is now. The view does not
+     * change when this graph is modified later, and its modification count is
+     * that of this graph at the time of the call. A snapshot may be read by
+     * any number of threads without locking while a single writer keeps
+     * modifying this graph, provided it is handed to the readers through a
+     * safe publication, such as a concurrent queue or an executor. A snapshot
+     * no longer referenced is reclaimed by the garbage collector together with
+     * the adjacency only it refers to.
+     * <p>
+     * The default implementation returns {@link #freeze()}, which copies the
+     * whole graph. {@link DirectedGraph} and {@link UndirectedGraph} take
+     * snapshots in constant time and copy only the adjacency modified
+     * afterwards.
+     *
+     * @return a read-only view of the current state of this graph.
+     */
+    public AbstractGraph snapshot() {
+        return freeze();
+    }
+
+    /**
+     * Registers {@code listener} for receiving the changes made to this graph
+     * from now on. The changes are buffered and delivered in batches of
+     * {@link #setChangeBatchSize(int)} changes, always between two operations
+     * of this graph, so an operation producing many changes may exceed the
+     * batch size. {@link #flushChanges()} delivers the buffered changes right
+     * away. Registering a listener delivers the changes buffered so far to
+     * the other listeners first.
+     * <p>
+     * {@link DirectedGraph} and {@link UndirectedGraph} report their changes;
+     * the other graphs throw {@link UnsupportedOperationException}.
+     *
+     * @param listener the listener to register.
+     */
+    public void addChangeListener(GraphChangeListener listener) {
+        if (!isObservable()) {
+            throw new UnsupportedOperationException(
+                    "This graph does not report its changes.");
+        }
+
+        if (changeFeed == null) {
+            changeFeed = new GraphChangeFeed(this, changeBatchSize);
+        } else {
+            changeFeed.flush();
+        }
+
+        changeFeed.addListener(listener);
+    }
+
+    /**
+     * Delivers the buffered changes and unregisters {@code listener}. Once the
+     * last listener is removed, this graph stops recording its changes.
+     *
+     * @param listener the listener to unregister.
+     */
+    public void removeChangeListener(GraphChangeListener listener) {
+        if (changeFeed != null) {
+            changeFeed.flush();
+
+            if (changeFeed.removeListener(listener)) {
+                changeFeed = null;
+            }
+        }
+    }
+
+    /**
+     * Sets the number of changes delivered to the change listeners at once.
+     * The buffered changes are delivered first.
+     *
+     * @param changeBatchSize the number of changes per batch.
+     * @throws IllegalArgumentException if the batch size is not within
+     *         {@code [1, MAXIMUM_CHANGE_BATCH_SIZE]}.
+     */
+    public void setChangeBatchSize(int changeBatchSize) {
+        if (changeBatchSize < 1 || changeBatchSize > MAXIMUM_CHANGE_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "The change batch size must be within [1, " +
+                    MAXIMUM_CHANGE_BATCH_SIZE + "], was " + changeBatchSize +
+                    ".");
+        }
+
+        this.changeBatchSize = changeBatchSize;
+
+        if (changeFeed != null) {
+            changeFeed.setBatchSize(changeBatchSize);
+        }
+    }
+
+    /**
+     * Delivers the buffered changes to the change listeners.
+     */
+    public void flushChanges() {
+        if (changeFeed != null) {
+            changeFeed.flush();
+        }
+    }
+
+    /**
+     * Ends an operation of this graph that may have recorded changes.
+     */
+    final void commitChanges() {
+        if (changeFeed != null) {
+            changeFeed.commit();
+        }
+    }
+
+    /**
+     * Starts recording the operations of this graph and returns the recorder.
+     * If the metrics are enabled already, returns the existing recorder. See
+     * {@link GraphMetrics} for what is recorded.
+     * <p>
+     * {@link DirectedGraph} and {@link UndirectedGraph} support metrics; the
+     * other graphs throw {@link UnsupportedOperationException}.
+     *
+     * @return the metrics of this graph.
+     */
+    public GraphMetrics enableMetrics() {
+        if (!isObservable()) {
+            throw new UnsupportedOperationException(
+                    "This graph does not support metrics.");
+        }
+
+        if (metrics == null) {
+            metrics = new GraphMetrics(this);
+        }
+
+        return metrics;
+    }
+
+    /**
+     * Stops recording the operations of this graph and unregisters the
+     * metrics MBean, if any.
+     */
+    public void disableMetrics() {
+        if (metrics != null) {
+            metrics.unregisterMBean();
+            metrics = null;
+        }
+    }
+
+    /**
+     * Returns the metrics of this graph, or {@code null} if they are
+     * disabled.
+     *
+     * @return the metrics of this graph.
+     */
+    public GraphMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns an estimate of the heap taken by the node tables and the
+     * adjacency storage of this graph, in bytes, assuming compressed
+     * references. Adjacency shared with a snapshot is counted as well. The
+     * estimate grows with the slack left behind by removals, so comparing it
+     * with the estimate right after a {@link #compact()} tells when another
+     * compaction pays off.
+     * <p>
+     * {@link DirectedGraph}, {@link UndirectedGraph} and
+     * {@link SingleWeightUndirectedGraph} provide the estimate, and so do
+     * {@link OffHeapDirectedGraph} and {@link OffHeapUndirectedGraph}, which
+     * count the direct memory they reserve; the other graphs return -1.
+     *
+     * @return the estimated footprint in bytes, or -1.
+     */
+    public long memoryFootprint() {
+        return -1L;
+    }
+
+    /**
+     * Shrinks the node tables and the adjacency storage of this graph to
+     * their sizes. The storage does not shrink by itself when nodes and edges
+     * are removed, so a graph under heavy churn should be compacted every now
+     * and then. Compaction does not change the contents or the modification
+     * count of this graph, but invalidates the iterators of its views.
+     * <p>
+     * The default implementation does nothing.
+     *
+     * @return the estimated number of bytes released by this graph.
+     */
+    public long compact() {
+        return 0L;
+    }
+
+    /**
+     * Shrinks the adjacency storage of the node {@code nodeId} to its degree.
+     * Unlike {@link #compact()}, this takes time proportional to the degree of
+     * the node only, which makes it suitable for hubs that have just lost
+     * most of their edges.
+     * <p>
+     * The default implementation does nothing.
+     *
+     * @param nodeId the node whose adjacency to shrink.
+     * @return {@code true} if any storage was released.
+     */
+    public boolean trimToSize(int nodeId) {
+        return false;
+    }
+
+    /**
+     * Returns the number of children to reserve room for in each new node of
+     * a graph expected to hold {@code expectedEdges} edges over
+     * {@code expectedNodes} nodes, where each edge takes
+     * {@code entriesPerEdge} entries in the children of the nodes. The average
+     * is rounded down, so that the many low-degree nodes of a skewed graph are
+     * not over-allocated much.
+     */
+    static int degreeHint(int expectedNodes,
+                          int expectedEdges,
+                          int entriesPerEdge) {
+        checkCapacityHint("expected number of nodes", expectedNodes);
+        checkCapacityHint("expected number of edges", expectedEdges);
+
+        if (expectedNodes == 0) {
+            return 0;
+        }
+
+        long entries = (long) expectedEdges * entriesPerEdge;
+        return (int) Math.min(entries / expectedNodes, expectedNodes);
+    }
+
+    static void checkCapacityHint(String name, int hint) {
+        if (hint < 0) {
+            throw new IllegalArgumentException(
+                    "The " + name + " must not be negative, was " + hint + ".");
+        }
+    }
+
+    /**
+     * Returns {@code true} if this graph reports its changes to
+     * {@link #changeFeed} and its operations to {@link #metrics}.
+     */
+    boolean isObservable() {
+        return false;
+    }
+
     /**
      * Returns the modification count of this graph.
      * 
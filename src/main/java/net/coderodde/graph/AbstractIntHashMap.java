@@ -0,0 +1,611 @@
+package net.coderodde.graph;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This abstract class implements the key management shared by the primitive
+ * hash maps used as the adjacency storage of the graphs. The entries are kept
+ * in dense arrays in insertion order, and an open-addressing index table maps
+ * each key to its position in the dense arrays. Maps with only a few entries
+ * do not allocate the index table at all and are searched linearly.
+ * <p>
+ * Removing an entry from a map with an index table leaves a hole in the dense
+ * arrays. The holes are squeezed out whenever the dense arrays run out of
+ * space or the holes outnumber the entries, which preserves the insertion
+ * order of the remaining entries.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+abstract class AbstractIntHashMap {
+
+    /**
+     * Maps holding at most this many entries are searched linearly.
+     */
+    static final int LINEAR_SEARCH_THRESHOLD = 8;
+
+    /**
+     * The capacity of the dense arrays after the first insertion.
+     */
+    static final int INITIAL_CAPACITY = 2;
+
+    /**
+     * Used as the key array of maps that have never held an entry.
+     */
+    static final int[] EMPTY_KEYS = new int[0];
+
+    /**
+     * The estimated size of a map object itself: the header, three array
+     * references, six integer fields and a view reference, padded.
+     */
+    static final long MAP_BYTES = 56L;
+
+    /**
+     * The keys in insertion order. Position {@code i} is meaningful only if
+     * {@code i < end} and the position is not a hole.
+     */
+    int[] keys = EMPTY_KEYS;
+
+    /**
+     * The open-addressing index table. Each slot holds either zero, which
+     * denotes an empty slot, or one plus the dense position of a key. This
+     * field is {@code null} as long as the map is searched linearly.
+     */
+    int[] table;
+
+    /**
+     * The number of entries in this map.
+     */
+    int size;
+
+    /**
+     * The number of used positions in the dense arrays, holes included.
+     */
+    int end;
+
+    /**
+     * Counts the structural changes of this map for the fail-fast iterators.
+     */
+    int modCount;
+
+    /**
+     * Scratch counter used by the bulk loaders for counting the entries about
+     * to be added to this map before the actual insertion. It is zero between
+     * bulk operations.
+     */
+    int reserved;
+
+    /**
+     * The writer epoch of the graph at the time this map was created. A graph
+     * mutates a map in place only if the map belongs to the current epoch;
+     * maps of the earlier epochs may be shared with snapshots and are copied
+     * before being written to.
+     */
+    int epoch;
+
+    /**
+     * Caches the key set view of this map.
+     */
+    private KeySet keySet;
+
+    /**
+     * Returns {@code true} if the dense position {@code index} holds a removed
+     * entry.
+     *
+     * @param index the dense position to check.
+     * @return {@code true} if the position is a hole.
+     */
+    abstract boolean isHole(int index);
+
+    /**
+     * Turns the dense position {@code index} into a hole and releases the
+     * value stored there.
+     *
+     * @param index the dense position to clear.
+     */
+    abstract void makeHole(int index);
+
+    /**
+     * Moves the value at dense position {@code source} to the dense position
+     * {@code target}.
+     *
+     * @param source the position to move from.
+     * @param target the position to move to.
+     */
+    abstract void moveValue(int source, int target);
+
+    /**
+     * Reallocates the value array to hold exactly {@code capacity} entries.
+     *
+     * @param capacity the new capacity.
+     */
+    abstract void resizeValues(int capacity);
+
+    /**
+     * Releases the value array.
+     */
+    abstract void releaseValues();
+
+    /**
+     * Returns the number of bytes taken by the value array, or by whatever
+     * marks the holes in a map without values.
+     *
+     * @return the size of the value storage.
+     */
+    abstract long valuesFootprint();
+
+    /**
+     * Returns an estimate of the heap taken by this map, assuming 64-bit
+     * references compressed to four bytes. The shared empty arrays are not
+     * counted.
+     *
+     * @return the estimated footprint in bytes.
+     */
+    final long footprint() {
+        long bytes = MAP_BYTES;
+
+        if (keys.length > 0) {
+            bytes += arrayBytes(keys.length, Integer.BYTES) +
+                     valuesFootprint();
+        }
+
+        if (table != null) {
+            bytes += arrayBytes(table.length, Integer.BYTES);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Returns the heap taken by an array of {@code length} elements of
+     * {@code elementBytes} bytes each: a 16-byte header and the elements,
+     * padded to eight bytes.
+     *
+     * @param length       the length of the array.
+     * @param elementBytes the size of an element.
+     * @return the size of the array in bytes.
+     */
+    static long arrayBytes(int length, int elementBytes) {
+        return (16L + (long) length * elementBytes + 7L) & ~7L;
+    }
+
+    /**
+     * Returns the number of entries in this map.
+     *
+     * @return the number of entries.
+     */
+    final int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of entries this map can hold without growing its
+     * dense arrays.
+     *
+     * @return the capacity of the dense arrays.
+     */
+    final int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no entries.
+     *
+     * @return {@code true} if this map is empty.
+     */
+    final boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the exclusive upper bound of the dense positions in use. Clients
+     * iterate over the entries by visiting all positions below this bound that
+     * are not holes.
+     *
+     * @return the bound of the dense positions.
+     */
+    final int end() {
+        return end;
+    }
+
+    /**
+     * Returns the key stored at dense position {@code index}.
+     *
+     * @param index the dense position.
+     * @return the key at the given position.
+     */
+    final int keyAt(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Returns {@code true} if {@code key} is in this map.
+     *
+     * @param key the key to look up.
+     * @return {@code true} if the key is present.
+     */
+    final boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the dense position of the key {@code key}, or -1 if the key is
+     * not in this map.
+     *
+     * @param key the key to look up.
+     * @return the dense position of the key or -1.
+     */
+    final int indexOf(int key) {
+        final int[] table = this.table;
+
+        if (table == null) {
+            // No holes are ever left in the linearly searched maps.
+            final int[] keys = this.keys;
+
+            for (int i = 0; i < end; ++i) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        final int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        int ref;
+
+        while ((ref = table[slot]) != 0) {
+            if (keys[ref - 1] == key) {
+                return ref - 1;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Appends the key {@code key}, which must not be present in this map, to
+     * the dense arrays and returns its position. The caller is responsible for
+     * storing the value at the returned position.
+     *
+     * @param key the key to append.
+     * @return the dense position of the new key.
+     */
+    final int appendKey(int key) {
+        if (end == keys.length) {
+            makeRoom();
+        }
+
+        final int index = end++;
+        keys[index] = key;
+        size++;
+        modCount++;
+
+        if (table != null) {
+            insertIntoTable(index);
+        } else if (size > LINEAR_SEARCH_THRESHOLD) {
+            rebuildTable();
+        }
+
+        return index;
+    }
+
+    /**
+     * Removes the entry at the dense position {@code index}.
+     *
+     * @param index the dense position of the entry to remove.
+     */
+    final void removeAt(int index) {
+        size--;
+        modCount++;
+
+        if (table == null) {
+            // Small map: shift the tail left so that no hole is left behind.
+            for (int i = index + 1; i < end; ++i) {
+                keys[i - 1] = keys[i];
+                moveValue(i, i - 1);
+            }
+
+            makeHole(--end);
+            return;
+        }
+
+        removeFromTable(index);
+        makeHole(index);
+
+        while (end > 0 && isHole(end - 1)) {
+            end--;
+        }
+
+        if (size <= LINEAR_SEARCH_THRESHOLD / 2) {
+            squeeze();
+            table = null;
+        } else if (end - size > size) {
+            squeeze();
+            rebuildTable();
+        }
+    }
+
+    /**
+     * Makes this map a copy of the keys and the index table of
+     * {@code other}. The subclass copies the values.
+     *
+     * @param other the map to copy.
+     */
+    final void copyKeysFrom(AbstractIntHashMap other) {
+        keys = other.keys.length == 0 ? EMPTY_KEYS : other.keys.clone();
+        table = other.table == null ? null : other.table.clone();
+        size = other.size;
+        end = other.end;
+    }
+
+    /**
+     * Makes sure this map can hold {@code capacity} entries without growing
+     * its arrays or rebuilding its index table.
+     *
+     * @param capacity the requested capacity.
+     */
+    final void ensureCapacity(int capacity) {
+        if (capacity <= keys.length) {
+            return;
+        }
+
+        squeeze();
+        keys = Arrays.copyOf(keys, capacity);
+        resizeValues(capacity);
+        rebuildTableIfPresent();
+    }
+
+    /**
+     * Shrinks the dense arrays of this map to its size, squeezing out the
+     * holes, and rebuilds the index table at the matching length. Invalidates
+     * the iterators like a structural change.
+     *
+     * @return {@code true} if any storage was released.
+     */
+    final boolean trimToSize() {
+        if (keys.length == size) {
+            return false;
+        }
+
+        if (size == 0) {
+            clear();
+            return true;
+        }
+
+        squeeze();
+        keys = Arrays.copyOf(keys, size);
+        resizeValues(size);
+        table = null;
+
+        if (size > LINEAR_SEARCH_THRESHOLD) {
+            rebuildTable();
+        }
+
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Grows this map for the entries counted in {@link #reserved} and resets
+     * the counter. Does nothing if the counter is zero.
+     */
+    final void applyReservation() {
+        if (reserved > 0) {
+            ensureCapacity(size + reserved);
+            reserved = 0;
+        }
+    }
+
+    /**
+     * Removes all entries from this map and releases its storage.
+     */
+    void clear() {
+        keys = EMPTY_KEYS;
+        table = null;
+        size = 0;
+        end = 0;
+        modCount++;
+        releaseValues();
+    }
+
+    /**
+     * Returns a read-only, live set view of the keys of this map. The view
+     * iterates the keys in insertion order.
+     *
+     * @return the key set view.
+     */
+    final java.util.Set<Integer> keySet() {
+        KeySet ks = keySet;
+        return ks != null ? ks : (keySet = new KeySet());
+    }
+
+    /**
+     * Spreads the bits of {@code key} over the whole integer.
+     *
+     * @param key the key to hash.
+     * @return the hash of the key.
+     */
+    static int hash(int key) {
+        final int h = key * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Makes room for at least one more entry at the end of the dense arrays,
+     * either by squeezing out the holes or by growing the arrays.
+     */
+    private void makeRoom() {
+        if (end - size >= size / 2 && end > size) {
+            squeeze();
+            rebuildTableIfPresent();
+            return;
+        }
+
+        final int capacity = Math.max(INITIAL_CAPACITY, keys.length * 2);
+        squeeze();
+        keys = Arrays.copyOf(keys, capacity);
+        resizeValues(capacity);
+        rebuildTableIfPresent();
+    }
+
+    /**
+     * Moves all entries to the front of the dense arrays keeping their
+     * relative order. Does not touch the index table.
+     */
+    final void squeeze() {
+        if (end == size) {
+            return;
+        }
+
+        int target = 0;
+
+        for (int source = 0; source < end; ++source) {
+            if (!isHole(source)) {
+                if (source != target) {
+                    keys[target] = keys[source];
+                    moveValue(source, target);
+                    makeHole(source);
+                }
+
+                target++;
+            }
+        }
+
+        end = target;
+    }
+
+    private void rebuildTableIfPresent() {
+        if (table != null) {
+            rebuildTable();
+        }
+    }
+
+    /**
+     * Rebuilds the index table from scratch. The dense arrays must not
+     * contain holes.
+     */
+    final void rebuildTable() {
+        int tableLength = Integer.highestOneBit(Math.max(keys.length, 1)) * 2;
+
+        if (tableLength < keys.length * 2) {
+            tableLength *= 2;
+        }
+
+        table = new int[tableLength];
+
+        for (int i = 0; i < end; ++i) {
+            insertIntoTable(i);
+        }
+    }
+
+    private void insertIntoTable(int index) {
+        final int[] table = this.table;
+        final int mask = table.length - 1;
+        int slot = hash(keys[index]) & mask;
+
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = index + 1;
+    }
+
+    /**
+     * Removes the dense position {@code index} from the index table using
+     * backward shift deletion so that the table never contains tombstones.
+     */
+    private void removeFromTable(int index) {
+        final int[] table = this.table;
+        final int mask = table.length - 1;
+        int slot = hash(keys[index]) & mask;
+
+        while (table[slot] != index + 1) {
+            slot = (slot + 1) & mask;
+        }
+
+        int hole = slot;
+        slot = (slot + 1) & mask;
+        int ref;
+
+        while ((ref = table[slot]) != 0) {
+            final int home = hash(keys[ref - 1]) & mask;
+
+            // Move the entry into the hole unless its home slot lies
+            // cyclically within (hole, slot].
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                table[hole] = ref;
+                hole = slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        table[hole] = 0;
+    }
+
+    /**
+     * Implements the read-only key set view.
+     */
+    private final class KeySet extends AbstractSet<Integer> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && containsKey((Integer) o);
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new KeyIterator();
+        }
+    }
+
+    /**
+     * Iterates over the keys in insertion order skipping the holes.
+     */
+    private final class KeyIterator implements Iterator<Integer> {
+
+        private final int expectedModCount = modCount;
+        private int index = advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return index < end;
+        }
+
+        @Override
+        public Integer next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (index >= end) {
+                throw new NoSuchElementException();
+            }
+
+            final int key = keys[index];
+            index = advance(index + 1);
+            return key;
+        }
+
+        private int advance(int index) {
+            while (index < end && isHole(index)) {
+                index++;
+            }
+
+            return index;
+        }
+    }
+}
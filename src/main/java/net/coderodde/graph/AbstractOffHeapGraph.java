@@ -0,0 +1,1054 @@
+package net.coderodde.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This abstract class implements the storage shared by the off-heap graphs.
+ * The node table, the node records and the adjacency live in direct byte
+ * buffers outside of the Java heap, so the garbage collector neither copies
+ * nor scans them, and the heap footprint of a graph does not depend on its
+ * size beyond a table of buffer references.
+ * <p>
+ * Each node has a 32-byte <i>record</i> in paged buffers, addressed by the
+ * <i>slot</i> of the node, and an open-addressing table maps the node IDs to
+ * the slots. The records of the removed nodes are kept on a free list and
+ * reused by the next new nodes. The children and the parents of each node are
+ * stored in a <i>slab</i> of its own: an open-addressing hash table mapping
+ * one plus the slot of each neighbor to the weight of the edge. A slab grows
+ * by doubling when it is three quarters full and shrinks by halving when it
+ * is one eighth full; the slabs are allocated by a {@link SlabAllocator},
+ * which reuses the freed slabs of each size. In an undirected graph the
+ * parents of each node are its children.
+ * <p>
+ * Nodes and neighbors are iterated in no particular order. The direct memory
+ * of a graph is released once the graph is garbage collected, or earlier by
+ * {@link #clear()} and {@link #compact()} as soon as the collector reclaims
+ * the dropped buffers. Off-heap graphs do not support change listeners and
+ * metrics, and {@link #snapshot()} copies the graph onto the heap.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+abstract class AbstractOffHeapGraph extends AbstractGraph {
+
+    /**
+     * The default size of the largest adjacency chunk.
+     */
+    static final int DEFAULT_CHUNK_BYTES = 1 << 24;
+
+    static final int MINIMUM_CHUNK_BYTES = 1 << 12;
+
+    static final int MAXIMUM_CHUNK_BYTES = 1 << 30;
+
+    private static final int CHILDREN = 0;
+    private static final int PARENTS = 1;
+
+    // The layout of a node record: the slab addresses of both sides, the node
+    // ID, the entry counts of both sides and the slab classes of both sides.
+    private static final int RECORD_BYTES = 32;
+    private static final int SLAB = 0;
+    private static final int NODE_ID = 16;
+    private static final int COUNT = 20;
+    private static final int SHIFT = 28;
+
+    /**
+     * The count of the children marking a free record. The slab address of
+     * the children of a free record holds the next free slot, or -1.
+     */
+    private static final int FREE = -1;
+
+    private static final int RECORD_PAGE_SHIFT = 12;
+    private static final int RECORD_PAGE_MASK = (1 << RECORD_PAGE_SHIFT) - 1;
+
+    private static final int TABLE_PAGE_SHIFT = 16;
+    private static final int MINIMUM_TABLE_CAPACITY = 16;
+    private static final int MAXIMUM_TABLE_CAPACITY = 1 << 30;
+
+    private final boolean directed;
+
+    /**
+     * The side holding the parents of each node.
+     */
+    private final int parentSide;
+
+    private final int chunkBytes;
+
+    private SlabAllocator slabs;
+
+    private ByteBuffer[] recordPages;
+
+    /**
+     * The number of slots ever handed out, free ones included.
+     */
+    private int slotCount;
+
+    /**
+     * The head of the free slot list, or -1.
+     */
+    private int freeSlot;
+
+    private int nodeCount;
+
+    /**
+     * The pages of the node table. Each entry holds zero for an empty entry,
+     * or one plus the slot of a node.
+     */
+    private ByteBuffer[] tablePages;
+    private int tableCapacity;
+    private int tablePageShift;
+
+    /**
+     * Counts the relocations of the adjacency that do not change the
+     * modification count, so that the iterators fail fast on them as well.
+     */
+    private int relocationCount;
+
+    private final Set<Integer> nodeSet = new NodeSet();
+
+    /**
+     * Constructs an empty off-heap graph.
+     *
+     * @param directed   {@code true} for a directed graph.
+     * @param chunkBytes the size of the largest adjacency chunk.
+     * @throws IllegalArgumentException if {@code chunkBytes} is not a power
+     *         of two within {@code [2^12, 2^30]}.
+     */
+    AbstractOffHeapGraph(boolean directed, int chunkBytes) {
+        if (chunkBytes < MINIMUM_CHUNK_BYTES
+                || chunkBytes > MAXIMUM_CHUNK_BYTES
+                || Integer.bitCount(chunkBytes) != 1) {
+            throw new IllegalArgumentException(
+                    "The chunk size must be a power of two within [" +
+                    MINIMUM_CHUNK_BYTES + ", " + MAXIMUM_CHUNK_BYTES +
+                    "], was " + chunkBytes + ".");
+        }
+
+        this.directed = directed;
+        this.parentSide = directed ? PARENTS : CHILDREN;
+        this.chunkBytes = chunkBytes;
+        initialize();
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int size() {
+        return nodeCount;
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return edges;
+    }
+
+    @Override
+    public boolean addNode(int nodeId) {
+        if (slotOf(nodeId) >= 0) {
+            return false;
+        }
+
+        createNode(nodeId);
+        modificationCount++;
+        return true;
+    }
+
+    @Override
+    public boolean addNode(int nodeId, int expectedDegree) {
+        checkCapacityHint("expected degree", expectedDegree);
+        final boolean added = addNode(nodeId);
+        final int slot = slotOf(nodeId);
+        final int shift = shiftFor(expectedDegree);
+
+        if (expectedDegree > 0 && (slab(slot, CHILDREN) == SlabAllocator.NULL
+                                   || shift(slot, CHILDREN) < shift)) {
+            resize(slot, CHILDREN, shift);
+        }
+
+        return added;
+    }
+
+    @Override
+    public boolean hasNode(int nodeId) {
+        return slotOf(nodeId) >= 0;
+    }
+
+    @Override
+    public boolean clearNode(int nodeId) {
+        final int slot = slotOf(nodeId);
+
+        if (slot < 0) {
+            return false;
+        }
+
+        final int children = count(slot, CHILDREN);
+        final int parents = directed ? count(slot, PARENTS) : 0;
+
+        if (children == 0 && parents == 0) {
+            return false;
+        }
+
+        final int key = slot + 1;
+        boolean selfLoop = false;
+        long slab = slab(slot, CHILDREN);
+        int capacity = children == 0 ? 0 : 1 << shift(slot, CHILDREN);
+
+        for (int i = 0; i < capacity; ++i) {
+            final int k = slabs.getInt(keyAddress(slab, i));
+
+            if (k == key) {
+                selfLoop = true;
+            } else if (k != 0) {
+                remove(k - 1, parentSide, key);
+            }
+        }
+
+        if (directed) {
+            slab = slab(slot, PARENTS);
+            capacity = parents == 0 ? 0 : 1 << shift(slot, PARENTS);
+
+            for (int i = 0; i < capacity; ++i) {
+                final int k = slabs.getInt(keyAddress(slab, i));
+
+                if (k != 0 && k != key) {
+                    remove(k - 1, CHILDREN, key);
+                }
+            }
+
+            release(slot, PARENTS);
+        }
+
+        release(slot, CHILDREN);
+        final int removed = children + parents - (selfLoop ? 1 : 0);
+        edges -= removed;
+        modificationCount += removed;
+        return true;
+    }
+
+    @Override
+    public boolean removeNode(int nodeId) {
+        final int slot = slotOf(nodeId);
+
+        if (slot < 0) {
+            return false;
+        }
+
+        clearNode(nodeId);
+        removeFromTable(nodeId);
+        freeRecord(slot);
+        nodeCount--;
+        modificationCount++;
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(int tailNodeId, int headNodeId, double weight) {
+        if (!directed && tailNodeId == headNodeId) {
+            // Undirected graph are not allowed to contain self-loops.
+            return false;
+        }
+
+        int tailSlot = slotOf(tailNodeId);
+
+        if (tailSlot < 0) {
+            tailSlot = createNode(tailNodeId);
+            modificationCount++;
+        }
+
+        int headSlot = slotOf(headNodeId);
+
+        if (headSlot < 0) {
+            headSlot = createNode(headNodeId);
+            modificationCount++;
+        }
+
+        final int index = find(tailSlot, CHILDREN, headSlot + 1);
+
+        if (index < 0) {
+            insert(tailSlot, CHILDREN, headSlot + 1, weight);
+            insert(headSlot, parentSide, tailSlot + 1, weight);
+            edges++;
+            modificationCount++;
+            return true;
+        }
+
+        final long address = weightAddress(tailSlot, CHILDREN, index);
+        final double oldWeight = slabs.getDouble(address);
+
+        if (Double.doubleToRawLongBits(oldWeight) ==
+            Double.doubleToRawLongBits(weight)) {
+            return false;
+        }
+
+        slabs.putDouble(address, weight);
+        slabs.putDouble(weightAddress(headSlot,
+                                      parentSide,
+                                      find(headSlot,
+                                           parentSide,
+                                           tailSlot + 1)),
+                        weight);
+
+        if (oldWeight != weight) {
+            modificationCount++;
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean hasEdge(int tailNodeId, int headNodeId) {
+        final int tailSlot = slotOf(tailNodeId);
+
+        if (tailSlot < 0) {
+            return false;
+        }
+
+        final int headSlot = slotOf(headNodeId);
+        return headSlot >= 0 && find(tailSlot, CHILDREN, headSlot + 1) >= 0;
+    }
+
+    @Override
+    public double getEdgeWeight(int tailNodeId, int headNodeId) {
+        final int tailSlot = slotOf(tailNodeId);
+        final int headSlot = tailSlot < 0 ? -1 : slotOf(headNodeId);
+        final int index = headSlot < 0 ?
+                          -1 :
+                          find(tailSlot, CHILDREN, headSlot + 1);
+
+        return index < 0 ?
+               Double.NaN :
+               slabs.getDouble(weightAddress(tailSlot, CHILDREN, index));
+    }
+
+    @Override
+    public boolean removeEdge(int tailNodeId, int headNodeId) {
+        final int tailSlot = slotOf(tailNodeId);
+        final int headSlot = tailSlot < 0 ? -1 : slotOf(headNodeId);
+
+        if (headSlot < 0 || find(tailSlot, CHILDREN, headSlot + 1) < 0) {
+            return false;
+        }
+
+        remove(tailSlot, CHILDREN, headSlot + 1);
+        remove(headSlot, parentSide, tailSlot + 1);
+        edges--;
+        modificationCount++;
+        return true;
+    }
+
+    @Override
+    public Set<Integer> getChildrenOf(int nodeId) {
+        return hasNode(nodeId) ?
+               new NeighborSet(nodeId, CHILDREN) :
+               Collections.<Integer>emptySet();
+    }
+
+    @Override
+    public Set<Integer> getParentsOf(int nodeId) {
+        return hasNode(nodeId) ?
+               new NeighborSet(nodeId, parentSide) :
+               Collections.<Integer>emptySet();
+    }
+
+    @Override
+    public void forEachChild(int nodeId, IntDoubleConsumer consumer) {
+        forEach(nodeId, CHILDREN, consumer);
+    }
+
+    @Override
+    public void forEachParent(int nodeId, IntDoubleConsumer consumer) {
+        forEach(nodeId, parentSide, consumer);
+    }
+
+    @Override
+    public int getNumberOfChildren(int nodeId) {
+        final int slot = slotOf(nodeId);
+        return slot < 0 ? 0 : count(slot, CHILDREN);
+    }
+
+    @Override
+    public int getNumberOfParents(int nodeId) {
+        final int slot = slotOf(nodeId);
+        return slot < 0 ? 0 : count(slot, parentSide);
+    }
+
+    @Override
+    public Set<Integer> getAllNodes() {
+        return nodeSet;
+    }
+
+    @Override
+    public void clear() {
+        // Count like the on-heap graph of the same kind would.
+        modificationCount += directed ? 3 * edges : nodeCount + edges;
+        edges = 0;
+        relocationCount++;
+        initialize();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The estimate counts the direct memory reserved by this graph, which
+     * includes the unused parts of the chunks and the freed slabs, and the
+     * heap arrays referencing the direct buffers.
+     */
+    @Override
+    public long memoryFootprint() {
+        final long recordPagesInUse =
+                (slotCount + RECORD_PAGE_MASK) >>> RECORD_PAGE_SHIFT;
+
+        return slabs.reservedBytes() +
+               recordPagesInUse * (RECORD_BYTES << RECORD_PAGE_SHIFT) +
+               (long) tableCapacity * Integer.BYTES +
+               AbstractIntHashMap.arrayBytes(slabs.bufferSlots(), 4) +
+               AbstractIntHashMap.arrayBytes(recordPages.length, 4) +
+               AbstractIntHashMap.arrayBytes(tablePages.length, 4);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The adjacency is moved into fresh chunks at the smallest slab sizes,
+     * and the node table is rebuilt at the smallest capacity, so the old
+     * chunks, including their free slabs, are released as a whole.
+     */
+    @Override
+    public long compact() {
+        final long before = memoryFootprint();
+        final SlabAllocator old = slabs;
+        final int sides = directed ? 2 : 1;
+        slabs = new SlabAllocator(chunkBytes);
+
+        for (int slot = 0; slot < slotCount; ++slot) {
+            if (count(slot, CHILDREN) == FREE) {
+                continue;
+            }
+
+            for (int side = 0; side < sides; ++side) {
+                final long slab = slab(slot, side);
+
+                if (slab != SlabAllocator.NULL) {
+                    final int shift = shiftFor(count(slot, side));
+                    setSlab(slot, side, transfer(old,
+                                                 slab,
+                                                 shift(slot, side),
+                                                 shift));
+                    setShift(slot, side, shift);
+                }
+            }
+        }
+
+        rebuildTable(tableCapacityFor(nodeCount));
+        relocationCount++;
+        return before - memoryFootprint();
+    }
+
+    @Override
+    public boolean trimToSize(int nodeId) {
+        final int slot = slotOf(nodeId);
+
+        if (slot < 0) {
+            return false;
+        }
+
+        boolean trimmed = false;
+
+        for (int side = 0; side < (directed ? 2 : 1); ++side) {
+            final int shift = shiftFor(count(slot, side));
+
+            if (slab(slot, side) != SlabAllocator.NULL
+                    && shift < shift(slot, side)) {
+                resize(slot, side, shift);
+                trimmed = true;
+            }
+        }
+
+        if (trimmed) {
+            relocationCount++;
+        }
+
+        return trimmed;
+    }
+
+    /**
+     * Drops all storage and starts over with an empty graph.
+     */
+    private void initialize() {
+        slabs = new SlabAllocator(chunkBytes);
+        recordPages = new ByteBuffer[1];
+        slotCount = 0;
+        freeSlot = -1;
+        nodeCount = 0;
+        allocateTable(MINIMUM_TABLE_CAPACITY);
+    }
+
+    // Node records.
+
+    private ByteBuffer page(int slot) {
+        return recordPages[slot >>> RECORD_PAGE_SHIFT];
+    }
+
+    private static int offset(int slot) {
+        return (slot & RECORD_PAGE_MASK) * RECORD_BYTES;
+    }
+
+    private int nodeIdAt(int slot) {
+        return page(slot).getInt(offset(slot) + NODE_ID);
+    }
+
+    private int count(int slot, int side) {
+        return page(slot).getInt(offset(slot) + COUNT + side * Integer.BYTES);
+    }
+
+    private void setCount(int slot, int side, int count) {
+        page(slot).putInt(offset(slot) + COUNT + side * Integer.BYTES, count);
+    }
+
+    private long slab(int slot, int side) {
+        return page(slot).getLong(offset(slot) + SLAB + side * Long.BYTES);
+    }
+
+    private void setSlab(int slot, int side, long slab) {
+        page(slot).putLong(offset(slot) + SLAB + side * Long.BYTES, slab);
+    }
+
+    private int shift(int slot, int side) {
+        return page(slot).get(offset(slot) + SHIFT + side);
+    }
+
+    private void setShift(int slot, int side, int shift) {
+        page(slot).put(offset(slot) + SHIFT + side, (byte) shift);
+    }
+
+    /**
+     * Adds the node {@code nodeId}, which must not be in this graph, without
+     * touching the modification count, and returns its slot.
+     */
+    private int createNode(int nodeId) {
+        if (2L * (nodeCount + 1) > tableCapacity) {
+            if (tableCapacity == MAXIMUM_TABLE_CAPACITY) {
+                throw new IllegalStateException(
+                        "An off-heap graph cannot hold more than " +
+                        MAXIMUM_TABLE_CAPACITY / 2 + " nodes.");
+            }
+
+            rebuildTable(2 * tableCapacity);
+        }
+
+        final int slot;
+
+        if (freeSlot >= 0) {
+            slot = freeSlot;
+            freeSlot = (int) slab(slot, CHILDREN);
+        } else {
+            slot = slotCount++;
+            final int page = slot >>> RECORD_PAGE_SHIFT;
+
+            if (page == recordPages.length) {
+                recordPages = Arrays.copyOf(recordPages, 2 * page);
+            }
+
+            if (recordPages[page] == null) {
+                recordPages[page] =
+                        newBuffer(RECORD_BYTES << RECORD_PAGE_SHIFT);
+            }
+        }
+
+        final ByteBuffer page = page(slot);
+        final int offset = offset(slot);
+
+        for (int i = 0; i < RECORD_BYTES; i += Long.BYTES) {
+            page.putLong(offset + i, 0L);
+        }
+
+        page.putInt(offset + NODE_ID, nodeId);
+        insertIntoTable(nodeId, slot);
+        nodeCount++;
+        return slot;
+    }
+
+    private void freeRecord(int slot) {
+        setCount(slot, CHILDREN, FREE);
+        setSlab(slot, CHILDREN, freeSlot);
+        freeSlot = slot;
+    }
+
+    // The node table.
+
+    private void allocateTable(int capacity) {
+        final int pageInts = Math.min(capacity, 1 << TABLE_PAGE_SHIFT);
+        tableCapacity = capacity;
+        tablePageShift = Integer.numberOfTrailingZeros(pageInts);
+        tablePages = new ByteBuffer[capacity / pageInts];
+
+        for (int i = 0; i < tablePages.length; ++i) {
+            tablePages[i] = newBuffer(pageInts * Integer.BYTES);
+        }
+    }
+
+    private static int tableCapacityFor(int nodes) {
+        int capacity = MINIMUM_TABLE_CAPACITY;
+
+        while (capacity < 2L * nodes) {
+            capacity *= 2;
+        }
+
+        return capacity;
+    }
+
+    private int tableGet(int index) {
+        return tablePages[index >>> tablePageShift]
+                .getInt((index & ((1 << tablePageShift) - 1)) * Integer.BYTES);
+    }
+
+    private void tablePut(int index, int value) {
+        tablePages[index >>> tablePageShift]
+                .putInt((index & ((1 << tablePageShift) - 1)) * Integer.BYTES,
+                        value);
+    }
+
+    /**
+     * Returns the slot of the node {@code nodeId}, or -1 if there is no such
+     * node.
+     */
+    private int slotOf(int nodeId) {
+        final int mask = tableCapacity - 1;
+        int index = AbstractIntHashMap.hash(nodeId) & mask;
+        int ref;
+
+        while ((ref = tableGet(index)) != 0) {
+            if (nodeIdAt(ref - 1) == nodeId) {
+                return ref - 1;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private void insertIntoTable(int nodeId, int slot) {
+        final int mask = tableCapacity - 1;
+        int index = AbstractIntHashMap.hash(nodeId) & mask;
+
+        while (tableGet(index) != 0) {
+            index = (index + 1) & mask;
+        }
+
+        tablePut(index, slot + 1);
+    }
+
+    /**
+     * Removes the node {@code nodeId} from the node table using backward shift
+     * deletion.
+     */
+    private void removeFromTable(int nodeId) {
+        final int mask = tableCapacity - 1;
+        int index = AbstractIntHashMap.hash(nodeId) & mask;
+
+        while (nodeIdAt(tableGet(index) - 1) != nodeId) {
+            index = (index + 1) & mask;
+        }
+
+        int hole = index;
+        index = (index + 1) & mask;
+        int ref;
+
+        while ((ref = tableGet(index)) != 0) {
+            final int home = AbstractIntHashMap.hash(nodeIdAt(ref - 1)) & mask;
+
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                tablePut(hole, ref);
+                hole = index;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        tablePut(hole, 0);
+    }
+
+    private void rebuildTable(int capacity) {
+        allocateTable(capacity);
+
+        for (int slot = 0; slot < slotCount; ++slot) {
+            if (count(slot, CHILDREN) != FREE) {
+                insertIntoTable(nodeIdAt(slot), slot);
+            }
+        }
+    }
+
+    // Slabs.
+
+    private static long keyAddress(long slab, int index) {
+        return slab + (long) Integer.BYTES * index;
+    }
+
+    private static long weightAddress(long slab, int shift, int index) {
+        return slab + ((long) Integer.BYTES << shift) +
+                      (long) Double.BYTES * index;
+    }
+
+    private long weightAddress(int slot, int side, int index) {
+        return weightAddress(slab(slot, side), shift(slot, side), index);
+    }
+
+    /**
+     * Returns the smallest slab class that holds {@code entries} entries
+     * without exceeding the maximum load factor of 3/4.
+     */
+    private static int shiftFor(int entries) {
+        int shift = SlabAllocator.MINIMUM_SHIFT;
+
+        while (4L * entries > 3L << shift) {
+            shift++;
+        }
+
+        return shift;
+    }
+
+    /**
+     * Returns the position of {@code key} in the slab of the given side of
+     * the node in slot {@code slot}, or -1 if the key is not there.
+     */
+    private int find(int slot, int side, int key) {
+        final long slab = slab(slot, side);
+
+        if (slab == SlabAllocator.NULL) {
+            return -1;
+        }
+
+        final int mask = (1 << shift(slot, side)) - 1;
+        int index = AbstractIntHashMap.hash(key) & mask;
+        int k;
+
+        while ((k = slabs.getInt(keyAddress(slab, index))) != 0) {
+            if (k == key) {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Inserts the absent key {@code key} into the slab of the given side of
+     * the node in slot {@code slot}, growing the slab if needed.
+     */
+    private void insert(int slot, int side, int key, double weight) {
+        final int count = count(slot, side);
+        long slab = slab(slot, side);
+        int shift = shift(slot, side);
+
+        if (slab == SlabAllocator.NULL) {
+            shift = SlabAllocator.MINIMUM_SHIFT;
+            slab = slabs.allocate(shift);
+            setSlab(slot, side, slab);
+            setShift(slot, side, shift);
+        } else if (4L * (count + 1) > 3L << shift) {
+            slab = resize(slot, side, shift + 1);
+            shift++;
+        }
+
+        put(slabs, slab, shift, key, weight);
+        setCount(slot, side, count + 1);
+    }
+
+    /**
+     * Removes the present key {@code key} from the slab of the given side of
+     * the node in slot {@code slot} using backward shift deletion. Frees the
+     * slab once it is empty and halves it once it is one eighth full.
+     */
+    private void remove(int slot, int side, int key) {
+        final long slab = slab(slot, side);
+        final int shift = shift(slot, side);
+        final int mask = (1 << shift) - 1;
+        int hole = find(slot, side, key);
+        int index = (hole + 1) & mask;
+        int k;
+
+        while ((k = slabs.getInt(keyAddress(slab, index))) != 0) {
+            final int home = AbstractIntHashMap.hash(k) & mask;
+
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                slabs.putInt(keyAddress(slab, hole), k);
+                slabs.putDouble(weightAddress(slab, shift, hole),
+                                slabs.getDouble(weightAddress(slab,
+                                                              shift,
+                                                              index)));
+                hole = index;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        slabs.putInt(keyAddress(slab, hole), 0);
+        final int count = count(slot, side) - 1;
+        setCount(slot, side, count);
+
+        if (count == 0) {
+            slabs.free(slab, shift);
+            setSlab(slot, side, SlabAllocator.NULL);
+        } else if (shift > SlabAllocator.MINIMUM_SHIFT
+                && count <= (1 << shift) >>> 3) {
+            resize(slot, side, shift - 1);
+        }
+    }
+
+    /**
+     * Frees the slab of the given side of the node in slot {@code slot}.
+     */
+    private void release(int slot, int side) {
+        final long slab = slab(slot, side);
+
+        if (slab != SlabAllocator.NULL) {
+            slabs.free(slab, shift(slot, side));
+            setSlab(slot, side, SlabAllocator.NULL);
+        }
+
+        setCount(slot, side, 0);
+    }
+
+    /**
+     * Moves the entries of the given side of the node in slot {@code slot}
+     * into a new slab of class {@code shift} and returns its address.
+     */
+    private long resize(int slot, int side, int shift) {
+        if (shift > SlabAllocator.MAXIMUM_SHIFT) {
+            throw new IllegalStateException(
+                    "A node of an off-heap graph cannot have more than " +
+                    (3 << SlabAllocator.MAXIMUM_SHIFT) / 4 + " neighbors.");
+        }
+
+        final long oldSlab = slab(slot, side);
+        final long slab;
+
+        if (oldSlab == SlabAllocator.NULL) {
+            slab = slabs.allocate(shift);
+        } else {
+            final int oldShift = shift(slot, side);
+            slab = transfer(slabs, oldSlab, oldShift, shift);
+            slabs.free(oldSlab, oldShift);
+        }
+
+        setSlab(slot, side, slab);
+        setShift(slot, side, shift);
+        return slab;
+    }
+
+    /**
+     * Copies the entries of the slab at {@code oldSlab} of class
+     * {@code oldShift} in {@code source} into a new slab of class
+     * {@code shift} allocated by {@link #slabs}, and returns its address.
+     */
+    private long transfer(SlabAllocator source,
+                          long oldSlab,
+                          int oldShift,
+                          int shift) {
+        final long slab = slabs.allocate(shift);
+
+        for (int i = 0; i < 1 << oldShift; ++i) {
+            final int key = source.getInt(keyAddress(oldSlab, i));
+
+            if (key != 0) {
+                put(slabs,
+                    slab,
+                    shift,
+                    key,
+                    source.getDouble(weightAddress(oldSlab, oldShift, i)));
+            }
+        }
+
+        return slab;
+    }
+
+    private static void put(SlabAllocator slabs,
+                            long slab,
+                            int shift,
+                            int key,
+                            double weight) {
+        final int mask = (1 << shift) - 1;
+        int index = AbstractIntHashMap.hash(key) & mask;
+
+        while (slabs.getInt(keyAddress(slab, index)) != 0) {
+            index = (index + 1) & mask;
+        }
+
+        slabs.putInt(keyAddress(slab, index), key);
+        slabs.putDouble(weightAddress(slab, shift, index), weight);
+    }
+
+    private void forEach(int nodeId, int side, IntDoubleConsumer consumer) {
+        final int slot = slotOf(nodeId);
+
+        if (slot < 0 || count(slot, side) == 0) {
+            return;
+        }
+
+        final long slab = slab(slot, side);
+        final int shift = shift(slot, side);
+
+        for (int i = 0; i < 1 << shift; ++i) {
+            final int key = slabs.getInt(keyAddress(slab, i));
+
+            if (key != 0) {
+                consumer.accept(nodeIdAt(key - 1),
+                                slabs.getDouble(weightAddress(slab,
+                                                              shift,
+                                                              i)));
+            }
+        }
+    }
+
+    private static ByteBuffer newBuffer(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Implements the read-only set view over a side of a node. The node is
+     * looked up anew on each access.
+     */
+    private final class NeighborSet extends AbstractSet<Integer> {
+
+        private final int nodeId;
+        private final int side;
+
+        NeighborSet(int nodeId, int side) {
+            this.nodeId = nodeId;
+            this.side = side;
+        }
+
+        @Override
+        public int size() {
+            final int slot = slotOf(nodeId);
+            return slot < 0 ? 0 : count(slot, side);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Integer)) {
+                return false;
+            }
+
+            final int slot = slotOf(nodeId);
+            final int other = slot < 0 ? -1 : slotOf((Integer) o);
+            return other >= 0 && find(slot, side, other + 1) >= 0;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            final int slot = slotOf(nodeId);
+            return slot < 0 ?
+                   Collections.<Integer>emptyIterator() :
+                   new NeighborIterator(slot, side);
+        }
+    }
+
+    /**
+     * Iterates over the neighbors stored in a slab.
+     */
+    private final class NeighborIterator implements Iterator<Integer> {
+
+        private final int expectedModificationCount = modificationCount;
+        private final int expectedRelocationCount = relocationCount;
+        private final long slab;
+        private int remaining;
+        private int index;
+
+        NeighborIterator(int slot, int side) {
+            this.slab = slab(slot, side);
+            this.remaining = count(slot, side);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Integer next() {
+            if (expectedModificationCount != modificationCount
+                    || expectedRelocationCount != relocationCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+
+            int key;
+
+            while ((key = slabs.getInt(keyAddress(slab, index++))) == 0) {}
+
+            remaining--;
+            return nodeIdAt(key - 1);
+        }
+    }
+
+    /**
+     * Implements the read-only set view over the nodes.
+     */
+    private final class NodeSet extends AbstractSet<Integer> {
+
+        @Override
+        public int size() {
+            return nodeCount;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && hasNode((Integer) o);
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+
+                private final int expectedModificationCount =
+                        modificationCount;
+
+                private final int expectedRelocationCount = relocationCount;
+                private int remaining = nodeCount;
+                private int slot;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0;
+                }
+
+                @Override
+                public Integer next() {
+                    if (expectedModificationCount != modificationCount
+                            || expectedRelocationCount != relocationCount) {
+                        throw new ConcurrentModificationException();
+                    }
+
+                    if (remaining == 0) {
+                        throw new NoSuchElementException();
+                    }
+
+                    while (count(slot, CHILDREN) == FREE) {
+                        slot++;
+                    }
+
+                    remaining--;
+                    return nodeIdAt(slot++);
+                }
+            };
+        }
+    }
+}
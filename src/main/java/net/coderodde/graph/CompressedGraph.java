@@ -0,0 +1,567 @@
+package net.coderodde.graph;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This class implements an immutable graph in the compressed sparse row (CSR)
+ * format. It is obtained via {@link AbstractGraph#freeze()} and supports the
+ * entire read API of {@link AbstractGraph}; all mutating methods throw
+ * {@link java.lang.UnsupportedOperationException}.
+ * <p>
+ * Every node is assigned a dense <i>index</i> between zero and
+ * {@code size() - 1}, in the iteration order of the frozen graph's
+ * {@link AbstractGraph#getAllNodes()}. The children of the node with index
+ * {@code i} occupy the positions from {@code getChildOffset(i)} (inclusive) to
+ * {@code getChildOffset(i + 1)} (exclusive) of the target and weight arrays,
+ * sorted by the index of the child. The parents are stored in the same manner
+ * in a reverse CSR. In a frozen undirected graph the two share the arrays.
+ * Traversals that work on the indices run over contiguous memory without any
+ * hash lookups.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class CompressedGraph extends AbstractGraph {
+
+    /**
+     * Maps each index to its node ID.
+     */
+    private final int[] nodeIds;
+
+    /**
+     * The open-addressing table mapping node IDs to indices. Each slot holds
+     * zero for an empty slot, or one plus the index of a node.
+     */
+    private final int[] indexTable;
+
+    private final int[] childOffsets;
+    private final int[] childIndices;
+    private final double[] childWeights;
+
+    private final int[] parentOffsets;
+    private final int[] parentIndices;
+    private final double[] parentWeights;
+
+    private final boolean directed;
+
+    /**
+     * Caches the node set view.
+     */
+    private final Set<Integer> nodeSet = new NodeSet();
+
+    /**
+     * Constructs a compressed copy of {@code graph}.
+     *
+     * @param graph    the graph to copy.
+     * @param directed {@code false} if the children of each node in
+     *                 {@code graph} coincide with its parents, in which case
+     *                 the reverse CSR is not built.
+     */
+    CompressedGraph(AbstractGraph graph, boolean directed) {
+        final int n = graph.size();
+        this.directed = directed;
+        this.nodeIds = new int[n];
+        this.edges = graph.getNumberOfEdges();
+        this.modificationCount = graph.getModificationCount();
+
+        int index = 0;
+
+        for (Integer nodeId : graph.getAllNodes()) {
+            nodeIds[index++] = nodeId;
+        }
+
+        this.indexTable = buildIndexTable(nodeIds);
+
+        // Build the forward CSR in the order the graph hands out the
+        // children.
+        final int[] rawOffsets = new int[n + 1];
+
+        for (int i = 0; i < n; ++i) {
+            rawOffsets[i + 1] = rawOffsets[i] +
+                                graph.getNumberOfChildren(nodeIds[i]);
+        }
+
+        final int arcs = rawOffsets[n];
+        final RowWriter writer = new RowWriter(arcs);
+
+        for (int i = 0; i < n; ++i) {
+            graph.forEachChild(nodeIds[i], writer);
+        }
+
+        final int[] rawIndices = writer.indices;
+        final double[] rawWeights = writer.weights;
+
+        // Transposing emits every row sorted by the index of its entries.
+        // The transpose of the forward CSR is the reverse CSR, and the
+        // transpose of that is the forward CSR with sorted rows.
+        this.parentOffsets = new int[n + 1];
+        this.parentIndices = new int[arcs];
+        this.parentWeights = new double[arcs];
+        transpose(rawOffsets, rawIndices, rawWeights,
+                  parentOffsets, parentIndices, parentWeights);
+
+        if (directed) {
+            this.childOffsets = new int[n + 1];
+            this.childIndices = new int[arcs];
+            this.childWeights = new double[arcs];
+            transpose(parentOffsets, parentIndices, parentWeights,
+                      childOffsets, childIndices, childWeights);
+        } else {
+            this.childOffsets = parentOffsets;
+            this.childIndices = parentIndices;
+            this.childWeights = parentWeights;
+        }
+    }
+
+    /**
+     * Returns {@code true} if this graph was frozen from a directed graph.
+     *
+     * @return {@code true} if this graph is directed.
+     */
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Returns the index of the node {@code nodeId}, or -1 if the node is not
+     * in this graph.
+     *
+     * @param nodeId the node ID.
+     * @return the index of the node or -1.
+     */
+    public int indexOf(int nodeId) {
+        final int mask = indexTable.length - 1;
+        int slot = AbstractIntHashMap.hash(nodeId) & mask;
+        int ref;
+
+        while ((ref = indexTable[slot]) != 0) {
+            if (nodeIds[ref - 1] == nodeId) {
+                return ref - 1;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the ID of the node with index {@code index}.
+     *
+     * @param index the index of the node.
+     * @return the node ID.
+     */
+    public int getNodeId(int index) {
+        return nodeIds[index];
+    }
+
+    /**
+     * Returns the position of the first child of the node with index
+     * {@code index}. The children of the node end at
+     * {@code getChildOffset(index + 1)}.
+     *
+     * @param index the index of the node, or {@code size()} for the end of
+     *              the last row.
+     * @return the position of the first child.
+     */
+    public int getChildOffset(int index) {
+        return childOffsets[index];
+    }
+
+    /**
+     * Returns the index of the child stored at position {@code position}.
+     *
+     * @param position the position in the child arrays.
+     * @return the index of the child.
+     */
+    public int getChildIndex(int position) {
+        return childIndices[position];
+    }
+
+    /**
+     * Returns the weight of the arc stored at position {@code position} of the
+     * child arrays.
+     *
+     * @param position the position in the child arrays.
+     * @return the weight of the arc.
+     */
+    public double getChildWeight(int position) {
+        return childWeights[position];
+    }
+
+    /**
+     * Returns the position of the first parent of the node with index
+     * {@code index}. The parents of the node end at
+     * {@code getParentOffset(index + 1)}.
+     *
+     * @param index the index of the node, or {@code size()} for the end of
+     *              the last row.
+     * @return the position of the first parent.
+     */
+    public int getParentOffset(int index) {
+        return parentOffsets[index];
+    }
+
+    /**
+     * Returns the index of the parent stored at position {@code position}.
+     *
+     * @param position the position in the parent arrays.
+     * @return the index of the parent.
+     */
+    public int getParentIndex(int position) {
+        return parentIndices[position];
+    }
+
+    /**
+     * Returns the weight of the arc stored at position {@code position} of the
+     * parent arrays.
+     *
+     * @param position the position in the parent arrays.
+     * @return the weight of the arc.
+     */
+    public double getParentWeight(int position) {
+        return parentWeights[position];
+    }
+
+    @Override
+    public int size() {
+        return nodeIds.length;
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return edges;
+    }
+
+    @Override
+    public boolean hasNode(int nodeId) {
+        return indexOf(nodeId) >= 0;
+    }
+
+    @Override
+    public boolean hasEdge(int tailNodeId, int headNodeId) {
+        return findArc(tailNodeId, headNodeId) >= 0;
+    }
+
+    @Override
+    public double getEdgeWeight(int tailNodeId, int headNodeId) {
+        final int position = findArc(tailNodeId, headNodeId);
+        return position < 0 ? Double.NaN : childWeights[position];
+    }
+
+    @Override
+    public Set<Integer> getChildrenOf(int nodeId) {
+        return new RowSet(childOffsets, childIndices, indexOf(nodeId));
+    }
+
+    @Override
+    public Set<Integer> getParentsOf(int nodeId) {
+        return new RowSet(parentOffsets, parentIndices, indexOf(nodeId));
+    }
+
+    @Override
+    public void forEachChild(int nodeId, IntDoubleConsumer consumer) {
+        final int index = indexOf(nodeId);
+
+        if (index >= 0) {
+            for (int position = childOffsets[index];
+                    position < childOffsets[index + 1];
+                    ++position) {
+                consumer.accept(nodeIds[childIndices[position]],
+                                childWeights[position]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachParent(int nodeId, IntDoubleConsumer consumer) {
+        final int index = indexOf(nodeId);
+
+        if (index >= 0) {
+            for (int position = parentOffsets[index];
+                    position < parentOffsets[index + 1];
+                    ++position) {
+                consumer.accept(nodeIds[parentIndices[position]],
+                                parentWeights[position]);
+            }
+        }
+    }
+
+    @Override
+    public int getNumberOfChildren(int nodeId) {
+        final int index = indexOf(nodeId);
+        return index < 0 ? 0 : childOffsets[index + 1] - childOffsets[index];
+    }
+
+    @Override
+    public int getNumberOfParents(int nodeId) {
+        final int index = indexOf(nodeId);
+        return index < 0 ? 0 : parentOffsets[index + 1] - parentOffsets[index];
+    }
+
+    @Override
+    public Set<Integer> getAllNodes() {
+        return nodeSet;
+    }
+
+    /**
+     * Returns this graph as it is already frozen.
+     *
+     * @return this graph.
+     */
+    @Override
+    public CompressedGraph freeze() {
+        return this;
+    }
+
+    /**
+     * Returns this graph as it never changes.
+     *
+     * @return this graph.
+     */
+    @Override
+    public CompressedGraph snapshot() {
+        return this;
+    }
+
+    @Override
+    public boolean addNode(int nodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean clearNode(int nodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeNode(int nodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addEdge(int tailNodeId, int headNodeId, double weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEdge(int tailNodeId, int headNodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    /**
+     * Returns the position of the arc {@code (tailNodeId, headNodeId)} in the
+     * child arrays, or -1 if there is no such arc.
+     */
+    private int findArc(int tailNodeId, int headNodeId) {
+        final int tailIndex = indexOf(tailNodeId);
+
+        if (tailIndex < 0) {
+            return -1;
+        }
+
+        final int headIndex = indexOf(headNodeId);
+
+        if (headIndex < 0) {
+            return -1;
+        }
+
+        final int position = Arrays.binarySearch(childIndices,
+                                                 childOffsets[tailIndex],
+                                                 childOffsets[tailIndex + 1],
+                                                 headIndex);
+        return position < 0 ? -1 : position;
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException(
+                "A compressed graph is read-only.");
+    }
+
+    private static int[] buildIndexTable(int[] nodeIds) {
+        int length = Integer.highestOneBit(Math.max(nodeIds.length, 1)) * 2;
+
+        if (length < nodeIds.length * 2) {
+            length *= 2;
+        }
+
+        final int[] table = new int[length];
+        final int mask = length - 1;
+
+        for (int i = 0; i < nodeIds.length; ++i) {
+            int slot = AbstractIntHashMap.hash(nodeIds[i]) & mask;
+
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            table[slot] = i + 1;
+        }
+
+        return table;
+    }
+
+    /**
+     * Writes the transpose of the CSR {@code (offsets, indices, weights)} to
+     * {@code (outOffsets, outIndices, outWeights)}. Each row of the output is
+     * sorted by index since the input rows are scanned in index order.
+     */
+    private static void transpose(int[] offsets,
+                                  int[] indices,
+                                  double[] weights,
+                                  int[] outOffsets,
+                                  int[] outIndices,
+                                  double[] outWeights) {
+        final int n = offsets.length - 1;
+
+        for (int position = 0; position < offsets[n]; ++position) {
+            outOffsets[indices[position] + 1]++;
+        }
+
+        for (int i = 0; i < n; ++i) {
+            outOffsets[i + 1] += outOffsets[i];
+        }
+
+        final int[] cursors = Arrays.copyOf(outOffsets, n);
+
+        for (int i = 0; i < n; ++i) {
+            for (int position = offsets[i];
+                    position < offsets[i + 1];
+                    ++position) {
+                final int target = cursors[indices[position]]++;
+                outIndices[target] = i;
+                outWeights[target] = weights[position];
+            }
+        }
+    }
+
+    /**
+     * Appends the visited children to the raw forward CSR.
+     */
+    private final class RowWriter implements IntDoubleConsumer {
+
+        final int[] indices;
+        final double[] weights;
+        private int position;
+
+        RowWriter(int arcs) {
+            this.indices = new int[arcs];
+            this.weights = new double[arcs];
+        }
+
+        @Override
+        public void accept(int nodeId, double weight) {
+            indices[position] = indexOf(nodeId);
+            weights[position] = weight;
+            position++;
+        }
+    }
+
+    /**
+     * Implements the set view of all nodes.
+     */
+    private final class NodeSet extends AbstractSet<Integer> {
+
+        @Override
+        public int size() {
+            return nodeIds.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && indexOf((Integer) o) >= 0;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < nodeIds.length;
+                }
+
+                @Override
+                public Integer next() {
+                    if (index == nodeIds.length) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return nodeIds[index++];
+                }
+            };
+        }
+    }
+
+    /**
+     * Implements the set view of a single row of a CSR.
+     */
+    private final class RowSet extends AbstractSet<Integer> {
+
+        private final int[] indices;
+        private final int begin;
+        private final int end;
+
+        RowSet(int[] offsets, int[] indices, int index) {
+            this.indices = indices;
+
+            if (index < 0) {
+                this.begin = 0;
+                this.end = 0;
+            } else {
+                this.begin = offsets[index];
+                this.end = offsets[index + 1];
+            }
+        }
+
+        @Override
+        public int size() {
+            return end - begin;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Integer)) {
+                return false;
+            }
+
+            final int index = indexOf((Integer) o);
+            return index >= 0 &&
+                   Arrays.binarySearch(indices, begin, end, index) >= 0;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+
+                private int position = begin;
+
+                @Override
+                public boolean hasNext() {
+                    return position < end;
+                }
+
+                @Override
+                public Integer next() {
+                    if (position == end) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return nodeIds[indices[position++]];
+                }
+            };
+        }
+    }
+}
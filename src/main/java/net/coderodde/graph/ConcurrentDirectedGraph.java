@@ -0,0 +1,36 @@
+package net.coderodde.graph;
+
+/**
+ * This class implements a thread-safe directed graph. Any number of threads
+ * may add and remove nodes and edges and query the graph at the same time.
+ * The nodes are partitioned into lock stripes, so that the operations on
+ * nodes in different stripes do not block each other, and the readers of a
+ * stripe do not block each other either.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class ConcurrentDirectedGraph extends AbstractConcurrentGraph {
+
+    /**
+     * Constructs an empty graph with the default number of lock stripes.
+     */
+    public ConcurrentDirectedGraph() {
+        this(0);
+    }
+
+    /**
+     * Constructs an empty graph.
+     *
+     * @param concurrencyLevel the expected number of concurrently mutating
+     *                         threads, or zero for the default.
+     */
+    public ConcurrentDirectedGraph(int concurrencyLevel) {
+        super(true, concurrencyLevel);
+    }
+
+    @Override
+    boolean allowsEdge(int tailNodeId, int headNodeId) {
+        return true;
+    }
+}
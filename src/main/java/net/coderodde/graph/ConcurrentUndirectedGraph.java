@@ -0,0 +1,37 @@
+package net.coderodde.graph;
+
+/**
+ * This class implements a thread-safe undirected graph. Any number of threads
+ * may add and remove nodes and edges and query the graph at the same time.
+ * The nodes are partitioned into lock stripes, so that the operations on
+ * nodes in different stripes do not block each other, and the readers of a
+ * stripe do not block each other either.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class ConcurrentUndirectedGraph extends AbstractConcurrentGraph {
+
+    /**
+     * Constructs an empty graph with the default number of lock stripes.
+     */
+    public ConcurrentUndirectedGraph() {
+        this(0);
+    }
+
+    /**
+     * Constructs an empty graph.
+     *
+     * @param concurrencyLevel the expected number of concurrently mutating
+     *                         threads, or zero for the default.
+     */
+    public ConcurrentUndirectedGraph(int concurrencyLevel) {
+        super(false, concurrencyLevel);
+    }
+
+    @Override
+    boolean allowsEdge(int tailNodeId, int headNodeId) {
+        // Undirected graph are not allowed to contain self-loops.
+        return tailNodeId != headNodeId;
+    }
+}
@@ -0,0 +1,494 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a connectivity index of an {@link UndirectedGraph},
+ * answering whether two nodes are connected in near-constant time. The index
+ * is obtained through {@link UndirectedGraph#getConnectivityIndex()} and is
+ * updated by the mutators of the graph from then on.
+ * <p>
+ * Each node owns a slot of a union-find forest, and two nodes are connected
+ * if and only if their slots have the same root. Adding an edge unites two
+ * trees in amortized near-constant time. Removing an edge may split a
+ * component, which union-find cannot express. In that case the index runs
+ * searches from the endpoints in lockstep and stops as soon as all but one of
+ * them have either met another search or run out of nodes. A search that runs
+ * out of nodes has visited a whole new component, and its nodes are moved to
+ * fresh slots forming a new tree; the nodes of the one remaining search stay
+ * where they are. Thus the work of a removal is proportional to the size of
+ * the smaller parts, and removing an edge on a cycle stops as soon as the
+ * searches meet. The slots left behind are reclaimed once they outnumber the
+ * live ones.
+ * <p>
+ * Just like the graph, the index is not thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class ConnectivityIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The number of unused slots tolerated on top of the number of live
+     * slots before the forest is compacted.
+     */
+    private static final int COMPACTION_SLACK = 1024;
+
+    private static final int INITIAL_QUEUE_CAPACITY = 4;
+
+    private final UndirectedGraph graph;
+
+    /**
+     * Maps each node of the graph to its slot.
+     */
+    private final IntIntHashMap slotMap = new IntIntHashMap();
+
+    /**
+     * The union-find parent of each slot.
+     */
+    private int[] parent;
+
+    /**
+     * The number of nodes in the tree of each root slot.
+     */
+    private int[] treeSize;
+
+    /**
+     * The number of slots in use, live or not.
+     */
+    private int slots;
+
+    private int components;
+
+    // The state of the searches run on edge removals. A slot is visited by
+    // the current searches if its stamp equals the current stamp; its label
+    // is then the index of the search that reached it first.
+    private int[] visitStamp;
+    private int[] visitLabel;
+    private int stamp;
+
+    // Per search: the queue of visited nodes, the number of expanded ones
+    // and the length of the queue.
+    private int[][] queues = new int[0][];
+    private int[] queueHeads = new int[0];
+    private int[] queueTails = new int[0];
+
+    // Searches that met are merged into a group. The groups form a small
+    // union-find forest over the searches, with the members of each group
+    // chained through nextMember. The root of each group stores the number
+    // of nodes its members have yet to expand.
+    private int[] groupParent = new int[0];
+    private int[] nextMember = new int[0];
+    private int[] lastMember = new int[0];
+    private int[] pending = new int[0];
+    private int[] activeSearches = new int[0];
+
+    /**
+     * Builds the index of the current state of {@code graph}.
+     */
+    ConnectivityIndex(UndirectedGraph graph) {
+        this.graph = graph;
+        build();
+    }
+
+    /**
+     * Returns {@code true} if the nodes {@code nodeId1} and {@code nodeId2}
+     * are in the graph and there is a path between them.
+     *
+     * @param nodeId1 the first node.
+     * @param nodeId2 the second node.
+     * @return {@code true} if the nodes are connected.
+     */
+    public boolean connected(int nodeId1, int nodeId2) {
+        final int slot1 = slotMap.get(nodeId1);
+        final int slot2 = slotMap.get(nodeId2);
+
+        if (slot1 < 0 || slot2 < 0) {
+            return false;
+        }
+
+        return find(slot1) == find(slot2);
+    }
+
+    /**
+     * Returns the number of connected components of the graph.
+     *
+     * @return the number of components.
+     */
+    public int getNumberOfComponents() {
+        return components;
+    }
+
+    /**
+     * Returns the number of nodes in the component of the node
+     * {@code nodeId}, or zero if the node is not in the graph.
+     *
+     * @param nodeId the node.
+     * @return the size of the component of the node.
+     */
+    public int getComponentSize(int nodeId) {
+        final int slot = slotMap.get(nodeId);
+        return slot < 0 ? 0 : treeSize[find(slot)];
+    }
+
+    /**
+     * Records the new isolated node {@code nodeId}.
+     */
+    void nodeAdded(int nodeId) {
+        slotMap.put(nodeId, newTree());
+    }
+
+    /**
+     * Records the new edge between {@code nodeId1} and {@code nodeId2}. The
+     * nodes are added to the index if necessary.
+     */
+    void edgeAdded(int nodeId1, int nodeId2) {
+        int slot1 = slotMap.get(nodeId1);
+        int slot2 = slotMap.get(nodeId2);
+
+        if (slot1 < 0) {
+            slotMap.put(nodeId1, slot1 = newTree());
+        }
+
+        if (slot2 < 0) {
+            slotMap.put(nodeId2, slot2 = newTree());
+        }
+
+        union(slot1, slot2);
+    }
+
+    /**
+     * Records the removal of the edge between {@code nodeId1} and
+     * {@code nodeId2}. The graph must no longer contain the edge.
+     */
+    void edgeRemoved(int nodeId1, int nodeId2) {
+        split(new int[]{ nodeId1, nodeId2 }, 2);
+        compactIfSparse();
+    }
+
+    /**
+     * Records that the node {@code nodeId} has lost all its edges, which led
+     * to the first {@code count} nodes of {@code neighbors}.
+     */
+    void nodeCleared(int nodeId, int[] neighbors, int count) {
+        final int index = slotMap.indexOf(nodeId);
+        treeSize[find(slotMap.valueAt(index))]--;
+        slotMap.setValueAt(index, newTree());
+        split(neighbors, count);
+        compactIfSparse();
+    }
+
+    /**
+     * Records the removal of the isolated node {@code nodeId}.
+     */
+    void nodeRemoved(int nodeId) {
+        slotMap.remove(nodeId);
+        components--;
+        compactIfSparse();
+    }
+
+    /**
+     * Records the removal of all nodes.
+     */
+    void cleared() {
+        slotMap.clear();
+        allocate(INITIAL_CAPACITY);
+        slots = 0;
+        components = 0;
+    }
+
+    private void build() {
+        final PagedIntObjectHashMap<IntDoubleHashMap> nodeTable =
+                graph.nodeTable();
+        allocate(Math.max(INITIAL_CAPACITY, nodeTable.size()));
+        slots = 0;
+        components = 0;
+        slotMap.ensureCapacity(nodeTable.size());
+
+        for (int i = 0; i < nodeTable.end(); ++i) {
+            if (!nodeTable.isHole(i)) {
+                slotMap.put(nodeTable.keyAt(i), newTree());
+            }
+        }
+
+        for (int i = 0; i < nodeTable.end(); ++i) {
+            if (nodeTable.isHole(i)) {
+                continue;
+            }
+
+            final int slot = slotMap.get(nodeTable.keyAt(i));
+            final IntDoubleHashMap neighbors = nodeTable.valueAt(i);
+
+            for (int j = 0; j < neighbors.end(); ++j) {
+                if (!neighbors.isHole(j)) {
+                    union(slot, slotMap.get(neighbors.keyAt(j)));
+                }
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        parent = new int[capacity];
+        treeSize = new int[capacity];
+        visitStamp = new int[capacity];
+        visitLabel = new int[capacity];
+        stamp = 0;
+    }
+
+    /**
+     * Allocates a slot forming a tree of its own and counts the new
+     * component.
+     */
+    private int newTree() {
+        final int slot = newSlot();
+        parent[slot] = slot;
+        treeSize[slot] = 1;
+        components++;
+        return slot;
+    }
+
+    private int newSlot() {
+        if (slots == parent.length) {
+            final int capacity = 2 * parent.length;
+            parent = Arrays.copyOf(parent, capacity);
+            treeSize = Arrays.copyOf(treeSize, capacity);
+            visitStamp = Arrays.copyOf(visitStamp, capacity);
+            visitLabel = Arrays.copyOf(visitLabel, capacity);
+        }
+
+        return slots++;
+    }
+
+    private int find(int slot) {
+        final int[] parent = this.parent;
+
+        // Path halving.
+        while (parent[slot] != slot) {
+            slot = parent[slot] = parent[parent[slot]];
+        }
+
+        return slot;
+    }
+
+    private void union(int slot1, int slot2) {
+        int root1 = find(slot1);
+        int root2 = find(slot2);
+
+        if (root1 == root2) {
+            return;
+        }
+
+        if (treeSize[root1] < treeSize[root2]) {
+            final int tmp = root1;
+            root1 = root2;
+            root2 = tmp;
+        }
+
+        parent[root2] = root1;
+        treeSize[root1] += treeSize[root2];
+        components--;
+    }
+
+    /**
+     * Splits off the components formed by the first {@code count} nodes of
+     * {@code seeds}. The seeds must have been in the same component, and each
+     * node of that component except the ones moved to new trees by the caller
+     * must still be connected to some seed.
+     */
+    private void split(int[] seeds, int count) {
+        if (count < 2) {
+            return;
+        }
+
+        final int oldRoot = find(slotMap.get(seeds[0]));
+
+        if (++stamp == 0) {
+            Arrays.fill(visitStamp, 0);
+            stamp = 1;
+        }
+
+        ensureSearchCapacity(count);
+
+        for (int i = 0; i < count; ++i) {
+            final int slot = slotMap.get(seeds[i]);
+            visitStamp[slot] = stamp;
+            visitLabel[slot] = i;
+            queues[i][0] = seeds[i];
+            queueHeads[i] = 0;
+            queueTails[i] = 1;
+            groupParent[i] = i;
+            nextMember[i] = -1;
+            lastMember[i] = i;
+            pending[i] = 1;
+            activeSearches[i] = i;
+        }
+
+        int groups = count;
+        int active = count;
+
+        while (groups > 1) {
+            // Each search expands one node per round.
+            for (int a = 0; a < active && groups > 1;) {
+                final int search = activeSearches[a];
+
+                if (queueHeads[search] == queueTails[search]) {
+                    activeSearches[a] = activeSearches[--active];
+                    continue;
+                }
+
+                final int nodeId = queues[search][queueHeads[search]++];
+                final int group = findGroup(search);
+                final IntDoubleHashMap neighbors = graph.nodeTable()
+                                                        .get(nodeId);
+                pending[group]--;
+
+                for (int j = 0; j < neighbors.end(); ++j) {
+                    if (neighbors.isHole(j)) {
+                        continue;
+                    }
+
+                    final int neighborId = neighbors.keyAt(j);
+                    final int slot = slotMap.get(neighborId);
+
+                    if (visitStamp[slot] != stamp) {
+                        visitStamp[slot] = stamp;
+                        visitLabel[slot] = search;
+                        enqueue(search, neighborId);
+                        pending[group]++;
+                    } else {
+                        final int otherGroup = findGroup(visitLabel[slot]);
+
+                        if (otherGroup != group) {
+                            groupParent[otherGroup] = group;
+                            nextMember[lastMember[group]] = otherGroup;
+                            lastMember[group] = lastMember[otherGroup];
+                            pending[group] += pending[otherGroup];
+                            groups--;
+                        }
+                    }
+                }
+
+                if (pending[group] == 0 && groups > 1) {
+                    detach(group, oldRoot);
+                    groups--;
+                }
+
+                ++a;
+            }
+        }
+    }
+
+    /**
+     * Moves the nodes visited by the searches of the exhausted group
+     * {@code group} to a new tree.
+     */
+    private void detach(int group, int oldRoot) {
+        int newRoot = -1;
+        int size = 0;
+
+        for (int search = group; search >= 0; search = nextMember[search]) {
+            final int[] queue = queues[search];
+
+            for (int i = 0; i < queueTails[search]; ++i) {
+                final int slot = newSlot();
+
+                if (newRoot < 0) {
+                    newRoot = slot;
+                }
+
+                parent[slot] = newRoot;
+                slotMap.put(queue[i], slot);
+            }
+
+            size += queueTails[search];
+        }
+
+        treeSize[newRoot] = size;
+        treeSize[oldRoot] -= size;
+        components++;
+    }
+
+    private int findGroup(int search) {
+        while (groupParent[search] != search) {
+            search = groupParent[search] = groupParent[groupParent[search]];
+        }
+
+        return search;
+    }
+
+    private void enqueue(int search, int nodeId) {
+        if (queueTails[search] == queues[search].length) {
+            queues[search] = Arrays.copyOf(queues[search],
+                                           2 * queues[search].length);
+        }
+
+        queues[search][queueTails[search]++] = nodeId;
+    }
+
+    private void ensureSearchCapacity(int count) {
+        if (count <= queues.length) {
+            return;
+        }
+
+        final int oldCount = queues.length;
+        queues = Arrays.copyOf(queues, count);
+
+        for (int i = oldCount; i < count; ++i) {
+            queues[i] = new int[INITIAL_QUEUE_CAPACITY];
+        }
+
+        queueHeads = new int[count];
+        queueTails = new int[count];
+        groupParent = new int[count];
+        nextMember = new int[count];
+        lastMember = new int[count];
+        pending = new int[count];
+        activeSearches = new int[count];
+    }
+
+    /**
+     * Renumbers the live slots densely once the unused ones outnumber them.
+     * Each tree is flattened in the process.
+     */
+    private void compactIfSparse() {
+        final int live = slotMap.size();
+
+        if (slots - live <= live + COMPACTION_SLACK) {
+            return;
+        }
+
+        final int[] newRootOf = new int[slots];
+        Arrays.fill(newRootOf, -1);
+        final int[] newParent = new int[Math.max(INITIAL_CAPACITY, 2 * live)];
+        final int[] newTreeSize = new int[newParent.length];
+        int slot = 0;
+
+        for (int i = 0; i < slotMap.end(); ++i) {
+            if (slotMap.isHole(i)) {
+                continue;
+            }
+
+            final int root = find(slotMap.valueAt(i));
+
+            if (newRootOf[root] < 0) {
+                newRootOf[root] = slot;
+                newTreeSize[slot] = treeSize[root];
+            }
+
+            newParent[slot] = newRootOf[root];
+            slotMap.setValueAt(i, slot++);
+        }
+
+        parent = newParent;
+        treeSize = newTreeSize;
+        visitStamp = new int[newParent.length];
+        visitLabel = new int[newParent.length];
+        stamp = 0;
+        slots = slot;
+
+        // The queues of a past hub removal may be large.
+        queues = new int[0][];
+    }
+}
@@ -0,0 +1,183 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+
+/**
+ * This class maps the node IDs of a {@link DirectedGraph} or an
+ * {@link UndirectedGraph} to dense indices, so that algorithms may keep their
+ * per-node state in plain arrays even when the node IDs are sparse. The index
+ * is obtained through {@code getNodeIndex()} of the graph and is updated by
+ * the mutators of the graph from then on.
+ * <p>
+ * Each node added to the graph is assigned an index, which stays the same
+ * until the node is removed. The index of a removed node is handed to the
+ * next node added, the most recently freed index first, so all indices stay
+ * below {@link #getIndexBound()}, which is the largest number of nodes the
+ * graph has held at a time since the index was built or the graph was
+ * cleared. Translating a node ID to its index takes a single primitive hash
+ * lookup, and translating an index back takes an array access.
+ * <p>
+ * Just like the graph, the index is not thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class DenseNodeIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Maps each node ID to its index.
+     */
+    private final IntIntHashMap indexMap = new IntIntHashMap();
+
+    /**
+     * The node ID at each index in use.
+     */
+    private int[] nodeIds;
+
+    /**
+     * Has a bit set for each index in use.
+     */
+    private long[] usedIndices;
+
+    /**
+     * The number of indices ever handed out, free ones included.
+     */
+    private int indexBound;
+
+    /**
+     * The stack of the free indices below {@link #indexBound}.
+     */
+    private int[] freeIndices;
+    private int freeIndexCount;
+
+    /**
+     * Builds the index of the nodes {@code nodeIds}, which get the indices
+     * from zero on in iteration order.
+     */
+    DenseNodeIndex(Iterable<Integer> nodeIds) {
+        initialize();
+
+        for (int nodeId : nodeIds) {
+            add(nodeId);
+        }
+    }
+
+    /**
+     * Returns the index of the node {@code nodeId}.
+     *
+     * @param nodeId the node ID.
+     * @return the index of the node, or -1 if there is no such node.
+     */
+    public int indexOf(int nodeId) {
+        return indexMap.get(nodeId);
+    }
+
+    /**
+     * Returns the ID of the node at index {@code index}.
+     *
+     * @param index the index.
+     * @return the ID of the node.
+     * @throws IllegalArgumentException if no node has the index.
+     */
+    public int getNodeId(int index) {
+        if (!isUsed(index)) {
+            throw new IllegalArgumentException(
+                    "No node has the index " + index + ".");
+        }
+
+        return nodeIds[index];
+    }
+
+    /**
+     * Returns {@code true} if some node has the index {@code index}.
+     *
+     * @param index the index.
+     * @return {@code true} if the index is in use.
+     */
+    public boolean isUsed(int index) {
+        return index >= 0
+                && index < indexBound
+                && (usedIndices[index >>> 6] & 1L << index) != 0L;
+    }
+
+    /**
+     * Returns the number of nodes, that is, the number of indices in use.
+     *
+     * @return the number of nodes.
+     */
+    public int size() {
+        return indexMap.size();
+    }
+
+    /**
+     * Returns an upper bound on the indices: every index in use is below the
+     * bound, so an array of this length has an element for every node.
+     *
+     * @return the exclusive upper bound on the indices.
+     */
+    public int getIndexBound() {
+        return indexBound;
+    }
+
+    /**
+     * Assigns an index to the new node {@code nodeId} and returns it.
+     */
+    int add(int nodeId) {
+        final int index;
+
+        if (freeIndexCount > 0) {
+            index = freeIndices[--freeIndexCount];
+        } else {
+            if (indexBound == nodeIds.length) {
+                nodeIds = Arrays.copyOf(nodeIds, 2 * nodeIds.length);
+                usedIndices = Arrays.copyOf(usedIndices,
+                                            2 * usedIndices.length);
+            }
+
+            index = indexBound++;
+        }
+
+        indexMap.put(nodeId, index);
+        nodeIds[index] = nodeId;
+        usedIndices[index >>> 6] |= 1L << index;
+        return index;
+    }
+
+    /**
+     * Frees the index of the removed node {@code nodeId} and returns it.
+     */
+    int remove(int nodeId) {
+        final int index = indexMap.remove(nodeId);
+
+        if (index < 0) {
+            return -1;
+        }
+
+        usedIndices[index >>> 6] &= ~(1L << index);
+
+        if (freeIndexCount == freeIndices.length) {
+            freeIndices = Arrays.copyOf(freeIndices, 2 * freeIndices.length);
+        }
+
+        freeIndices[freeIndexCount++] = index;
+        return index;
+    }
+
+    /**
+     * Frees all indices.
+     */
+    void clear() {
+        indexMap.clear();
+        initialize();
+    }
+
+    private void initialize() {
+        nodeIds = new int[INITIAL_CAPACITY];
+        usedIndices = new long[(INITIAL_CAPACITY + 63) >>> 6];
+        freeIndices = new int[INITIAL_CAPACITY];
+        indexBound = 0;
+        freeIndexCount = 0;
+    }
+}
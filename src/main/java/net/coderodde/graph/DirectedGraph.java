@@ -1,25 +1,79 @@
 package net.coderodde.graph;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Set;
 
 /**
- * This class implements a directed graph.
- * 
+ * This class implements a directed graph. The adjacency lists are stored in
+ * primitive open-addressing hash maps, so that no edge requires boxed keys,
+ * boxed weights or per-entry objects. Nodes, children and parents are iterated
+ * in insertion order.
+ * <p>
+ * Taking a {@link #snapshot()} costs constant time: the snapshot shares the
+ * node tables and the adjacency maps with this graph, and the graph copies a
+ * shared adjacency map, or a shared page of a node table, right before
+ * writing to it for the first time.
+ *
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Jan 11, 2016)
  */
 public class DirectedGraph extends AbstractGraph {
 
-    private final Map<Integer, 
-                      Map<Integer, 
-                          Double>> parentMap = new LinkedHashMap<>();
+    private PagedIntObjectHashMap<IntDoubleHashMap> parentMap =
+            new PagedIntObjectHashMap<>();
+
+    private PagedIntObjectHashMap<IntDoubleHashMap> childMap =
+            new PagedIntObjectHashMap<>();
+
+    /**
+     * The current writer epoch. Only the maps of this epoch may be modified in
+     * place; the maps of the earlier epochs may be shared with snapshots.
+     */
+    private int epoch;
+
+    /**
+     * The number of children and parents to reserve room for in each new
+     * node.
+     */
+    private int degreeHint;
+
+    /**
+     * The dense node index updated by the mutators, or {@code null} if none is
+     * attached.
+     */
+    private DenseNodeIndex nodeIndex;
+
+    private final Set<Integer> nodeView = new LiveNodeSet() {
+        @Override
+        PagedIntObjectHashMap<?> table() {
+            return childMap;
+        }
+    };
+
+    /**
+     * Constructs an empty directed graph.
+     */
+    public DirectedGraph() {}
+
+    /**
+     * Constructs an empty directed graph with room for
+     * {@code expectedNodes} nodes. Each new node reserves room for the
+     * average number of children and parents, rounded down.
+     *
+     * @param expectedNodes the expected number of nodes.
+     * @param expectedEdges the expected number of edges.
+     * @throws IllegalArgumentException if either count is negative.
+     */
+    public DirectedGraph(int expectedNodes, int expectedEdges) {
+        this.degreeHint = degreeHint(expectedNodes, expectedEdges, 1);
+        this.childMap.ensureCapacity(expectedNodes);
+        this.parentMap.ensureCapacity(expectedNodes);
+    }
 
-    private final Map<Integer, 
-                      Map<Integer, 
-                          Double>> childMap = new LinkedHashMap<>();
+    @Override
+    public boolean isDirected() {
+        return true;
+    }
 
     @Override
     public int size() {
@@ -33,16 +87,68 @@ public class DirectedGraph extends AbstractGraph {
 
     @Override
     public boolean addNode(int nodeId) {
+        if (metrics == null) {
+            return doAddNode(nodeId);
+        }
+
+        long start = metrics.begin();
+        boolean changed = doAddNode(nodeId);
+        metrics.end(GraphOperation.ADD_NODE, changed, start);
+        return changed;
+    }
+
+    private boolean doAddNode(int nodeId) {
+        boolean added = insertNode(nodeId);
+        commitChanges();
+        return added;
+    }
+
+    /**
+     * Adds the node {@code nodeId} unless it is in this graph already. The
+     * change is left for the calling mutator to commit once it is done.
+     */
+    private boolean insertNode(int nodeId) {
         if (parentMap.containsKey(nodeId)) {
             return false;
         }
 
-        parentMap.put(nodeId, new LinkedHashMap<>());
-        childMap .put(nodeId, new LinkedHashMap<>());
+        ownNodeMaps();
+        createNode(nodeId);
         modificationCount++;
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The room is reserved for the children only.
+     */
+    @Override
+    public boolean addNode(int nodeId, int expectedDegree) {
+        checkCapacityHint("expected degree", expectedDegree);
+
+        if (metrics == null) {
+            return doAddNode(nodeId, expectedDegree);
+        }
+
+        long start = metrics.begin();
+        boolean changed = doAddNode(nodeId, expectedDegree);
+        metrics.end(GraphOperation.ADD_NODE, changed, start);
+        return changed;
+    }
+
+    private boolean doAddNode(int nodeId, int expectedDegree) {
+        boolean added = insertNode(nodeId);
+
+        if (expectedDegree > childMap.get(nodeId).capacity()) {
+            ownNodeMaps();
+            writable(childMap, nodeId).ensureCapacity(expectedDegree);
+        }
+
+        commitChanges();
+        return added;
+    }
+
     @Override
     public boolean hasNode(int nodeId) {
         return parentMap.containsKey(nodeId);
@@ -50,103 +156,347 @@ public class DirectedGraph extends AbstractGraph {
 
     @Override
     public boolean clearNode(int nodeId) {
-        if (!hasNode(nodeId)) {
+        if (metrics == null) {
+            return doClearNode(nodeId);
+        }
+
+        long start = metrics.begin();
+        boolean changed = doClearNode(nodeId);
+        metrics.end(GraphOperation.CLEAR_NODE, changed, start);
+        return changed;
+    }
+
+    private boolean doClearNode(int nodeId) {
+        IntDoubleHashMap parents = parentMap.get(nodeId);
+
+        if (parents == null) {
             return false;
         }
 
-        Map<Integer, Double> parents = parentMap.get(nodeId);
-        Map<Integer, Double> children = childMap.get(nodeId);
+        IntDoubleHashMap children = childMap.get(nodeId);
 
         if (parents.isEmpty() && children.isEmpty()) {
             return false;
         }
 
-        for (Integer childId : children.keySet()) {
-            parentMap.get(childId).remove(nodeId);
+        ownNodeMaps();
+
+        if (changeFeed != null) {
+            recordEdgeRemovals(nodeId, parents, children);
         }
 
-        for (Integer parentId : parents.keySet()) {
-            childMap.get(parentId).remove(nodeId);
+        // A self-loop is left in both maps of the node, which are dropped as
+        // a whole below.
+        for (int i = 0; i < children.end(); ++i) {
+            if (!children.isHole(i) && children.keyAt(i) != nodeId) {
+                writable(parentMap, children.keyAt(i)).remove(nodeId);
+            }
+        }
+
+        for (int i = 0; i < parents.end(); ++i) {
+            if (!parents.isHole(i) && parents.keyAt(i) != nodeId) {
+                writable(childMap, parents.keyAt(i)).remove(nodeId);
+            }
         }
 
         int mod = parents.size() + children.size();
+
+        if (children.containsKey(nodeId)) {
+            mod--;
+        }
+
         edges -= mod;
         modificationCount += mod;
-        parents.clear();
-        children.clear();
+        clearAdjacency(parentMap, nodeId);
+        clearAdjacency(childMap, nodeId);
+        commitChanges();
         return true;
     }
 
     @Override
     public boolean removeNode(int nodeId) {
+        if (metrics == null) {
+            return doRemoveNode(nodeId);
+        }
+
+        long start = metrics.begin();
+        boolean changed = doRemoveNode(nodeId);
+        metrics.end(GraphOperation.REMOVE_NODE, changed, start);
+        return changed;
+    }
+
+    private boolean doRemoveNode(int nodeId) {
         if (!hasNode(nodeId)) {
             return false;
         }
 
-        clearNode(nodeId);
+        doClearNode(nodeId);
+        ownNodeMaps();
         parentMap.remove(nodeId);
         childMap.remove(nodeId);
         modificationCount++;
+
+        if (nodeIndex != null) {
+            nodeIndex.remove(nodeId);
+        }
+
+        if (changeFeed != null) {
+            changeFeed.nodeRemoved(nodeId);
+            changeFeed.commit();
+        }
+
         return true;
     }
 
     @Override
     public boolean addEdge(int tailNodeId, int headNodeId, double weight) {
-        addNode(tailNodeId);
-        addNode(headNodeId);
-
-        if (childMap.get(tailNodeId).containsKey(headNodeId)) {
-            double oldWeight = childMap.get(tailNodeId).get(headNodeId);
-            childMap.get(tailNodeId).put(headNodeId, weight);
-            parentMap.get(headNodeId).put(tailNodeId, weight);
-            
+        if (metrics == null) {
+            return doAddEdge(tailNodeId, headNodeId, weight);
+        }
+
+        long start = metrics.begin();
+        boolean changed = doAddEdge(tailNodeId, headNodeId, weight);
+        metrics.end(GraphOperation.ADD_EDGE, changed, start);
+        return changed;
+    }
+
+    private boolean doAddEdge(int tailNodeId, int headNodeId, double weight) {
+        insertNode(tailNodeId);
+        insertNode(headNodeId);
+
+        IntDoubleHashMap children = childMap.get(tailNodeId);
+        int index = children.indexOf(headNodeId);
+
+        if (index >= 0) {
+            double oldWeight = children.valueAt(index);
+
+            if (Double.doubleToRawLongBits(oldWeight) ==
+                Double.doubleToRawLongBits(weight)) {
+                // Nothing to write, so a shared map is not copied.
+                return false;
+            }
+
+            ownNodeMaps();
+            writable(childMap, tailNodeId).setValueAt(index, weight);
+            writable(parentMap, headNodeId).put(tailNodeId, weight);
+
             if (oldWeight != weight) {
                 modificationCount++;
+
+                if (changeFeed != null) {
+                    changeFeed.edgeReweighted(tailNodeId, headNodeId, weight);
+                    changeFeed.commit();
+                }
+
                 return true;
             }
-            
+
             return false;
         } else {
-            childMap.get(tailNodeId).put(headNodeId, weight);
-            parentMap.get(headNodeId).put(tailNodeId, weight);
+            ownNodeMaps();
+            writable(childMap, tailNodeId).put(headNodeId, weight);
+            writable(parentMap, headNodeId).put(tailNodeId, weight);
             modificationCount++;
             edges++;
+
+            if (changeFeed != null) {
+                changeFeed.edgeAdded(tailNodeId, headNodeId, weight);
+                changeFeed.commit();
+            }
+
             return true;
         }
     }
 
+    @Override
+    public boolean addEdges(int[] tailNodeIds,
+                            int[] headNodeIds,
+                            double[] weights,
+                            int offset,
+                            int length) {
+        if (metrics == null) {
+            return doAddEdges(tailNodeIds, headNodeIds, weights, offset, length);
+        }
+
+        long start = metrics.begin();
+        boolean changed = doAddEdges(tailNodeIds,
+                                     headNodeIds,
+                                     weights,
+                                     offset,
+                                     length);
+        metrics.end(GraphOperation.ADD_EDGES, changed, start);
+        return changed;
+    }
+
+    private boolean doAddEdges(int[] tailNodeIds,
+                               int[] headNodeIds,
+                               double[] weights,
+                               int offset,
+                               int length) {
+        checkEdgeArrays(tailNodeIds, headNodeIds, weights, offset, length);
+        IntDoubleHashMap[] childMaps = new IntDoubleHashMap[length];
+        IntDoubleHashMap[] parentMaps = new IntDoubleHashMap[length];
+        int mod = 0;
+
+        if (length > 0) {
+            ownNodeMaps();
+        }
+
+        // Pass 1: resolve the adjacency maps of each edge, creating the
+        // missing nodes, and count the entries about to be added to each map.
+        // Edge lists are often grouped by the tail node, so the previous tail
+        // is remembered in order to skip the lookup.
+        IntDoubleHashMap lastChildren = null;
+        int lastTailNodeId = 0;
+
+        for (int i = 0; i < length; ++i) {
+            int tailNodeId = tailNodeIds[offset + i];
+            int headNodeId = headNodeIds[offset + i];
+
+            if (lastChildren == null || tailNodeId != lastTailNodeId) {
+                if (!parentMap.containsKey(tailNodeId)) {
+                    createNode(tailNodeId);
+                    mod++;
+                }
+
+                lastChildren = writable(childMap, tailNodeId);
+                lastTailNodeId = tailNodeId;
+            }
+
+            IntDoubleHashMap parents;
+
+            if (parentMap.containsKey(headNodeId)) {
+                parents = writable(parentMap, headNodeId);
+            } else {
+                parents = createNode(headNodeId);
+                mod++;
+            }
+
+            childMaps[i] = lastChildren;
+            parentMaps[i] = parents;
+            lastChildren.reserved++;
+            parents.reserved++;
+        }
+
+        // Pass 2: pre-size every map once.
+        for (int i = 0; i < length; ++i) {
+            childMaps[i].applyReservation();
+            parentMaps[i].applyReservation();
+        }
+
+        // Pass 3: insert.
+        int added = 0;
+
+        for (int i = 0; i < length; ++i) {
+            int tailNodeId = tailNodeIds[offset + i];
+            int headNodeId = headNodeIds[offset + i];
+            double weight = weights == null ? 1.0 : weights[offset + i];
+            IntDoubleHashMap children = childMaps[i];
+            int index = children.indexOf(headNodeId);
+
+            if (index >= 0) {
+                double oldWeight = children.valueAt(index);
+                children.setValueAt(index, weight);
+                parentMaps[i].put(tailNodeId, weight);
+
+                if (oldWeight != weight) {
+                    mod++;
+
+                    if (changeFeed != null) {
+                        changeFeed.edgeReweighted(tailNodeId,
+                                                  headNodeId,
+                                                  weight);
+                    }
+                }
+            } else {
+                children.putAbsent(headNodeId, weight);
+                parentMaps[i].putAbsent(tailNodeId, weight);
+                added++;
+
+                if (changeFeed != null) {
+                    changeFeed.edgeAdded(tailNodeId, headNodeId, weight);
+                }
+            }
+        }
+
+        mod += added;
+        modificationCount += mod;
+        edges += added;
+        commitChanges();
+        return mod > 0;
+    }
+
     @Override
     public boolean hasEdge(int tailNodeId, int headNodeId) {
-        if (!childMap.containsKey(tailNodeId)) {
-            return false;
+        if (metrics == null) {
+            return doHasEdge(tailNodeId, headNodeId);
         }
 
-        return childMap.get(tailNodeId).containsKey(headNodeId);
+        long start = metrics.beginQuery();
+        boolean found = doHasEdge(tailNodeId, headNodeId);
+        metrics.endQuery(GraphOperation.HAS_EDGE, found, start);
+        return found;
+    }
+
+    private boolean doHasEdge(int tailNodeId, int headNodeId) {
+        IntDoubleHashMap children = childMap.get(tailNodeId);
+        return children != null && children.containsKey(headNodeId);
     }
 
     @Override
     public double getEdgeWeight(int tailNodeId, int headNodeId) {
-        if (!hasEdge(tailNodeId, headNodeId)) {
+        if (metrics == null) {
+            return doGetEdgeWeight(tailNodeId, headNodeId);
+        }
+
+        long start = metrics.beginQuery();
+        double weight = doGetEdgeWeight(tailNodeId, headNodeId);
+        metrics.endQuery(GraphOperation.GET_EDGE_WEIGHT, !Double.isNaN(weight), start);
+        return weight;
+    }
+
+    private double doGetEdgeWeight(int tailNodeId, int headNodeId) {
+        IntDoubleHashMap children = childMap.get(tailNodeId);
+
+        if (children == null) {
             return Double.NaN;
         }
 
-        return childMap.get(tailNodeId).get(headNodeId);
+        // Returns NaN if there is no such edge.
+        return children.get(headNodeId);
     }
 
     @Override
     public boolean removeEdge(int tailNodeId, int headNodeId) {
-        if (!childMap.containsKey(tailNodeId)) {
-            return false;
+        if (metrics == null) {
+            return doRemoveEdge(tailNodeId, headNodeId);
         }
 
-        if (!childMap.get(tailNodeId).containsKey(headNodeId)) {
+        long start = metrics.begin();
+        boolean changed = doRemoveEdge(tailNodeId, headNodeId);
+        metrics.end(GraphOperation.REMOVE_EDGE, changed, start);
+        return changed;
+    }
+
+    private boolean doRemoveEdge(int tailNodeId, int headNodeId) {
+        IntDoubleHashMap children = childMap.get(tailNodeId);
+
+        if (children == null || !children.containsKey(headNodeId)) {
             return false;
         }
 
-        childMap .get(tailNodeId).remove(headNodeId);
-        parentMap.get(headNodeId).remove(tailNodeId);
+        if (changeFeed != null) {
+            changeFeed.edgeRemoved(tailNodeId,
+                                   headNodeId,
+                                   children.get(headNodeId));
+        }
+
+        ownNodeMaps();
+        writable(childMap, tailNodeId).remove(headNodeId);
+        writable(parentMap, headNodeId).remove(tailNodeId);
         modificationCount++;
         edges--;
+        commitChanges();
         return true;
     }
 
@@ -156,8 +506,12 @@ public class DirectedGraph extends AbstractGraph {
             return Collections.<Integer>emptySet();
         }
 
-        return Collections.
-                <Integer>unmodifiableSet(childMap.get(nodeId).keySet());
+        return new LiveKeySet() {
+            @Override
+            AbstractIntHashMap map() {
+                return childMap.get(nodeId);
+            }
+        };
     }
 
     @Override
@@ -166,32 +520,316 @@ public class DirectedGraph extends AbstractGraph {
             return Collections.<Integer>emptySet();
         }
 
-        return Collections.
-                <Integer>unmodifiableSet(parentMap.get(nodeId).keySet());
+        return new LiveKeySet() {
+            @Override
+            AbstractIntHashMap map() {
+                return parentMap.get(nodeId);
+            }
+        };
+    }
+
+    @Override
+    public void forEachChild(int nodeId, IntDoubleConsumer consumer) {
+        IntDoubleHashMap children = childMap.get(nodeId);
+
+        if (children != null) {
+            children.forEach(consumer);
+        }
+    }
+
+    @Override
+    public void forEachParent(int nodeId, IntDoubleConsumer consumer) {
+        IntDoubleHashMap parents = parentMap.get(nodeId);
+
+        if (parents != null) {
+            parents.forEach(consumer);
+        }
+    }
+
+    @Override
+    public int getNumberOfChildren(int nodeId) {
+        IntDoubleHashMap children = childMap.get(nodeId);
+        return children == null ? 0 : children.size();
+    }
+
+    @Override
+    public int getNumberOfParents(int nodeId) {
+        IntDoubleHashMap parents = parentMap.get(nodeId);
+        return parents == null ? 0 : parents.size();
     }
 
     @Override
     public Set<Integer> getAllNodes() {
-        return Collections.<Integer>unmodifiableSet(childMap.keySet());
+        return nodeView;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The snapshot is taken in constant time. Afterwards, the first write to
+     * the adjacency of each node copies the written map, and the first write
+     * to each page of the node tables copies that page only, so the snapshot
+     * keeps the old ones.
+     */
+    @Override
+    public GraphSnapshot snapshot() {
+        GraphSnapshot snapshot = new GraphSnapshot(childMap,
+                                                   parentMap,
+                                                   edges,
+                                                   modificationCount,
+                                                   true);
+        epoch++;
+        return snapshot;
+    }
+
+    /**
+     * Returns the dense node index of this graph, building it on the first
+     * call. From then on, the index is kept up to date by every mutation of
+     * this graph until {@link #detachNodeIndex()} is called.
+     *
+     * @return the dense node index.
+     */
+    public DenseNodeIndex getNodeIndex() {
+        if (nodeIndex == null) {
+            nodeIndex = new DenseNodeIndex(getAllNodes());
+        }
+
+        return nodeIndex;
+    }
+
+    /**
+     * Stops maintaining the dense node index, if any. A detached index keeps
+     * describing this graph as it was at the time of detaching.
+     */
+    public void detachNodeIndex() {
+        nodeIndex = null;
+    }
+
+    /**
+     * Adds the node {@code nodeId}, which must not be in this graph, without
+     * touching the modification count, and returns its parent map. The node
+     * maps must be owned.
+     */
+    private IntDoubleHashMap createNode(int nodeId) {
+        IntDoubleHashMap parents = new IntDoubleHashMap(epoch);
+        IntDoubleHashMap children = new IntDoubleHashMap(epoch);
+
+        if (degreeHint > 0) {
+            parents .ensureCapacity(degreeHint);
+            children.ensureCapacity(degreeHint);
+        }
+
+        parentMap.put(nodeId, parents);
+        childMap .put(nodeId, children);
+
+        if (nodeIndex != null) {
+            nodeIndex.add(nodeId);
+        }
+
+        if (changeFeed != null) {
+            changeFeed.nodeAdded(nodeId);
+        }
+
+        return parents;
+    }
+
+    /**
+     * Records the removal of all edges incident on the node {@code nodeId},
+     * the self-loop included.
+     */
+    private void recordEdgeRemovals(int nodeId,
+                                    IntDoubleHashMap parents,
+                                    IntDoubleHashMap children) {
+        for (int i = 0; i < children.end(); ++i) {
+            if (!children.isHole(i)) {
+                changeFeed.edgeRemoved(nodeId,
+                                       children.keyAt(i),
+                                       children.valueAt(i));
+            }
+        }
+
+        for (int i = 0; i < parents.end(); ++i) {
+            if (!parents.isHole(i) && parents.keyAt(i) != nodeId) {
+                changeFeed.edgeRemoved(parents.keyAt(i),
+                                       nodeId,
+                                       parents.valueAt(i));
+            }
+        }
+    }
+
+    @Override
+    public long memoryFootprint() {
+        long bytes = childMap.footprint() + parentMap.footprint();
+
+        for (int i = 0; i < childMap.end(); ++i) {
+            if (!childMap.isHole(i)) {
+                bytes += childMap.valueAt(i).footprint();
+            }
+        }
+
+        for (int i = 0; i < parentMap.end(); ++i) {
+            if (!parentMap.isHole(i)) {
+                bytes += parentMap.valueAt(i).footprint();
+            }
+        }
+
+        return bytes;
+    }
+
+    @Override
+    public long compact() {
+        long before = memoryFootprint();
+        ownNodeMaps();
+
+        for (int i = 0; i < childMap.end(); ++i) {
+            if (!childMap.isHole(i)) {
+                trimAdjacency(childMap, i);
+                trimAdjacency(parentMap, parentMap.indexOf(childMap.keyAt(i)));
+            }
+        }
+
+        childMap.trimToSize();
+        parentMap.trimToSize();
+        return before - memoryFootprint();
+    }
+
+    @Override
+    public boolean trimToSize(int nodeId) {
+        IntDoubleHashMap children = childMap.get(nodeId);
+
+        if (children == null) {
+            return false;
+        }
+
+        IntDoubleHashMap parents = parentMap.get(nodeId);
+
+        if (children.capacity() == children.size() &&
+            parents.capacity() == parents.size()) {
+            return false;
+        }
+
+        ownNodeMaps();
+        trimAdjacency(childMap, childMap.indexOf(nodeId));
+        trimAdjacency(parentMap, parentMap.indexOf(nodeId));
+        return true;
+    }
+
+    /**
+     * Shrinks the adjacency map at the dense position {@code index} of
+     * {@code nodeMap}. A shared map is replaced by a shrunk copy. The node
+     * maps must be owned.
+     */
+    private void trimAdjacency(PagedIntObjectHashMap<IntDoubleHashMap> nodeMap,
+                               int index) {
+        IntDoubleHashMap adjacency = nodeMap.valueAt(index);
+
+        if (adjacency.capacity() == adjacency.size()) {
+            return;
+        }
+
+        if (adjacency.epoch != epoch) {
+            adjacency = adjacency.copy(epoch);
+            nodeMap.setValueAt(index, adjacency);
+        }
+
+        adjacency.trimToSize();
+    }
+
+    @Override
+    boolean isObservable() {
+        return true;
+    }
+
+    /**
+     * Copies the node tables if they may be shared with a snapshot. The copies
+     * share the pages with the originals and copy each page on the first
+     * write to it.
+     */
+    private void ownNodeMaps() {
+        if (childMap.epoch != epoch) {
+            childMap  = childMap .copy(epoch);
+            parentMap = parentMap.copy(epoch);
+        }
+    }
+
+    /**
+     * Returns the adjacency map of the node {@code nodeId} in
+     * {@code nodeMap}, copying it first if it may be shared with a snapshot.
+     * The node must exist, and the node maps must be owned.
+     */
+    private IntDoubleHashMap writable(
+            PagedIntObjectHashMap<IntDoubleHashMap> nodeMap,
+            int nodeId) {
+        int index = nodeMap.indexOf(nodeId);
+        IntDoubleHashMap adjacency = nodeMap.valueAt(index);
+
+        if (adjacency.epoch != epoch) {
+            adjacency = adjacency.copy(epoch);
+            nodeMap.setValueAt(index, adjacency);
+        }
+
+        return adjacency;
+    }
+
+    /**
+     * Empties the adjacency map of the node {@code nodeId} in
+     * {@code nodeMap}. A shared map is replaced instead of cleared.
+     */
+    private void clearAdjacency(PagedIntObjectHashMap<IntDoubleHashMap> nodeMap,
+                                int nodeId) {
+        int index = nodeMap.indexOf(nodeId);
+
+        if (nodeMap.valueAt(index).epoch == epoch) {
+            nodeMap.valueAt(index).clear();
+        } else {
+            nodeMap.setValueAt(index, new IntDoubleHashMap(epoch));
+        }
     }
 
     @Override
     public void clear() {
-        for (Map.Entry<Integer, Map<Integer, Double>> entry : 
-                childMap.entrySet()) {
-            modificationCount += entry.getValue().size();
-            entry.getValue().clear();
-        }
-        
-        for (Map.Entry<Integer, Map<Integer, Double>> entry :
-                parentMap.entrySet()) {
-            modificationCount += entry.getValue().size();
-            entry.getValue().clear();
-        }
-        
+        if (metrics == null) {
+            doClear();
+            return;
+        }
+
+        long start = metrics.begin();
+        doClear();
+        metrics.end(GraphOperation.CLEAR, true, start);
+    }
+
+    private void doClear() {
+        for (int i = 0; i < childMap.end(); ++i) {
+            if (!childMap.isHole(i)) {
+                modificationCount += childMap.valueAt(i).size();
+            }
+        }
+
+        for (int i = 0; i < parentMap.end(); ++i) {
+            if (!parentMap.isHole(i)) {
+                modificationCount += parentMap.valueAt(i).size();
+            }
+        }
+
         modificationCount += edges;
-        childMap.clear();
-        parentMap.clear();
+
+        if (childMap.epoch == epoch) {
+            childMap.clear();
+            parentMap.clear();
+        } else {
+            childMap  = new PagedIntObjectHashMap<>(epoch);
+            parentMap = new PagedIntObjectHashMap<>(epoch);
+        }
+
         edges = 0;
+
+        if (nodeIndex != null) {
+            nodeIndex.clear();
+        }
+
+        if (changeFeed != null) {
+            changeFeed.cleared();
+            changeFeed.commit();
+        }
     }
 }
@@ -0,0 +1,101 @@
+package net.coderodde.graph;
+
+/**
+ * This class implements a read-only view of a batch of graph changes. The
+ * changes are indexed from zero in the order they were made, and each change
+ * consists of its type, a tail node, a head node and a weight; the fields that
+ * do not apply to the type of a change are zero. A batch is a window of the
+ * ring buffer of the graph and is valid only during
+ * {@link GraphChangeListener#onChanges(GraphChangeBatch)}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class GraphChangeBatch {
+
+    private static final GraphChangeType[] TYPES = GraphChangeType.values();
+
+    private final GraphChangeFeed feed;
+    private final AbstractGraph graph;
+    private int start;
+    private int size;
+
+    GraphChangeBatch(GraphChangeFeed feed, AbstractGraph graph) {
+        this.feed = feed;
+        this.graph = graph;
+    }
+
+    /**
+     * Returns the graph the changes were made to.
+     *
+     * @return the changed graph.
+     */
+    public AbstractGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the number of changes in this batch.
+     *
+     * @return the number of changes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the type of the {@code index}th change.
+     *
+     * @param index the index of the change.
+     * @return the type of the change.
+     */
+    public GraphChangeType getType(int index) {
+        return TYPES[feed.types[slot(index)]];
+    }
+
+    /**
+     * Returns the tail node of the {@code index}th change, which is the
+     * changed node for the node events.
+     *
+     * @param index the index of the change.
+     * @return the tail node of the change.
+     */
+    public int getTailNodeId(int index) {
+        return feed.tailNodeIds[slot(index)];
+    }
+
+    /**
+     * Returns the head node of the {@code index}th change.
+     *
+     * @param index the index of the change.
+     * @return the head node of the change.
+     */
+    public int getHeadNodeId(int index) {
+        return feed.headNodeIds[slot(index)];
+    }
+
+    /**
+     * Returns the weight of the {@code index}th change.
+     *
+     * @param index the index of the change.
+     * @return the weight of the change.
+     */
+    public double getWeight(int index) {
+        return feed.weights[slot(index)];
+    }
+
+    void reset(int start, int size) {
+        this.start = start;
+        this.size = size;
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Change index " + index + " is out of range [0, " +
+                    size + ").");
+        }
+
+        return (start + index) & (feed.types.length - 1);
+    }
+}
@@ -0,0 +1,183 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+
+/**
+ * This class implements the ring buffer collecting the changes of a graph for
+ * its change listeners. Each change takes one entry in four parallel primitive
+ * arrays, so recording a change allocates nothing. A mutator records its
+ * changes and then calls {@link #commit()}, which hands the buffered changes
+ * to the listeners once a batch is full; this way, the listeners never see a
+ * graph in the middle of an operation. A single operation producing more
+ * changes than the buffer holds, such as clearing a hub node, grows the
+ * buffer.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class GraphChangeFeed {
+
+    private static final GraphChangeListener[] NO_LISTENERS =
+            new GraphChangeListener[0];
+
+    byte[] types;
+    int[] tailNodeIds;
+    int[] headNodeIds;
+    double[] weights;
+
+    /**
+     * The slot of the oldest buffered change.
+     */
+    private int start;
+
+    /**
+     * The number of buffered changes.
+     */
+    private int size;
+
+    private int batchSize;
+
+    private GraphChangeListener[] listeners = NO_LISTENERS;
+
+    private final GraphChangeBatch batch;
+
+    GraphChangeFeed(AbstractGraph graph, int batchSize) {
+        this.batch = new GraphChangeBatch(this, graph);
+        allocate(batchSize);
+    }
+
+    void addListener(GraphChangeListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * Removes {@code listener} and returns {@code true} if no listeners are
+     * left.
+     */
+    boolean removeListener(GraphChangeListener listener) {
+        for (int i = 0; i < listeners.length; ++i) {
+            if (listeners[i] == listener) {
+                GraphChangeListener[] newListeners =
+                        new GraphChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1,
+                                 newListeners, i,
+                                 listeners.length - i - 1);
+                listeners = newListeners;
+                break;
+            }
+        }
+
+        return listeners.length == 0;
+    }
+
+    /**
+     * Delivers the buffered changes and switches to batches of
+     * {@code batchSize} changes.
+     */
+    void setBatchSize(int batchSize) {
+        flush();
+        allocate(batchSize);
+    }
+
+    void nodeAdded(int nodeId) {
+        record(GraphChangeType.NODE_ADDED, nodeId, 0, 0.0);
+    }
+
+    void nodeRemoved(int nodeId) {
+        record(GraphChangeType.NODE_REMOVED, nodeId, 0, 0.0);
+    }
+
+    void edgeAdded(int tailNodeId, int headNodeId, double weight) {
+        record(GraphChangeType.EDGE_ADDED, tailNodeId, headNodeId, weight);
+    }
+
+    void edgeRemoved(int tailNodeId, int headNodeId, double weight) {
+        record(GraphChangeType.EDGE_REMOVED, tailNodeId, headNodeId, weight);
+    }
+
+    void edgeReweighted(int tailNodeId, int headNodeId, double weight) {
+        record(GraphChangeType.EDGE_REWEIGHTED,
+               tailNodeId,
+               headNodeId,
+               weight);
+    }
+
+    void cleared() {
+        record(GraphChangeType.CLEARED, 0, 0, 0.0);
+    }
+
+    /**
+     * Ends an operation of the graph, delivering the buffered changes if they
+     * fill a batch.
+     */
+    void commit() {
+        if (size >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Delivers the buffered changes to the listeners.
+     */
+    void flush() {
+        if (size == 0) {
+            return;
+        }
+
+        batch.reset(start, size);
+        start = (start + size) & (types.length - 1);
+        size = 0;
+
+        for (GraphChangeListener listener : listeners) {
+            listener.onChanges(batch);
+        }
+    }
+
+    private void record(GraphChangeType type,
+                        int tailNodeId,
+                        int headNodeId,
+                        double weight) {
+        if (size == types.length) {
+            grow();
+        }
+
+        final int slot = (start + size++) & (types.length - 1);
+        types[slot] = (byte) type.ordinal();
+        tailNodeIds[slot] = tailNodeId;
+        headNodeIds[slot] = headNodeId;
+        weights[slot] = weight;
+    }
+
+    private void allocate(int batchSize) {
+        this.batchSize = batchSize;
+        final int capacity = Integer.highestOneBit(Math.max(1, batchSize - 1))
+                             << 1;
+        types = new byte[capacity];
+        tailNodeIds = new int[capacity];
+        headNodeIds = new int[capacity];
+        weights = new double[capacity];
+        start = 0;
+    }
+
+    /**
+     * Doubles the capacity of the ring, moving the buffered changes to the
+     * front of the new arrays.
+     */
+    private void grow() {
+        final int length = types.length;
+        types = unwrap(types, new byte[2 * length], length);
+        tailNodeIds = unwrap(tailNodeIds, new int[2 * length], length);
+        headNodeIds = unwrap(headNodeIds, new int[2 * length], length);
+        weights = unwrap(weights, new double[2 * length], length);
+        start = 0;
+    }
+
+    private <T> T unwrap(T source, T target, int length) {
+        // The ring is full, so the buffered changes cover the whole array.
+        System.arraycopy(source, start, target, 0, length - start);
+        System.arraycopy(source, 0, target, length - start, start);
+        return target;
+    }
+}
@@ -0,0 +1,20 @@
+package net.coderodde.graph;
+
+/**
+ * This interface defines the callback receiving the changes of a graph in
+ * batches. See {@link AbstractGraph#addChangeListener(GraphChangeListener)}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@FunctionalInterface
+public interface GraphChangeListener {
+
+    /**
+     * Receives a batch of changes in the order they were made. The batch is
+     * valid only during the call, and the listener must not modify the graph.
+     *
+     * @param batch the changes.
+     */
+    void onChanges(GraphChangeBatch batch);
+}
@@ -0,0 +1,43 @@
+package net.coderodde.graph;
+
+/**
+ * This enumeration lists the kinds of changes reported to a
+ * {@link GraphChangeListener}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public enum GraphChangeType {
+
+    /**
+     * A node was added. The node is reported as the tail node.
+     */
+    NODE_ADDED,
+
+    /**
+     * A node without incident edges was removed. The removal of its edges is
+     * reported before. The node is reported as the tail node.
+     */
+    NODE_REMOVED,
+
+    /**
+     * An edge was added. The weight is the weight of the new edge.
+     */
+    EDGE_ADDED,
+
+    /**
+     * An edge was removed. The weight is the weight the edge had.
+     */
+    EDGE_REMOVED,
+
+    /**
+     * The weight of an existing edge was changed. The weight is the new one.
+     */
+    EDGE_REWEIGHTED,
+
+    /**
+     * All nodes and edges were removed at once. No other events are reported
+     * for the removed nodes and edges.
+     */
+    CLEARED
+}
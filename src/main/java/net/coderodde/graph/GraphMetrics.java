@@ -0,0 +1,375 @@
+package net.coderodde.graph;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * This class records the operations of a graph: the number of calls of each
+ * {@link GraphOperation}, the number of calls that changed the graph, a
+ * {@link LatencyHistogram} per operation and the numbers of inserted,
+ * updated and removed edges. It is obtained through
+ * {@link AbstractGraph#enableMetrics()}.
+ * <p>
+ * The recording happens inside the graph on the thread calling it, guarded by
+ * a single null check when metrics are disabled, so enabling metrics does not
+ * add a wrapper type to the call sites of the graph. The recorded state is
+ * read through {@link #snapshot()}, which must be called by the thread
+ * modifying the graph, as it also computes the degree histograms and the
+ * estimated heap footprint by visiting the graph. The last snapshot is
+ * available to other threads through {@link #getLastSnapshot()} and through
+ * the MBean registered by {@link #registerMBean(String)}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class GraphMetrics {
+
+    private static final GraphOperation[] OPERATIONS = GraphOperation.values();
+
+    private final AbstractGraph graph;
+    private final long[] counts = new long[OPERATIONS.length];
+    private final long[] changeCounts = new long[OPERATIONS.length];
+    private final LatencyHistogram[] latencies =
+            new LatencyHistogram[OPERATIONS.length];
+
+    private long insertedEdges;
+    private long updatedEdges;
+    private long removedEdges;
+
+    // The state of the graph when the current operation began.
+    private int sizeBefore;
+    private int edgesBefore;
+    private int modificationCountBefore;
+
+    private volatile GraphMetricsSnapshot lastSnapshot;
+    private ObjectName objectName;
+
+    GraphMetrics(AbstractGraph graph) {
+        this.graph = graph;
+
+        for (int i = 0; i < latencies.length; ++i) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Returns the graph whose operations are recorded.
+     *
+     * @return the recorded graph.
+     */
+    public AbstractGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Takes a snapshot of the recorded state and of the graph, and publishes
+     * it as the last snapshot. Must be called by the thread modifying the
+     * graph.
+     *
+     * @return the snapshot.
+     */
+    public GraphMetricsSnapshot snapshot() {
+        final LatencyHistogram[] latencyCopies =
+                new LatencyHistogram[latencies.length];
+
+        for (int i = 0; i < latencies.length; ++i) {
+            latencyCopies[i] = latencies[i].copy();
+        }
+
+        final long[] outDegrees = new long[Integer.SIZE + 1];
+        final long[] inDegrees = new long[Integer.SIZE + 1];
+
+        for (Integer nodeId : graph.getAllNodes()) {
+            outDegrees[GraphMetricsSnapshot.degreeBucketOf(
+                    graph.getNumberOfChildren(nodeId))]++;
+            inDegrees[GraphMetricsSnapshot.degreeBucketOf(
+                    graph.getNumberOfParents(nodeId))]++;
+        }
+
+        final GraphMetricsSnapshot snapshot =
+                new GraphMetricsSnapshot(System.currentTimeMillis(),
+                                         graph.size(),
+                                         graph.getNumberOfEdges(),
+                                         graph.memoryFootprint(),
+                                         counts.clone(),
+                                         changeCounts.clone(),
+                                         latencyCopies,
+                                         insertedEdges,
+                                         updatedEdges,
+                                         removedEdges,
+                                         trim(outDegrees),
+                                         trim(inDegrees));
+        lastSnapshot = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Returns the last snapshot taken by {@link #snapshot()}, or {@code null}
+     * if none was taken. May be called by any thread.
+     *
+     * @return the last snapshot.
+     */
+    public GraphMetricsSnapshot getLastSnapshot() {
+        return lastSnapshot;
+    }
+
+    /**
+     * Clears the recorded counters and histograms. Must be called by the
+     * thread modifying the graph.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        Arrays.fill(changeCounts, 0L);
+
+        for (LatencyHistogram latency : latencies) {
+            latency.reset();
+        }
+
+        insertedEdges = 0L;
+        updatedEdges = 0L;
+        removedEdges = 0L;
+    }
+
+    /**
+     * Registers an MBean exposing the last snapshot with the platform MBean
+     * server under the name
+     * {@code net.coderodde.graph:type=GraphMetrics,name=<name>}. The MBean
+     * shows nothing until the first snapshot is taken.
+     *
+     * @param name the value of the name key of the object name.
+     * @return the object name of the registered MBean.
+     * @throws IllegalStateException if the MBean cannot be registered.
+     */
+    public synchronized ObjectName registerMBean(String name) {
+        unregisterMBean();
+
+        try {
+            ObjectName objectName = new ObjectName(
+                    "net.coderodde.graph:type=GraphMetrics,name=" +
+                    ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer()
+                             .registerMBean(new MXBeanAdapter(), objectName);
+            this.objectName = objectName;
+            return objectName;
+        } catch (JMException ex) {
+            throw new IllegalStateException(
+                    "Could not register the metrics MBean.", ex);
+        }
+    }
+
+    /**
+     * Unregisters the MBean registered by {@link #registerMBean(String)}, if
+     * any.
+     */
+    public synchronized void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException ex) {
+            throw new IllegalStateException(
+                    "Could not unregister the metrics MBean.", ex);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    /**
+     * Starts recording a mutating operation and returns its start time.
+     */
+    long begin() {
+        sizeBefore = graph.size();
+        edgesBefore = graph.edges;
+        modificationCountBefore = graph.modificationCount;
+        return System.nanoTime();
+    }
+
+    /**
+     * Starts recording a query and returns its start time.
+     */
+    long beginQuery() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Ends recording the mutating operation {@code operation} that began at
+     * {@code start}.
+     */
+    void end(GraphOperation operation, boolean changed, long start) {
+        endQuery(operation, changed, start);
+
+        final int edgeDelta = graph.edges - edgesBefore;
+
+        if (edgeDelta > 0) {
+            insertedEdges += edgeDelta;
+        } else {
+            removedEdges -= edgeDelta;
+        }
+
+        if (operation == GraphOperation.ADD_EDGE ||
+            operation == GraphOperation.ADD_EDGES) {
+            // An insertion adds one unit to the modification count, as does
+            // each new node and each weight update.
+            updatedEdges += graph.modificationCount
+                          - modificationCountBefore
+                          - edgeDelta
+                          - (graph.size() - sizeBefore);
+        }
+    }
+
+    /**
+     * Ends recording the query {@code operation} that began at
+     * {@code start}.
+     */
+    void endQuery(GraphOperation operation, boolean found, long start) {
+        final long nanos = System.nanoTime() - start;
+        final int index = operation.ordinal();
+        counts[index]++;
+
+        if (found) {
+            changeCounts[index]++;
+        }
+
+        latencies[index].record(nanos);
+    }
+
+    private static long[] trim(long[] histogram) {
+        int length = histogram.length;
+
+        while (length > 0 && histogram[length - 1] == 0L) {
+            length--;
+        }
+
+        return Arrays.copyOf(histogram, length);
+    }
+
+    /**
+     * Exposes the last snapshot as an MXBean.
+     */
+    private final class MXBeanAdapter implements GraphMetricsMXBean {
+
+        @Override
+        public long getSnapshotTimeMillis() {
+            GraphMetricsSnapshot snapshot = lastSnapshot;
+            return snapshot == null ? 0L : snapshot.getTimeMillis();
+        }
+
+        @Override
+        public int getNumberOfNodes() {
+            GraphMetricsSnapshot snapshot = lastSnapshot;
+            return snapshot == null ? 0 : snapshot.getNumberOfNodes();
+        }
+
+        @Override
+        public int getNumberOfEdges() {
+            GraphMetricsSnapshot snapshot = lastSnapshot;
+            return snapshot == null ? 0 : snapshot.getNumberOfEdges();
+        }
+
+        @Override
+        public long getEstimatedFootprint() {
+            GraphMetricsSnapshot snapshot = lastSnapshot;
+            return snapshot == null ? 0L : snapshot.getEstimatedFootprint();
+        }
+
+        @Override
+        public long getInsertedEdges() {
+            GraphMetricsSnapshot snapshot = lastSnapshot;
+            return snapshot == null ? 0L : snapshot.getInsertedEdges();
+        }
+
+        @Override
+        public long getUpdatedEdges() {
+            GraphMetricsSnapshot snapshot = lastSnapshot;
+            return snapshot == null ? 0L : snapshot.getUpdatedEdges();
+        }
+
+        @Override
+        public long getRemovedEdges() {
+            GraphMetricsSnapshot snapshot = lastSnapshot;
+            return snapshot == null ? 0L : snapshot.getRemovedEdges();
+        }
+
+        @Override
+        public Map<String, Long> getOperationCounts() {
+            return perOperation(Statistic.COUNT);
+        }
+
+        @Override
+        public Map<String, Long> getMedianLatencyNanos() {
+            return perOperation(Statistic.MEDIAN);
+        }
+
+        @Override
+        public Map<String, Long> getP99LatencyNanos() {
+            return perOperation(Statistic.P99);
+        }
+
+        @Override
+        public Map<String, Long> getMaxLatencyNanos() {
+            return perOperation(Statistic.MAX);
+        }
+
+        @Override
+        public long[] getOutDegreeHistogram() {
+            GraphMetricsSnapshot snapshot = lastSnapshot;
+            return snapshot == null ?
+                   new long[0] :
+                   snapshot.getOutDegreeHistogram();
+        }
+
+        private Map<String, Long> perOperation(Statistic statistic) {
+            GraphMetricsSnapshot snapshot = lastSnapshot;
+            Map<String, Long> map = new LinkedHashMap<>();
+
+            if (snapshot == null) {
+                return map;
+            }
+
+            for (GraphOperation operation : OPERATIONS) {
+                LatencyHistogram latency = snapshot.getLatency(operation);
+                long value;
+
+                switch (statistic) {
+                    case COUNT:
+                        value = snapshot.getCount(operation);
+                        break;
+
+                    case MEDIAN:
+                        value = latency.getValueAtPercentile(50.0);
+                        break;
+
+                    case P99:
+                        value = latency.getValueAtPercentile(99.0);
+                        break;
+
+                    default:
+                        value = latency.getMax();
+                        break;
+                }
+
+                map.put(operation.name(), value);
+            }
+
+            return map;
+        }
+    }
+
+    private enum Statistic {
+        COUNT,
+        MEDIAN,
+        P99,
+        MAX
+    }
+}
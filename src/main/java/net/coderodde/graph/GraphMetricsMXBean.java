@@ -0,0 +1,38 @@
+package net.coderodde.graph;
+
+import java.util.Map;
+
+/**
+ * This interface defines the management view of the last
+ * {@link GraphMetricsSnapshot} of a graph. The per-operation attributes map
+ * the names of the {@link GraphOperation} constants to the values.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public interface GraphMetricsMXBean {
+
+    long getSnapshotTimeMillis();
+
+    int getNumberOfNodes();
+
+    int getNumberOfEdges();
+
+    long getEstimatedFootprint();
+
+    long getInsertedEdges();
+
+    long getUpdatedEdges();
+
+    long getRemovedEdges();
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Long> getMedianLatencyNanos();
+
+    Map<String, Long> getP99LatencyNanos();
+
+    Map<String, Long> getMaxLatencyNanos();
+
+    long[] getOutDegreeHistogram();
+}
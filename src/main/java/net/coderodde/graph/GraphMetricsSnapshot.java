@@ -0,0 +1,195 @@
+package net.coderodde.graph;
+
+/**
+ * This class holds the state of a {@link GraphMetrics} and of its graph at a
+ * point in time. It is immutable and may be handed to any thread.
+ * <p>
+ * The degree histograms have logarithmic buckets: bucket zero counts the
+ * nodes of degree zero, and bucket {@code k > 0} counts the nodes whose degree
+ * is within {@code [2^(k - 1), 2^k)}. The histograms end at their last
+ * nonempty bucket.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class GraphMetricsSnapshot {
+
+    private final long timeMillis;
+    private final int nodes;
+    private final int edges;
+    private final long estimatedFootprint;
+    private final long[] counts;
+    private final long[] changeCounts;
+    private final LatencyHistogram[] latencies;
+    private final long insertedEdges;
+    private final long updatedEdges;
+    private final long removedEdges;
+    private final long[] outDegreeHistogram;
+    private final long[] inDegreeHistogram;
+
+    GraphMetricsSnapshot(long timeMillis,
+                         int nodes,
+                         int edges,
+                         long estimatedFootprint,
+                         long[] counts,
+                         long[] changeCounts,
+                         LatencyHistogram[] latencies,
+                         long insertedEdges,
+                         long updatedEdges,
+                         long removedEdges,
+                         long[] outDegreeHistogram,
+                         long[] inDegreeHistogram) {
+        this.timeMillis = timeMillis;
+        this.nodes = nodes;
+        this.edges = edges;
+        this.estimatedFootprint = estimatedFootprint;
+        this.counts = counts;
+        this.changeCounts = changeCounts;
+        this.latencies = latencies;
+        this.insertedEdges = insertedEdges;
+        this.updatedEdges = updatedEdges;
+        this.removedEdges = removedEdges;
+        this.outDegreeHistogram = outDegreeHistogram;
+        this.inDegreeHistogram = inDegreeHistogram;
+    }
+
+    /**
+     * Returns the time the snapshot was taken at, in milliseconds since the
+     * epoch.
+     *
+     * @return the time of the snapshot.
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Returns the number of nodes of the graph.
+     *
+     * @return the number of nodes.
+     */
+    public int getNumberOfNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the number of edges of the graph.
+     *
+     * @return the number of edges.
+     */
+    public int getNumberOfEdges() {
+        return edges;
+    }
+
+    /**
+     * Returns the estimated number of bytes taken by the graph on the heap,
+     * or -1 if the graph cannot estimate it.
+     *
+     * @return the estimated footprint in bytes.
+     */
+    public long getEstimatedFootprint() {
+        return estimatedFootprint;
+    }
+
+    /**
+     * Returns the number of calls of {@code operation}.
+     *
+     * @param operation the operation.
+     * @return the number of calls.
+     */
+    public long getCount(GraphOperation operation) {
+        return counts[operation.ordinal()];
+    }
+
+    /**
+     * Returns the number of calls of {@code operation} that returned
+     * {@code true}. For the queries, these are the calls that found the edge.
+     *
+     * @param operation the operation.
+     * @return the number of successful calls.
+     */
+    public long getChangeCount(GraphOperation operation) {
+        return changeCounts[operation.ordinal()];
+    }
+
+    /**
+     * Returns the latency histogram of {@code operation}.
+     *
+     * @param operation the operation.
+     * @return the latencies of the operation.
+     */
+    public LatencyHistogram getLatency(GraphOperation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    /**
+     * Returns the number of edges inserted by any operation.
+     *
+     * @return the number of inserted edges.
+     */
+    public long getInsertedEdges() {
+        return insertedEdges;
+    }
+
+    /**
+     * Returns the number of weight updates of existing edges.
+     *
+     * @return the number of updated edges.
+     */
+    public long getUpdatedEdges() {
+        return updatedEdges;
+    }
+
+    /**
+     * Returns the number of edges removed by any operation.
+     *
+     * @return the number of removed edges.
+     */
+    public long getRemovedEdges() {
+        return removedEdges;
+    }
+
+    /**
+     * Returns the histogram of the numbers of children.
+     *
+     * @return the out-degree histogram.
+     */
+    public long[] getOutDegreeHistogram() {
+        return outDegreeHistogram.clone();
+    }
+
+    /**
+     * Returns the histogram of the numbers of parents.
+     *
+     * @return the in-degree histogram.
+     */
+    public long[] getInDegreeHistogram() {
+        return inDegreeHistogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("nodes=").append(nodes)
+          .append(" edges=").append(edges)
+          .append(" footprint=").append(estimatedFootprint)
+          .append(" inserted=").append(insertedEdges)
+          .append(" updated=").append(updatedEdges)
+          .append(" removed=").append(removedEdges);
+
+        for (GraphOperation operation : GraphOperation.values()) {
+            if (getCount(operation) > 0L) {
+                sb.append('\n')
+                  .append(operation)
+                  .append(": ")
+                  .append(getLatency(operation));
+            }
+        }
+
+        return sb.toString();
+    }
+
+    static int degreeBucketOf(int degree) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(degree);
+    }
+}
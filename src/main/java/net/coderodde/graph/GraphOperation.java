@@ -0,0 +1,56 @@
+package net.coderodde.graph;
+
+/**
+ * This enumeration lists the graph operations recorded by
+ * {@link GraphMetrics}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public enum GraphOperation {
+
+    /**
+     * {@link AbstractGraph#addNode(int)}.
+     */
+    ADD_NODE,
+
+    /**
+     * {@link AbstractGraph#removeNode(int)}.
+     */
+    REMOVE_NODE,
+
+    /**
+     * {@link AbstractGraph#clearNode(int)}.
+     */
+    CLEAR_NODE,
+
+    /**
+     * {@link AbstractGraph#addEdge(int, int, double)} and its shortcut.
+     */
+    ADD_EDGE,
+
+    /**
+     * The bulk loading methods {@code addEdges}.
+     */
+    ADD_EDGES,
+
+    /**
+     * {@link AbstractGraph#removeEdge(int, int)}.
+     */
+    REMOVE_EDGE,
+
+    /**
+     * {@link AbstractGraph#hasEdge(int, int)}.
+     */
+    HAS_EDGE,
+
+    /**
+     * {@link AbstractGraph#getEdgeWeight(int, int)}.
+     */
+    GET_EDGE_WEIGHT,
+
+    /**
+     * {@link AbstractGraph#clear()}.
+     */
+    CLEAR
+}
@@ -0,0 +1,184 @@
+package net.coderodde.graph;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * This class implements a read-only view of a {@link DirectedGraph} or an
+ * {@link UndirectedGraph} at the time of a call to
+ * {@link AbstractGraph#snapshot()}. The view shares the node tables and the
+ * adjacency maps with the graph. The graph never writes to a shared map but
+ * copies it first, so the view stays unchanged and may be read concurrently
+ * without locking. All mutating methods throw
+ * {@link java.lang.UnsupportedOperationException}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class GraphSnapshot extends AbstractGraph {
+
+    private final PagedIntObjectHashMap<IntDoubleHashMap> childMap;
+    private final PagedIntObjectHashMap<IntDoubleHashMap> parentMap;
+    private final boolean directed;
+
+    GraphSnapshot(PagedIntObjectHashMap<IntDoubleHashMap> childMap,
+                  PagedIntObjectHashMap<IntDoubleHashMap> parentMap,
+                  int edges,
+                  int modificationCount,
+                  boolean directed) {
+        this.childMap = childMap;
+        this.parentMap = parentMap;
+        this.edges = edges;
+        this.modificationCount = modificationCount;
+        this.directed = directed;
+    }
+
+    /**
+     * Returns {@code true} if the snapshot was taken of a directed graph.
+     *
+     * @return {@code true} if this graph is directed.
+     */
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int size() {
+        return childMap.size();
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return edges;
+    }
+
+    @Override
+    public boolean hasNode(int nodeId) {
+        return childMap.containsKey(nodeId);
+    }
+
+    @Override
+    public boolean hasEdge(int tailNodeId, int headNodeId) {
+        IntDoubleHashMap children = childMap.get(tailNodeId);
+        return children != null && children.containsKey(headNodeId);
+    }
+
+    @Override
+    public double getEdgeWeight(int tailNodeId, int headNodeId) {
+        IntDoubleHashMap children = childMap.get(tailNodeId);
+
+        if (children == null) {
+            return Double.NaN;
+        }
+
+        // Returns NaN if there is no such edge.
+        return children.get(headNodeId);
+    }
+
+    @Override
+    public Set<Integer> getChildrenOf(int nodeId) {
+        IntDoubleHashMap children = childMap.get(nodeId);
+
+        if (children == null) {
+            return Collections.<Integer>emptySet();
+        }
+
+        return children.keySet();
+    }
+
+    @Override
+    public Set<Integer> getParentsOf(int nodeId) {
+        IntDoubleHashMap parents = parentMap.get(nodeId);
+
+        if (parents == null) {
+            return Collections.<Integer>emptySet();
+        }
+
+        return parents.keySet();
+    }
+
+    @Override
+    public void forEachChild(int nodeId, IntDoubleConsumer consumer) {
+        IntDoubleHashMap children = childMap.get(nodeId);
+
+        if (children != null) {
+            children.forEach(consumer);
+        }
+    }
+
+    @Override
+    public void forEachParent(int nodeId, IntDoubleConsumer consumer) {
+        IntDoubleHashMap parents = parentMap.get(nodeId);
+
+        if (parents != null) {
+            parents.forEach(consumer);
+        }
+    }
+
+    @Override
+    public int getNumberOfChildren(int nodeId) {
+        IntDoubleHashMap children = childMap.get(nodeId);
+        return children == null ? 0 : children.size();
+    }
+
+    @Override
+    public int getNumberOfParents(int nodeId) {
+        IntDoubleHashMap parents = parentMap.get(nodeId);
+        return parents == null ? 0 : parents.size();
+    }
+
+    @Override
+    public Set<Integer> getAllNodes() {
+        return childMap.keySet();
+    }
+
+    @Override
+    public CompressedGraph freeze() {
+        return new CompressedGraph(this, directed);
+    }
+
+    /**
+     * Returns this snapshot as it never changes.
+     *
+     * @return this snapshot.
+     */
+    @Override
+    public GraphSnapshot snapshot() {
+        return this;
+    }
+
+    @Override
+    public boolean addNode(int nodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean clearNode(int nodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeNode(int nodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addEdge(int tailNodeId, int headNodeId, double weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEdge(int tailNodeId, int headNodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("A snapshot is read-only.");
+    }
+}
@@ -0,0 +1,22 @@
+package net.coderodde.graph;
+
+/**
+ * This interface defines the callback used for visiting the neighbors of a
+ * node without boxing. The graph passes the ID of each neighbor together with
+ * the weight of the edge connecting it to the visited node.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+
+    /**
+     * Visits a single neighbor.
+     *
+     * @param nodeId the ID of the neighbor node.
+     * @param weight the weight of the edge between the visited node and the
+     *               neighbor.
+     */
+    void accept(int nodeId, double weight);
+}
@@ -0,0 +1,201 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+
+/**
+ * This class implements an insertion-ordered hash map from primitive
+ * {@code int} keys to primitive {@code double} values. It is used for storing
+ * the weighted adjacency lists of the graphs without boxing.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class IntDoubleHashMap extends AbstractIntHashMap {
+
+    /**
+     * The raw bits of the NaN marking a hole in the value array. If a client
+     * stores a NaN with exactly this payload, it is replaced by the canonical
+     * NaN.
+     */
+    private static final long HOLE_BITS = 0x7ff8dead0000beefL;
+
+    private static final double HOLE = Double.longBitsToDouble(HOLE_BITS);
+
+    private static final double[] EMPTY_VALUES = new double[0];
+
+    private double[] values = EMPTY_VALUES;
+
+    /**
+     * Constructs an empty map belonging to the epoch zero.
+     */
+    IntDoubleHashMap() {}
+
+    /**
+     * Constructs an empty map belonging to the epoch {@code epoch}.
+     *
+     * @param epoch the epoch of the new map.
+     */
+    IntDoubleHashMap(int epoch) {
+        this.epoch = epoch;
+    }
+
+    /**
+     * Returns a copy of this map belonging to the epoch {@code epoch}.
+     *
+     * @param epoch the epoch of the copy.
+     * @return a copy of this map.
+     */
+    IntDoubleHashMap copy(int epoch) {
+        final IntDoubleHashMap copy = new IntDoubleHashMap(epoch);
+        copy.copyKeysFrom(this);
+        copy.values = values.length == 0 ? EMPTY_VALUES : values.clone();
+        return copy;
+    }
+
+    /**
+     * Returns the value mapped to {@code key}, or {@link java.lang.Double#NaN}
+     * if there is no such key.
+     *
+     * @param key the key to look up.
+     * @return the value of the key or NaN.
+     */
+    double get(int key) {
+        final int index = indexOf(key);
+        return index < 0 ? Double.NaN : values[index];
+    }
+
+    /**
+     * Returns the value stored at dense position {@code index}.
+     *
+     * @param index the dense position.
+     * @return the value at the position.
+     */
+    double valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Replaces the value stored at dense position {@code index}.
+     *
+     * @param index the dense position.
+     * @param value the new value.
+     */
+    void setValueAt(int index, double value) {
+        values[index] = sanitize(value);
+    }
+
+    /**
+     * Associates {@code value} with {@code key}.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return {@code true} if the key was not present in this map.
+     */
+    boolean put(int key, double value) {
+        final int index = indexOf(key);
+
+        if (index >= 0) {
+            values[index] = sanitize(value);
+            return false;
+        }
+
+        // The append may reallocate the value array.
+        final int newIndex = appendKey(key);
+        values[newIndex] = sanitize(value);
+        return true;
+    }
+
+    /**
+     * Adds the entry {@code (key, value)} to this map. The key must not be
+     * present in this map, which saves the lookup done in
+     * {@link #put(int, double)}.
+     *
+     * @param key   the new key.
+     * @param value the value.
+     */
+    void putAbsent(int key, double value) {
+        final int newIndex = appendKey(key);
+        values[newIndex] = sanitize(value);
+    }
+
+    /**
+     * Removes the key {@code key} from this map.
+     *
+     * @param key the key to remove.
+     * @return {@code true} if the key was present.
+     */
+    boolean remove(int key) {
+        final int index = indexOf(key);
+
+        if (index < 0) {
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Passes each entry of this map to {@code consumer} in insertion order.
+     *
+     * @param consumer the entry consumer.
+     */
+    void forEach(IntDoubleConsumer consumer) {
+        final int[] keys = this.keys;
+        final double[] values = this.values;
+        final int end = this.end;
+
+        if (end == size) {
+            for (int i = 0; i < end; ++i) {
+                consumer.accept(keys[i], values[i]);
+            }
+        } else {
+            for (int i = 0; i < end; ++i) {
+                if (Double.doubleToRawLongBits(values[i]) != HOLE_BITS) {
+                    consumer.accept(keys[i], values[i]);
+                }
+            }
+        }
+    }
+
+    @Override
+    boolean isHole(int index) {
+        return Double.doubleToRawLongBits(values[index]) == HOLE_BITS;
+    }
+
+    @Override
+    void makeHole(int index) {
+        values[index] = HOLE;
+    }
+
+    @Override
+    void moveValue(int source, int target) {
+        values[target] = values[source];
+    }
+
+    @Override
+    void resizeValues(int capacity) {
+        final int oldLength = values.length;
+        values = Arrays.copyOf(values, capacity);
+
+        if (capacity > oldLength) {
+            Arrays.fill(values, oldLength, capacity, HOLE);
+        }
+    }
+
+    @Override
+    long valuesFootprint() {
+        return arrayBytes(values.length, Double.BYTES);
+    }
+
+    @Override
+    void releaseValues() {
+        values = EMPTY_VALUES;
+    }
+
+    private static double sanitize(double value) {
+        return Double.doubleToRawLongBits(value) == HOLE_BITS ?
+               Double.NaN :
+               value;
+    }
+}
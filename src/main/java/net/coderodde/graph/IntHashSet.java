@@ -0,0 +1,111 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+
+/**
+ * This class implements an insertion-ordered hash set of primitive
+ * {@code int} keys. As there are no values to mark the holes with, the holes
+ * are kept in a bitmap of one bit per dense position. The linearly searched
+ * sets never leave holes behind, so the bitmap is allocated only when the
+ * first hole is made.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class IntHashSet extends AbstractIntHashMap {
+
+    private static final long[] EMPTY_HOLES = new long[0];
+
+    /**
+     * The bit of each dense position is set if the position is a hole, or
+     * empty if no hole has been made yet. The bits of the positions at or
+     * after {@link #end} are meaningless.
+     */
+    private long[] holes = EMPTY_HOLES;
+
+    /**
+     * Adds {@code key} to this set.
+     *
+     * @param key the key to add.
+     * @return {@code true} if the key was not present in this set.
+     */
+    boolean add(int key) {
+        if (indexOf(key) >= 0) {
+            return false;
+        }
+
+        // The append may reallocate the hole bitmap.
+        final int index = appendKey(key);
+        clearHole(index);
+        return true;
+    }
+
+    /**
+     * Removes {@code key} from this set.
+     *
+     * @param key the key to remove.
+     * @return {@code true} if the key was present.
+     */
+    boolean remove(int key) {
+        final int index = indexOf(key);
+
+        if (index < 0) {
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    boolean isHole(int index) {
+        return holes.length > 0 && (holes[index >>> 6] & (1L << index)) != 0L;
+    }
+
+    @Override
+    void makeHole(int index) {
+        if (index >= end) {
+            // Past the entries, where the bits are meaningless anyway.
+            return;
+        }
+
+        if (holes.length == 0) {
+            holes = new long[words(keys.length)];
+        }
+
+        holes[index >>> 6] |= 1L << index;
+    }
+
+    @Override
+    void moveValue(int source, int target) {
+        // Only entries are moved, so the target stops being a hole.
+        clearHole(target);
+    }
+
+    @Override
+    void resizeValues(int capacity) {
+        if (holes.length > 0) {
+            holes = Arrays.copyOf(holes, words(capacity));
+        }
+    }
+
+    @Override
+    long valuesFootprint() {
+        return holes.length == 0 ? 0L : arrayBytes(holes.length, Long.BYTES);
+    }
+
+    @Override
+    void releaseValues() {
+        holes = EMPTY_HOLES;
+    }
+
+    private void clearHole(int index) {
+        if (holes.length > 0) {
+            holes[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    private static int words(int capacity) {
+        return (capacity + 63) >>> 6;
+    }
+}
@@ -0,0 +1,130 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+
+/**
+ * This class implements an insertion-ordered hash map from primitive
+ * {@code int} keys to non-negative primitive {@code int} values. It is used for
+ * mapping node IDs to dense indices without boxing.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class IntIntHashMap extends AbstractIntHashMap {
+
+    /**
+     * Marks a hole in the value array. The stored values are non-negative.
+     */
+    private static final int HOLE = -1;
+
+    private static final int[] EMPTY_VALUES = new int[0];
+
+    private int[] values = EMPTY_VALUES;
+
+    /**
+     * Returns the value mapped to {@code key}, or {@code -1} if there is no
+     * such key.
+     *
+     * @param key the key to look up.
+     * @return the value of the key or -1.
+     */
+    int get(int key) {
+        final int index = indexOf(key);
+        return index < 0 ? -1 : values[index];
+    }
+
+    /**
+     * Returns the value stored at dense position {@code index}.
+     *
+     * @param index the dense position.
+     * @return the value at the position.
+     */
+    int valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Replaces the value stored at dense position {@code index}.
+     *
+     * @param index the dense position.
+     * @param value the new value, must be non-negative.
+     */
+    void setValueAt(int index, int value) {
+        values[index] = value;
+    }
+
+    /**
+     * Associates {@code value} with {@code key}.
+     *
+     * @param key   the key.
+     * @param value the value, must be non-negative.
+     * @return {@code true} if the key was not present in this map.
+     */
+    boolean put(int key, int value) {
+        final int index = indexOf(key);
+
+        if (index >= 0) {
+            values[index] = value;
+            return false;
+        }
+
+        // The append may reallocate the value array.
+        final int newIndex = appendKey(key);
+        values[newIndex] = value;
+        return true;
+    }
+
+    /**
+     * Removes the key {@code key} from this map.
+     *
+     * @param key the key to remove.
+     * @return the value the key was mapped to, or {@code -1} if the key was
+     *         not present.
+     */
+    int remove(int key) {
+        final int index = indexOf(key);
+
+        if (index < 0) {
+            return -1;
+        }
+
+        final int value = values[index];
+        removeAt(index);
+        return value;
+    }
+
+    @Override
+    boolean isHole(int index) {
+        return values[index] == HOLE;
+    }
+
+    @Override
+    void makeHole(int index) {
+        values[index] = HOLE;
+    }
+
+    @Override
+    void moveValue(int source, int target) {
+        values[target] = values[source];
+    }
+
+    @Override
+    void resizeValues(int capacity) {
+        final int oldLength = values.length;
+        values = Arrays.copyOf(values, capacity);
+
+        if (capacity > oldLength) {
+            Arrays.fill(values, oldLength, capacity, HOLE);
+        }
+    }
+
+    @Override
+    long valuesFootprint() {
+        return arrayBytes(values.length, Integer.BYTES);
+    }
+
+    @Override
+    void releaseValues() {
+        values = EMPTY_VALUES;
+    }
+}
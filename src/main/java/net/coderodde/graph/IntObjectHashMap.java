@@ -0,0 +1,136 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+
+/**
+ * This class implements an insertion-ordered hash map from primitive
+ * {@code int} keys to object values. It is used as the node table of the
+ * graphs without snapshots, mapping each node to its adjacency lists.
+ *
+ * @param <V> the value type.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class IntObjectHashMap<V> extends AbstractIntHashMap {
+
+    /**
+     * Marks a hole in the value array.
+     */
+    private static final Object HOLE = new Object();
+
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private Object[] values = EMPTY_VALUES;
+
+    /**
+     * Returns the value mapped to {@code key}, or {@code null} if there is no
+     * such key.
+     *
+     * @param key the key to look up.
+     * @return the value of the key or {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Returns the value stored at dense position {@code index}.
+     *
+     * @param index the dense position.
+     * @return the value at the position.
+     */
+    @SuppressWarnings("unchecked")
+    V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    /**
+     * Replaces the value stored at dense position {@code index}.
+     *
+     * @param index the dense position.
+     * @param value the new value.
+     */
+    void setValueAt(int index, V value) {
+        values[index] = value;
+    }
+
+    /**
+     * Associates {@code value} with {@code key}.
+     *
+     * @param key   the key.
+     * @param value the value, must not be {@code null}.
+     * @return {@code true} if the key was not present in this map.
+     */
+    boolean put(int key, V value) {
+        final int index = indexOf(key);
+
+        if (index >= 0) {
+            values[index] = value;
+            return false;
+        }
+
+        // The append may reallocate the value array.
+        final int newIndex = appendKey(key);
+        values[newIndex] = value;
+        return true;
+    }
+
+    /**
+     * Removes the key {@code key} from this map.
+     *
+     * @param key the key to remove.
+     * @return the value the key was mapped to, or {@code null} if the key was
+     *         not present.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        final int index = indexOf(key);
+
+        if (index < 0) {
+            return null;
+        }
+
+        final V value = (V) values[index];
+        removeAt(index);
+        return value;
+    }
+
+    @Override
+    boolean isHole(int index) {
+        return values[index] == HOLE;
+    }
+
+    @Override
+    void makeHole(int index) {
+        values[index] = HOLE;
+    }
+
+    @Override
+    void moveValue(int source, int target) {
+        values[target] = values[source];
+    }
+
+    @Override
+    void resizeValues(int capacity) {
+        final int oldLength = values.length;
+        values = Arrays.copyOf(values, capacity);
+
+        if (capacity > oldLength) {
+            Arrays.fill(values, oldLength, capacity, HOLE);
+        }
+    }
+
+    @Override
+    long valuesFootprint() {
+        // Compressed references.
+        return arrayBytes(values.length, 4);
+    }
+
+    @Override
+    void releaseValues() {
+        values = EMPTY_VALUES;
+    }
+}
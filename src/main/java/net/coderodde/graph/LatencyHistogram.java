@@ -0,0 +1,176 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a histogram of latencies in nanoseconds with
+ * logarithmically growing buckets, in the spirit of HdrHistogram. Each power
+ * of two is split into {@code 16} linear sub-buckets, so a value reported by
+ * {@link #getValueAtPercentile(double)} exceeds the true one by less than
+ * 6.25%. Values up to 2^40 nanoseconds, about 18 minutes, are told apart; the
+ * larger ones fall into the last bucket. Recording a value costs a few
+ * arithmetic instructions and never allocates.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAXIMUM_EXPONENT = 40;
+
+    private static final int BUCKETS =
+            SUB_BUCKETS * (MAXIMUM_EXPONENT - SUB_BUCKET_BITS + 2);
+
+    private final long[] counts;
+    private long totalCount;
+    private long sum;
+    private long max;
+
+    LatencyHistogram() {
+        this.counts = new long[BUCKETS];
+    }
+
+    private LatencyHistogram(LatencyHistogram other) {
+        this.counts = other.counts.clone();
+        this.totalCount = other.totalCount;
+        this.sum = other.sum;
+        this.max = other.max;
+    }
+
+    /**
+     * Records the latency {@code nanos}. Negative values are recorded as
+     * zero.
+     */
+    void record(long nanos) {
+        if (nanos < 0L) {
+            nanos = 0L;
+        }
+
+        counts[bucketOf(nanos)]++;
+        totalCount++;
+        sum += nanos;
+
+        if (nanos > max) {
+            max = nanos;
+        }
+    }
+
+    /**
+     * Returns an independent copy of this histogram.
+     */
+    LatencyHistogram copy() {
+        return new LatencyHistogram(this);
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0L;
+        sum = 0L;
+        max = 0L;
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recorded latencies.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the largest recorded latency, or zero if nothing was recorded.
+     *
+     * @return the largest latency in nanoseconds.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the recorded latencies, or zero if nothing was
+     * recorded.
+     *
+     * @return the mean latency in nanoseconds.
+     */
+    public double getMean() {
+        return totalCount == 0L ? 0.0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Returns the latency not exceeded by {@code percentile} percent of the
+     * recorded latencies, rounded up to the upper end of its bucket but never
+     * above the largest recorded latency. Returns zero if nothing was
+     * recorded.
+     *
+     * @param percentile the percentile within {@code [0, 100]}.
+     * @return the latency at the percentile in nanoseconds.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException(
+                    "The percentile must be within [0, 100], was " +
+                    percentile + ".");
+        }
+
+        if (totalCount == 0L) {
+            return 0L;
+        }
+
+        final long rank = Math.max(1L,
+                                   (long) Math.ceil(percentile / 100.0 *
+                                                    totalCount));
+        long seen = 0L;
+
+        for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+            seen += counts[bucket];
+
+            if (seen >= rank) {
+                return Math.min(max, highestValueOf(bucket));
+            }
+        }
+
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + totalCount +
+               " mean=" + Math.round(getMean()) +
+               " p50=" + getValueAtPercentile(50.0) +
+               " p99=" + getValueAtPercentile(99.0) +
+               " max=" + max;
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+
+        final int exponent = Math.min(63 - Long.numberOfLeadingZeros(nanos),
+                                      MAXIMUM_EXPONENT);
+
+        if (exponent == MAXIMUM_EXPONENT && nanos >= 1L << (exponent + 1)) {
+            return BUCKETS - 1;
+        }
+
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return SUB_BUCKETS * (shift + 1) +
+               (int) (nanos >>> shift) - SUB_BUCKETS;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1L) << shift) - 1L;
+    }
+}
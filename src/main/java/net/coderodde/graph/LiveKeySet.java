@@ -0,0 +1,45 @@
+package net.coderodde.graph;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * This abstract class implements a read-only set view over the keys of a map
+ * that a graph may replace with a copy at any time. The backing map is looked
+ * up anew on each access, so the view keeps following the graph.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+abstract class LiveKeySet extends AbstractSet<Integer> {
+
+    /**
+     * Returns the current backing map, or {@code null} if there is none.
+     *
+     * @return the backing map.
+     */
+    abstract AbstractIntHashMap map();
+
+    @Override
+    public int size() {
+        final AbstractIntHashMap map = map();
+        return map == null ? 0 : map.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        final AbstractIntHashMap map = map();
+        return map != null
+                && o instanceof Integer
+                && map.containsKey((Integer) o);
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        final AbstractIntHashMap map = map();
+        return map == null ?
+               Collections.<Integer>emptyIterator() :
+               map.keySet().iterator();
+    }
+}
@@ -0,0 +1,37 @@
+package net.coderodde.graph;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+
+/**
+ * This abstract class implements a read-only set view over the keys of a node
+ * table that a graph may replace with a copy at any time. The backing table is
+ * looked up anew on each access, so the view keeps following the graph.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+abstract class LiveNodeSet extends AbstractSet<Integer> {
+
+    /**
+     * Returns the current node table.
+     *
+     * @return the node table.
+     */
+    abstract PagedIntObjectHashMap<?> table();
+
+    @Override
+    public int size() {
+        return table().size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && table().containsKey((Integer) o);
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return table().keySet().iterator();
+    }
+}
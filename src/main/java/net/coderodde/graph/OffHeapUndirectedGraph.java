@@ -0,0 +1,36 @@
+package net.coderodde.graph;
+
+/**
+ * This class implements an undirected graph stored outside of the Java heap,
+ * in direct byte buffers. It supports the entire mutable API of
+ * {@link UndirectedGraph}, including the rejection of self-loops, and is meant
+ * for graphs too large for the heap, or large enough to slow down the garbage
+ * collector. The nodes and the neighbors of each node are iterated in no
+ * particular order.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class OffHeapUndirectedGraph extends AbstractOffHeapGraph {
+
+    /**
+     * Constructs an empty graph with the default chunk size of 16 MiB.
+     */
+    public OffHeapUndirectedGraph() {
+        this(DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Constructs an empty graph. The adjacency is allocated in chunks that
+     * start at 64 KiB and double up to {@code chunkBytes}; larger chunks mean
+     * fewer direct buffers, smaller ones less unused memory in small graphs.
+     *
+     * @param chunkBytes the size of the largest chunk, a power of two within
+     *                   {@code [2^12, 2^30]}.
+     * @throws IllegalArgumentException if {@code chunkBytes} is out of range
+     *         or not a power of two.
+     */
+    public OffHeapUndirectedGraph(int chunkBytes) {
+        super(false, chunkBytes);
+    }
+}
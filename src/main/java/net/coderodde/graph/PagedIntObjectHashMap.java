@@ -0,0 +1,630 @@
+package net.coderodde.graph;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This class implements an insertion-ordered hash map from primitive
+ * {@code int} keys to non-{@code null} object values, stored in fixed-size
+ * pages that a copy of the map may share. It is used as the node table of
+ * the graphs supporting snapshots, so that the first write after a snapshot
+ * copies the few pages it touches rather than the whole table.
+ * <p>
+ * Just like in {@link AbstractIntHashMap}, the entries are kept in dense
+ * arrays in insertion order, and an open-addressing index table maps each key
+ * to its dense position. Both are split into pages of {@link #PAGE_SIZE}
+ * slots, each tagged with the epoch it was created or last copied in. A map
+ * writes in place only to the pages of its own epoch and copies any other
+ * page first. Growing the map and squeezing out the holes build new pages,
+ * which is amortized over the insertions and removals that called for it.
+ *
+ * @param <V> the value type.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class PagedIntObjectHashMap<V> {
+
+    private static final int PAGE_SHIFT = 10;
+
+    /**
+     * The number of slots in a full page.
+     */
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /**
+     * The estimated size of a map object itself: the header, seven
+     * references and six integer fields, padded.
+     */
+    private static final long MAP_BYTES = 64L;
+
+    private static final int[][] EMPTY_INT_PAGES = new int[0][];
+
+    private static final Object[][] EMPTY_VALUE_PAGES = new Object[0][];
+
+    private static final int[] EMPTY_EPOCHS = new int[0];
+
+    /**
+     * The writer epoch of this map. The pages of the other epochs may be
+     * shared with other maps and are copied before being written to.
+     */
+    int epoch;
+
+    /**
+     * The pages of the keys in insertion order. All pages but the last one
+     * are full.
+     */
+    private int[][] keyPages = EMPTY_INT_PAGES;
+
+    /**
+     * The pages of the values, parallel to {@link #keyPages}. A {@code null}
+     * value marks a hole.
+     */
+    private Object[][] valuePages = EMPTY_VALUE_PAGES;
+
+    /**
+     * The pages of the index table. Each slot holds either zero, which
+     * denotes an empty slot, or one plus the dense position of a key.
+     */
+    private int[][] tablePages = EMPTY_INT_PAGES;
+
+    private int[] keyEpochs = EMPTY_EPOCHS;
+    private int[] valueEpochs = EMPTY_EPOCHS;
+    private int[] tableEpochs = EMPTY_EPOCHS;
+
+    /**
+     * The number of dense positions in the pages.
+     */
+    private int capacity;
+
+    /**
+     * The length of the index table minus one, or -1 if there is no table.
+     */
+    private int mask = -1;
+
+    /**
+     * The number of entries in this map.
+     */
+    private int size;
+
+    /**
+     * The number of used dense positions, holes included.
+     */
+    private int end;
+
+    /**
+     * Counts the structural changes of this map for the fail-fast iterators.
+     */
+    private int modCount;
+
+    /**
+     * Caches the key set view of this map.
+     */
+    private KeySet keySet;
+
+    /**
+     * Constructs an empty map belonging to the epoch zero.
+     */
+    PagedIntObjectHashMap() {}
+
+    /**
+     * Constructs an empty map belonging to the epoch {@code epoch}.
+     *
+     * @param epoch the epoch of the new map.
+     */
+    PagedIntObjectHashMap(int epoch) {
+        this.epoch = epoch;
+    }
+
+    /**
+     * Returns a shallow copy of this map belonging to the epoch
+     * {@code epoch}. The copy shares all pages with this map, so this takes
+     * time proportional to the number of pages only. Neither map may write to
+     * a shared page afterwards, so {@code epoch} must differ from the epoch
+     * of this map.
+     *
+     * @param epoch the epoch of the copy.
+     * @return a copy of this map.
+     */
+    PagedIntObjectHashMap<V> copy(int epoch) {
+        final PagedIntObjectHashMap<V> copy =
+                new PagedIntObjectHashMap<>(epoch);
+        copy.keyPages = keyPages.clone();
+        copy.valuePages = valuePages.clone();
+        copy.tablePages = tablePages.clone();
+        copy.keyEpochs = keyEpochs.clone();
+        copy.valueEpochs = valueEpochs.clone();
+        copy.tableEpochs = tableEpochs.clone();
+        copy.capacity = capacity;
+        copy.mask = mask;
+        copy.size = size;
+        copy.end = end;
+        return copy;
+    }
+
+    /**
+     * Returns the number of entries in this map.
+     *
+     * @return the number of entries.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the exclusive upper bound of the dense positions in use. Clients
+     * iterate over the entries by visiting all positions below this bound that
+     * are not holes.
+     *
+     * @return the bound of the dense positions.
+     */
+    int end() {
+        return end;
+    }
+
+    /**
+     * Returns {@code true} if the dense position {@code index} holds a removed
+     * entry.
+     *
+     * @param index the dense position to check.
+     * @return {@code true} if the position is a hole.
+     */
+    boolean isHole(int index) {
+        return valuePages[index >>> PAGE_SHIFT][index & PAGE_MASK] == null;
+    }
+
+    /**
+     * Returns the key stored at dense position {@code index}.
+     *
+     * @param index the dense position.
+     * @return the key at the given position.
+     */
+    int keyAt(int index) {
+        return keyPages[index >>> PAGE_SHIFT][index & PAGE_MASK];
+    }
+
+    /**
+     * Returns the value stored at dense position {@code index}.
+     *
+     * @param index the dense position.
+     * @return the value at the given position.
+     */
+    @SuppressWarnings("unchecked")
+    V valueAt(int index) {
+        return (V) valuePages[index >>> PAGE_SHIFT][index & PAGE_MASK];
+    }
+
+    /**
+     * Replaces the value stored at dense position {@code index}, which must
+     * not be a hole.
+     *
+     * @param index the dense position.
+     * @param value the new value.
+     */
+    void setValueAt(int index, V value) {
+        writableValuePage(index >>> PAGE_SHIFT)[index & PAGE_MASK] = value;
+    }
+
+    /**
+     * Returns the value mapped to {@code key}, or {@code null} if there is no
+     * such key.
+     *
+     * @param key the key to look up.
+     * @return the value of the key or {@code null}.
+     */
+    V get(int key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    /**
+     * Returns {@code true} if {@code key} is in this map.
+     *
+     * @param key the key to look up.
+     * @return {@code true} if the key is present.
+     */
+    boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the dense position of the key {@code key}, or -1 if the key is
+     * not in this map.
+     *
+     * @param key the key to look up.
+     * @return the dense position of the key or -1.
+     */
+    int indexOf(int key) {
+        final int mask = this.mask;
+
+        if (mask < 0) {
+            return -1;
+        }
+
+        int slot = AbstractIntHashMap.hash(key) & mask;
+        int ref;
+
+        while ((ref = tablePages[slot >>> PAGE_SHIFT][slot & PAGE_MASK]) != 0) {
+            if (keyAt(ref - 1) == key) {
+                return ref - 1;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Associates {@code value} with {@code key}.
+     *
+     * @param key   the key.
+     * @param value the value, must not be {@code null}.
+     * @return {@code true} if the key was not present in this map.
+     */
+    boolean put(int key, V value) {
+        final int index = indexOf(key);
+
+        if (index >= 0) {
+            setValueAt(index, value);
+            return false;
+        }
+
+        if (end == capacity) {
+            makeRoom();
+        }
+
+        final int newIndex = end++;
+        final int page = newIndex >>> PAGE_SHIFT;
+        writableKeyPage(page)[newIndex & PAGE_MASK] = key;
+        writableValuePage(page)[newIndex & PAGE_MASK] = value;
+        size++;
+        modCount++;
+        insertIntoTable(newIndex);
+        return true;
+    }
+
+    /**
+     * Removes the key {@code key} from this map.
+     *
+     * @param key the key to remove.
+     * @return the value the key was mapped to, or {@code null} if the key was
+     *         not present.
+     */
+    V remove(int key) {
+        final int index = indexOf(key);
+
+        if (index < 0) {
+            return null;
+        }
+
+        final V value = valueAt(index);
+        removeFromTable(index);
+        writableValuePage(index >>> PAGE_SHIFT)[index & PAGE_MASK] = null;
+        size--;
+        modCount++;
+
+        while (end > 0 && isHole(end - 1)) {
+            end--;
+        }
+
+        if (end - size > size) {
+            relocate(capacity);
+        }
+
+        return value;
+    }
+
+    /**
+     * Makes sure this map can hold {@code capacity} entries without growing
+     * its pages or rebuilding its index table.
+     *
+     * @param capacity the requested capacity.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity > this.capacity) {
+            relocate(capacity);
+        }
+    }
+
+    /**
+     * Shrinks the pages of this map to its size, squeezing out the holes, and
+     * rebuilds the index table at the matching length. Invalidates the
+     * iterators like a structural change.
+     *
+     * @return {@code true} if any storage was released.
+     */
+    boolean trimToSize() {
+        if (capacity == size) {
+            return false;
+        }
+
+        if (size == 0) {
+            clear();
+            return true;
+        }
+
+        relocate(size);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes all entries from this map and releases its pages.
+     */
+    void clear() {
+        keyPages = EMPTY_INT_PAGES;
+        valuePages = EMPTY_VALUE_PAGES;
+        tablePages = EMPTY_INT_PAGES;
+        keyEpochs = EMPTY_EPOCHS;
+        valueEpochs = EMPTY_EPOCHS;
+        tableEpochs = EMPTY_EPOCHS;
+        capacity = 0;
+        mask = -1;
+        size = 0;
+        end = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an estimate of the heap taken by this map, assuming 64-bit
+     * references compressed to four bytes. Pages shared with other maps are
+     * counted as well.
+     *
+     * @return the estimated footprint in bytes.
+     */
+    long footprint() {
+        long bytes = MAP_BYTES;
+
+        if (keyPages.length == 0) {
+            return bytes;
+        }
+
+        // The page directories of compressed references and their epochs.
+        bytes += 4L * AbstractIntHashMap.arrayBytes(keyPages.length, 4) +
+                 2L * AbstractIntHashMap.arrayBytes(tablePages.length, 4);
+
+        for (int[] page : keyPages) {
+            // The key page and its value page of compressed references.
+            bytes += 2L * AbstractIntHashMap.arrayBytes(page.length,
+                                                        Integer.BYTES);
+        }
+
+        for (int[] page : tablePages) {
+            bytes += AbstractIntHashMap.arrayBytes(page.length, Integer.BYTES);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Returns a read-only, live set view of the keys of this map. The view
+     * iterates the keys in insertion order.
+     *
+     * @return the key set view.
+     */
+    Set<Integer> keySet() {
+        final KeySet ks = keySet;
+        return ks != null ? ks : (keySet = new KeySet());
+    }
+
+    /**
+     * Makes room for at least one more entry at the end of the dense pages,
+     * either by squeezing out the holes or by growing the pages.
+     */
+    private void makeRoom() {
+        if (end - size >= size / 2 && end > size) {
+            relocate(capacity);
+        } else {
+            relocate(Math.max(AbstractIntHashMap.INITIAL_CAPACITY,
+                              2 * capacity));
+        }
+    }
+
+    /**
+     * Moves the entries in order to new dense pages of {@code capacity}
+     * positions, squeezing out the holes, and rebuilds the index table. All
+     * new pages belong to the epoch of this map.
+     */
+    private void relocate(int capacity) {
+        final int pages = (capacity + PAGE_MASK) >>> PAGE_SHIFT;
+        final int[][] newKeyPages = new int[pages][];
+        final Object[][] newValuePages = new Object[pages][];
+
+        for (int page = 0; page < pages; ++page) {
+            final int length = Math.min(PAGE_SIZE,
+                                        capacity - (page << PAGE_SHIFT));
+            newKeyPages[page] = new int[length];
+            newValuePages[page] = new Object[length];
+        }
+
+        int target = 0;
+
+        for (int source = 0; source < end; ++source) {
+            final Object value =
+                    valuePages[source >>> PAGE_SHIFT][source & PAGE_MASK];
+
+            if (value != null) {
+                newKeyPages[target >>> PAGE_SHIFT][target & PAGE_MASK] =
+                        keyAt(source);
+                newValuePages[target >>> PAGE_SHIFT][target & PAGE_MASK] =
+                        value;
+                target++;
+            }
+        }
+
+        keyPages = newKeyPages;
+        valuePages = newValuePages;
+        keyEpochs = newEpochs(pages);
+        valueEpochs = newEpochs(pages);
+        this.capacity = capacity;
+        end = target;
+        rebuildTable();
+    }
+
+    /**
+     * Rebuilds the index table from scratch at twice the capacity or more.
+     * The dense pages must not contain holes.
+     */
+    private void rebuildTable() {
+        int length = Integer.highestOneBit(Math.max(capacity, 1)) * 2;
+
+        if (length < capacity * 2) {
+            length *= 2;
+        }
+
+        final int pages = (length + PAGE_MASK) >>> PAGE_SHIFT;
+        tablePages = new int[pages][];
+
+        for (int page = 0; page < pages; ++page) {
+            tablePages[page] = new int[Math.min(PAGE_SIZE, length)];
+        }
+
+        tableEpochs = newEpochs(pages);
+        mask = length - 1;
+
+        for (int i = 0; i < end; ++i) {
+            insertIntoTable(i);
+        }
+    }
+
+    private void insertIntoTable(int index) {
+        final int mask = this.mask;
+        int slot = AbstractIntHashMap.hash(keyAt(index)) & mask;
+
+        while (tablePages[slot >>> PAGE_SHIFT][slot & PAGE_MASK] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        writableTablePage(slot >>> PAGE_SHIFT)[slot & PAGE_MASK] = index + 1;
+    }
+
+    /**
+     * Removes the dense position {@code index} from the index table using
+     * backward shift deletion so that the table never contains tombstones.
+     */
+    private void removeFromTable(int index) {
+        final int mask = this.mask;
+        int slot = AbstractIntHashMap.hash(keyAt(index)) & mask;
+
+        while (tablePages[slot >>> PAGE_SHIFT][slot & PAGE_MASK] != index + 1) {
+            slot = (slot + 1) & mask;
+        }
+
+        int hole = slot;
+        slot = (slot + 1) & mask;
+        int ref;
+
+        while ((ref = tablePages[slot >>> PAGE_SHIFT][slot & PAGE_MASK]) != 0) {
+            final int home = AbstractIntHashMap.hash(keyAt(ref - 1)) & mask;
+
+            // Move the entry into the hole unless its home slot lies
+            // cyclically within (hole, slot].
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                writableTablePage(hole >>> PAGE_SHIFT)[hole & PAGE_MASK] = ref;
+                hole = slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        writableTablePage(hole >>> PAGE_SHIFT)[hole & PAGE_MASK] = 0;
+    }
+
+    private int[] writableKeyPage(int page) {
+        if (keyEpochs[page] != epoch) {
+            keyPages[page] = keyPages[page].clone();
+            keyEpochs[page] = epoch;
+        }
+
+        return keyPages[page];
+    }
+
+    private Object[] writableValuePage(int page) {
+        if (valueEpochs[page] != epoch) {
+            valuePages[page] = valuePages[page].clone();
+            valueEpochs[page] = epoch;
+        }
+
+        return valuePages[page];
+    }
+
+    private int[] writableTablePage(int page) {
+        if (tableEpochs[page] != epoch) {
+            tablePages[page] = tablePages[page].clone();
+            tableEpochs[page] = epoch;
+        }
+
+        return tablePages[page];
+    }
+
+    private int[] newEpochs(int pages) {
+        final int[] epochs = new int[pages];
+        Arrays.fill(epochs, epoch);
+        return epochs;
+    }
+
+    /**
+     * Implements the read-only key set view.
+     */
+    private final class KeySet extends AbstractSet<Integer> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && containsKey((Integer) o);
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new KeyIterator();
+        }
+    }
+
+    /**
+     * Iterates over the keys in insertion order skipping the holes.
+     */
+    private final class KeyIterator implements Iterator<Integer> {
+
+        private final int expectedModCount = modCount;
+        private int index = advance(0);
+
+        @Override
+        public boolean hasNext() {
+            return index < end;
+        }
+
+        @Override
+        public Integer next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (index >= end) {
+                throw new NoSuchElementException();
+            }
+
+            final int key = keyAt(index);
+            index = advance(index + 1);
+            return key;
+        }
+
+        private int advance(int index) {
+            while (index < end && isHole(index)) {
+                index++;
+            }
+
+            return index;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class splits ranges of dense node indices or pair indices among
+ * fork-join tasks for the parallel algorithms of the subpackages. A range is
+ * halved until its parts are no longer than the grain, and the idle workers
+ * steal the halves left over by the busy ones. The work of a range may also
+ * be weighted by row offsets, in which case the range is split at the middle
+ * of the rows rather than at the middle of the range.
+ * <p>
+ * This class is public only so that the subpackages may share it; it is not
+ * part of the graph API and may change without notice.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class ParallelRange {
+
+    private ParallelRange() {}
+
+    /**
+     * Processes the range {@code [begin, end)}.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void apply(int begin, int end);
+    }
+
+    /**
+     * Computes a sum over the range {@code [begin, end)}.
+     */
+    @FunctionalInterface
+    public interface Sum {
+        double sum(int begin, int end);
+    }
+
+    /**
+     * Runs {@code action} over the range {@code [begin, end)} in
+     * {@code pool}, splitting the range until the parts are no longer than
+     * {@code grain}.
+     *
+     * @param pool   the pool running the tasks.
+     * @param begin  the beginning of the range.
+     * @param end    the end of the range.
+     * @param grain  the length below which a part is not split.
+     * @param action the action to run over the parts.
+     */
+    public static void forEach(ForkJoinPool pool,
+                               int begin,
+                               int end,
+                               int grain,
+                               Action action) {
+        pool.invoke(new ActionTask(null, begin, end, grain, action));
+    }
+
+    /**
+     * Runs {@code action} over the range {@code [begin, end)} in
+     * {@code pool}, where the element {@code i} owns the rows from
+     * {@code offsets[i]} to {@code offsets[i + 1]}. The range is split at the
+     * middle of its rows until the parts own no more than {@code grain} row
+     * elements or hold a single element.
+     *
+     * @param pool    the pool running the tasks.
+     * @param offsets the nondecreasing row offsets, one past {@code end} at
+     *                least.
+     * @param begin   the beginning of the range.
+     * @param end     the end of the range.
+     * @param grain   the number of row elements below which a part is not
+     *                split.
+     * @param action  the action to run over the parts.
+     */
+    public static void forEachWeighted(ForkJoinPool pool,
+                                       int[] offsets,
+                                       int begin,
+                                       int end,
+                                       int grain,
+                                       Action action) {
+        pool.invoke(new ActionTask(offsets, begin, end, grain, action));
+    }
+
+    /**
+     * Sums {@code sum} over the range {@code [begin, end)} in {@code pool},
+     * splitting the range until the parts are no longer than {@code grain}.
+     * The parts are added up in the same order for the same range and grain,
+     * so the result does not depend on the scheduling.
+     *
+     * @param pool  the pool running the tasks.
+     * @param begin the beginning of the range.
+     * @param end   the end of the range.
+     * @param grain the length below which a part is not split.
+     * @param sum   the sum over the parts.
+     * @return the total sum.
+     */
+    public static double sum(ForkJoinPool pool,
+                             int begin,
+                             int end,
+                             int grain,
+                             Sum sum) {
+        return pool.invoke(new SumTask(begin, end, grain, sum));
+    }
+
+    private static final class ActionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The row offsets weighting the range, or {@code null} if the
+         * elements weigh the same.
+         */
+        private final int[] offsets;
+        private final int begin;
+        private final int end;
+        private final int grain;
+        private final Action leaf;
+
+        ActionTask(int[] offsets, int begin, int end, int grain, Action leaf) {
+            this.offsets = offsets;
+            this.begin = begin;
+            this.end = end;
+            this.grain = grain;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected void compute() {
+            final boolean leafSized = offsets == null ?
+                    end - begin <= grain :
+                    end - begin <= 1 || offsets[end] - offsets[begin] <= grain;
+
+            if (leafSized) {
+                leaf.apply(begin, end);
+                return;
+            }
+
+            int middle = (begin + end) >>> 1;
+
+            if (offsets != null) {
+                final int half = (offsets[begin] + offsets[end]) >>> 1;
+                middle = Arrays.binarySearch(offsets, begin, end, half);
+                middle = middle < 0 ? -middle - 1 : middle;
+                middle = Math.max(begin + 1, Math.min(end - 1, middle));
+            }
+
+            invokeAll(new ActionTask(offsets, begin, middle, grain, leaf),
+                      new ActionTask(offsets, middle, end, grain, leaf));
+        }
+    }
+
+    private static final class SumTask extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int begin;
+        private final int end;
+        private final int grain;
+        private final Sum leaf;
+
+        SumTask(int begin, int end, int grain, Sum leaf) {
+            this.begin = begin;
+            this.end = end;
+            this.grain = grain;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected Double compute() {
+            if (end - begin <= grain) {
+                return leaf.sum(begin, end);
+            }
+
+            final int middle = (begin + end) >>> 1;
+            final SumTask left = new SumTask(begin, middle, grain, leaf);
+            left.fork();
+            final double right =
+                    new SumTask(middle, end, grain, leaf).compute();
+            return left.join() + right;
+        }
+    }
+}
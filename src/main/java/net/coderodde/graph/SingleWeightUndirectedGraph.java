@@ -0,0 +1,482 @@
+package net.coderodde.graph;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * This class implements an undirected graph that stores the weight of each
+ * edge once. An edge is owned by its end node with the smaller ID, whose
+ * weight map maps the other end node to the weight, while the other end node
+ * only keeps the owner in a key set of its neighbors with smaller IDs. Thus
+ * changing the weight of an edge writes a single slot, and an edge takes one
+ * weight and two 4-byte keys instead of two weights and two keys as in
+ * {@link UndirectedGraph}. Reading the weight of an edge from its larger end
+ * node costs an extra lookup in the map of the owner.
+ * <p>
+ * Each node keeps two structures rather than one, so the saving outweighs
+ * the extra per-node overhead only once the nodes have about ten neighbors on
+ * average; sparser graphs take less memory in {@link UndirectedGraph}. The
+ * key set of a node is allocated only while the node has neighbors with
+ * smaller IDs.
+ * <p>
+ * The neighbors of a node are iterated in insertion order, those with smaller
+ * IDs first, and self-loops are rejected, just like in
+ * {@link UndirectedGraph}. This graph does not support change listeners and
+ * metrics, and {@link #snapshot()} copies the graph.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class SingleWeightUndirectedGraph extends AbstractGraph {
+
+    /**
+     * Maps each node to the weights of the edges to its neighbors with
+     * greater IDs.
+     */
+    private final IntObjectHashMap<IntDoubleHashMap> map =
+            new IntObjectHashMap<>();
+
+    /**
+     * Maps each node having neighbors with smaller IDs to the set of those
+     * neighbors.
+     */
+    private final IntObjectHashMap<IntHashSet> lowerMap =
+            new IntObjectHashMap<>();
+
+    /**
+     * The number of owned edges to reserve room for in each new node.
+     */
+    private int degreeHint;
+
+    private final Set<Integer> nodeView = new LiveKeySet() {
+        @Override
+        AbstractIntHashMap map() {
+            return map;
+        }
+    };
+
+    /**
+     * Constructs an empty undirected graph.
+     */
+    public SingleWeightUndirectedGraph() {
+        this(0, 0);
+    }
+
+    /**
+     * Constructs an empty undirected graph with room for
+     * {@code expectedNodes} nodes and {@code expectedEdges} edges. Each new
+     * node reserves room for owning the average number of edges, rounded
+     * down.
+     *
+     * @param expectedNodes the expected number of nodes.
+     * @param expectedEdges the expected number of edges.
+     * @throws IllegalArgumentException if either count is negative.
+     */
+    public SingleWeightUndirectedGraph(int expectedNodes, int expectedEdges) {
+        this.degreeHint = degreeHint(expectedNodes, expectedEdges, 1);
+        this.map.ensureCapacity(expectedNodes);
+    }
+
+    @Override
+    public boolean isDirected() {
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return edges;
+    }
+
+    @Override
+    public boolean addNode(int nodeId) {
+        if (map.containsKey(nodeId)) {
+            return false;
+        }
+
+        createNode(nodeId);
+        modificationCount++;
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The room is split evenly between the neighbors with smaller and with
+     * greater IDs. As the set of the neighbors with smaller IDs exists only
+     * while there are such neighbors, their half is reserved only if the node
+     * has some already.
+     */
+    @Override
+    public boolean addNode(int nodeId, int expectedDegree) {
+        checkCapacityHint("expected degree", expectedDegree);
+        boolean added = addNode(nodeId);
+        IntDoubleHashMap weights = map.get(nodeId);
+
+        if (expectedDegree - expectedDegree / 2 > weights.capacity()) {
+            weights.ensureCapacity(expectedDegree - expectedDegree / 2);
+        }
+
+        IntHashSet lower = lowerMap.get(nodeId);
+
+        if (lower != null && expectedDegree / 2 > 0) {
+            lower.ensureCapacity(expectedDegree / 2);
+        }
+
+        return added;
+    }
+
+    @Override
+    public boolean hasNode(int nodeId) {
+        return map.containsKey(nodeId);
+    }
+
+    @Override
+    public boolean clearNode(int nodeId) {
+        IntDoubleHashMap weights = map.get(nodeId);
+
+        if (weights == null) {
+            return false;
+        }
+
+        IntHashSet lower = lowerMap.get(nodeId);
+        int degree = weights.size() + (lower == null ? 0 : lower.size());
+
+        if (degree == 0) {
+            return false;
+        }
+
+        for (int i = 0; i < weights.end(); ++i) {
+            if (!weights.isHole(i)) {
+                removeLower(weights.keyAt(i), nodeId);
+            }
+        }
+
+        if (lower != null) {
+            for (int i = 0; i < lower.end(); ++i) {
+                if (!lower.isHole(i)) {
+                    map.get(lower.keyAt(i)).remove(nodeId);
+                }
+            }
+
+            lowerMap.remove(nodeId);
+        }
+
+        edges -= degree;
+        modificationCount += degree;
+        weights.clear();
+        return true;
+    }
+
+    @Override
+    public boolean removeNode(int nodeId) {
+        if (!hasNode(nodeId)) {
+            return false;
+        }
+
+        clearNode(nodeId);
+        map.remove(nodeId);
+        modificationCount++;
+        return true;
+    }
+
+    @Override
+    public boolean addEdge(int tailNodeId, int headNodeId, double weight) {
+        if (tailNodeId == headNodeId) {
+            // Undirected graph are not allowed to contain self-loops.
+            return false;
+        }
+
+        addNode(tailNodeId);
+        addNode(headNodeId);
+
+        int owner = Math.min(tailNodeId, headNodeId);
+        int other = Math.max(tailNodeId, headNodeId);
+        IntDoubleHashMap weights = map.get(owner);
+        int index = weights.indexOf(other);
+
+        if (index < 0) {
+            weights.put(other, weight);
+            lowerSet(other).add(owner);
+            modificationCount++;
+            edges++;
+            return true;
+        }
+
+        double oldWeight = weights.valueAt(index);
+
+        if (Double.doubleToRawLongBits(oldWeight) ==
+            Double.doubleToRawLongBits(weight)) {
+            return false;
+        }
+
+        // Both end nodes see the new weight through the owner.
+        weights.setValueAt(index, weight);
+
+        if (oldWeight != weight) {
+            modificationCount++;
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean hasEdge(int tailNodeId, int headNodeId) {
+        IntDoubleHashMap weights = map.get(Math.min(tailNodeId, headNodeId));
+        return weights != null &&
+               weights.containsKey(Math.max(tailNodeId, headNodeId));
+    }
+
+    @Override
+    public double getEdgeWeight(int tailNodeId, int headNodeId) {
+        IntDoubleHashMap weights = map.get(Math.min(tailNodeId, headNodeId));
+        return weights == null ?
+               Double.NaN :
+               weights.get(Math.max(tailNodeId, headNodeId));
+    }
+
+    @Override
+    public boolean removeEdge(int tailNodeId, int headNodeId) {
+        int owner = Math.min(tailNodeId, headNodeId);
+        int other = Math.max(tailNodeId, headNodeId);
+        IntDoubleHashMap weights = map.get(owner);
+
+        if (weights == null || !weights.remove(other)) {
+            return false;
+        }
+
+        removeLower(other, owner);
+        modificationCount++;
+        edges--;
+        return true;
+    }
+
+    @Override
+    public Set<Integer> getChildrenOf(int nodeId) {
+        if (!map.containsKey(nodeId)) {
+            return Collections.<Integer>emptySet();
+        }
+
+        return new NeighborSet(nodeId);
+    }
+
+    @Override
+    public Set<Integer> getParentsOf(int nodeId) {
+        return getChildrenOf(nodeId);
+    }
+
+    @Override
+    public void forEachChild(int nodeId, IntDoubleConsumer consumer) {
+        IntDoubleHashMap weights = map.get(nodeId);
+
+        if (weights == null) {
+            return;
+        }
+
+        IntHashSet lower = lowerMap.get(nodeId);
+
+        if (lower != null) {
+            for (int i = 0; i < lower.end(); ++i) {
+                if (!lower.isHole(i)) {
+                    int neighborId = lower.keyAt(i);
+                    consumer.accept(neighborId,
+                                    map.get(neighborId).get(nodeId));
+                }
+            }
+        }
+
+        weights.forEach(consumer);
+    }
+
+    @Override
+    public void forEachParent(int nodeId, IntDoubleConsumer consumer) {
+        forEachChild(nodeId, consumer);
+    }
+
+    @Override
+    public int getNumberOfChildren(int nodeId) {
+        IntDoubleHashMap weights = map.get(nodeId);
+
+        if (weights == null) {
+            return 0;
+        }
+
+        IntHashSet lower = lowerMap.get(nodeId);
+        return weights.size() + (lower == null ? 0 : lower.size());
+    }
+
+    @Override
+    public int getNumberOfParents(int nodeId) {
+        return getNumberOfChildren(nodeId);
+    }
+
+    @Override
+    public Set<Integer> getAllNodes() {
+        return nodeView;
+    }
+
+    @Override
+    public void clear() {
+        modificationCount += map.size() + edges;
+        map.clear();
+        lowerMap.clear();
+        edges = 0;
+    }
+
+    @Override
+    public long memoryFootprint() {
+        long bytes = map.footprint() + lowerMap.footprint();
+
+        for (int i = 0; i < map.end(); ++i) {
+            if (!map.isHole(i)) {
+                bytes += map.valueAt(i).footprint();
+            }
+        }
+
+        for (int i = 0; i < lowerMap.end(); ++i) {
+            if (!lowerMap.isHole(i)) {
+                bytes += lowerMap.valueAt(i).footprint();
+            }
+        }
+
+        return bytes;
+    }
+
+    @Override
+    public long compact() {
+        long before = memoryFootprint();
+
+        for (int i = 0; i < map.end(); ++i) {
+            if (!map.isHole(i)) {
+                map.valueAt(i).trimToSize();
+            }
+        }
+
+        for (int i = 0; i < lowerMap.end(); ++i) {
+            if (!lowerMap.isHole(i)) {
+                lowerMap.valueAt(i).trimToSize();
+            }
+        }
+
+        map.trimToSize();
+        lowerMap.trimToSize();
+        return before - memoryFootprint();
+    }
+
+    @Override
+    public boolean trimToSize(int nodeId) {
+        IntDoubleHashMap weights = map.get(nodeId);
+
+        if (weights == null) {
+            return false;
+        }
+
+        IntHashSet lower = lowerMap.get(nodeId);
+        boolean trimmed = weights.trimToSize();
+        return (lower != null && lower.trimToSize()) || trimmed;
+    }
+
+    /**
+     * Adds the node {@code nodeId}, which must not be in this graph, without
+     * touching the modification count, and returns its weight map.
+     */
+    private IntDoubleHashMap createNode(int nodeId) {
+        IntDoubleHashMap weights = new IntDoubleHashMap();
+
+        if (degreeHint > 0) {
+            weights.ensureCapacity(degreeHint);
+        }
+
+        map.put(nodeId, weights);
+        return weights;
+    }
+
+    /**
+     * Returns the set of the neighbors with smaller IDs of the node
+     * {@code nodeId}, creating it if needed.
+     */
+    private IntHashSet lowerSet(int nodeId) {
+        IntHashSet lower = lowerMap.get(nodeId);
+
+        if (lower == null) {
+            lower = new IntHashSet();
+            lowerMap.put(nodeId, lower);
+        }
+
+        return lower;
+    }
+
+    /**
+     * Removes {@code neighborId} from the set of the neighbors with smaller
+     * IDs of the node {@code nodeId}, and drops the set once it is empty.
+     */
+    private void removeLower(int nodeId, int neighborId) {
+        IntHashSet lower = lowerMap.get(nodeId);
+        lower.remove(neighborId);
+
+        if (lower.isEmpty()) {
+            lowerMap.remove(nodeId);
+        }
+    }
+
+    /**
+     * Implements the live neighbor view of a node: its neighbors with smaller
+     * IDs followed by those with greater IDs. The maps are looked up anew on
+     * each access, so the view keeps following the graph.
+     */
+    private final class NeighborSet extends AbstractSet<Integer> {
+
+        private final int nodeId;
+
+        NeighborSet(int nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        @Override
+        public int size() {
+            return getNumberOfChildren(nodeId);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && hasEdge(nodeId, (Integer) o);
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            IntDoubleHashMap weights = map.get(nodeId);
+            IntHashSet lower = lowerMap.get(nodeId);
+
+            if (weights == null) {
+                return Collections.<Integer>emptyIterator();
+            }
+
+            Iterator<Integer> upper = weights.keySet().iterator();
+
+            if (lower == null) {
+                return upper;
+            }
+
+            Iterator<Integer> first = lower.keySet().iterator();
+
+            return new Iterator<Integer>() {
+                @Override
+                public boolean hasNext() {
+                    return first.hasNext() || upper.hasNext();
+                }
+
+                @Override
+                public Integer next() {
+                    return first.hasNext() ? first.next() : upper.next();
+                }
+            };
+        }
+    }
+}
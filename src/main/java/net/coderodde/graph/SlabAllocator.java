@@ -0,0 +1,267 @@
+package net.coderodde.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * This class allocates the adjacency slabs of the off-heap graphs in direct
+ * byte buffers. A slab of class {@code k} holds {@code 2^k} entries of
+ * {@value #ENTRY_BYTES} bytes: an {@code int} key array followed by a
+ * {@code double} value array.
+ * <p>
+ * Slabs are carved from chunks, which start small and double in size up to
+ * the configured chunk size, so that small graphs take little memory. A slab
+ * larger than a chunk gets a direct buffer of its own. Freed slabs are linked
+ * into a free list per class through their first eight bytes and handed out
+ * again before any new memory is carved. When a chunk cannot fit the next
+ * slab, its tail is cut into the largest slabs it fits and put on the free
+ * lists as well.
+ * <p>
+ * A slab is addressed by a {@code long} holding the index of its buffer in the
+ * upper and the offset within the buffer in the lower 32 bits. The buffer
+ * index zero is never used, so the address zero denotes no slab.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class SlabAllocator {
+
+    /**
+     * The number of bytes taken by a single slab entry.
+     */
+    static final int ENTRY_BYTES = Integer.BYTES + Double.BYTES;
+
+    /**
+     * The smallest slab class.
+     */
+    static final int MINIMUM_SHIFT = 2;
+
+    /**
+     * The largest slab class, whose slabs still fit in a single buffer.
+     */
+    static final int MAXIMUM_SHIFT = 27;
+
+    /**
+     * Denotes the absence of a slab.
+     */
+    static final long NULL = 0L;
+
+    /**
+     * The size of the first chunk.
+     */
+    private static final int INITIAL_CHUNK_BYTES = 1 << 16;
+
+    private final int maximumChunkBytes;
+
+    private ByteBuffer[] buffers = new ByteBuffer[8];
+
+    /**
+     * The number of buffer slots in use. The slot zero stays empty.
+     */
+    private int bufferCount = 1;
+
+    /**
+     * The indices of the buffer slots released by freed dedicated slabs.
+     */
+    private int[] freeBufferIndices = new int[8];
+    private int freeBufferIndexCount;
+
+    /**
+     * The head of the free list of each slab class, or {@link #NULL}.
+     */
+    private final long[] freeLists = new long[MAXIMUM_SHIFT + 1];
+
+    private ByteBuffer chunk;
+    private int chunkIndex;
+    private int chunkOffset;
+
+    /**
+     * The total capacity of the buffers held.
+     */
+    private long reservedBytes;
+
+    SlabAllocator(int maximumChunkBytes) {
+        this.maximumChunkBytes = maximumChunkBytes;
+    }
+
+    /**
+     * Returns the number of bytes taken by a slab of class {@code shift}.
+     *
+     * @param shift the slab class.
+     * @return the size of the slab.
+     */
+    static long slabBytes(int shift) {
+        return (long) ENTRY_BYTES << shift;
+    }
+
+    /**
+     * Returns the total capacity of the direct buffers held by this
+     * allocator.
+     *
+     * @return the reserved direct memory in bytes.
+     */
+    long reservedBytes() {
+        return reservedBytes;
+    }
+
+    /**
+     * Returns the number of buffer slots, which is the number of references
+     * this allocator keeps on the heap.
+     *
+     * @return the length of the buffer table.
+     */
+    int bufferSlots() {
+        return buffers.length;
+    }
+
+    /**
+     * Allocates a slab of class {@code shift} whose key array is zeroed.
+     *
+     * @param shift the slab class.
+     * @return the address of the slab.
+     */
+    long allocate(int shift) {
+        final long bytes = slabBytes(shift);
+
+        if (bytes > maximumChunkBytes) {
+            // Fresh direct memory is zeroed.
+            final ByteBuffer buffer = newBuffer((int) bytes);
+            return (long) addBuffer(buffer) << 32;
+        }
+
+        long address = freeLists[shift];
+
+        if (address != NULL) {
+            freeLists[shift] = getLong(address);
+            zero(address, Integer.BYTES << shift);
+            return address;
+        }
+
+        if (chunk == null || chunkOffset + bytes > chunk.capacity()) {
+            retireChunk();
+            newChunk((int) bytes);
+        }
+
+        address = (long) chunkIndex << 32 | chunkOffset;
+        chunkOffset += (int) bytes;
+        return address;
+    }
+
+    /**
+     * Returns the slab at {@code address} of class {@code shift} to this
+     * allocator.
+     *
+     * @param address the address of the slab.
+     * @param shift   the slab class.
+     */
+    void free(long address, int shift) {
+        if (slabBytes(shift) > maximumChunkBytes) {
+            final int index = (int) (address >>> 32);
+            reservedBytes -= buffers[index].capacity();
+            buffers[index] = null;
+
+            if (freeBufferIndexCount == freeBufferIndices.length) {
+                freeBufferIndices = Arrays.copyOf(freeBufferIndices,
+                                                  2 * freeBufferIndices.length);
+            }
+
+            freeBufferIndices[freeBufferIndexCount++] = index;
+            return;
+        }
+
+        putLong(address, freeLists[shift]);
+        freeLists[shift] = address;
+    }
+
+    int getInt(long address) {
+        return buffers[(int) (address >>> 32)].getInt((int) address);
+    }
+
+    void putInt(long address, int value) {
+        buffers[(int) (address >>> 32)].putInt((int) address, value);
+    }
+
+    double getDouble(long address) {
+        return buffers[(int) (address >>> 32)].getDouble((int) address);
+    }
+
+    void putDouble(long address, double value) {
+        buffers[(int) (address >>> 32)].putDouble((int) address, value);
+    }
+
+    private long getLong(long address) {
+        return buffers[(int) (address >>> 32)].getLong((int) address);
+    }
+
+    private void putLong(long address, long value) {
+        buffers[(int) (address >>> 32)].putLong((int) address, value);
+    }
+
+    /**
+     * Zeroes {@code bytes} bytes, a multiple of eight, starting at
+     * {@code address}.
+     */
+    private void zero(long address, int bytes) {
+        final ByteBuffer buffer = buffers[(int) (address >>> 32)];
+        final int offset = (int) address;
+
+        for (int i = 0; i < bytes; i += Long.BYTES) {
+            buffer.putLong(offset + i, 0L);
+        }
+    }
+
+    /**
+     * Cuts the unused tail of the current chunk into the largest slabs that
+     * fit and puts them on the free lists.
+     */
+    private void retireChunk() {
+        if (chunk == null) {
+            return;
+        }
+
+        for (int shift = MAXIMUM_SHIFT; shift >= MINIMUM_SHIFT; --shift) {
+            final long bytes = slabBytes(shift);
+
+            while (chunk.capacity() - chunkOffset >= bytes) {
+                free((long) chunkIndex << 32 | chunkOffset, shift);
+                chunkOffset += (int) bytes;
+            }
+        }
+    }
+
+    /**
+     * Starts a new chunk with room for at least {@code minimumBytes} bytes.
+     */
+    private void newChunk(int minimumBytes) {
+        final int bytes = chunk == null ?
+                Math.min(INITIAL_CHUNK_BYTES, maximumChunkBytes) :
+                (int) Math.min(2L * chunk.capacity(), maximumChunkBytes);
+
+        chunk = newBuffer(Math.max(bytes, minimumBytes));
+        chunkIndex = addBuffer(chunk);
+        chunkOffset = 0;
+    }
+
+    private ByteBuffer newBuffer(int bytes) {
+        reservedBytes += bytes;
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    private int addBuffer(ByteBuffer buffer) {
+        final int index;
+
+        if (freeBufferIndexCount > 0) {
+            index = freeBufferIndices[--freeBufferIndexCount];
+        } else {
+            if (bufferCount == buffers.length) {
+                buffers = Arrays.copyOf(buffers, 2 * buffers.length);
+            }
+
+            index = bufferCount++;
+        }
+
+        buffers[index] = buffer;
+        return index;
+    }
+}
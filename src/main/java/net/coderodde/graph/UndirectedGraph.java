@@ -1,20 +1,80 @@
 package net.coderodde.graph;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.util.Set;
 
 /**
- * This class implements an undirected graph.
+ * This class implements an undirected graph. The adjacency lists are stored in
+ * primitive open-addressing hash maps, so that no edge requires boxed keys,
+ * boxed weights or per-entry objects. Nodes and neighbors are iterated in
+ * insertion order.
+ * <p>
+ * Taking a {@link #snapshot()} costs constant time: the snapshot shares the
+ * node table and the adjacency maps with this graph, and the graph copies a
+ * shared adjacency map, or a shared page of a node table, right before
+ * writing to it for the first time.
  * 
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Jan 10, 2016)
  */
 public class UndirectedGraph extends AbstractGraph {
 
-    private final Map<Integer, Map<Integer, Double>> map = 
-            new LinkedHashMap<>();
+    private PagedIntObjectHashMap<IntDoubleHashMap> map =
+            new PagedIntObjectHashMap<>();
+
+    /**
+     * The current writer epoch. Only the maps of this epoch may be modified in
+     * place; the maps of the earlier epochs may be shared with snapshots.
+     */
+    private int epoch;
+
+    /**
+     * The connectivity index updated by the mutators, or {@code null} if none
+     * is attached.
+     */
+    private ConnectivityIndex connectivityIndex;
+
+    /**
+     * The dense node index updated by the mutators, or {@code null} if none is
+     * attached.
+     */
+    private DenseNodeIndex nodeIndex;
+
+    /**
+     * The number of neighbors to reserve room for in each new node.
+     */
+    private int degreeHint;
+
+    private final Set<Integer> nodeView = new LiveNodeSet() {
+        @Override
+        PagedIntObjectHashMap<?> table() {
+            return map;
+        }
+    };
+
+    /**
+     * Constructs an empty undirected graph.
+     */
+    public UndirectedGraph() {}
+
+    /**
+     * Constructs an empty undirected graph with room for
+     * {@code expectedNodes} nodes. Each new node reserves room for the
+     * average number of neighbors, rounded down.
+     *
+     * @param expectedNodes the expected number of nodes.
+     * @param expectedEdges the expected number of edges.
+     * @throws IllegalArgumentException if either count is negative.
+     */
+    public UndirectedGraph(int expectedNodes, int expectedEdges) {
+        this.degreeHint = degreeHint(expectedNodes, expectedEdges, 2);
+        this.map.ensureCapacity(expectedNodes);
+    }
+
+    @Override
+    public boolean isDirected() {
+        return false;
+    }
 
     @Override
     public int size() {
@@ -28,15 +88,76 @@ public class UndirectedGraph extends AbstractGraph {
 
     @Override
     public boolean addNode(int nodeId) {
+        if (metrics == null) {
+            return doAddNode(nodeId);
+        }
+
+        long start = metrics.begin();
+        boolean changed = doAddNode(nodeId);
+        metrics.end(GraphOperation.ADD_NODE, changed, start);
+        return changed;
+    }
+
+    private boolean doAddNode(int nodeId) {
+        boolean added = insertNode(nodeId);
+        commitChanges();
+        return added;
+    }
+
+    /**
+     * Adds the node {@code nodeId} unless it is in this graph already. The
+     * change is left for the calling mutator to commit once it is done.
+     */
+    private boolean insertNode(int nodeId) {
         if (map.containsKey(nodeId)) {
             return false;
         }
 
-        map.put(nodeId, new LinkedHashMap<>());
+        ownNodeMap();
+        map.put(nodeId, newAdjacency());
         modificationCount++;
+
+        if (nodeIndex != null) {
+            nodeIndex.add(nodeId);
+        }
+
+        if (connectivityIndex != null) {
+            connectivityIndex.nodeAdded(nodeId);
+        }
+
+        if (changeFeed != null) {
+            changeFeed.nodeAdded(nodeId);
+        }
+
         return true;
     }
 
+    @Override
+    public boolean addNode(int nodeId, int expectedDegree) {
+        checkCapacityHint("expected degree", expectedDegree);
+
+        if (metrics == null) {
+            return doAddNode(nodeId, expectedDegree);
+        }
+
+        long start = metrics.begin();
+        boolean changed = doAddNode(nodeId, expectedDegree);
+        metrics.end(GraphOperation.ADD_NODE, changed, start);
+        return changed;
+    }
+
+    private boolean doAddNode(int nodeId, int expectedDegree) {
+        boolean added = insertNode(nodeId);
+
+        if (expectedDegree > map.get(nodeId).capacity()) {
+            ownNodeMap();
+            writable(nodeId).ensureCapacity(expectedDegree);
+        }
+
+        commitChanges();
+        return added;
+    }
+
     @Override
     public boolean hasNode(int nodeId) {
         return map.containsKey(nodeId);
@@ -44,61 +165,163 @@ public class UndirectedGraph extends AbstractGraph {
 
     @Override
     public boolean clearNode(int nodeId) {
-        if (!hasNode(nodeId)) {
-            return false;
+        if (metrics == null) {
+            return doClearNode(nodeId);
         }
 
-        Map<Integer, Double> neighbors = map.get(nodeId);
+        long start = metrics.begin();
+        boolean changed = doClearNode(nodeId);
+        metrics.end(GraphOperation.CLEAR_NODE, changed, start);
+        return changed;
+    }
+
+    private boolean doClearNode(int nodeId) {
+        IntDoubleHashMap neighbors = map.get(nodeId);
 
-        if (neighbors.isEmpty()) {
+        if (neighbors == null || neighbors.isEmpty()) {
             return false;
         }
 
-        for (Integer neighborId : neighbors.keySet()) {
-            map.get(neighborId).remove(nodeId);
+        ownNodeMap();
+        int[] neighborIds = connectivityIndex == null ?
+                            null :
+                            new int[neighbors.size()];
+        int count = 0;
+
+        for (int i = 0; i < neighbors.end(); ++i) {
+            if (!neighbors.isHole(i)) {
+                writable(neighbors.keyAt(i)).remove(nodeId);
+
+                if (neighborIds != null) {
+                    neighborIds[count++] = neighbors.keyAt(i);
+                }
+
+                if (changeFeed != null) {
+                    changeFeed.edgeRemoved(nodeId,
+                                           neighbors.keyAt(i),
+                                           neighbors.valueAt(i));
+                }
+            }
         }
 
         edges -= neighbors.size();
         modificationCount += neighbors.size();
-        neighbors.clear();
+
+        if (neighbors.epoch == epoch) {
+            neighbors.clear();
+        } else {
+            // The map may be shared with a snapshot.
+            map.setValueAt(map.indexOf(nodeId), new IntDoubleHashMap(epoch));
+        }
+
+        if (connectivityIndex != null) {
+            connectivityIndex.nodeCleared(nodeId, neighborIds, count);
+        }
+
+        commitChanges();
         return true;
     }
 
     @Override
     public boolean removeNode(int nodeId) {
+        if (metrics == null) {
+            return doRemoveNode(nodeId);
+        }
+
+        long start = metrics.begin();
+        boolean changed = doRemoveNode(nodeId);
+        metrics.end(GraphOperation.REMOVE_NODE, changed, start);
+        return changed;
+    }
+
+    private boolean doRemoveNode(int nodeId) {
         if (!hasNode(nodeId)) {
             return false;
         }
 
-        clearNode(nodeId);
+        doClearNode(nodeId);
+        ownNodeMap();
         map.remove(nodeId);
         modificationCount++;
+
+        if (connectivityIndex != null) {
+            connectivityIndex.nodeRemoved(nodeId);
+        }
+
+        if (nodeIndex != null) {
+            nodeIndex.remove(nodeId);
+        }
+
+        if (changeFeed != null) {
+            changeFeed.nodeRemoved(nodeId);
+            changeFeed.commit();
+        }
+
         return true;
     }
 
     @Override
     public boolean addEdge(int tailNodeId, int headNodeId, double weight) {
+        if (metrics == null) {
+            return doAddEdge(tailNodeId, headNodeId, weight);
+        }
+
+        long start = metrics.begin();
+        boolean changed = doAddEdge(tailNodeId, headNodeId, weight);
+        metrics.end(GraphOperation.ADD_EDGE, changed, start);
+        return changed;
+    }
+
+    private boolean doAddEdge(int tailNodeId, int headNodeId, double weight) {
         if (tailNodeId == headNodeId) {
             // Undirected graph are not allowed to contain self-loops.
             return false;
         }
 
-        addNode(tailNodeId);
-        addNode(headNodeId);
+        insertNode(tailNodeId);
+        insertNode(headNodeId);
+
+        IntDoubleHashMap tailNeighbors = map.get(tailNodeId);
+        int index = tailNeighbors.indexOf(headNodeId);
 
-        if (!map.get(tailNodeId).containsKey(headNodeId)) {
-            map.get(tailNodeId).put(headNodeId, weight);
-            map.get(headNodeId).put(tailNodeId, weight);
+        if (index < 0) {
+            ownNodeMap();
+            writable(tailNodeId).put(headNodeId, weight);
+            writable(headNodeId).put(tailNodeId, weight);
             modificationCount++;
             edges++;
+
+            if (connectivityIndex != null) {
+                connectivityIndex.edgeAdded(tailNodeId, headNodeId);
+            }
+
+            if (changeFeed != null) {
+                changeFeed.edgeAdded(tailNodeId, headNodeId, weight);
+                changeFeed.commit();
+            }
+
             return true;
         } else {
-            double oldWeight = map.get(tailNodeId).get(headNodeId);
-            map.get(tailNodeId).put(headNodeId, weight);
-            map.get(headNodeId).put(tailNodeId, weight);
+            double oldWeight = tailNeighbors.valueAt(index);
+
+            if (Double.doubleToRawLongBits(oldWeight) ==
+                Double.doubleToRawLongBits(weight)) {
+                // Nothing to write, so a shared map is not copied.
+                return false;
+            }
+
+            ownNodeMap();
+            writable(tailNodeId).setValueAt(index, weight);
+            writable(headNodeId).put(tailNodeId, weight);
             
             if (oldWeight != weight) {
                 modificationCount++;
+
+                if (changeFeed != null) {
+                    changeFeed.edgeReweighted(tailNodeId, headNodeId, weight);
+                    changeFeed.commit();
+                }
+
                 return true;
             }
             
@@ -106,38 +329,238 @@ public class UndirectedGraph extends AbstractGraph {
         }
     }
 
+    @Override
+    public boolean addEdges(int[] tailNodeIds,
+                            int[] headNodeIds,
+                            double[] weights,
+                            int offset,
+                            int length) {
+        if (metrics == null) {
+            return doAddEdges(tailNodeIds, headNodeIds, weights, offset, length);
+        }
+
+        long start = metrics.begin();
+        boolean changed = doAddEdges(tailNodeIds,
+                                     headNodeIds,
+                                     weights,
+                                     offset,
+                                     length);
+        metrics.end(GraphOperation.ADD_EDGES, changed, start);
+        return changed;
+    }
+
+    private boolean doAddEdges(int[] tailNodeIds,
+                               int[] headNodeIds,
+                               double[] weights,
+                               int offset,
+                               int length) {
+        checkEdgeArrays(tailNodeIds, headNodeIds, weights, offset, length);
+        IntDoubleHashMap[] tailMaps = new IntDoubleHashMap[length];
+        IntDoubleHashMap[] headMaps = new IntDoubleHashMap[length];
+        int mod = 0;
+
+        if (length > 0) {
+            ownNodeMap();
+        }
+
+        // Pass 1: resolve the adjacency maps of each edge, creating the
+        // missing nodes, and count the entries about to be added to each map.
+        IntDoubleHashMap lastTailNeighbors = null;
+        int lastTailNodeId = 0;
+
+        for (int i = 0; i < length; ++i) {
+            int tailNodeId = tailNodeIds[offset + i];
+            int headNodeId = headNodeIds[offset + i];
+
+            if (tailNodeId == headNodeId) {
+                // Undirected graph are not allowed to contain self-loops.
+                continue;
+            }
+
+            if (lastTailNeighbors == null || tailNodeId != lastTailNodeId) {
+                if (map.containsKey(tailNodeId)) {
+                    lastTailNeighbors = writable(tailNodeId);
+                } else {
+                    lastTailNeighbors = newAdjacency();
+                    map.put(tailNodeId, lastTailNeighbors);
+                    mod++;
+
+                    if (nodeIndex != null) {
+                        nodeIndex.add(tailNodeId);
+                    }
+
+                    if (changeFeed != null) {
+                        changeFeed.nodeAdded(tailNodeId);
+                    }
+                }
+
+                lastTailNodeId = tailNodeId;
+            }
+
+            IntDoubleHashMap headNeighbors;
+
+            if (map.containsKey(headNodeId)) {
+                headNeighbors = writable(headNodeId);
+            } else {
+                headNeighbors = newAdjacency();
+                map.put(headNodeId, headNeighbors);
+                mod++;
+
+                if (nodeIndex != null) {
+                    nodeIndex.add(headNodeId);
+                }
+
+                if (changeFeed != null) {
+                    changeFeed.nodeAdded(headNodeId);
+                }
+            }
+
+            tailMaps[i] = lastTailNeighbors;
+            headMaps[i] = headNeighbors;
+            lastTailNeighbors.reserved++;
+            headNeighbors.reserved++;
+        }
+
+        // Pass 2: pre-size every map once.
+        for (int i = 0; i < length; ++i) {
+            if (tailMaps[i] != null) {
+                tailMaps[i].applyReservation();
+                headMaps[i].applyReservation();
+            }
+        }
+
+        // Pass 3: insert.
+        int added = 0;
+
+        for (int i = 0; i < length; ++i) {
+            IntDoubleHashMap tailNeighbors = tailMaps[i];
+
+            if (tailNeighbors == null) {
+                continue;
+            }
+
+            int tailNodeId = tailNodeIds[offset + i];
+            int headNodeId = headNodeIds[offset + i];
+            double weight = weights == null ? 1.0 : weights[offset + i];
+            int index = tailNeighbors.indexOf(headNodeId);
+
+            if (index < 0) {
+                tailNeighbors.putAbsent(headNodeId, weight);
+                headMaps[i].putAbsent(tailNodeId, weight);
+                added++;
+
+                if (changeFeed != null) {
+                    changeFeed.edgeAdded(tailNodeId, headNodeId, weight);
+                }
+            } else {
+                double oldWeight = tailNeighbors.valueAt(index);
+                tailNeighbors.setValueAt(index, weight);
+                headMaps[i].put(tailNodeId, weight);
+
+                if (oldWeight != weight) {
+                    mod++;
+
+                    if (changeFeed != null) {
+                        changeFeed.edgeReweighted(tailNodeId,
+                                                  headNodeId,
+                                                  weight);
+                    }
+                }
+            }
+        }
+
+        if (connectivityIndex != null) {
+            for (int i = 0; i < length; ++i) {
+                if (tailMaps[i] != null) {
+                    connectivityIndex.edgeAdded(tailNodeIds[offset + i],
+                                                headNodeIds[offset + i]);
+                }
+            }
+        }
+
+        mod += added;
+        modificationCount += mod;
+        edges += added;
+        commitChanges();
+        return mod > 0;
+    }
+
     @Override
     public boolean hasEdge(int tailNodeId, int headNodeId) {
-        if (!map.containsKey(tailNodeId)) {
-            return false;
+        if (metrics == null) {
+            return doHasEdge(tailNodeId, headNodeId);
         }
 
-        return map.get(tailNodeId).containsKey(headNodeId);
+        long start = metrics.beginQuery();
+        boolean found = doHasEdge(tailNodeId, headNodeId);
+        metrics.endQuery(GraphOperation.HAS_EDGE, found, start);
+        return found;
+    }
+
+    private boolean doHasEdge(int tailNodeId, int headNodeId) {
+        IntDoubleHashMap neighbors = map.get(tailNodeId);
+        return neighbors != null && neighbors.containsKey(headNodeId);
     }
 
     @Override
     public double getEdgeWeight(int tailNodeId, int headNodeId) {
-        if (!hasEdge(tailNodeId, headNodeId)) {
+        if (metrics == null) {
+            return doGetEdgeWeight(tailNodeId, headNodeId);
+        }
+
+        long start = metrics.beginQuery();
+        double weight = doGetEdgeWeight(tailNodeId, headNodeId);
+        metrics.endQuery(GraphOperation.GET_EDGE_WEIGHT, !Double.isNaN(weight), start);
+        return weight;
+    }
+
+    private double doGetEdgeWeight(int tailNodeId, int headNodeId) {
+        IntDoubleHashMap neighbors = map.get(tailNodeId);
+
+        if (neighbors == null) {
             return Double.NaN;
-        } 
+        }
 
-        return map.get(tailNodeId).get(headNodeId);
+        // Returns NaN if there is no such edge.
+        return neighbors.get(headNodeId);
     }
 
     @Override
     public boolean removeEdge(int tailNodeId, int headNodeId) {
-        if (!map.containsKey(tailNodeId)) {
-            return false;
+        if (metrics == null) {
+            return doRemoveEdge(tailNodeId, headNodeId);
         }
 
-        if (!map.get(tailNodeId).containsKey(headNodeId)) {
+        long start = metrics.begin();
+        boolean changed = doRemoveEdge(tailNodeId, headNodeId);
+        metrics.end(GraphOperation.REMOVE_EDGE, changed, start);
+        return changed;
+    }
+
+    private boolean doRemoveEdge(int tailNodeId, int headNodeId) {
+        IntDoubleHashMap neighbors = map.get(tailNodeId);
+
+        if (neighbors == null || !neighbors.containsKey(headNodeId)) {
             return false;
         }
 
-        map.get(tailNodeId).remove(headNodeId);
-        map.get(headNodeId).remove(tailNodeId);
+        if (changeFeed != null) {
+            changeFeed.edgeRemoved(tailNodeId,
+                                   headNodeId,
+                                   neighbors.get(headNodeId));
+        }
+
+        ownNodeMap();
+        writable(tailNodeId).remove(headNodeId);
+        writable(headNodeId).remove(tailNodeId);
         modificationCount++;
         edges--;
+
+        if (connectivityIndex != null) {
+            connectivityIndex.edgeRemoved(tailNodeId, headNodeId);
+        }
+
+        commitChanges();
         return true;
     }
 
@@ -147,27 +570,274 @@ public class UndirectedGraph extends AbstractGraph {
             return Collections.<Integer>emptySet();
         }
 
-        return Collections.<Integer>unmodifiableSet(map.get(nodeId).keySet());
+        return new LiveKeySet() {
+            @Override
+            AbstractIntHashMap map() {
+                return map.get(nodeId);
+            }
+        };
     }
 
     @Override
     public Set<Integer> getParentsOf(int nodeId) {
-        if (!map.containsKey(nodeId)) {
-            return Collections.<Integer>emptySet();
+        return getChildrenOf(nodeId);
+    }
+
+    @Override
+    public void forEachChild(int nodeId, IntDoubleConsumer consumer) {
+        IntDoubleHashMap neighbors = map.get(nodeId);
+
+        if (neighbors != null) {
+            neighbors.forEach(consumer);
         }
+    }
 
-        return Collections.<Integer>unmodifiableSet(map.get(nodeId).keySet());    
+    @Override
+    public void forEachParent(int nodeId, IntDoubleConsumer consumer) {
+        forEachChild(nodeId, consumer);
+    }
+
+    @Override
+    public int getNumberOfChildren(int nodeId) {
+        IntDoubleHashMap neighbors = map.get(nodeId);
+        return neighbors == null ? 0 : neighbors.size();
+    }
+
+    @Override
+    public int getNumberOfParents(int nodeId) {
+        return getNumberOfChildren(nodeId);
     }
 
     @Override
     public Set<Integer> getAllNodes() {
-        return Collections.<Integer>unmodifiableSet(map.keySet());
+        return nodeView;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As the children of each node coincide with its parents, the compressed
+     * copy shares the same arrays for both.
+     */
+    @Override
+    public CompressedGraph freeze() {
+        return new CompressedGraph(this, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The snapshot is taken in constant time. Afterwards, the first write to
+     * the adjacency of each node copies the written map, and the first write
+     * to each page of the node table copies that page only, so the snapshot
+     * keeps the old ones.
+     */
+    @Override
+    public GraphSnapshot snapshot() {
+        GraphSnapshot snapshot = new GraphSnapshot(map,
+                                                   map,
+                                                   edges,
+                                                   modificationCount,
+                                                   false);
+        epoch++;
+        return snapshot;
+    }
+
+    /**
+     * Returns the connectivity index of this graph, building it on the first
+     * call. From then on, the index is kept up to date by every mutation of
+     * this graph until {@link #detachConnectivityIndex()} is called.
+     *
+     * @return the connectivity index.
+     */
+    public ConnectivityIndex getConnectivityIndex() {
+        if (connectivityIndex == null) {
+            connectivityIndex = new ConnectivityIndex(this);
+        }
+
+        return connectivityIndex;
+    }
+
+    /**
+     * Stops maintaining the connectivity index, if any. A detached index keeps
+     * describing this graph as it was at the time of detaching.
+     */
+    public void detachConnectivityIndex() {
+        connectivityIndex = null;
+    }
+
+    /**
+     * Returns the dense node index of this graph, building it on the first
+     * call. From then on, the index is kept up to date by every mutation of
+     * this graph until {@link #detachNodeIndex()} is called.
+     *
+     * @return the dense node index.
+     */
+    public DenseNodeIndex getNodeIndex() {
+        if (nodeIndex == null) {
+            nodeIndex = new DenseNodeIndex(getAllNodes());
+        }
+
+        return nodeIndex;
+    }
+
+    /**
+     * Stops maintaining the dense node index, if any. A detached index keeps
+     * describing this graph as it was at the time of detaching.
+     */
+    public void detachNodeIndex() {
+        nodeIndex = null;
+    }
+
+    /**
+     * Returns the node table of this graph for the connectivity index.
+     */
+    PagedIntObjectHashMap<IntDoubleHashMap> nodeTable() {
+        return map;
+    }
+
+    @Override
+    public long memoryFootprint() {
+        long bytes = map.footprint();
+
+        for (int i = 0; i < map.end(); ++i) {
+            if (!map.isHole(i)) {
+                bytes += map.valueAt(i).footprint();
+            }
+        }
+
+        return bytes;
+    }
+
+    @Override
+    public long compact() {
+        long before = memoryFootprint();
+        ownNodeMap();
+
+        for (int i = 0; i < map.end(); ++i) {
+            if (!map.isHole(i)) {
+                trimAdjacency(i);
+            }
+        }
+
+        map.trimToSize();
+        return before - memoryFootprint();
+    }
+
+    @Override
+    public boolean trimToSize(int nodeId) {
+        IntDoubleHashMap neighbors = map.get(nodeId);
+
+        if (neighbors == null || neighbors.capacity() == neighbors.size()) {
+            return false;
+        }
+
+        ownNodeMap();
+        trimAdjacency(map.indexOf(nodeId));
+        return true;
+    }
+
+    @Override
+    boolean isObservable() {
+        return true;
+    }
+
+    /**
+     * Returns an empty adjacency map of the current epoch with room for
+     * {@link #degreeHint} neighbors.
+     */
+    private IntDoubleHashMap newAdjacency() {
+        IntDoubleHashMap neighbors = new IntDoubleHashMap(epoch);
+
+        if (degreeHint > 0) {
+            neighbors.ensureCapacity(degreeHint);
+        }
+
+        return neighbors;
+    }
+
+    /**
+     * Shrinks the adjacency map at the dense position {@code index} of the
+     * node table. A shared map is replaced by a shrunk copy. The node table
+     * must be owned.
+     */
+    private void trimAdjacency(int index) {
+        IntDoubleHashMap neighbors = map.valueAt(index);
+
+        if (neighbors.capacity() == neighbors.size()) {
+            return;
+        }
+
+        if (neighbors.epoch != epoch) {
+            neighbors = neighbors.copy(epoch);
+            map.setValueAt(index, neighbors);
+        }
+
+        neighbors.trimToSize();
+    }
+
+    /**
+     * Copies the node table if it may be shared with a snapshot. The copy
+     * shares the pages with the original and copies each page on the first
+     * write to it.
+     */
+    private void ownNodeMap() {
+        if (map.epoch != epoch) {
+            map = map.copy(epoch);
+        }
+    }
+
+    /**
+     * Returns the adjacency map of the node {@code nodeId}, copying it first
+     * if it may be shared with a snapshot. The node must exist, and the node
+     * table must be owned.
+     */
+    private IntDoubleHashMap writable(int nodeId) {
+        int index = map.indexOf(nodeId);
+        IntDoubleHashMap neighbors = map.valueAt(index);
+
+        if (neighbors.epoch != epoch) {
+            neighbors = neighbors.copy(epoch);
+            map.setValueAt(index, neighbors);
+        }
+
+        return neighbors;
     }
 
     @Override
     public void clear() {
+        if (metrics == null) {
+            doClear();
+            return;
+        }
+
+        long start = metrics.begin();
+        doClear();
+        metrics.end(GraphOperation.CLEAR, true, start);
+    }
+
+    private void doClear() {
         modificationCount += map.size() + edges;
-        map.clear();
+
+        if (map.epoch == epoch) {
+            map.clear();
+        } else {
+            map = new PagedIntObjectHashMap<>(epoch);
+        }
+
         edges = 0;
+
+        if (connectivityIndex != null) {
+            connectivityIndex.cleared();
+        }
+
+        if (nodeIndex != null) {
+            nodeIndex.clear();
+        }
+
+        if (changeFeed != null) {
+            changeFeed.cleared();
+            changeFeed.commit();
+        }
     }
 }
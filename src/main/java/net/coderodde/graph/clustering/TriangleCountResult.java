@@ -0,0 +1,108 @@
+package net.coderodde.graph.clustering;
+
+import net.coderodde.graph.CompressedGraph;
+
+/**
+ * This class holds the result of an exact {@link TriangleCounter} run.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class TriangleCountResult {
+
+    private final CompressedGraph graph;
+
+    /**
+     * The number of triangles through each node by index.
+     */
+    private final long[] counts;
+
+    private final long triangles;
+
+    TriangleCountResult(CompressedGraph graph, long[] counts, long triangles) {
+        this.graph = graph;
+        this.counts = counts;
+        this.triangles = triangles;
+    }
+
+    /**
+     * Returns the number of triangles in the graph.
+     *
+     * @return the number of triangles.
+     */
+    public long getTriangleCount() {
+        return triangles;
+    }
+
+    /**
+     * Returns the number of triangles through the node {@code nodeId}, or -1
+     * if the node was not in the graph.
+     *
+     * @param nodeId the query node.
+     * @return the number of triangles through the node.
+     */
+    public long getTriangleCount(int nodeId) {
+        final int index = graph.indexOf(nodeId);
+        return index < 0 ? -1L : counts[index];
+    }
+
+    /**
+     * Returns the local clustering coefficient of the node {@code nodeId}:
+     * the number of triangles through the node divided by the number of
+     * pairs of its neighbors. A node with less than two neighbors has the
+     * coefficient zero, and a node not in the graph has
+     * {@link java.lang.Double#NaN}.
+     *
+     * @param nodeId the query node.
+     * @return the local clustering coefficient of the node.
+     */
+    public double getClusteringCoefficient(int nodeId) {
+        final int index = graph.indexOf(nodeId);
+        return index < 0 ? Double.NaN : coefficientAt(index);
+    }
+
+    /**
+     * Returns the average of the local clustering coefficients of all nodes,
+     * or zero for an empty graph.
+     *
+     * @return the average clustering coefficient.
+     */
+    public double getAverageClusteringCoefficient() {
+        final int n = graph.size();
+        double sum = 0.0;
+
+        for (int index = 0; index < n; ++index) {
+            sum += coefficientAt(index);
+        }
+
+        return n == 0 ? 0.0 : sum / n;
+    }
+
+    /**
+     * Returns the global clustering coefficient, also known as transitivity:
+     * three times the number of triangles divided by the number of paths of
+     * two edges, or zero if there are no such paths.
+     *
+     * @return the global clustering coefficient.
+     */
+    public double getGlobalClusteringCoefficient() {
+        long wedges = 0L;
+
+        for (int index = 0; index < graph.size(); ++index) {
+            wedges += pairsAt(index);
+        }
+
+        return wedges == 0L ? 0.0 : 3.0 * triangles / wedges;
+    }
+
+    private double coefficientAt(int index) {
+        final long pairs = pairsAt(index);
+        return pairs == 0L ? 0.0 : (double) counts[index] / pairs;
+    }
+
+    private long pairsAt(int index) {
+        final long degree = graph.getChildOffset(index + 1) -
+                            graph.getChildOffset(index);
+        return degree * (degree - 1) / 2;
+    }
+}
@@ -0,0 +1,170 @@
+package net.coderodde.graph.components;
+
+import java.util.Arrays;
+import net.coderodde.graph.CompressedGraph;
+import net.coderodde.graph.DirectedGraph;
+
+/**
+ * This class holds a partition of the nodes of a graph into components. The
+ * components have the dense IDs {@code 0, 1, ..., getNumberOfComponents() - 1}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class ComponentLabeling {
+
+    private final CompressedGraph graph;
+
+    /**
+     * The component ID of each node by index.
+     */
+    private final int[] componentIds;
+
+    /**
+     * The number of nodes in each component.
+     */
+    private final int[] componentSizes;
+
+    ComponentLabeling(CompressedGraph graph,
+                      int[] componentIds,
+                      int[] componentSizes) {
+        this.graph = graph;
+        this.componentIds = componentIds;
+        this.componentSizes = componentSizes;
+    }
+
+    /**
+     * Returns the number of components.
+     *
+     * @return the number of components.
+     */
+    public int getNumberOfComponents() {
+        return componentSizes.length;
+    }
+
+    /**
+     * Returns the ID of the component containing {@code nodeId}, or -1 if the
+     * node was not in the graph.
+     *
+     * @param nodeId the query node.
+     * @return the component ID.
+     */
+    public int getComponentId(int nodeId) {
+        final int index = graph.indexOf(nodeId);
+        return index < 0 ? -1 : componentIds[index];
+    }
+
+    /**
+     * Returns {@code true} if both nodes are in the same component.
+     *
+     * @param nodeId1 the first node.
+     * @param nodeId2 the second node.
+     * @return {@code true} if the nodes are in the same component.
+     */
+    public boolean isConnected(int nodeId1, int nodeId2) {
+        final int componentId = getComponentId(nodeId1);
+        return componentId >= 0 && componentId == getComponentId(nodeId2);
+    }
+
+    /**
+     * Returns the number of nodes in the component {@code componentId}.
+     *
+     * @param componentId the component ID.
+     * @return the size of the component.
+     */
+    public int getComponentSize(int componentId) {
+        return componentSizes[componentId];
+    }
+
+    /**
+     * Returns the sizes of all components, indexed by the component ID.
+     *
+     * @return a new array of the component sizes.
+     */
+    public int[] getComponentSizes() {
+        return componentSizes.clone();
+    }
+
+    /**
+     * Returns the nodes of the component {@code componentId}.
+     *
+     * @param componentId the component ID.
+     * @return a new array of the node IDs.
+     */
+    public int[] getComponent(int componentId) {
+        final int[] nodeIds = new int[componentSizes[componentId]];
+        int count = 0;
+
+        for (int index = 0; index < componentIds.length; ++index) {
+            if (componentIds[index] == componentId) {
+                nodeIds[count++] = graph.getNodeId(index);
+            }
+        }
+
+        return nodeIds;
+    }
+
+    /**
+     * Returns the condensation of the graph: a directed graph with one node
+     * per component, whose ID is the component ID, and an arc between two
+     * components whenever an arc leads from a node of the first one to a node
+     * of the other. The weight of an arc is the number of such arcs. For the
+     * strongly connected components, the condensation is acyclic.
+     *
+     * @return the condensation.
+     */
+    public DirectedGraph getCondensation() {
+        final DirectedGraph condensation = new DirectedGraph();
+
+        for (int componentId = 0;
+                componentId < componentSizes.length;
+                ++componentId) {
+            condensation.addNode(componentId);
+        }
+
+        for (int node = 0; node < componentIds.length; ++node) {
+            final int tail = componentIds[node];
+            final int end = graph.getChildOffset(node + 1);
+
+            for (int p = graph.getChildOffset(node); p < end; ++p) {
+                final int head = componentIds[graph.getChildIndex(p)];
+
+                if (tail != head) {
+                    final double count = condensation.getEdgeWeight(tail, head);
+                    condensation.addEdge(tail,
+                                         head,
+                                         Double.isNaN(count) ? 1.0 :
+                                                               count + 1.0);
+                }
+            }
+        }
+
+        return condensation;
+    }
+
+    /**
+     * Returns the IDs of all nodes. The node at position {@code i} belongs to
+     * the component at position {@code i} of {@link #getComponentIds()}.
+     *
+     * @return a new array of the node IDs.
+     */
+    public int[] getNodeIds() {
+        final int[] nodeIds = new int[componentIds.length];
+
+        for (int index = 0; index < nodeIds.length; ++index) {
+            nodeIds[index] = graph.getNodeId(index);
+        }
+
+        return nodeIds;
+    }
+
+    /**
+     * Returns the component IDs of all nodes, in the order of
+     * {@link #getNodeIds()}.
+     *
+     * @return a new array of the component IDs.
+     */
+    public int[] getComponentIds() {
+        return Arrays.copyOf(componentIds, componentIds.length);
+    }
+}
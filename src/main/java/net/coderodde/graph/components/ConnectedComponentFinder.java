@@ -0,0 +1,154 @@
+package net.coderodde.graph.components;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.CompressedGraph;
+import net.coderodde.graph.ParallelRange;
+
+/**
+ * This class computes the connected components of a graph with a concurrent,
+ * lock-free union-find. The edges of a {@link CompressedGraph} taken of the
+ * input graph are split among fork-join tasks, and each task unites the end
+ * nodes of its edges in a shared parent array. A root is always linked under
+ * a root of a smaller index with a compare-and-set, so concurrent unions
+ * never form a cycle, and the finds compress the paths by halving them with
+ * compare-and-sets as well. Nothing is recursive, so long paths are fine.
+ * <p>
+ * The components get dense IDs in the order of their first node. For a
+ * directed graph, the arcs are treated as undirected edges, which yields the
+ * weakly connected components.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class ConnectedComponentFinder {
+
+    /**
+     * The number of nodes below which a task is not split.
+     */
+    private static final int GRAIN = 2048;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a finder running in the common fork-join pool.
+     */
+    public ConnectedComponentFinder() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a finder running in {@code pool}.
+     *
+     * @param pool the pool running the tasks.
+     */
+    public ConnectedComponentFinder(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Computes the connected components of {@code graph}.
+     *
+     * @param graph the graph.
+     * @return the component of each node.
+     */
+    public ComponentLabeling find(AbstractGraph graph) {
+        final CompressedGraph compressed = graph.freeze();
+        final int n = compressed.size();
+        final AtomicIntegerArray parents = new AtomicIntegerArray(n);
+        final int[] componentIds = new int[n];
+
+        ParallelRange.forEach(pool, 0, n, GRAIN, (begin, end) -> {
+            for (int node = begin; node < end; ++node) {
+                parents.set(node, node);
+            }
+        });
+
+        // Each undirected edge is stored in both directions; one suffices.
+        final boolean directed = compressed.isDirected();
+
+        ParallelRange.forEach(pool, 0, n, GRAIN, (begin, end) -> {
+            for (int node = begin; node < end; ++node) {
+                final int arcEnd = compressed.getChildOffset(node + 1);
+
+                for (int p = compressed.getChildOffset(node); p < arcEnd; ++p) {
+                    final int child = compressed.getChildIndex(p);
+
+                    if (directed || child < node) {
+                        union(parents, node, child);
+                    }
+                }
+            }
+        });
+
+        ParallelRange.forEach(pool, 0, n, GRAIN, (begin, end) -> {
+            for (int node = begin; node < end; ++node) {
+                componentIds[node] = find(parents, node);
+            }
+        });
+
+        // Number the roots in index order, then relabel the nodes. Each root
+        // precedes all other nodes of its component.
+        int components = 0;
+
+        for (int node = 0; node < n; ++node) {
+            if (componentIds[node] == node) {
+                parents.set(node, components++);
+            }
+        }
+
+        final int[] componentSizes = new int[components];
+
+        for (int node = 0; node < n; ++node) {
+            componentIds[node] = parents.get(componentIds[node]);
+            componentSizes[componentIds[node]]++;
+        }
+
+        return new ComponentLabeling(compressed, componentIds, componentSizes);
+    }
+
+    /**
+     * Returns the root of {@code node}, halving the path on the way.
+     */
+    static int find(AtomicIntegerArray parents, int node) {
+        int parent;
+
+        while ((parent = parents.get(node)) != node) {
+            final int grandparent = parents.get(parent);
+
+            if (parent != grandparent) {
+                parents.compareAndSet(node, parent, grandparent);
+            }
+
+            node = grandparent;
+        }
+
+        return node;
+    }
+
+    /**
+     * Unites the sets of {@code node1} and {@code node2}.
+     */
+    static void union(AtomicIntegerArray parents, int node1, int node2) {
+        while (true) {
+            node1 = find(parents, node1);
+            node2 = find(parents, node2);
+
+            if (node1 == node2) {
+                return;
+            }
+
+            if (node1 < node2) {
+                final int tmp = node1;
+                node1 = node2;
+                node2 = tmp;
+            }
+
+            // node1 is still a root only if no other thread linked it.
+            if (parents.compareAndSet(node1, node1, node2)) {
+                return;
+            }
+        }
+    }
+}
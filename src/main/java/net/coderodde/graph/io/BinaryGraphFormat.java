@@ -0,0 +1,531 @@
+package net.coderodde.graph.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.CompressedGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+
+/**
+ * This class implements a compact binary file format for graphs. A file can
+ * be mapped into memory as a read-only {@link MappedGraph}, which is queryable
+ * right away, or loaded into a mutable {@link DirectedGraph} or
+ * {@link UndirectedGraph}.
+ * <p>
+ * All values are stored in the little-endian byte order. A file consists of a
+ * header of {@value #HEADER_SIZE} bytes followed by the payload:
+ * <pre>
+ *  offset  type    field
+ *       0  int     magic number 0x43475246
+ *       4  int     format version
+ *       8  int     flags, bit 0 is set for directed graphs
+ *      12  int     number of nodes n
+ *      16  int     number of edges
+ *      20  int     number of arcs m in each CSR
+ *      24  int     length t of the index table, a power of two
+ *      28  int     reserved, zero
+ *      32  long    CRC-32 of the payload
+ * </pre>
+ * The payload contains the following sections, each padded to a multiple of
+ * eight bytes: the node IDs ({@code int[n]}), the open-addressing index table
+ * mapping node IDs to indices ({@code int[t]}), the child CSR offsets
+ * ({@code int[n + 1]}), the child indices ({@code int[m]}) and the child
+ * weights ({@code double[m]}). Directed graphs also store the parent CSR in
+ * the same layout right after the child CSR.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class BinaryGraphFormat {
+
+    static final int MAGIC = 0x43475246;
+    static final int VERSION = 1;
+    static final int FLAG_DIRECTED = 1;
+    static final int HEADER_SIZE = 40;
+
+    /**
+     * The size of the buffer used while writing a file.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The largest chunk mapped at a time while verifying the checksum.
+     */
+    private static final int CHECKSUM_CHUNK_SIZE = 1 << 30;
+
+    private BinaryGraphFormat() {}
+
+    /**
+     * Writes {@code graph} to {@code file}, overwriting the file if it exists.
+     *
+     * @param graph the graph to write.
+     * @param file  the target file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void write(AbstractGraph graph, Path file)
+    throws IOException {
+        final CompressedGraph compressed = graph.freeze();
+        final boolean directed = graph.isDirected();
+        final int n = compressed.size();
+        final int arcs = compressed.getChildOffset(n);
+        final int tableLength = tableLength(n);
+
+        try (FileChannel channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            final SectionWriter writer =
+                    new SectionWriter(channel, HEADER_SIZE);
+
+            for (int i = 0; i < n; ++i) {
+                writer.putInt(compressed.getNodeId(i));
+            }
+
+            writer.align();
+            final int[] table = buildIndexTable(compressed, tableLength);
+
+            for (int slot = 0; slot < tableLength; ++slot) {
+                writer.putInt(table[slot]);
+            }
+
+            writer.align();
+
+            for (int i = 0; i <= n; ++i) {
+                writer.putInt(compressed.getChildOffset(i));
+            }
+
+            writer.align();
+
+            for (int position = 0; position < arcs; ++position) {
+                writer.putInt(compressed.getChildIndex(position));
+            }
+
+            writer.align();
+
+            for (int position = 0; position < arcs; ++position) {
+                writer.putDouble(compressed.getChildWeight(position));
+            }
+
+            if (directed) {
+                writer.align();
+
+                for (int i = 0; i <= n; ++i) {
+                    writer.putInt(compressed.getParentOffset(i));
+                }
+
+                writer.align();
+
+                for (int position = 0; position < arcs; ++position) {
+                    writer.putInt(compressed.getParentIndex(position));
+                }
+
+                writer.align();
+
+                for (int position = 0; position < arcs; ++position) {
+                    writer.putDouble(compressed.getParentWeight(position));
+                }
+            }
+
+            writer.align();
+            writer.flush();
+
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                                                .order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC)
+                  .putInt(VERSION)
+                  .putInt(directed ? FLAG_DIRECTED : 0)
+                  .putInt(n)
+                  .putInt(compressed.getNumberOfEdges())
+                  .putInt(arcs)
+                  .putInt(tableLength)
+                  .putInt(0)
+                  .putLong(writer.getChecksum());
+            header.flip();
+
+            long position = 0L;
+
+            while (header.hasRemaining()) {
+                position += channel.write(header, position);
+            }
+        }
+    }
+
+    /**
+     * Maps {@code file} into memory verifying its checksum.
+     *
+     * @see #map(java.nio.file.Path, boolean)
+     * @param file the graph file.
+     * @return the mapped graph.
+     * @throws IOException if an I/O error occurs or the file is corrupt.
+     */
+    public static MappedGraph map(Path file) throws IOException {
+        return map(file, true);
+    }
+
+    /**
+     * Maps {@code file} into memory. The header is always validated against
+     * the size of the file. The checksum verification reads the entire file
+     * once; skipping it makes the mapping nearly instantaneous, but a corrupt
+     * file may then produce wrong answers or exceptions during queries.
+     *
+     * @param file           the graph file.
+     * @param verifyChecksum whether to verify the checksum of the payload.
+     * @return the mapped graph.
+     * @throws IOException if an I/O error occurs or the file is corrupt.
+     */
+    public static MappedGraph map(Path file, boolean verifyChecksum)
+    throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.READ)) {
+            final Header header = readHeader(channel);
+
+            if (verifyChecksum) {
+                verifyChecksum(channel, header);
+            }
+
+            // The mappings stay valid after the channel is closed.
+            long position = HEADER_SIZE;
+            final IntBuffer nodeIds = mapInts(channel, position, header.n);
+            position += padded(4L * header.n);
+            final IntBuffer table =
+                    mapInts(channel, position, header.tableLength);
+            position += padded(4L * header.tableLength);
+            final IntBuffer childOffsets =
+                    mapInts(channel, position, header.n + 1);
+            position += padded(4L * (header.n + 1));
+            final IntBuffer childIndices =
+                    mapInts(channel, position, header.arcs);
+            position += padded(4L * header.arcs);
+            final DoubleBuffer childWeights =
+                    mapDoubles(channel, position, header.arcs);
+            position += 8L * header.arcs;
+
+            if (!header.directed) {
+                return new MappedGraph(false,
+                                       header.edges,
+                                       nodeIds,
+                                       table,
+                                       childOffsets,
+                                       childIndices,
+                                       childWeights,
+                                       childOffsets,
+                                       childIndices,
+                                       childWeights);
+            }
+
+            final IntBuffer parentOffsets =
+                    mapInts(channel, position, header.n + 1);
+            position += padded(4L * (header.n + 1));
+            final IntBuffer parentIndices =
+                    mapInts(channel, position, header.arcs);
+            position += padded(4L * header.arcs);
+            final DoubleBuffer parentWeights =
+                    mapDoubles(channel, position, header.arcs);
+
+            return new MappedGraph(true,
+                                   header.edges,
+                                   nodeIds,
+                                   table,
+                                   childOffsets,
+                                   childIndices,
+                                   childWeights,
+                                   parentOffsets,
+                                   parentIndices,
+                                   parentWeights);
+        }
+    }
+
+    /**
+     * Loads {@code file} into a new mutable graph. Returns a
+     * {@link DirectedGraph} or an {@link UndirectedGraph} depending on the
+     * type of the stored graph.
+     *
+     * @param file the graph file.
+     * @return the loaded graph.
+     * @throws IOException if an I/O error occurs or the file is corrupt.
+     */
+    public static AbstractGraph read(Path file) throws IOException {
+        final MappedGraph mapped = map(file, true);
+        final AbstractGraph graph = mapped.isDirected() ?
+                                    new DirectedGraph() :
+                                    new UndirectedGraph();
+        final int n = mapped.size();
+
+        // Keep the node order of the file.
+        for (int i = 0; i < n; ++i) {
+            graph.addNode(mapped.getNodeId(i));
+        }
+
+        final int chunk = BUFFER_SIZE;
+        final int[] tails = new int[chunk];
+        final int[] heads = new int[chunk];
+        final double[] weights = new double[chunk];
+        int length = 0;
+
+        for (int i = 0; i < n; ++i) {
+            final int end = mapped.getChildOffset(i + 1);
+
+            for (int position = mapped.getChildOffset(i);
+                    position < end;
+                    ++position) {
+                final int j = mapped.getChildIndex(position);
+
+                if (!mapped.isDirected() && j < i) {
+                    // Each undirected edge is stored in both rows.
+                    continue;
+                }
+
+                tails[length] = mapped.getNodeId(i);
+                heads[length] = mapped.getNodeId(j);
+                weights[length] = mapped.getChildWeight(position);
+
+                if (++length == chunk) {
+                    graph.addEdges(tails, heads, weights, 0, length);
+                    length = 0;
+                }
+            }
+        }
+
+        graph.addEdges(tails, heads, weights, 0, length);
+        return graph;
+    }
+
+    /**
+     * The hash function of the index table. It is part of the file format and
+     * must never change without bumping the format version.
+     */
+    static int hash(int nodeId) {
+        final int h = nodeId * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableLength(int n) {
+        int length = Integer.highestOneBit(Math.max(n, 1)) * 2;
+
+        if (length < n * 2) {
+            length *= 2;
+        }
+
+        return length;
+    }
+
+    private static int[] buildIndexTable(CompressedGraph graph,
+                                         int tableLength) {
+        final int[] table = new int[tableLength];
+        final int mask = tableLength - 1;
+
+        for (int i = 0; i < graph.size(); ++i) {
+            int slot = hash(graph.getNodeId(i)) & mask;
+
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            table[slot] = i + 1;
+        }
+
+        return table;
+    }
+
+    private static long padded(long bytes) {
+        return (bytes + 7L) & ~7L;
+    }
+
+    private static Header readHeader(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new GraphFormatException("The file is too short.");
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE)
+                                            .order(ByteOrder.LITTLE_ENDIAN);
+        long position = 0L;
+
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+
+            if (read < 0) {
+                throw new GraphFormatException("Unexpected end of file.");
+            }
+
+            position += read;
+        }
+
+        buffer.flip();
+
+        if (buffer.getInt() != MAGIC) {
+            throw new GraphFormatException("Not a graph file.");
+        }
+
+        final int version = buffer.getInt();
+
+        if (version != VERSION) {
+            throw new GraphFormatException(
+                    "Unsupported format version: " + version + ".");
+        }
+
+        final Header header = new Header();
+        final int flags = buffer.getInt();
+        header.directed = (flags & FLAG_DIRECTED) != 0;
+        header.n = buffer.getInt();
+        header.edges = buffer.getInt();
+        header.arcs = buffer.getInt();
+        header.tableLength = buffer.getInt();
+        buffer.getInt();
+        header.checksum = buffer.getLong();
+
+        if (header.n < 0 || header.edges < 0 || header.arcs < 0
+                || header.n == Integer.MAX_VALUE
+                || header.tableLength <= 0
+                || Integer.bitCount(header.tableLength) != 1
+                || header.tableLength <= header.n) {
+            throw new GraphFormatException("Corrupt header.");
+        }
+
+        long payload = padded(4L * header.n)
+                     + padded(4L * header.tableLength)
+                     + padded(4L * (header.n + 1))
+                     + padded(4L * header.arcs)
+                     + 8L * header.arcs;
+
+        if (header.directed) {
+            payload *= 2;
+            payload -= padded(4L * header.n) + padded(4L * header.tableLength);
+        }
+
+        header.payloadSize = payload;
+
+        if (channel.size() != HEADER_SIZE + payload) {
+            throw new GraphFormatException(
+                    "The file size does not match the header.");
+        }
+
+        return header;
+    }
+
+    private static void verifyChecksum(FileChannel channel, Header header)
+    throws IOException {
+        final CRC32 crc = new CRC32();
+        long position = HEADER_SIZE;
+        long remaining = header.payloadSize;
+
+        while (remaining > 0L) {
+            final long chunk = Math.min(remaining, CHECKSUM_CHUNK_SIZE);
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY,
+                                   position,
+                                   chunk));
+            position += chunk;
+            remaining -= chunk;
+        }
+
+        if (crc.getValue() != header.checksum) {
+            throw new GraphFormatException("Checksum mismatch.");
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel,
+                                        long position,
+                                        long bytes) throws IOException {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new GraphFormatException(
+                    "A section does not fit in a single mapping.");
+        }
+
+        final MappedByteBuffer buffer =
+                channel.map(FileChannel.MapMode.READ_ONLY, position, bytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static IntBuffer mapInts(FileChannel channel,
+                                     long position,
+                                     int count) throws IOException {
+        return map(channel, position, 4L * count).asIntBuffer();
+    }
+
+    private static DoubleBuffer mapDoubles(FileChannel channel,
+                                           long position,
+                                           int count) throws IOException {
+        return map(channel, position, 8L * count).asDoubleBuffer();
+    }
+
+    /**
+     * Holds the fields of a file header.
+     */
+    private static final class Header {
+        boolean directed;
+        int n;
+        int edges;
+        int arcs;
+        int tableLength;
+        long checksum;
+        long payloadSize;
+    }
+
+    /**
+     * Buffers the payload of a file while computing its checksum.
+     */
+    private static final class SectionWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer =
+                ByteBuffer.allocateDirect(BUFFER_SIZE)
+                          .order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+        private long position;
+        private long written;
+
+        SectionWriter(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < 4) {
+                flush();
+            }
+
+            buffer.putInt(value);
+            written += 4;
+        }
+
+        void putDouble(double value) throws IOException {
+            if (buffer.remaining() < 8) {
+                flush();
+            }
+
+            buffer.putDouble(value);
+            written += 8;
+        }
+
+        void align() throws IOException {
+            while ((written & 7L) != 0L) {
+                putInt(0);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+
+            buffer.clear();
+        }
+
+        long getChecksum() {
+            return crc.getValue();
+        }
+    }
+}
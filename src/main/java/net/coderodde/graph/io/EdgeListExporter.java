@@ -0,0 +1,196 @@
+package net.coderodde.graph.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.IntDoubleConsumer;
+
+/**
+ * This class implements a streaming exporter of edge lists in the format read
+ * by {@link EdgeListImporter}. The output starts with a comment line stating
+ * the number of nodes and edges, followed by one {@code tail head [weight]}
+ * line per edge, the fields separated by tabs. Each edge of an undirected
+ * graph is written once. Nodes without incident edges cannot be represented in
+ * an edge list and are omitted.
+ * <p>
+ * The edges are formatted directly into a reused byte buffer while visiting
+ * the adjacency of each node, so no intermediate collections are built.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class EdgeListExporter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The longest line the exporter may produce: two integers, a weight, two
+     * tabs and a newline.
+     */
+    private static final int MAXIMUM_LINE_LENGTH = 64;
+
+    /**
+     * Integral weights with an absolute value below this bound are written
+     * without the fraction part.
+     */
+    private static final double INTEGRAL_WEIGHT_BOUND = 1e15;
+
+    private boolean weighted = true;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final LineWriter lineWriter = new LineWriter();
+    private WritableByteChannel channel;
+    private IOException pendingException;
+    private int currentTailNodeId;
+    private boolean undirected;
+
+    /**
+     * Sets whether to write the weights of the edges.
+     *
+     * @param weighted {@code true} for writing the weights.
+     */
+    public void setWeighted(boolean weighted) {
+        this.weighted = weighted;
+    }
+
+    /**
+     * Writes the edges of {@code graph} to {@code file}, overwriting the file
+     * if it exists.
+     *
+     * @param graph the graph to export.
+     * @param file  the target file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void exportEdges(AbstractGraph graph, Path file) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            exportEdges(graph, fileChannel);
+        }
+    }
+
+    /**
+     * Writes the edges of {@code graph} to {@code channel}. The channel is not
+     * closed.
+     *
+     * @param graph   the graph to export.
+     * @param channel the output channel.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void exportEdges(AbstractGraph graph, WritableByteChannel channel)
+    throws IOException {
+        this.channel = channel;
+        this.undirected = !graph.isDirected();
+        this.pendingException = null;
+        buffer.clear();
+
+        try {
+            buffer.put(("# Nodes: " + graph.size() +
+                        " Edges: " + graph.getNumberOfEdges() + "\n")
+                       .getBytes(StandardCharsets.US_ASCII));
+
+            for (Integer nodeId : graph.getAllNodes()) {
+                currentTailNodeId = nodeId;
+                graph.forEachChild(currentTailNodeId, lineWriter);
+
+                if (pendingException != null) {
+                    throw pendingException;
+                }
+            }
+
+            drain();
+        } finally {
+            this.channel = null;
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    private void putInt(int value) {
+        putLong(value);
+    }
+
+    /**
+     * Writes {@code value}, whose absolute value is below 10^18, in decimal.
+     */
+    private void putLong(long value) {
+        if (value < 0L) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+
+        final int start = buffer.position();
+
+        do {
+            buffer.put((byte) ('0' + (value % 10L)));
+            value /= 10L;
+        } while (value != 0L);
+
+        // The digits were written in reverse.
+        for (int i = start, j = buffer.position() - 1; i < j; ++i, --j) {
+            final byte tmp = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, tmp);
+        }
+    }
+
+    private void putWeight(double weight) {
+        if (weight == Math.rint(weight)
+                && Math.abs(weight) < INTEGRAL_WEIGHT_BOUND
+                && (weight != 0.0 || 1.0 / weight > 0.0)) {
+            putLong((long) weight);
+        } else {
+            buffer.put(Double.toString(weight)
+                             .getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    /**
+     * Formats the edges from the current tail node.
+     */
+    private final class LineWriter implements IntDoubleConsumer {
+
+        @Override
+        public void accept(int nodeId, double weight) {
+            if (pendingException != null
+                    || (undirected && nodeId < currentTailNodeId)) {
+                return;
+            }
+
+            if (buffer.remaining() < MAXIMUM_LINE_LENGTH) {
+                try {
+                    drain();
+                } catch (IOException ex) {
+                    pendingException = ex;
+                    return;
+                }
+            }
+
+            putInt(currentTailNodeId);
+            buffer.put((byte) '\t');
+            putInt(nodeId);
+
+            if (weighted) {
+                buffer.put((byte) '\t');
+                putWeight(weight);
+            }
+
+            buffer.put((byte) '\n');
+        }
+    }
+}
@@ -0,0 +1,541 @@
+package net.coderodde.graph.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import net.coderodde.graph.AbstractGraph;
+
+/**
+ * This class implements a streaming importer of edge lists. Each line of the
+ * input describes an edge as {@code tail head [weight]}, the fields being
+ * separated by spaces or tabs; the weight defaults to 1.0 and any further
+ * fields are ignored. Empty lines and lines starting with {@code #} or
+ * {@code %}, such as the comment headers of SNAP files, are skipped.
+ * <p>
+ * The input is parsed directly from a reused byte buffer without creating
+ * strings or boxed values, and the edges are inserted in batches via
+ * {@link AbstractGraph#addEdges(int[], int[], double[], int, int)}. Files can
+ * be parsed in parallel: the file is split into chunks at line boundaries and
+ * each chunk is parsed by its own thread, while the batches are inserted into
+ * the graph one at a time. A parallel import does not preserve the order of
+ * the lines, which matters only if the input lists the same edge more than
+ * once with different weights.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class EdgeListImporter {
+
+    private static final int DEFAULT_BATCH_SIZE = 1 << 16;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The smallest chunk worth a thread of its own.
+     */
+    private static final long MINIMUM_CHUNK_SIZE = 1L << 20;
+
+    /**
+     * Exact powers of ten used by the fast path of weight parsing.
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0,  1e1,  1e2,  1e3,  1e4,  1e5,  1e6,  1e7,  1e8,  1e9,  1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21,
+        1e22
+    };
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int parallelism = 1;
+    private ImportProgressListener progressListener;
+
+    /**
+     * Sets the number of edges inserted into the graph at a time.
+     *
+     * @param batchSize the batch size, must be positive.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                    "Batch size must be positive: " + batchSize + ".");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the number of threads parsing a file. Channels are always parsed
+     * by a single thread.
+     *
+     * @param parallelism the number of parsing threads, must be positive.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "Parallelism must be positive: " + parallelism + ".");
+        }
+
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the listener notified after each inserted batch.
+     *
+     * @param progressListener the listener, or {@code null} for none.
+     */
+    public void setProgressListener(ImportProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Loads all edges listed in {@code file} into {@code graph}.
+     *
+     * @param graph the target graph.
+     * @param file  the edge list file.
+     * @return the number of edge lines read.
+     * @throws IOException if an I/O error occurs or the input is malformed.
+     */
+    public long importEdges(AbstractGraph graph, Path file)
+    throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final int chunks = (int) Math.max(1L, Math.min(
+                    parallelism, size / MINIMUM_CHUNK_SIZE));
+
+            if (chunks == 1) {
+                return importEdges(graph, (ReadableByteChannel) channel);
+            }
+
+            final Progress progress = new Progress();
+            final ExecutorService executor =
+                    Executors.newFixedThreadPool(chunks);
+
+            try {
+                final List<Future<?>> futures = new ArrayList<>(chunks);
+
+                for (int i = 0; i < chunks; ++i) {
+                    final long begin = size * i / chunks;
+                    final long end = size * (i + 1) / chunks;
+                    final ChunkParser parser = new ChunkParser(graph,
+                                                               channel,
+                                                               begin,
+                                                               end,
+                                                               progress);
+                    futures.add(executor.submit(() -> {
+                        parser.run();
+                        return null;
+                    }));
+                }
+
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while importing.", ex);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof IOException) {
+                    throw (IOException) ex.getCause();
+                }
+
+                throw new IOException(ex.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+
+            return progress.edges;
+        }
+    }
+
+    /**
+     * Loads all edges read from {@code channel} into {@code graph}. The
+     * channel is read until its end but is not closed.
+     *
+     * @param graph   the target graph.
+     * @param channel the input channel.
+     * @return the number of edge lines read.
+     * @throws IOException if an I/O error occurs or the input is malformed.
+     */
+    public long importEdges(AbstractGraph graph, ReadableByteChannel channel)
+    throws IOException {
+        final Progress progress = new Progress();
+        new ChunkParser(graph, channel, progress).run();
+        return progress.edges;
+    }
+
+    /**
+     * Accumulates the progress of all parsers of a single import. Guarded by
+     * the graph being imported into.
+     */
+    private static final class Progress {
+        long bytes;
+        long edges;
+    }
+
+    /**
+     * Parses a contiguous range of lines and inserts the edges in batches.
+     */
+    private final class ChunkParser {
+
+        private final AbstractGraph graph;
+        private final ReadableByteChannel channel;
+        private final FileChannel fileChannel;
+        private final Progress progress;
+
+        /**
+         * The lines starting at or after this offset belong to the next
+         * chunk.
+         */
+        private final long end;
+
+        /**
+         * The input offset of {@code buffer[0]}.
+         */
+        private long bufferOffset;
+
+        /**
+         * The input offset at which the next read starts.
+         */
+        private long readOffset;
+
+        private long reportedOffset;
+        private boolean endOfInput;
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        private final int[] tails = new int[batchSize];
+        private final int[] heads = new int[batchSize];
+        private final double[] weights = new double[batchSize];
+        private int count;
+
+        /**
+         * Used while parsing a line for passing the end of the parsed token.
+         */
+        private int tokenEnd;
+
+        ChunkParser(AbstractGraph graph,
+                    ReadableByteChannel channel,
+                    Progress progress) {
+            this.graph = graph;
+            this.channel = channel;
+            this.fileChannel = null;
+            this.progress = progress;
+            this.end = Long.MAX_VALUE;
+        }
+
+        ChunkParser(AbstractGraph graph,
+                    FileChannel fileChannel,
+                    long begin,
+                    long end,
+                    Progress progress) {
+            this.graph = graph;
+            this.channel = null;
+            this.fileChannel = fileChannel;
+            this.progress = progress;
+            this.end = end;
+
+            // A chunk owns the lines starting within it. Starting one byte
+            // early and skipping through the first newline lands exactly on
+            // the first such line.
+            this.bufferOffset = Math.max(0L, begin - 1);
+            this.readOffset = bufferOffset;
+            this.reportedOffset = begin;
+        }
+
+        void run() throws IOException {
+            if (fileChannel != null && bufferOffset > 0L) {
+                skipLine();
+            }
+
+            while (true) {
+                int newline = findNewline(position);
+
+                while (newline < 0 && !endOfInput) {
+                    fill();
+                    newline = findNewline(position);
+                }
+
+                if (position == limit && endOfInput) {
+                    break;
+                }
+
+                if (bufferOffset + position >= end) {
+                    break;
+                }
+
+                final int lineEnd = newline < 0 ? limit : newline;
+                parseLine(position, lineEnd);
+                position = newline < 0 ? limit : newline + 1;
+            }
+
+            flush(Math.min(end, bufferOffset + position));
+        }
+
+        private void skipLine() throws IOException {
+            int newline = findNewline(position);
+
+            while (newline < 0 && !endOfInput) {
+                fill();
+                newline = findNewline(position);
+            }
+
+            position = newline < 0 ? limit : newline + 1;
+        }
+
+        private int findNewline(int from) {
+            final byte[] buffer = this.buffer;
+
+            for (int i = from; i < limit; ++i) {
+                if (buffer[i] == '\n') {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Discards the consumed bytes and reads more input. Grows the buffer
+         * if a single line does not fit in it.
+         */
+        private void fill() throws IOException {
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                bufferOffset += position;
+                limit -= position;
+                position = 0;
+            }
+
+            if (limit == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+
+            final ByteBuffer target =
+                    ByteBuffer.wrap(buffer, limit, buffer.length - limit);
+            final int read = fileChannel != null ?
+                             fileChannel.read(target, readOffset) :
+                             channel.read(target);
+
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+                readOffset += read;
+            }
+        }
+
+        private void parseLine(int from, int to) throws IOException {
+            int i = skipBlanks(from, to);
+
+            if (i == to || buffer[i] == '#' || buffer[i] == '%'
+                    || buffer[i] == '\r') {
+                return;
+            }
+
+            final int tail = parseInt(i, to);
+            i = skipBlanks(tokenEnd, to);
+            final int head = parseInt(i, to);
+            i = skipBlanks(tokenEnd, to);
+            double weight = 1.0;
+
+            if (i < to && buffer[i] != '\r') {
+                weight = parseDouble(i, to);
+            }
+
+            tails[count] = tail;
+            heads[count] = head;
+            weights[count] = weight;
+
+            if (++count == tails.length) {
+                flush(bufferOffset + to);
+            }
+        }
+
+        private int skipBlanks(int from, int to) {
+            while (from < to && (buffer[from] == ' ' || buffer[from] == '\t')) {
+                from++;
+            }
+
+            return from;
+        }
+
+        private boolean isDelimiter(int i, int to) {
+            return i == to
+                    || buffer[i] == ' '
+                    || buffer[i] == '\t'
+                    || buffer[i] == '\r';
+        }
+
+        private int parseInt(int from, int to) throws IOException {
+            int i = from;
+            boolean negative = false;
+
+            if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+                negative = buffer[i] == '-';
+                i++;
+            }
+
+            final int digitsBegin = i;
+            long value = 0L;
+
+            while (i < to && buffer[i] >= '0' && buffer[i] <= '9') {
+                value = value * 10L + (buffer[i] - '0');
+                i++;
+
+                if (value > 1L + Integer.MAX_VALUE) {
+                    throw malformed(from);
+                }
+            }
+
+            if (i == digitsBegin || !isDelimiter(i, to)) {
+                throw malformed(from);
+            }
+
+            value = negative ? -value : value;
+
+            if (value > Integer.MAX_VALUE) {
+                throw malformed(from);
+            }
+
+            tokenEnd = i;
+            return (int) value;
+        }
+
+        /**
+         * Parses a weight. Plain decimals with at most 18 significant digits
+         * and a small exponent are converted exactly with a single
+         * multiplication or division; anything else falls back to
+         * {@link java.lang.Double#parseDouble(java.lang.String)}.
+         */
+        private double parseDouble(int from, int to) throws IOException {
+            int i = from;
+            boolean negative = false;
+
+            if (buffer[i] == '-' || buffer[i] == '+') {
+                negative = buffer[i] == '-';
+                i++;
+            }
+
+            long mantissa = 0L;
+            int exponent = 0;
+            int digits = 0;
+            boolean exact = true;
+
+            while (i < to && buffer[i] >= '0' && buffer[i] <= '9') {
+                if (mantissa < 100_000_000_000_000_000L) {
+                    mantissa = mantissa * 10L + (buffer[i] - '0');
+                } else {
+                    exact = false;
+                }
+
+                digits++;
+                i++;
+            }
+
+            if (i < to && buffer[i] == '.') {
+                i++;
+
+                while (i < to && buffer[i] >= '0' && buffer[i] <= '9') {
+                    if (mantissa < 100_000_000_000_000_000L) {
+                        mantissa = mantissa * 10L + (buffer[i] - '0');
+                        exponent--;
+                    } else {
+                        exact = false;
+                    }
+
+                    digits++;
+                    i++;
+                }
+            }
+
+            if (digits > 0 && i < to && (buffer[i] == 'e' || buffer[i] == 'E')) {
+                i++;
+                boolean negativeExponent = false;
+
+                if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+                    negativeExponent = buffer[i] == '-';
+                    i++;
+                }
+
+                final int exponentBegin = i;
+                int value = 0;
+
+                while (i < to && buffer[i] >= '0' && buffer[i] <= '9') {
+                    value = Math.min(value * 10 + (buffer[i] - '0'), 100_000);
+                    i++;
+                }
+
+                if (i == exponentBegin) {
+                    digits = 0;
+                }
+
+                exponent += negativeExponent ? -value : value;
+            }
+
+            if (digits > 0 && exact && isDelimiter(i, to)
+                    && mantissa <= (1L << 53)
+                    && exponent >= -22 && exponent <= 22) {
+                tokenEnd = i;
+                final double value = exponent >= 0 ?
+                        mantissa * POWERS_OF_TEN[exponent] :
+                        mantissa / POWERS_OF_TEN[-exponent];
+                return negative ? -value : value;
+            }
+
+            // Slow path: find the end of the token and let the JDK parse it.
+            i = from;
+
+            while (!isDelimiter(i, to)) {
+                i++;
+            }
+
+            tokenEnd = i;
+
+            try {
+                return Double.parseDouble(new String(buffer,
+                                                     from,
+                                                     i - from,
+                                                     StandardCharsets.US_ASCII));
+            } catch (NumberFormatException ex) {
+                throw malformed(from);
+            }
+        }
+
+        private GraphFormatException malformed(int index) {
+            return new GraphFormatException(
+                    "Malformed edge line near byte offset " +
+                    (bufferOffset + index) + ".");
+        }
+
+        /**
+         * Inserts the pending batch and reports the progress.
+         *
+         * @param consumedOffset the input offset parsed so far.
+         */
+        private void flush(long consumedOffset) {
+            synchronized (graph) {
+                graph.addEdges(tails, heads, weights, 0, count);
+                progress.edges += count;
+                progress.bytes += consumedOffset - reportedOffset;
+                reportedOffset = consumedOffset;
+                count = 0;
+
+                if (progressListener != null) {
+                    progressListener.onProgress(progress.bytes,
+                                                progress.edges);
+                }
+            }
+        }
+    }
+}
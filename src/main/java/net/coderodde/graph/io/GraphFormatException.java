@@ -0,0 +1,23 @@
+package net.coderodde.graph.io;
+
+import java.io.IOException;
+
+/**
+ * This exception is thrown whenever a graph file is malformed or corrupt.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public class GraphFormatException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new exception with the given detail message.
+     *
+     * @param message the detail message.
+     */
+    public GraphFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package net.coderodde.graph.io;
+
+/**
+ * This interface defines the callback through which the
+ * {@link EdgeListImporter} reports its progress. The callbacks are never
+ * invoked concurrently, not even by a parallel import.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@FunctionalInterface
+public interface ImportProgressListener {
+
+    /**
+     * Reports the progress of an import.
+     *
+     * @param bytes the number of input bytes consumed so far.
+     * @param edges the number of edge lines loaded into the graph so far.
+     */
+    void onProgress(long bytes, long edges);
+}
@@ -0,0 +1,441 @@
+package net.coderodde.graph.io;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.IntDoubleConsumer;
+
+/**
+ * This class implements a read-only graph backed by a memory-mapped graph file
+ * written by {@link BinaryGraphFormat#write(AbstractGraph, java.nio.file.Path)}.
+ * The graph is queryable as soon as the file is mapped: nothing is parsed and
+ * nothing is copied onto the heap, the operating system pages the file in on
+ * demand. All mutating methods throw
+ * {@link java.lang.UnsupportedOperationException}.
+ * <p>
+ * Just as in {@link net.coderodde.graph.CompressedGraph}, each node has a dense
+ * index, and the children and the parents of each node are stored as rows of a
+ * CSR sorted by index.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class MappedGraph extends AbstractGraph {
+
+    private final IntBuffer nodeIds;
+    private final IntBuffer indexTable;
+
+    private final IntBuffer childOffsets;
+    private final IntBuffer childIndices;
+    private final DoubleBuffer childWeights;
+
+    private final IntBuffer parentOffsets;
+    private final IntBuffer parentIndices;
+    private final DoubleBuffer parentWeights;
+
+    private final boolean directed;
+    private final int nodeCount;
+
+    MappedGraph(boolean directed,
+                int edges,
+                IntBuffer nodeIds,
+                IntBuffer indexTable,
+                IntBuffer childOffsets,
+                IntBuffer childIndices,
+                DoubleBuffer childWeights,
+                IntBuffer parentOffsets,
+                IntBuffer parentIndices,
+                DoubleBuffer parentWeights) {
+        this.directed = directed;
+        this.edges = edges;
+        this.nodeCount = nodeIds.capacity();
+        this.nodeIds = nodeIds;
+        this.indexTable = indexTable;
+        this.childOffsets = childOffsets;
+        this.childIndices = childIndices;
+        this.childWeights = childWeights;
+        this.parentOffsets = parentOffsets;
+        this.parentIndices = parentIndices;
+        this.parentWeights = parentWeights;
+    }
+
+    /**
+     * Returns {@code true} if the mapped file stores a directed graph.
+     *
+     * @return {@code true} if this graph is directed.
+     */
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Returns the index of the node {@code nodeId}, or -1 if the node is not
+     * in this graph.
+     *
+     * @param nodeId the node ID.
+     * @return the index of the node or -1.
+     */
+    public int indexOf(int nodeId) {
+        final int mask = indexTable.capacity() - 1;
+        int slot = BinaryGraphFormat.hash(nodeId) & mask;
+        int ref;
+
+        while ((ref = indexTable.get(slot)) != 0) {
+            if (nodeIds.get(ref - 1) == nodeId) {
+                return ref - 1;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the ID of the node with index {@code index}.
+     *
+     * @param index the index of the node.
+     * @return the node ID.
+     */
+    public int getNodeId(int index) {
+        return nodeIds.get(index);
+    }
+
+    /**
+     * Returns the position of the first child of the node with index
+     * {@code index}.
+     *
+     * @param index the index of the node, or {@code size()} for the end of
+     *              the last row.
+     * @return the position of the first child.
+     */
+    public int getChildOffset(int index) {
+        return childOffsets.get(index);
+    }
+
+    /**
+     * Returns the index of the child stored at position {@code position}.
+     *
+     * @param position the position in the child arrays.
+     * @return the index of the child.
+     */
+    public int getChildIndex(int position) {
+        return childIndices.get(position);
+    }
+
+    /**
+     * Returns the weight of the arc stored at position {@code position} of the
+     * child arrays.
+     *
+     * @param position the position in the child arrays.
+     * @return the weight of the arc.
+     */
+    public double getChildWeight(int position) {
+        return childWeights.get(position);
+    }
+
+    /**
+     * Returns the position of the first parent of the node with index
+     * {@code index}.
+     *
+     * @param index the index of the node, or {@code size()} for the end of
+     *              the last row.
+     * @return the position of the first parent.
+     */
+    public int getParentOffset(int index) {
+        return parentOffsets.get(index);
+    }
+
+    /**
+     * Returns the index of the parent stored at position {@code position}.
+     *
+     * @param position the position in the parent arrays.
+     * @return the index of the parent.
+     */
+    public int getParentIndex(int position) {
+        return parentIndices.get(position);
+    }
+
+    /**
+     * Returns the weight of the arc stored at position {@code position} of the
+     * parent arrays.
+     *
+     * @param position the position in the parent arrays.
+     * @return the weight of the arc.
+     */
+    public double getParentWeight(int position) {
+        return parentWeights.get(position);
+    }
+
+    @Override
+    public int size() {
+        return nodeCount;
+    }
+
+    @Override
+    public int getNumberOfEdges() {
+        return edges;
+    }
+
+    @Override
+    public boolean hasNode(int nodeId) {
+        return indexOf(nodeId) >= 0;
+    }
+
+    @Override
+    public boolean hasEdge(int tailNodeId, int headNodeId) {
+        return findArc(tailNodeId, headNodeId) >= 0;
+    }
+
+    @Override
+    public double getEdgeWeight(int tailNodeId, int headNodeId) {
+        final int position = findArc(tailNodeId, headNodeId);
+        return position < 0 ? Double.NaN : childWeights.get(position);
+    }
+
+    @Override
+    public Set<Integer> getChildrenOf(int nodeId) {
+        return new RowSet(childOffsets, childIndices, indexOf(nodeId));
+    }
+
+    @Override
+    public Set<Integer> getParentsOf(int nodeId) {
+        return new RowSet(parentOffsets, parentIndices, indexOf(nodeId));
+    }
+
+    @Override
+    public void forEachChild(int nodeId, IntDoubleConsumer consumer) {
+        forEach(childOffsets, childIndices, childWeights, nodeId, consumer);
+    }
+
+    @Override
+    public void forEachParent(int nodeId, IntDoubleConsumer consumer) {
+        forEach(parentOffsets, parentIndices, parentWeights, nodeId, consumer);
+    }
+
+    @Override
+    public int getNumberOfChildren(int nodeId) {
+        final int index = indexOf(nodeId);
+        return index < 0 ? 0 : childOffsets.get(index + 1) -
+                               childOffsets.get(index);
+    }
+
+    @Override
+    public int getNumberOfParents(int nodeId) {
+        final int index = indexOf(nodeId);
+        return index < 0 ? 0 : parentOffsets.get(index + 1) -
+                               parentOffsets.get(index);
+    }
+
+    @Override
+    public Set<Integer> getAllNodes() {
+        return new AbstractSet<Integer>() {
+
+            @Override
+            public int size() {
+                return nodeCount;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Integer && indexOf((Integer) o) >= 0;
+            }
+
+            @Override
+            public Iterator<Integer> iterator() {
+                return new Iterator<Integer>() {
+
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < nodeCount;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        if (index == nodeCount) {
+                            throw new NoSuchElementException();
+                        }
+
+                        return nodeIds.get(index++);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Returns this graph as it never changes.
+     *
+     * @return this graph.
+     */
+    @Override
+    public MappedGraph snapshot() {
+        return this;
+    }
+
+    @Override
+    public boolean addNode(int nodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean clearNode(int nodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeNode(int nodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addEdge(int tailNodeId, int headNodeId, double weight) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEdge(int tailNodeId, int headNodeId) {
+        throw readOnly();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnly();
+    }
+
+    private void forEach(IntBuffer offsets,
+                         IntBuffer indices,
+                         DoubleBuffer weights,
+                         int nodeId,
+                         IntDoubleConsumer consumer) {
+        final int index = indexOf(nodeId);
+
+        if (index < 0) {
+            return;
+        }
+
+        final int end = offsets.get(index + 1);
+
+        for (int position = offsets.get(index); position < end; ++position) {
+            consumer.accept(nodeIds.get(indices.get(position)),
+                            weights.get(position));
+        }
+    }
+
+    private int findArc(int tailNodeId, int headNodeId) {
+        final int tailIndex = indexOf(tailNodeId);
+
+        if (tailIndex < 0) {
+            return -1;
+        }
+
+        final int headIndex = indexOf(headNodeId);
+
+        if (headIndex < 0) {
+            return -1;
+        }
+
+        return binarySearch(childIndices,
+                            childOffsets.get(tailIndex),
+                            childOffsets.get(tailIndex + 1),
+                            headIndex);
+    }
+
+    /**
+     * Returns the position of {@code key} in the sorted range
+     * {@code [begin, end)} of {@code buffer}, or -1 if it is not there.
+     */
+    private static int binarySearch(IntBuffer buffer,
+                                    int begin,
+                                    int end,
+                                    int key) {
+        int low = begin;
+        int high = end - 1;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int value = buffer.get(middle);
+
+            if (value < key) {
+                low = middle + 1;
+            } else if (value > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException(
+                "A mapped graph is read-only.");
+    }
+
+    /**
+     * Implements the set view of a single row of a CSR.
+     */
+    private final class RowSet extends AbstractSet<Integer> {
+
+        private final IntBuffer indices;
+        private final int begin;
+        private final int end;
+
+        RowSet(IntBuffer offsets, IntBuffer indices, int index) {
+            this.indices = indices;
+
+            if (index < 0) {
+                this.begin = 0;
+                this.end = 0;
+            } else {
+                this.begin = offsets.get(index);
+                this.end = offsets.get(index + 1);
+            }
+        }
+
+        @Override
+        public int size() {
+            return end - begin;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Integer)) {
+                return false;
+            }
+
+            final int index = indexOf((Integer) o);
+            return index >= 0 && binarySearch(indices, begin, end, index) >= 0;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+
+                private int position = begin;
+
+                @Override
+                public boolean hasNext() {
+                    return position < end;
+                }
+
+                @Override
+                public Integer next() {
+                    if (position == end) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return nodeIds.get(indices.get(position++));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package net.coderodde.graph.pathfinding;
+
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.CompressedGraph;
+
+/**
+ * This class implements A* search for point-to-point shortest path queries.
+ * The search is Dijkstra's algorithm with the heap ordered by the distance
+ * from the source plus the {@link Heuristic} estimate of the distance to the
+ * target, so that it heads toward the target. As the heuristic is consistent,
+ * each node is settled at most once, and the search stops as soon as the
+ * target is settled.
+ * <p>
+ * Just as {@link DijkstraPathFinder}, the finder works on a frozen copy of the
+ * input graph and reuses a per-thread workspace.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class AStarPathFinder implements PathFinder {
+
+    private final CompressedGraph graph;
+    private final Heuristic heuristic;
+    private final ThreadLocal<SearchWorkspace> workspace;
+
+    /**
+     * Constructs a finder for the current state of {@code graph}.
+     *
+     * @param graph     the graph to search.
+     * @param heuristic the distance estimates.
+     * @throws IllegalArgumentException if the graph has an edge with a
+     *                                  negative or NaN weight.
+     */
+    public AStarPathFinder(AbstractGraph graph, Heuristic heuristic) {
+        this.graph = graph.freeze();
+        this.heuristic = heuristic;
+        DijkstraPathFinder.checkWeights(this.graph);
+        final int size = this.graph.size();
+        this.workspace = ThreadLocal.withInitial(
+                () -> new SearchWorkspace(size));
+    }
+
+    @Override
+    public double getDistance(int sourceNodeId, int targetNodeId) {
+        final int source = graph.indexOf(sourceNodeId);
+        final int target = graph.indexOf(targetNodeId);
+
+        if (source < 0 || target < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        final SearchWorkspace ws = workspace.get();
+        search(ws, source, target, targetNodeId);
+        return ws.isSettled(target) ? ws.getDistance(target) :
+                                      Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public ShortestPath findPath(int sourceNodeId, int targetNodeId) {
+        final int source = graph.indexOf(sourceNodeId);
+        final int target = graph.indexOf(targetNodeId);
+
+        if (source < 0 || target < 0) {
+            return null;
+        }
+
+        final SearchWorkspace ws = workspace.get();
+        search(ws, source, target, targetNodeId);
+
+        if (!ws.isSettled(target)) {
+            return null;
+        }
+
+        return ShortestPath.build(graph, ws, target);
+    }
+
+    @Override
+    public int getSettledCount() {
+        return workspace.get().getSettledCount();
+    }
+
+    private void search(SearchWorkspace ws,
+                        int source,
+                        int target,
+                        int targetNodeId) {
+        ws.reset();
+        ws.relax(source,
+                 0.0,
+                 -1,
+                 heuristic.estimate(graph.getNodeId(source), targetNodeId));
+
+        while (!ws.isEmpty()) {
+            final int node = ws.poll();
+
+            if (node == target) {
+                return;
+            }
+
+            final double distance = ws.getDistance(node);
+            final int end = graph.getChildOffset(node + 1);
+
+            for (int p = graph.getChildOffset(node); p < end; ++p) {
+                final int child = graph.getChildIndex(p);
+
+                if (ws.isSettled(child)) {
+                    continue;
+                }
+
+                final double tentative = distance + graph.getChildWeight(p);
+
+                if (tentative < ws.getDistance(child)) {
+                    ws.relax(child,
+                             tentative,
+                             node,
+                             tentative + heuristic.estimate(
+                                     graph.getNodeId(child),
+                                     targetNodeId));
+                }
+            }
+        }
+    }
+}
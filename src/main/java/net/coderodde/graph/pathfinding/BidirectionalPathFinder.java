@@ -0,0 +1,268 @@
+package net.coderodde.graph.pathfinding;
+
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.CompressedGraph;
+
+/**
+ * This class implements bidirectional Dijkstra's algorithm and, if given a
+ * {@link Heuristic}, bidirectional A* for point-to-point shortest path
+ * queries. A forward search from the source over the children and a backward
+ * search from the target over the parents take turns; each step expands the
+ * side whose smallest heap key is smaller. Every edge scanned between the two
+ * searched regions yields a candidate path, and the search stops as soon as the
+ * two smallest heap keys add up to at least the length of the best candidate.
+ * <p>
+ * Bidirectional A* runs both searches over the balanced potentials
+ * {@code p(v) = (h(v, t) - h(s, v)) / 2} for the forward search and
+ * {@code -p(v)} for the backward one, where {@code h} is the heuristic. The
+ * potentials keep the reduced edge weights non-negative in both directions, so
+ * the same stopping condition remains correct.
+ * <p>
+ * Just as {@link DijkstraPathFinder}, the finder works on a frozen copy of the
+ * input graph and reuses a per-thread workspace.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class BidirectionalPathFinder implements PathFinder {
+
+    private final CompressedGraph graph;
+    private final Heuristic heuristic;
+    private final ThreadLocal<Workspace> workspace;
+
+    /**
+     * Constructs a bidirectional Dijkstra finder for the current state of
+     * {@code graph}.
+     *
+     * @param graph the graph to search.
+     * @throws IllegalArgumentException if the graph has an edge with a
+     *                                  negative or NaN weight.
+     */
+    public BidirectionalPathFinder(AbstractGraph graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Constructs a bidirectional A* finder for the current state of
+     * {@code graph}.
+     *
+     * @param graph     the graph to search.
+     * @param heuristic the distance estimates, or {@code null} for
+     *                  bidirectional Dijkstra's algorithm.
+     * @throws IllegalArgumentException if the graph has an edge with a
+     *                                  negative or NaN weight.
+     */
+    public BidirectionalPathFinder(AbstractGraph graph, Heuristic heuristic) {
+        this.graph = graph.freeze();
+        this.heuristic = heuristic;
+        DijkstraPathFinder.checkWeights(this.graph);
+        final int size = this.graph.size();
+        this.workspace = ThreadLocal.withInitial(() -> new Workspace(size));
+    }
+
+    @Override
+    public double getDistance(int sourceNodeId, int targetNodeId) {
+        final int source = graph.indexOf(sourceNodeId);
+        final int target = graph.indexOf(targetNodeId);
+
+        if (source < 0 || target < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        final Workspace ws = workspace.get();
+        search(ws, source, target);
+        return ws.bestDistance;
+    }
+
+    @Override
+    public ShortestPath findPath(int sourceNodeId, int targetNodeId) {
+        final int source = graph.indexOf(sourceNodeId);
+        final int target = graph.indexOf(targetNodeId);
+
+        if (source < 0 || target < 0) {
+            return null;
+        }
+
+        final Workspace ws = workspace.get();
+        search(ws, source, target);
+
+        if (ws.meetingNode < 0) {
+            return null;
+        }
+
+        int length = 0;
+
+        for (int node = ws.meetingNode;
+                node >= 0;
+                node = ws.forward.getParent(node)) {
+            length++;
+        }
+
+        for (int node = ws.meetingNode;
+                node != target;
+                node = ws.backward.getParent(node)) {
+            length++;
+        }
+
+        final int[] nodeIds = new int[length];
+        int index = 0;
+
+        for (int node = ws.meetingNode;
+                node >= 0;
+                node = ws.forward.getParent(node)) {
+            nodeIds[index++] = graph.getNodeId(node);
+        }
+
+        // The forward part was collected from the meeting node back to the
+        // source.
+        for (int i = 0, j = index - 1; i < j; ++i, --j) {
+            final int tmp = nodeIds[i];
+            nodeIds[i] = nodeIds[j];
+            nodeIds[j] = tmp;
+        }
+
+        for (int node = ws.meetingNode; node != target; ) {
+            node = ws.backward.getParent(node);
+            nodeIds[index++] = graph.getNodeId(node);
+        }
+
+        return new ShortestPath(nodeIds, ws.bestDistance);
+    }
+
+    @Override
+    public int getSettledCount() {
+        final Workspace ws = workspace.get();
+        return ws.forward.getSettledCount() + ws.backward.getSettledCount();
+    }
+
+    private void search(Workspace ws, int source, int target) {
+        final SearchWorkspace forward = ws.forward;
+        final SearchWorkspace backward = ws.backward;
+        forward.reset();
+        backward.reset();
+        ws.sourceNodeId = graph.getNodeId(source);
+        ws.targetNodeId = graph.getNodeId(target);
+        ws.bestDistance = Double.POSITIVE_INFINITY;
+        ws.meetingNode = -1;
+
+        if (source == target) {
+            forward.relax(source, 0.0, -1, 0.0);
+            ws.bestDistance = 0.0;
+            ws.meetingNode = source;
+            return;
+        }
+
+        forward.relax(source, 0.0, -1, potential(ws, source));
+        backward.relax(target, 0.0, -1, -potential(ws, target));
+
+        while (!forward.isEmpty() && !backward.isEmpty()) {
+            final double forwardKey = forward.minKey();
+            final double backwardKey = backward.minKey();
+
+            if (forwardKey + backwardKey >= ws.bestDistance) {
+                return;
+            }
+
+            if (forwardKey <= backwardKey) {
+                expandForward(ws);
+            } else {
+                expandBackward(ws);
+            }
+        }
+    }
+
+    private void expandForward(Workspace ws) {
+        final SearchWorkspace forward = ws.forward;
+        final SearchWorkspace backward = ws.backward;
+        final int node = forward.poll();
+        final double distance = forward.getDistance(node);
+        final int end = graph.getChildOffset(node + 1);
+
+        for (int p = graph.getChildOffset(node); p < end; ++p) {
+            final int child = graph.getChildIndex(p);
+            final double tentative = distance + graph.getChildWeight(p);
+
+            if (!forward.isSettled(child)
+                    && tentative < forward.getDistance(child)) {
+                forward.relax(child,
+                              tentative,
+                              node,
+                              tentative + potential(ws, child));
+            }
+
+            if (backward.isReached(child)) {
+                final double candidate = tentative +
+                                         backward.getDistance(child);
+
+                if (candidate < ws.bestDistance
+                        && forward.getDistance(child) == tentative) {
+                    ws.bestDistance = candidate;
+                    ws.meetingNode = child;
+                }
+            }
+        }
+    }
+
+    private void expandBackward(Workspace ws) {
+        final SearchWorkspace forward = ws.forward;
+        final SearchWorkspace backward = ws.backward;
+        final int node = backward.poll();
+        final double distance = backward.getDistance(node);
+        final int end = graph.getParentOffset(node + 1);
+
+        for (int p = graph.getParentOffset(node); p < end; ++p) {
+            final int parent = graph.getParentIndex(p);
+            final double tentative = distance + graph.getParentWeight(p);
+
+            if (!backward.isSettled(parent)
+                    && tentative < backward.getDistance(parent)) {
+                backward.relax(parent,
+                               tentative,
+                               node,
+                               tentative - potential(ws, parent));
+            }
+
+            if (forward.isReached(parent)) {
+                final double candidate = tentative +
+                                         forward.getDistance(parent);
+
+                if (candidate < ws.bestDistance
+                        && backward.getDistance(parent) == tentative) {
+                    ws.bestDistance = candidate;
+                    ws.meetingNode = parent;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the forward potential of {@code node}.
+     */
+    private double potential(Workspace ws, int node) {
+        if (heuristic == null) {
+            return 0.0;
+        }
+
+        final int nodeId = graph.getNodeId(node);
+        return 0.5 * (heuristic.estimate(nodeId, ws.targetNodeId) -
+                      heuristic.estimate(ws.sourceNodeId, nodeId));
+    }
+
+    /**
+     * Holds the state of a bidirectional search.
+     */
+    private static final class Workspace {
+
+        final SearchWorkspace forward;
+        final SearchWorkspace backward;
+        int sourceNodeId;
+        int targetNodeId;
+        double bestDistance;
+        int meetingNode;
+
+        Workspace(int capacity) {
+            this.forward = new SearchWorkspace(capacity);
+            this.backward = new SearchWorkspace(capacity);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package net.coderodde.graph.pathfinding;
+
+import java.util.Arrays;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.CompressedGraph;
+
+/**
+ * This class implements Dijkstra's algorithm for single-pair, single-source
+ * and one-to-many shortest path queries.
+ * <p>
+ * The finder works on a {@link CompressedGraph} taken of the input graph at
+ * construction, so later changes to the input graph are not seen; create a new
+ * finder after modifying the graph. The search runs over the dense node
+ * indices with a primitive indexed binary heap. Each thread gets a workspace
+ * holding the distances, the parents and the heap, allocated on its first
+ * query and reused by all later ones, so a query allocates nothing beyond its
+ * result. A finder may be shared by any number of threads.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class DijkstraPathFinder implements PathFinder {
+
+    private final CompressedGraph graph;
+    private final ThreadLocal<SearchWorkspace> workspace;
+
+    /**
+     * Constructs a finder for the current state of {@code graph}.
+     *
+     * @param graph the graph to search.
+     * @throws IllegalArgumentException if the graph has an edge with a
+     *                                  negative or NaN weight.
+     */
+    public DijkstraPathFinder(AbstractGraph graph) {
+        this.graph = graph.freeze();
+        checkWeights(this.graph);
+        final int size = this.graph.size();
+        this.workspace = ThreadLocal.withInitial(
+                () -> new SearchWorkspace(size));
+    }
+
+    @Override
+    public double getDistance(int sourceNodeId, int targetNodeId) {
+        final int source = graph.indexOf(sourceNodeId);
+        final int target = graph.indexOf(targetNodeId);
+
+        if (source < 0 || target < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        final SearchWorkspace ws = workspace.get();
+        search(ws, source, target, 1);
+        return ws.getDistance(target);
+    }
+
+    @Override
+    public ShortestPath findPath(int sourceNodeId, int targetNodeId) {
+        final int source = graph.indexOf(sourceNodeId);
+        final int target = graph.indexOf(targetNodeId);
+
+        if (source < 0 || target < 0) {
+            return null;
+        }
+
+        final SearchWorkspace ws = workspace.get();
+        search(ws, source, target, 1);
+
+        if (!ws.isSettled(target)) {
+            return null;
+        }
+
+        return ShortestPath.build(graph, ws, target);
+    }
+
+    /**
+     * Computes the distances from {@code sourceNodeId} to all nodes of the
+     * graph.
+     *
+     * @param sourceNodeId the source node.
+     * @return the shortest path tree rooted at the source.
+     * @throws IllegalArgumentException if the source node is not in the
+     *                                  graph.
+     */
+    public ShortestPathTree computeTree(int sourceNodeId) {
+        final int source = indexOfSource(sourceNodeId);
+        final SearchWorkspace ws = workspace.get();
+        search(ws, source, -1, 0);
+
+        final int size = graph.size();
+        final double[] distances = new double[size];
+        final int[] parents = new int[size];
+        Arrays.fill(parents, -1);
+
+        for (int node = 0; node < size; ++node) {
+            distances[node] = ws.getDistance(node);
+
+            if (ws.isReached(node)) {
+                parents[node] = ws.getParent(node);
+            }
+        }
+
+        return new ShortestPathTree(graph, sourceNodeId, distances, parents);
+    }
+
+    /**
+     * Computes the distance from {@code sourceNodeId} to each node in
+     * {@code targetNodeIds} and stores it at the same index of
+     * {@code distances}. The search stops as soon as all targets are settled.
+     * Targets that are unreachable or not in the graph get positive infinity.
+     *
+     * @param sourceNodeId  the source node.
+     * @param targetNodeIds the target nodes.
+     * @param distances     the array for the distances.
+     * @throws IllegalArgumentException if the source node is not in the graph,
+     *                                  or {@code distances} is shorter than
+     *                                  {@code targetNodeIds}.
+     */
+    public void getDistances(int sourceNodeId,
+                             int[] targetNodeIds,
+                             double[] distances) {
+        if (distances.length < targetNodeIds.length) {
+            throw new IllegalArgumentException(
+                    "The distance array is too short: " + distances.length +
+                    " < " + targetNodeIds.length + ".");
+        }
+
+        final int source = indexOfSource(sourceNodeId);
+        final SearchWorkspace ws = workspace.get();
+        ws.reset();
+        int targets = 0;
+
+        for (int targetNodeId : targetNodeIds) {
+            final int target = graph.indexOf(targetNodeId);
+
+            if (target >= 0 && ws.mark(target)) {
+                targets++;
+            }
+        }
+
+        if (targets > 0) {
+            run(ws, source, targets);
+        }
+
+        for (int i = 0; i < targetNodeIds.length; ++i) {
+            final int target = graph.indexOf(targetNodeIds[i]);
+            distances[i] = target < 0 ? Double.POSITIVE_INFINITY :
+                                        ws.getDistance(target);
+        }
+    }
+
+    @Override
+    public int getSettledCount() {
+        return workspace.get().getSettledCount();
+    }
+
+    private int indexOfSource(int sourceNodeId) {
+        final int source = graph.indexOf(sourceNodeId);
+
+        if (source < 0) {
+            throw new IllegalArgumentException(
+                    "The source node " + sourceNodeId + " is not in the graph.");
+        }
+
+        return source;
+    }
+
+    private void search(SearchWorkspace ws,
+                        int source,
+                        int target,
+                        int targets) {
+        ws.reset();
+
+        if (target >= 0) {
+            ws.mark(target);
+        }
+
+        run(ws, source, targets);
+    }
+
+    /**
+     * Runs the search from {@code source} until {@code targets} marked nodes
+     * are settled, or until the heap runs empty if {@code targets} is zero.
+     */
+    private void run(SearchWorkspace ws, int source, int targets) {
+        ws.relax(source, 0.0, -1, 0.0);
+
+        while (!ws.isEmpty()) {
+            final int node = ws.poll();
+
+            if (ws.isMarked(node) && --targets == 0) {
+                return;
+            }
+
+            final double distance = ws.getDistance(node);
+            final int end = graph.getChildOffset(node + 1);
+
+            for (int p = graph.getChildOffset(node); p < end; ++p) {
+                final double tentative = distance + graph.getChildWeight(p);
+                ws.relax(graph.getChildIndex(p), tentative, node, tentative);
+            }
+        }
+    }
+
+    /**
+     * Makes sure that every weight of {@code graph} is non-negative.
+     */
+    static void checkWeights(CompressedGraph graph) {
+        final int arcs = graph.getChildOffset(graph.size());
+
+        for (int p = 0; p < arcs; ++p) {
+            final double weight = graph.getChildWeight(p);
+
+            if (!(weight >= 0.0)) {
+                throw new IllegalArgumentException(
+                        "Dijkstra's algorithm does not allow the edge weight " +
+                        weight + ".");
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package net.coderodde.graph.pathfinding;
+
+/**
+ * This interface defines the distance estimates guiding A* search. An
+ * estimate must never exceed the true distance, and it must be consistent:
+ * for every edge {@code (u, v)} with weight {@code w} and every target
+ * {@code t}, {@code estimate(u, t) <= w + estimate(v, t)}. Straight-line
+ * distances between node coordinates satisfy both if no edge is shorter than
+ * the straight line between its end nodes.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    /**
+     * Returns a lower bound on the distance from {@code nodeId} to
+     * {@code targetNodeId}.
+     *
+     * @param nodeId       the node to estimate from.
+     * @param targetNodeId the node to estimate to.
+     * @return the distance estimate.
+     */
+    double estimate(int nodeId, int targetNodeId);
+}
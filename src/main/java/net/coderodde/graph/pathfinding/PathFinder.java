@@ -0,0 +1,42 @@
+package net.coderodde.graph.pathfinding;
+
+/**
+ * This interface defines the API of the point-to-point shortest path finders.
+ * The finders search a frozen copy of a graph and may be shared by any number
+ * of threads.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public interface PathFinder {
+
+    /**
+     * Returns the length of a shortest path from {@code sourceNodeId} to
+     * {@code targetNodeId}, or positive infinity if there is no path or either
+     * node is not in the graph.
+     *
+     * @param sourceNodeId the source node.
+     * @param targetNodeId the target node.
+     * @return the distance between the nodes.
+     */
+    double getDistance(int sourceNodeId, int targetNodeId);
+
+    /**
+     * Returns a shortest path from {@code sourceNodeId} to
+     * {@code targetNodeId}, or {@code null} if there is no path or either
+     * node is not in the graph.
+     *
+     * @param sourceNodeId the source node.
+     * @param targetNodeId the target node.
+     * @return a shortest path or {@code null}.
+     */
+    ShortestPath findPath(int sourceNodeId, int targetNodeId);
+
+    /**
+     * Returns the number of nodes settled by the last query issued by the
+     * calling thread.
+     *
+     * @return the number of settled nodes.
+     */
+    int getSettledCount();
+}
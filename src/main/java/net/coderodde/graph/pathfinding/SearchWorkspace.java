@@ -0,0 +1,230 @@
+package net.coderodde.graph.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the per-search state of a best-first search over the dense
+ * node indices of a graph: the distances, the parents and an indexed binary
+ * min-heap of the open nodes. A workspace is allocated once per thread and
+ * graph; {@link #reset()} bumps a version stamp instead of clearing the
+ * arrays, so starting a search costs constant time.
+ * <p>
+ * A node is <i>reached</i> if it has been offered to the heap during the
+ * current search, and <i>settled</i> if it has also been removed from the
+ * heap.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+final class SearchWorkspace {
+
+    /**
+     * The version at which each node was last reached.
+     */
+    private final int[] stamp;
+
+    /**
+     * The version at which each node was last marked.
+     */
+    private final int[] markStamp;
+
+    private final double[] distance;
+    private final int[] parent;
+
+    /**
+     * The heap keys of the nodes. These equal the distances in Dijkstra's
+     * algorithm and include the heuristic estimate in A*.
+     */
+    private final double[] key;
+
+    /**
+     * The position of each reached node in the heap, or -1 if it is settled.
+     */
+    private final int[] position;
+
+    private final int[] heap;
+    private int heapSize;
+    private int version;
+    private int settled;
+
+    SearchWorkspace(int capacity) {
+        this.stamp = new int[capacity];
+        this.markStamp = new int[capacity];
+        this.distance = new double[capacity];
+        this.parent = new int[capacity];
+        this.key = new double[capacity];
+        this.position = new int[capacity];
+        this.heap = new int[capacity];
+    }
+
+    /**
+     * Forgets the previous search.
+     */
+    void reset() {
+        if (++version == 0) {
+            // The stamps wrapped around, so they must be cleared for real.
+            Arrays.fill(stamp, 0);
+            Arrays.fill(markStamp, 0);
+            version = 1;
+        }
+
+        heapSize = 0;
+        settled = 0;
+    }
+
+    boolean isReached(int node) {
+        return stamp[node] == version;
+    }
+
+    boolean isSettled(int node) {
+        return stamp[node] == version && position[node] < 0;
+    }
+
+    /**
+     * Returns the tentative distance of {@code node}, or positive infinity if
+     * it is not reached.
+     */
+    double getDistance(int node) {
+        return stamp[node] == version ? distance[node] :
+                                        Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the parent of the reached node {@code node}, or -1 for the
+     * source.
+     */
+    int getParent(int node) {
+        return parent[node];
+    }
+
+    /**
+     * Marks {@code node} for the current search. Returns {@code false} if the
+     * node was marked already.
+     */
+    boolean mark(int node) {
+        if (markStamp[node] == version) {
+            return false;
+        }
+
+        markStamp[node] = version;
+        return true;
+    }
+
+    boolean isMarked(int node) {
+        return markStamp[node] == version;
+    }
+
+    /**
+     * Offers the distance {@code dist} via {@code parentNode} to {@code node}
+     * with the heap key {@code priority}. Settled nodes and distances no
+     * shorter than the current one are ignored.
+     *
+     * @return {@code true} if the distance of the node improved.
+     */
+    boolean relax(int node, double dist, int parentNode, double priority) {
+        if (stamp[node] != version) {
+            stamp[node] = version;
+            distance[node] = dist;
+            parent[node] = parentNode;
+            key[node] = priority;
+            heap[heapSize] = node;
+            siftUp(heapSize++);
+            return true;
+        }
+
+        if (position[node] < 0 || dist >= distance[node]) {
+            return false;
+        }
+
+        distance[node] = dist;
+        parent[node] = parentNode;
+        key[node] = priority;
+        siftUp(position[node]);
+        return true;
+    }
+
+    boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    /**
+     * Returns the smallest key in the heap, or positive infinity if the heap
+     * is empty.
+     */
+    double minKey() {
+        return heapSize == 0 ? Double.POSITIVE_INFINITY : key[heap[0]];
+    }
+
+    /**
+     * Removes the node with the smallest key from the heap and settles it.
+     */
+    int poll() {
+        final int node = heap[0];
+        final int last = heap[--heapSize];
+
+        if (heapSize > 0) {
+            heap[0] = last;
+            siftDown(0);
+        }
+
+        position[node] = -1;
+        settled++;
+        return node;
+    }
+
+    /**
+     * Returns the number of nodes settled since the last reset.
+     */
+    int getSettledCount() {
+        return settled;
+    }
+
+    private void siftUp(int index) {
+        final int node = heap[index];
+        final double nodeKey = key[node];
+
+        while (index > 0) {
+            final int parentIndex = (index - 1) >>> 1;
+            final int parentNode = heap[parentIndex];
+
+            if (key[parentNode] <= nodeKey) {
+                break;
+            }
+
+            heap[index] = parentNode;
+            position[parentNode] = index;
+            index = parentIndex;
+        }
+
+        heap[index] = node;
+        position[node] = index;
+    }
+
+    private void siftDown(int index) {
+        final int node = heap[index];
+        final double nodeKey = key[node];
+        final int half = heapSize >>> 1;
+
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            int childNode = heap[childIndex];
+            final int rightIndex = childIndex + 1;
+
+            if (rightIndex < heapSize && key[heap[rightIndex]] < key[childNode]) {
+                childIndex = rightIndex;
+                childNode = heap[rightIndex];
+            }
+
+            if (nodeKey <= key[childNode]) {
+                break;
+            }
+
+            heap[index] = childNode;
+            position[childNode] = index;
+            index = childIndex;
+        }
+
+        heap[index] = node;
+        position[node] = index;
+    }
+}
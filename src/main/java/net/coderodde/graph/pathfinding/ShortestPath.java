@@ -0,0 +1,88 @@
+package net.coderodde.graph.pathfinding;
+
+import java.util.Arrays;
+import net.coderodde.graph.CompressedGraph;
+
+/**
+ * This class holds a shortest path: the nodes on the path from the source to
+ * the target, and the total weight of its edges.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class ShortestPath {
+
+    private final int[] nodeIds;
+    private final double cost;
+
+    ShortestPath(int[] nodeIds, double cost) {
+        this.nodeIds = nodeIds;
+        this.cost = cost;
+    }
+
+    /**
+     * Builds the path to the reached node {@code target} by following the
+     * parents stored in {@code ws}.
+     */
+    static ShortestPath build(CompressedGraph graph,
+                              SearchWorkspace ws,
+                              int target) {
+        int length = 0;
+
+        for (int node = target; node >= 0; node = ws.getParent(node)) {
+            length++;
+        }
+
+        final int[] nodeIds = new int[length];
+
+        for (int node = target; node >= 0; node = ws.getParent(node)) {
+            nodeIds[--length] = graph.getNodeId(node);
+        }
+
+        return new ShortestPath(nodeIds, ws.getDistance(target));
+    }
+
+    /**
+     * Returns the total weight of the edges on this path.
+     *
+     * @return the cost of this path.
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Returns the number of nodes on this path, which is one more than the
+     * number of edges.
+     *
+     * @return the number of nodes.
+     */
+    public int size() {
+        return nodeIds.length;
+    }
+
+    /**
+     * Returns the {@code index}th node on this path. The source node has the
+     * index zero.
+     *
+     * @param index the index of the node on this path.
+     * @return the node ID.
+     */
+    public int getNode(int index) {
+        return nodeIds[index];
+    }
+
+    /**
+     * Returns the nodes of this path from the source to the target.
+     *
+     * @return a new array of the node IDs.
+     */
+    public int[] toArray() {
+        return nodeIds.clone();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(nodeIds) + ", cost " + cost;
+    }
+}
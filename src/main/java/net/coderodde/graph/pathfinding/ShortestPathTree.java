@@ -0,0 +1,100 @@
+package net.coderodde.graph.pathfinding;
+
+import net.coderodde.graph.CompressedGraph;
+
+/**
+ * This class holds the result of a single-source shortest path search: the
+ * distance of every node from the source, and a shortest path tree leading to
+ * each reachable node.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class ShortestPathTree {
+
+    private final CompressedGraph graph;
+    private final int sourceNodeId;
+
+    /**
+     * The distance of each node by index. Unreachable nodes have the distance
+     * of positive infinity.
+     */
+    private final double[] distances;
+
+    /**
+     * The index of the parent of each node, or -1 for the source and the
+     * unreachable nodes.
+     */
+    private final int[] parents;
+
+    ShortestPathTree(CompressedGraph graph,
+                     int sourceNodeId,
+                     double[] distances,
+                     int[] parents) {
+        this.graph = graph;
+        this.sourceNodeId = sourceNodeId;
+        this.distances = distances;
+        this.parents = parents;
+    }
+
+    /**
+     * Returns the source node of this tree.
+     *
+     * @return the source node.
+     */
+    public int getSourceNodeId() {
+        return sourceNodeId;
+    }
+
+    /**
+     * Returns {@code true} if {@code nodeId} is reachable from the source.
+     *
+     * @param nodeId the query node.
+     * @return {@code true} if the node is reachable.
+     */
+    public boolean isReachable(int nodeId) {
+        final int index = graph.indexOf(nodeId);
+        return index >= 0 && distances[index] != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the distance from the source to {@code nodeId}, or positive
+     * infinity if the node is not reachable.
+     *
+     * @param nodeId the query node.
+     * @return the distance of the node.
+     */
+    public double getDistance(int nodeId) {
+        final int index = graph.indexOf(nodeId);
+        return index < 0 ? Double.POSITIVE_INFINITY : distances[index];
+    }
+
+    /**
+     * Returns a shortest path from the source to {@code nodeId}, or
+     * {@code null} if the node is not reachable.
+     *
+     * @param nodeId the target node.
+     * @return a shortest path or {@code null}.
+     */
+    public ShortestPath getPathTo(int nodeId) {
+        final int index = graph.indexOf(nodeId);
+
+        if (index < 0 || distances[index] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        int length = 0;
+
+        for (int i = index; i >= 0; i = parents[i]) {
+            length++;
+        }
+
+        final int[] path = new int[length];
+
+        for (int i = index; i >= 0; i = parents[i]) {
+            path[--length] = graph.getNodeId(i);
+        }
+
+        return new ShortestPath(path, distances[index]);
+    }
+}
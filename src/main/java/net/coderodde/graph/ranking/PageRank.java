@@ -0,0 +1,326 @@
+package net.coderodde.graph.ranking;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.CompressedGraph;
+import net.coderodde.graph.ParallelRange;
+
+/**
+ * This class implements PageRank and personalized PageRank by power iteration.
+ * Edge weights are ignored: each node splits its rank evenly among its
+ * children. The rank of the dangling nodes, which have no children, is
+ * redistributed along the teleport distribution, which is uniform for plain
+ * PageRank and given by the client for personalized PageRank.
+ * <p>
+ * Each iteration is pull-based: every node sums up the contributions of its
+ * parents in the reverse adjacency of a {@link CompressedGraph} taken of the
+ * input graph, so no two tasks write to the same entry and no atomics are
+ * needed. The node range is split among fork-join tasks.
+ * <p>
+ * An instance remembers the graph of its last run, its modification count and
+ * the resulting ranks. If the next run is on the same graph, and the
+ * modification count has grown by at most the warm start threshold times the
+ * number of edges, the iteration starts from the previous ranks rather than
+ * from the teleport distribution, which usually takes far fewer iterations.
+ * The instances are not thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class PageRank {
+
+    /**
+     * The number of nodes below which a task is not split.
+     */
+    private static final int GRAIN = 4096;
+
+    private final ForkJoinPool pool;
+
+    private double dampingFactor = 0.85;
+    private double tolerance = 1e-9;
+    private int maxIterations = 100;
+    private double warmStartThreshold = 0.1;
+
+    private AbstractGraph lastGraph;
+    private int lastModificationCount;
+    private PageRankResult lastResult;
+
+    /**
+     * Constructs a PageRank engine running in the common fork-join pool.
+     */
+    public PageRank() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a PageRank engine running in {@code pool}.
+     *
+     * @param pool the pool running the tasks.
+     */
+    public PageRank(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Sets the probability of following an edge rather than teleporting. The
+     * default is 0.85.
+     *
+     * @param dampingFactor the damping factor in {@code [0, 1)}.
+     */
+    public void setDampingFactor(double dampingFactor) {
+        if (!(dampingFactor >= 0.0 && dampingFactor < 1.0)) {
+            throw new IllegalArgumentException(
+                    "The damping factor must be in [0, 1): " +
+                    dampingFactor + ".");
+        }
+
+        this.dampingFactor = dampingFactor;
+    }
+
+    /**
+     * Sets the L1 distance between two consecutive rank vectors below which
+     * the iteration stops. The default is 1e-9.
+     *
+     * @param tolerance the positive tolerance.
+     */
+    public void setTolerance(double tolerance) {
+        if (!(tolerance > 0.0)) {
+            throw new IllegalArgumentException(
+                    "The tolerance must be positive: " + tolerance + ".");
+        }
+
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Sets the maximum number of iterations. The default is 100.
+     *
+     * @param maxIterations the positive iteration limit.
+     */
+    public void setMaxIterations(int maxIterations) {
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException(
+                    "The iteration limit must be positive: " +
+                    maxIterations + ".");
+        }
+
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Sets the largest growth of the modification count, relative to the
+     * number of edges, for which a run on the graph of the previous run starts
+     * from the previous ranks. The default is 0.1; zero disables warm starts
+     * unless the graph is unchanged.
+     *
+     * @param warmStartThreshold the non-negative threshold.
+     */
+    public void setWarmStartThreshold(double warmStartThreshold) {
+        if (!(warmStartThreshold >= 0.0)) {
+            throw new IllegalArgumentException(
+                    "The warm start threshold must be non-negative: " +
+                    warmStartThreshold + ".");
+        }
+
+        this.warmStartThreshold = warmStartThreshold;
+    }
+
+    /**
+     * Computes the PageRank of every node of {@code graph}.
+     *
+     * @param graph the graph to rank.
+     * @return the ranks.
+     */
+    public PageRankResult compute(AbstractGraph graph) {
+        final CompressedGraph compressed = graph.freeze();
+        final double[] teleport = new double[compressed.size()];
+        Arrays.fill(teleport, 1.0 / compressed.size());
+        return run(graph, compressed, teleport);
+    }
+
+    /**
+     * Computes the personalized PageRank of every node of {@code graph}. The
+     * random surfer teleports to the node {@code nodeIds[i]} with probability
+     * proportional to {@code weights[i]}.
+     *
+     * @param graph   the graph to rank.
+     * @param nodeIds the teleport targets.
+     * @param weights the non-negative teleport weights, or {@code null} for
+     *                equal weights.
+     * @return the ranks.
+     * @throws IllegalArgumentException if a teleport target is not in the
+     *                                  graph, or the weights are negative or
+     *                                  sum up to zero.
+     */
+    public PageRankResult computePersonalized(AbstractGraph graph,
+                                              int[] nodeIds,
+                                              double[] weights) {
+        if (weights != null && weights.length != nodeIds.length) {
+            throw new IllegalArgumentException(
+                    "The number of weights " + weights.length +
+                    " does not match the number of nodes " + nodeIds.length +
+                    ".");
+        }
+
+        final CompressedGraph compressed = graph.freeze();
+        final double[] teleport = new double[compressed.size()];
+        double sum = 0.0;
+
+        for (int i = 0; i < nodeIds.length; ++i) {
+            final int index = compressed.indexOf(nodeIds[i]);
+
+            if (index < 0) {
+                throw new IllegalArgumentException(
+                        "The node " + nodeIds[i] + " is not in the graph.");
+            }
+
+            final double weight = weights == null ? 1.0 : weights[i];
+
+            if (!(weight >= 0.0)) {
+                throw new IllegalArgumentException(
+                        "Bad teleport weight: " + weight + ".");
+            }
+
+            teleport[index] += weight;
+            sum += weight;
+        }
+
+        if (!(sum > 0.0)) {
+            throw new IllegalArgumentException(
+                    "The teleport weights sum up to " + sum + ".");
+        }
+
+        for (int i = 0; i < teleport.length; ++i) {
+            teleport[i] /= sum;
+        }
+
+        return run(graph, compressed, teleport);
+    }
+
+    private PageRankResult run(AbstractGraph graph,
+                               CompressedGraph compressed,
+                               double[] teleport) {
+        final int n = compressed.size();
+        double[] ranks = new double[n];
+        final boolean warmStarted = canWarmStart(graph);
+
+        if (warmStarted) {
+            warmStart(compressed, teleport, ranks);
+        } else {
+            System.arraycopy(teleport, 0, ranks, 0, n);
+        }
+
+        final double[] contributions = new double[n];
+        double[] next = new double[n];
+        double residual = Double.POSITIVE_INFINITY;
+        int iterations = 0;
+
+        while (iterations < maxIterations && residual >= tolerance && n > 0) {
+            final double[] currentRanks = ranks;
+            final double[] nextRanks = next;
+
+            // Pass 1: spread the rank of each node over its children, and
+            // collect the rank of the dangling nodes.
+            double dangling = ParallelRange.sum(pool, 0, n, GRAIN, (b, e) -> {
+                double sum = 0.0;
+
+                for (int node = b; node < e; ++node) {
+                    final int degree = compressed.getChildOffset(node + 1) -
+                                       compressed.getChildOffset(node);
+
+                    if (degree == 0) {
+                        contributions[node] = 0.0;
+                        sum += currentRanks[node];
+                    } else {
+                        contributions[node] = currentRanks[node] / degree;
+                    }
+                }
+
+                return sum;
+            });
+
+            // Pass 2: pull the contributions of the parents.
+            residual = ParallelRange.sum(pool, 0, n, GRAIN, (b, e) -> {
+                double sum = 0.0;
+
+                for (int node = b; node < e; ++node) {
+                    final int end = compressed.getParentOffset(node + 1);
+                    double pulled = 0.0;
+
+                    for (int p = compressed.getParentOffset(node);
+                            p < end;
+                            ++p) {
+                        pulled += contributions[compressed.getParentIndex(p)];
+                    }
+
+                    final double rank =
+                            (1.0 - dampingFactor) * teleport[node] +
+                            dampingFactor * (pulled +
+                                             dangling * teleport[node]);
+                    nextRanks[node] = rank;
+                    sum += Math.abs(rank - currentRanks[node]);
+                }
+
+                return sum;
+            });
+
+            next = ranks;
+            ranks = nextRanks;
+            iterations++;
+        }
+
+        if (n == 0) {
+            residual = 0.0;
+        }
+
+        final PageRankResult result = new PageRankResult(compressed,
+                                                         ranks,
+                                                         iterations,
+                                                         residual,
+                                                         residual < tolerance,
+                                                         warmStarted);
+        lastGraph = graph;
+        lastModificationCount = graph.getModificationCount();
+        lastResult = result;
+        return result;
+    }
+
+    private boolean canWarmStart(AbstractGraph graph) {
+        if (graph != lastGraph) {
+            return false;
+        }
+
+        final long changes = (long) graph.getModificationCount() -
+                             lastModificationCount;
+        return changes >= 0L &&
+               changes <= warmStartThreshold * graph.getNumberOfEdges();
+    }
+
+    /**
+     * Seeds {@code ranks} with the previous ranks of the nodes still in the
+     * graph, gives the new nodes their teleport probability, and normalizes
+     * the vector.
+     */
+    private void warmStart(CompressedGraph compressed,
+                           double[] teleport,
+                           double[] ranks) {
+        final CompressedGraph previous = lastResult.getGraph();
+        double sum = 0.0;
+
+        for (int node = 0; node < ranks.length; ++node) {
+            final int index = previous.indexOf(compressed.getNodeId(node));
+            ranks[node] = index < 0 ? teleport[node] :
+                                      lastResult.getRankByIndex(index);
+            sum += ranks[node];
+        }
+
+        if (sum > 0.0) {
+            for (int node = 0; node < ranks.length; ++node) {
+                ranks[node] /= sum;
+            }
+        } else {
+            System.arraycopy(teleport, 0, ranks, 0, ranks.length);
+        }
+    }
+}
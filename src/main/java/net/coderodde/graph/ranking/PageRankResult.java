@@ -0,0 +1,96 @@
+package net.coderodde.graph.ranking;
+
+import net.coderodde.graph.CompressedGraph;
+
+/**
+ * This class holds the result of a {@link PageRank} computation.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class PageRankResult {
+
+    private final CompressedGraph graph;
+
+    /**
+     * The rank of each node by index.
+     */
+    private final double[] ranks;
+
+    private final int iterations;
+    private final double residual;
+    private final boolean converged;
+    private final boolean warmStarted;
+
+    PageRankResult(CompressedGraph graph,
+                   double[] ranks,
+                   int iterations,
+                   double residual,
+                   boolean converged,
+                   boolean warmStarted) {
+        this.graph = graph;
+        this.ranks = ranks;
+        this.iterations = iterations;
+        this.residual = residual;
+        this.converged = converged;
+        this.warmStarted = warmStarted;
+    }
+
+    /**
+     * Returns the rank of {@code nodeId}, or {@link java.lang.Double#NaN} if
+     * the node was not in the graph. The ranks of all nodes sum up to one.
+     *
+     * @param nodeId the query node.
+     * @return the rank of the node.
+     */
+    public double getRank(int nodeId) {
+        final int index = graph.indexOf(nodeId);
+        return index < 0 ? Double.NaN : ranks[index];
+    }
+
+    /**
+     * Returns the number of power iterations run.
+     *
+     * @return the number of iterations.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns the L1 distance between the last two rank vectors.
+     *
+     * @return the residual.
+     */
+    public double getResidual() {
+        return residual;
+    }
+
+    /**
+     * Returns {@code true} if the residual dropped below the tolerance before
+     * the iteration limit was reached.
+     *
+     * @return {@code true} if the computation converged.
+     */
+    public boolean isConverged() {
+        return converged;
+    }
+
+    /**
+     * Returns {@code true} if the computation started from the ranks of the
+     * previous run.
+     *
+     * @return {@code true} if the computation was warm-started.
+     */
+    public boolean isWarmStarted() {
+        return warmStarted;
+    }
+
+    CompressedGraph getGraph() {
+        return graph;
+    }
+
+    double getRankByIndex(int index) {
+        return ranks[index];
+    }
+}
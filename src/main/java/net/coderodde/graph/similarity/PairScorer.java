@@ -0,0 +1,105 @@
+package net.coderodde.graph.similarity;
+
+import java.util.concurrent.ForkJoinPool;
+import net.coderodde.graph.CompressedGraph;
+import net.coderodde.graph.ParallelRange;
+
+/**
+ * This class scores many node pairs at once over a {@link SortedAdjacency}.
+ * The pairs are split among fork-join tasks, each scoring a contiguous range
+ * of pairs into its part of the result array, so the tasks share nothing but
+ * the read-only adjacency. Pairs with a node not in the graph score zero.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class PairScorer {
+
+    /**
+     * The number of pairs below which a task is not split.
+     */
+    private static final int GRAIN = 1024;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a scorer running in the common fork-join pool.
+     */
+    public PairScorer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a scorer running in {@code pool}.
+     *
+     * @param pool the pool running the tasks.
+     */
+    public PairScorer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Computes the number of common neighbors of each pair
+     * {@code (nodeIds1[i], nodeIds2[i])}.
+     *
+     * @param adjacency the sorted adjacency.
+     * @param nodeIds1  the first nodes of the pairs.
+     * @param nodeIds2  the second nodes of the pairs.
+     * @return the number of common neighbors of each pair.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     */
+    public int[] intersectionSizes(SortedAdjacency adjacency,
+                                   int[] nodeIds1,
+                                   int[] nodeIds2) {
+        checkPairs(nodeIds1, nodeIds2);
+        final CompressedGraph graph = adjacency.getCompressedGraph();
+        final int[] sizes = new int[nodeIds1.length];
+
+        ParallelRange.forEach(pool, 0, nodeIds1.length, GRAIN, (begin, end) -> {
+            for (int i = begin; i < end; ++i) {
+                final int node1 = graph.indexOf(nodeIds1[i]);
+                final int node2 = graph.indexOf(nodeIds2[i]);
+
+                if (node1 >= 0 && node2 >= 0) {
+                    sizes[i] = adjacency.intersect(node1, node2, null);
+                }
+            }
+        });
+
+        return sizes;
+    }
+
+    /**
+     * Computes the Jaccard similarity of each pair
+     * {@code (nodeIds1[i], nodeIds2[i])}.
+     *
+     * @param adjacency the sorted adjacency.
+     * @param nodeIds1  the first nodes of the pairs.
+     * @param nodeIds2  the second nodes of the pairs.
+     * @return the Jaccard similarity of each pair.
+     * @throws IllegalArgumentException if the arrays differ in length.
+     * @see SortedAdjacency#jaccard(int, int)
+     */
+    public double[] jaccard(SortedAdjacency adjacency,
+                            int[] nodeIds1,
+                            int[] nodeIds2) {
+        checkPairs(nodeIds1, nodeIds2);
+        final double[] scores = new double[nodeIds1.length];
+
+        ParallelRange.forEach(pool, 0, nodeIds1.length, GRAIN, (begin, end) -> {
+            for (int i = begin; i < end; ++i) {
+                scores[i] = adjacency.jaccard(nodeIds1[i], nodeIds2[i]);
+            }
+        });
+
+        return scores;
+    }
+
+    private static void checkPairs(int[] nodeIds1, int[] nodeIds2) {
+        if (nodeIds1.length != nodeIds2.length) {
+            throw new IllegalArgumentException(
+                    "The pair arrays differ in length: " + nodeIds1.length +
+                    " vs. " + nodeIds2.length + ".");
+        }
+    }
+}
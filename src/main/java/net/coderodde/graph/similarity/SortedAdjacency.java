@@ -0,0 +1,265 @@
+package net.coderodde.graph.similarity;
+
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.CompressedGraph;
+
+/**
+ * This class holds the adjacency of a graph with every row sorted, so that
+ * the neighborhoods of two nodes may be intersected without hashing or
+ * boxing. It works on the rows of a {@link CompressedGraph} taken of the
+ * graph, which hold the dense indices of the neighbors in ascending order, so
+ * it takes no memory beyond the compressed graph. Looking up an edge is a
+ * binary search in a row, and two rows are intersected by a merge, or by
+ * galloping through the longer row when one row is much shorter than the
+ * other.
+ * <p>
+ * The neighbors of a node are its children; in an undirected graph, they are
+ * its parents as well. Nodes not in the graph have no neighbors. The
+ * adjacency describes the graph at the time of construction and does not
+ * follow later changes. It is immutable and may be shared by any number of
+ * threads.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class SortedAdjacency {
+
+    /**
+     * The ratio of the row lengths above which the shorter row gallops
+     * through the longer one instead of merging with it.
+     */
+    private static final int GALLOP_RATIO = 16;
+
+    private final CompressedGraph graph;
+
+    /**
+     * Builds the sorted adjacency of {@code graph}.
+     *
+     * @param graph the graph.
+     */
+    public SortedAdjacency(AbstractGraph graph) {
+        this.graph = graph.freeze();
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the number of nodes.
+     */
+    public int size() {
+        return graph.size();
+    }
+
+    /**
+     * Returns the number of neighbors of the node {@code nodeId}.
+     *
+     * @param nodeId the node ID.
+     * @return the number of neighbors, or zero if there is no such node.
+     */
+    public int getDegree(int nodeId) {
+        return graph.getNumberOfChildren(nodeId);
+    }
+
+    /**
+     * Returns {@code true} if the node {@code headNodeId} is a neighbor of the
+     * node {@code tailNodeId}.
+     *
+     * @param tailNodeId the tail node.
+     * @param headNodeId the head node.
+     * @return {@code true} if the edge exists.
+     */
+    public boolean hasEdge(int tailNodeId, int headNodeId) {
+        // The compressed graph searches the sorted row of the tail.
+        return graph.hasEdge(tailNodeId, headNodeId);
+    }
+
+    /**
+     * Returns the common neighbors of the nodes {@code nodeId1} and
+     * {@code nodeId2}, ordered by their indices in the compressed graph.
+     *
+     * @param nodeId1 the first node.
+     * @param nodeId2 the second node.
+     * @return the IDs of the common neighbors.
+     */
+    public int[] commonNeighbors(int nodeId1, int nodeId2) {
+        final int node1 = graph.indexOf(nodeId1);
+        final int node2 = node1 < 0 ? -1 : graph.indexOf(nodeId2);
+
+        if (node2 < 0) {
+            return new int[0];
+        }
+
+        final int[] common = new int[Math.min(degreeAt(node1),
+                                              degreeAt(node2))];
+        final int count = intersect(node1, node2, common);
+        final int[] nodeIds = new int[count];
+
+        for (int i = 0; i < count; ++i) {
+            nodeIds[i] = graph.getNodeId(common[i]);
+        }
+
+        return nodeIds;
+    }
+
+    /**
+     * Returns the number of common neighbors of the nodes {@code nodeId1} and
+     * {@code nodeId2}.
+     *
+     * @param nodeId1 the first node.
+     * @param nodeId2 the second node.
+     * @return the number of common neighbors.
+     */
+    public int intersectionSize(int nodeId1, int nodeId2) {
+        final int node1 = graph.indexOf(nodeId1);
+        final int node2 = node1 < 0 ? -1 : graph.indexOf(nodeId2);
+        return node2 < 0 ? 0 : intersect(node1, node2, null);
+    }
+
+    /**
+     * Returns the Jaccard similarity of the neighborhoods of the nodes
+     * {@code nodeId1} and {@code nodeId2}: the number of common neighbors
+     * divided by the number of neighbors of either node. Two nodes without
+     * neighbors have the similarity zero.
+     *
+     * @param nodeId1 the first node.
+     * @param nodeId2 the second node.
+     * @return the Jaccard similarity within {@code [0, 1]}.
+     */
+    public double jaccard(int nodeId1, int nodeId2) {
+        final int node1 = graph.indexOf(nodeId1);
+        final int node2 = graph.indexOf(nodeId2);
+
+        if (node1 < 0 || node2 < 0) {
+            return 0.0;
+        }
+
+        final int common = intersect(node1, node2, null);
+        final int union = degreeAt(node1) + degreeAt(node2) - common;
+        return union == 0 ? 0.0 : (double) common / union;
+    }
+
+    /**
+     * Returns the compressed graph this adjacency was built from. The rows of
+     * this adjacency are indexed by its node indices.
+     *
+     * @return the compressed graph.
+     */
+    public CompressedGraph getCompressedGraph() {
+        return graph;
+    }
+
+    private int degreeAt(int node) {
+        return graph.getChildOffset(node + 1) - graph.getChildOffset(node);
+    }
+
+    /**
+     * Intersects the rows of the nodes with indices {@code node1} and
+     * {@code node2}, stores the common indices in {@code out} unless it is
+     * {@code null}, and returns their number.
+     */
+    int intersect(int node1, int node2, int[] out) {
+        int a = graph.getChildOffset(node1);
+        int aEnd = graph.getChildOffset(node1 + 1);
+        int b = graph.getChildOffset(node2);
+        int bEnd = graph.getChildOffset(node2 + 1);
+
+        if (aEnd - a > bEnd - b) {
+            final int t = a; a = b; b = t;
+            final int tEnd = aEnd; aEnd = bEnd; bEnd = tEnd;
+        }
+
+        if (a == aEnd) {
+            return 0;
+        }
+
+        return (long) (bEnd - b) > (long) GALLOP_RATIO * (aEnd - a) ?
+               gallopingIntersect(a, aEnd, b, bEnd, out) :
+               mergingIntersect(a, aEnd, b, bEnd, out);
+    }
+
+    /**
+     * Intersects two rows of similar lengths by merging them. Only the steps
+     * advancing the positions are branch-free; recording a common neighbor
+     * still branches on the equality of the two entries.
+     */
+    private int mergingIntersect(int a, int aEnd, int b, int bEnd, int[] out) {
+        int count = 0;
+
+        while (a < aEnd && b < bEnd) {
+            final int x = graph.getChildIndex(a);
+            final int y = graph.getChildIndex(b);
+
+            if (x == y) {
+                if (out != null) {
+                    out[count] = x;
+                }
+
+                count++;
+            }
+
+            a += x <= y ? 1 : 0;
+            b += y <= x ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    /**
+     * Intersects the short row {@code [a, aEnd)} with the long row
+     * {@code [b, bEnd)} by searching each element of the short row in the
+     * rest of the long row, doubling the step until it passes the element
+     * and then bisecting the last step.
+     */
+    private int gallopingIntersect(int a,
+                                   int aEnd,
+                                   int b,
+                                   int bEnd,
+                                   int[] out) {
+        int count = 0;
+
+        for (; a < aEnd && b < bEnd; ++a) {
+            final int x = graph.getChildIndex(a);
+            int step = 1;
+            int low = b;
+
+            while (b + step < bEnd && graph.getChildIndex(b + step) < x) {
+                low = b + step;
+                step <<= 1;
+            }
+
+            // The first element not less than x is within (low, high].
+            int high = Math.min(b + step, bEnd - 1);
+
+            if (graph.getChildIndex(low) >= x) {
+                high = low;
+            } else {
+                while (high - low > 1) {
+                    final int middle = (low + high) >>> 1;
+
+                    if (graph.getChildIndex(middle) < x) {
+                        low = middle;
+                    } else {
+                        high = middle;
+                    }
+                }
+            }
+
+            if (graph.getChildIndex(high) < x) {
+                break;
+            }
+
+            b = high;
+
+            if (graph.getChildIndex(b) == x) {
+                if (out != null) {
+                    out[count] = x;
+                }
+
+                count++;
+                b++;
+            }
+        }
+
+        return count;
+    }
+}
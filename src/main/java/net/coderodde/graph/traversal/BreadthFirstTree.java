@@ -0,0 +1,88 @@
+package net.coderodde.graph.traversal;
+
+import java.util.NoSuchElementException;
+import net.coderodde.graph.CompressedGraph;
+
+/**
+ * This class holds the result of a breadth-first search: the hop distance of
+ * every node from the source, and a breadth-first tree leading to each
+ * reachable node.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class BreadthFirstTree {
+
+    private final CompressedGraph graph;
+    private final int sourceNodeId;
+
+    /**
+     * The hop distance of each node by index, or -1 for the unreachable nodes.
+     */
+    private final int[] distances;
+
+    /**
+     * The index of the parent of each reachable node other than the source.
+     */
+    private final int[] parents;
+
+    BreadthFirstTree(CompressedGraph graph,
+                     int sourceNodeId,
+                     int[] distances,
+                     int[] parents) {
+        this.graph = graph;
+        this.sourceNodeId = sourceNodeId;
+        this.distances = distances;
+        this.parents = parents;
+    }
+
+    /**
+     * Returns the source node of this tree.
+     *
+     * @return the source node.
+     */
+    public int getSourceNodeId() {
+        return sourceNodeId;
+    }
+
+    /**
+     * Returns {@code true} if {@code nodeId} is reachable from the source.
+     *
+     * @param nodeId the query node.
+     * @return {@code true} if the node is reachable.
+     */
+    public boolean isReachable(int nodeId) {
+        return getDistance(nodeId) >= 0;
+    }
+
+    /**
+     * Returns the number of edges on a shortest path from the source to
+     * {@code nodeId}, or -1 if the node is not reachable.
+     *
+     * @param nodeId the query node.
+     * @return the hop distance of the node.
+     */
+    public int getDistance(int nodeId) {
+        final int index = graph.indexOf(nodeId);
+        return index < 0 ? -1 : distances[index];
+    }
+
+    /**
+     * Returns the parent of {@code nodeId} in this tree.
+     *
+     * @param nodeId the query node.
+     * @return the parent node.
+     * @throws NoSuchElementException if the node is the source or is not
+     *                                reachable.
+     */
+    public int getParent(int nodeId) {
+        final int index = graph.indexOf(nodeId);
+
+        if (index < 0 || distances[index] <= 0) {
+            throw new NoSuchElementException(
+                    "The node " + nodeId + " has no parent.");
+        }
+
+        return graph.getNodeId(parents[index]);
+    }
+}
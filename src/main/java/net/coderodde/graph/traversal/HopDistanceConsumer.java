@@ -0,0 +1,21 @@
+package net.coderodde.graph.traversal;
+
+/**
+ * This interface defines the callback receiving the hop distances computed by
+ * {@link MultiSourceBreadthFirstSearch}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+@FunctionalInterface
+public interface HopDistanceConsumer {
+
+    /**
+     * Accepts the hop distance from {@code sourceNodeId} to {@code nodeId}.
+     *
+     * @param sourceNodeId the source node.
+     * @param nodeId       the reached node.
+     * @param distance     the number of edges on a shortest path.
+     */
+    void accept(int sourceNodeId, int nodeId, int distance);
+}
@@ -0,0 +1,203 @@
+package net.coderodde.graph.traversal;
+
+import java.util.Arrays;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.CompressedGraph;
+
+/**
+ * This class implements the multi-source breadth-first search of Then et al.
+ * (2014) over a {@link CompressedGraph} taken of the input graph at
+ * construction. The sources are processed in batches; within a batch, each
+ * node carries one bit per source in an array of {@code long} masks, telling
+ * which searches have seen the node and which have it in their frontier. A
+ * single scan of the children of a node thus advances all the searches of the
+ * batch at once, with a bitwise or per 64 sources.
+ * <p>
+ * The search works on directed and undirected graphs alike. The instances are
+ * not thread-safe, but distinct instances over the same graph may run
+ * concurrently.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class MultiSourceBreadthFirstSearch {
+
+    private static final int DEFAULT_BATCH_SIZE = 64;
+
+    /**
+     * The largest length of a mask array, leaving room for the array header
+     * as some virtual machines require.
+     */
+    private static final int MAX_MASK_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final CompressedGraph graph;
+    private int batchWords = DEFAULT_BATCH_SIZE / 64;
+
+    /**
+     * Constructs a search over the current state of {@code graph}.
+     *
+     * @param graph the graph to search.
+     */
+    public MultiSourceBreadthFirstSearch(AbstractGraph graph) {
+        this.graph = graph.freeze();
+    }
+
+    /**
+     * Sets the number of sources searched at once. Larger batches scan the
+     * adjacency fewer times but need {@code 3 * batchSize / 8} bytes per node.
+     *
+     * @param batchSize the number of sources per batch, a positive multiple of
+     *                  64.
+     * @throws IllegalArgumentException if {@code batchSize} is not a positive
+     *         multiple of 64, or if the masks of a batch of that size would
+     *         not fit in a Java array.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0 || batchSize % 64 != 0) {
+            throw new IllegalArgumentException(
+                    "The batch size must be a positive multiple of 64: " +
+                    batchSize + ".");
+        }
+
+        checkMaskLength(batchSize / 64);
+        this.batchWords = batchSize / 64;
+    }
+
+    /**
+     * Runs a breadth-first search from each node of {@code sourceNodeIds} and
+     * reports the hop distance of every node reachable from it to
+     * {@code consumer}, the source itself included with distance zero. The
+     * distances of each source are reported in non-decreasing order.
+     *
+     * @param sourceNodeIds the source nodes.
+     * @param consumer      the distance consumer.
+     * @throws IllegalArgumentException if a source node is not in the graph.
+     */
+    public void search(int[] sourceNodeIds, HopDistanceConsumer consumer) {
+        final int[] sources = new int[sourceNodeIds.length];
+
+        for (int i = 0; i < sources.length; ++i) {
+            sources[i] = graph.indexOf(sourceNodeIds[i]);
+
+            if (sources[i] < 0) {
+                throw new IllegalArgumentException(
+                        "The source node " + sourceNodeIds[i] +
+                        " is not in the graph.");
+            }
+        }
+
+        final int n = graph.size();
+        final int k = batchWords;
+        final int batchSize = 64 * k;
+        checkMaskLength(k);
+        final long[] seen = new long[n * k];
+        long[] visit = new long[n * k];
+        long[] visitNext = new long[n * k];
+
+        for (int begin = 0, end; begin < sources.length; begin = end) {
+            // Computed without overflowing for the batches close to 2^31.
+            end = begin + Math.min(batchSize, sources.length - begin);
+
+            if (begin > 0) {
+                Arrays.fill(seen, 0L);
+                Arrays.fill(visit, 0L);
+            }
+
+            for (int i = begin; i < end; ++i) {
+                final int lane = i - begin;
+                final int slot = sources[i] * k + (lane >>> 6);
+                seen[slot] |= 1L << lane;
+                visit[slot] |= 1L << lane;
+                consumer.accept(sourceNodeIds[i], sourceNodeIds[i], 0);
+            }
+
+            for (int depth = 1; ; ++depth) {
+                // Push the frontier bits of every node to its children.
+                for (int node = 0; node < n; ++node) {
+                    final int base = node * k;
+
+                    if (isZero(visit, base, k)) {
+                        continue;
+                    }
+
+                    final int arcEnd = graph.getChildOffset(node + 1);
+
+                    for (int p = graph.getChildOffset(node); p < arcEnd; ++p) {
+                        final int childBase = graph.getChildIndex(p) * k;
+
+                        for (int w = 0; w < k; ++w) {
+                            visitNext[childBase + w] |= visit[base + w];
+                        }
+                    }
+                }
+
+                // Keep only the bits of the searches reaching a node for the
+                // first time.
+                boolean active = false;
+
+                for (int node = 0; node < n; ++node) {
+                    final int base = node * k;
+
+                    for (int w = 0; w < k; ++w) {
+                        final long discovered = visitNext[base + w] &
+                                                ~seen[base + w];
+                        visitNext[base + w] = discovered;
+
+                        if (discovered == 0L) {
+                            continue;
+                        }
+
+                        active = true;
+                        seen[base + w] |= discovered;
+                        final int nodeId = graph.getNodeId(node);
+
+                        for (long bits = discovered;
+                                bits != 0L;
+                                bits &= bits - 1L) {
+                            final int source = begin + (w << 6) +
+                                    Long.numberOfTrailingZeros(bits);
+                            consumer.accept(sourceNodeIds[source],
+                                            nodeId,
+                                            depth);
+                        }
+                    }
+                }
+
+                if (!active) {
+                    break;
+                }
+
+                final long[] tmp = visit;
+                visit = visitNext;
+                visitNext = tmp;
+                Arrays.fill(visitNext, 0L);
+            }
+        }
+    }
+
+    /**
+     * Throws an {@link IllegalArgumentException} unless the masks of
+     * {@code words} words per node fit in a single array for every node of the
+     * graph.
+     */
+    private void checkMaskLength(int words) {
+        final long length = (long) graph.size() * words;
+
+        if (length > MAX_MASK_ARRAY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "The batch size " + 64L * words + " needs " + length +
+                    " mask words for " + graph.size() + " nodes, more than " +
+                    "an array may hold; use a smaller batch size.");
+        }
+    }
+
+    private static boolean isZero(long[] masks, int base, int k) {
+        for (int w = 0; w < k; ++w) {
+            if (masks[base + w] != 0L) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
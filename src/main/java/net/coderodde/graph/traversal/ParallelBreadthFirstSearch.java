@@ -0,0 +1,394 @@
+package net.coderodde.graph.traversal;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.CompressedGraph;
+
+/**
+ * This class implements a level-synchronous, direction-optimizing parallel
+ * breadth-first search over a {@link CompressedGraph} taken of the input graph
+ * at construction.
+ * <p>
+ * Each level is expanded by fork-join tasks in one of two ways. A
+ * <i>top-down</i> step scans the children of the frontier nodes and claims the
+ * unvisited ones with a compare-and-set on a shared visited bitset. A
+ * <i>bottom-up</i> step lets every unvisited node scan its parents until it
+ * finds one in the frontier, which needs no atomics and stops early; it pays
+ * off when the frontier holds a large part of the graph. The search switches
+ * to bottom-up once the arcs leaving the frontier exceed the unexplored arcs
+ * divided by {@value #ALPHA}, and back to top-down once the frontier shrinks
+ * below the node count divided by {@value #BETA} (Beamer, Asanović and
+ * Patterson, 2012).
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 18, 2026)
+ */
+public final class ParallelBreadthFirstSearch {
+
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    /**
+     * The number of frontier nodes below which a top-down task is not split.
+     */
+    private static final int TOP_DOWN_GRAIN = 512;
+
+    /**
+     * The number of 64-node bitset words below which a bottom-up task is not
+     * split.
+     */
+    private static final int BOTTOM_UP_GRAIN = 32;
+
+    private final CompressedGraph graph;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a search over the current state of {@code graph} running in
+     * the common fork-join pool.
+     *
+     * @param graph the graph to search.
+     */
+    public ParallelBreadthFirstSearch(AbstractGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a search over the current state of {@code graph} running in
+     * {@code pool}.
+     *
+     * @param graph the graph to search.
+     * @param pool  the pool running the tasks.
+     */
+    public ParallelBreadthFirstSearch(AbstractGraph graph, ForkJoinPool pool) {
+        this.graph = graph.freeze();
+        this.pool = pool;
+    }
+
+    /**
+     * Runs a breadth-first search from {@code sourceNodeId}.
+     *
+     * @param sourceNodeId the source node.
+     * @return the breadth-first tree rooted at the source.
+     * @throws IllegalArgumentException if the source node is not in the
+     *                                  graph.
+     */
+    public BreadthFirstTree search(int sourceNodeId) {
+        final int source = graph.indexOf(sourceNodeId);
+
+        if (source < 0) {
+            throw new IllegalArgumentException(
+                    "The source node " + sourceNodeId + " is not in the graph.");
+        }
+
+        final int n = graph.size();
+        final int words = (n + 63) >>> 6;
+        final Level level = new Level(new int[n],
+                                      new int[n],
+                                      new AtomicLongArray(words));
+        Arrays.fill(level.distances, -1);
+        level.distances[source] = 0;
+        level.parents[source] = -1;
+        level.visited.set(source >>> 6, 1L << source);
+
+        Frontier frontier = new Frontier(new int[]{ source }, 1, degree(source));
+        long[] frontierBits = null;
+        int frontierSize = 1;
+        long frontierArcs = frontier.arcs;
+        long unexploredArcs = graph.getChildOffset(n) - frontierArcs;
+        boolean bottomUp = false;
+
+        while (frontierSize > 0) {
+            if (!bottomUp && frontierArcs > unexploredArcs / ALPHA) {
+                bottomUp = true;
+                frontierBits = toBits(frontier, words);
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bottomUp = false;
+                frontier = toFrontier(frontierBits, frontierSize);
+            }
+
+            level.depth++;
+
+            if (bottomUp) {
+                final long[] nextBits = new long[words];
+                final BottomUpTask task = new BottomUpTask(level,
+                                                           frontierBits,
+                                                           nextBits,
+                                                           0,
+                                                           words);
+                pool.invoke(task);
+                frontierBits = nextBits;
+                frontierSize = task.count;
+                frontierArcs = task.arcs;
+            } else {
+                frontier = pool.invoke(new TopDownTask(level,
+                                                       frontier.nodes,
+                                                       0,
+                                                       frontier.size));
+                frontierSize = frontier.size;
+                frontierArcs = frontier.arcs;
+            }
+
+            unexploredArcs -= frontierArcs;
+        }
+
+        return new BreadthFirstTree(graph,
+                                    sourceNodeId,
+                                    level.distances,
+                                    level.parents);
+    }
+
+    private int degree(int node) {
+        return graph.getChildOffset(node + 1) - graph.getChildOffset(node);
+    }
+
+    private static long[] toBits(Frontier frontier, int words) {
+        final long[] bits = new long[words];
+
+        for (int i = 0; i < frontier.size; ++i) {
+            final int node = frontier.nodes[i];
+            bits[node >>> 6] |= 1L << node;
+        }
+
+        return bits;
+    }
+
+    private Frontier toFrontier(long[] bits, int size) {
+        final int[] nodes = new int[size];
+        long arcs = 0L;
+        int count = 0;
+
+        for (int word = 0; word < bits.length; ++word) {
+            for (long w = bits[word]; w != 0L; w &= w - 1L) {
+                final int node = (word << 6) + Long.numberOfTrailingZeros(w);
+                nodes[count++] = node;
+                arcs += degree(node);
+            }
+        }
+
+        return new Frontier(nodes, count, arcs);
+    }
+
+    /**
+     * Sets the bit of {@code node} in {@code bits}. Returns {@code false} if
+     * the bit was set already.
+     */
+    private static boolean trySet(AtomicLongArray bits, int node) {
+        final int word = node >>> 6;
+        final long mask = 1L << node;
+        long old;
+
+        do {
+            old = bits.get(word);
+
+            if ((old & mask) != 0L) {
+                return false;
+            }
+        } while (!bits.compareAndSet(word, old, old | mask));
+
+        return true;
+    }
+
+    /**
+     * Holds the state shared by the tasks of a search.
+     */
+    private static final class Level {
+
+        final int[] distances;
+        final int[] parents;
+        final AtomicLongArray visited;
+
+        /**
+         * The hop distance of the nodes discovered in the current step.
+         */
+        int depth;
+
+        Level(int[] distances, int[] parents, AtomicLongArray visited) {
+            this.distances = distances;
+            this.parents = parents;
+            this.visited = visited;
+        }
+    }
+
+    /**
+     * Holds a frontier as a list of nodes, and the number of arcs leaving it.
+     */
+    private static final class Frontier {
+
+        int[] nodes;
+        int size;
+        long arcs;
+
+        Frontier(int[] nodes, int size, long arcs) {
+            this.nodes = nodes;
+            this.size = size;
+            this.arcs = arcs;
+        }
+
+        void add(int node, int degree) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, Math.max(16, 2 * size));
+            }
+
+            nodes[size++] = node;
+            arcs += degree;
+        }
+
+        Frontier append(Frontier other) {
+            if (other.size > nodes.length - size) {
+                nodes = Arrays.copyOf(nodes, size + other.size);
+            }
+
+            System.arraycopy(other.nodes, 0, nodes, size, other.size);
+            size += other.size;
+            arcs += other.arcs;
+            return this;
+        }
+    }
+
+    /**
+     * Expands the frontier nodes in the range {@code [begin, end)} top-down.
+     */
+    private final class TopDownTask extends RecursiveTask<Frontier> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Level level;
+        private final int[] frontier;
+        private final int begin;
+        private final int end;
+
+        TopDownTask(Level level, int[] frontier, int begin, int end) {
+            this.level = level;
+            this.frontier = frontier;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        protected Frontier compute() {
+            if (end - begin > TOP_DOWN_GRAIN) {
+                final int middle = (begin + end) >>> 1;
+                final TopDownTask left =
+                        new TopDownTask(level, frontier, begin, middle);
+                left.fork();
+                final Frontier right =
+                        new TopDownTask(level, frontier, middle, end).compute();
+                return left.join().append(right);
+            }
+
+            final Frontier next = new Frontier(new int[0], 0, 0L);
+            final int depth = level.depth;
+
+            for (int i = begin; i < end; ++i) {
+                final int node = frontier[i];
+                final int arcEnd = graph.getChildOffset(node + 1);
+
+                for (int p = graph.getChildOffset(node); p < arcEnd; ++p) {
+                    final int child = graph.getChildIndex(p);
+
+                    if (trySet(level.visited, child)) {
+                        level.distances[child] = depth;
+                        level.parents[child] = node;
+                        next.add(child, degree(child));
+                    }
+                }
+            }
+
+            return next;
+        }
+    }
+
+    /**
+     * Expands the bitset words in the range {@code [begin, end)} bottom-up.
+     * Each word is owned by a single task, so the visited bits need no
+     * compare-and-set.
+     */
+    private final class BottomUpTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Level level;
+        private final long[] frontier;
+        private final long[] next;
+        private final int begin;
+        private final int end;
+
+        int count;
+        long arcs;
+
+        BottomUpTask(Level level,
+                     long[] frontier,
+                     long[] next,
+                     int begin,
+                     int end) {
+            this.level = level;
+            this.frontier = frontier;
+            this.next = next;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - begin > BOTTOM_UP_GRAIN) {
+                final int middle = (begin + end) >>> 1;
+                final BottomUpTask left = new BottomUpTask(level,
+                                                           frontier,
+                                                           next,
+                                                           begin,
+                                                           middle);
+                final BottomUpTask right = new BottomUpTask(level,
+                                                            frontier,
+                                                            next,
+                                                            middle,
+                                                            end);
+                invokeAll(left, right);
+                count = left.count + right.count;
+                arcs = left.arcs + right.arcs;
+                return;
+            }
+
+            final int n = graph.size();
+            final int depth = level.depth;
+
+            for (int word = begin; word < end; ++word) {
+                final long visited = level.visited.get(word);
+                long unvisited = ~visited;
+
+                if (word == next.length - 1 && (n & 63) != 0) {
+                    unvisited &= (1L << n) - 1L;
+                }
+
+                long discovered = 0L;
+
+                for (; unvisited != 0L; unvisited &= unvisited - 1L) {
+                    final int node = (word << 6) +
+                                     Long.numberOfTrailingZeros(unvisited);
+                    final int arcEnd = graph.getParentOffset(node + 1);
+
+                    for (int p = graph.getParentOffset(node); p < arcEnd; ++p) {
+                        final int parent = graph.getParentIndex(p);
+
+                        if ((frontier[parent >>> 6] & (1L << parent)) != 0L) {
+                            level.distances[node] = depth;
+                            level.parents[node] = parent;
+                            discovered |= 1L << node;
+                            count++;
+                            arcs += degree(node);
+                            break;
+                        }
+                    }
+                }
+
+                if (discovered != 0L) {
+                    level.visited.set(word, visited | discovered);
+                    next[word] = discovered;
+                }
+            }
+        }
+    }
+}
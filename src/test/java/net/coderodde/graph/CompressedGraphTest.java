@@ -0,0 +1,100 @@
+package net.coderodde.graph;
+
+import java.util.HashSet;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CompressedGraphTest {
+
+    private static final double E = 0.001;
+
+    @Test
+    public void testDirected() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1, 1.5);
+        graph.addEdge(0, 2, 2.5);
+        graph.addEdge(2, 0, 3.5);
+        graph.addEdge(3, 3, 4.5);
+        graph.addNode(10);
+
+        CompressedGraph compressed = graph.freeze();
+
+        assertTrue(compressed.isDirected());
+        assertEquals(5, compressed.size());
+        assertEquals(4, compressed.getNumberOfEdges());
+        assertTrue(compressed.hasNode(10));
+        assertFalse(compressed.hasNode(4));
+        assertTrue(compressed.hasEdge(0, 2));
+        assertFalse(compressed.hasEdge(1, 0));
+        assertTrue(compressed.hasEdge(3, 3));
+        assertEquals(2.5, compressed.getEdgeWeight(0, 2), E);
+        assertEquals(3.5, compressed.getEdgeWeight(2, 0), E);
+        assertEquals(Double.NaN, compressed.getEdgeWeight(1, 2), E);
+        assertEquals(Double.NaN, compressed.getEdgeWeight(7, 2), E);
+
+        assertEquals(graph.getChildrenOf(0), compressed.getChildrenOf(0));
+        assertEquals(graph.getParentsOf(0), compressed.getParentsOf(0));
+        assertEquals(graph.getAllNodes(), compressed.getAllNodes());
+        assertTrue(compressed.getChildrenOf(5).isEmpty());
+
+        // The copy must not follow the original.
+        graph.addEdge(1, 0);
+        assertFalse(compressed.hasEdge(1, 0));
+    }
+
+    @Test
+    public void testUndirected() {
+        UndirectedGraph graph = new UndirectedGraph();
+        graph.addEdge(0, 1, 1.5);
+        graph.addEdge(1, 2, 2.5);
+
+        CompressedGraph compressed = graph.freeze();
+
+        assertFalse(compressed.isDirected());
+        assertEquals(2, compressed.getNumberOfEdges());
+        assertTrue(compressed.hasEdge(1, 0));
+        assertTrue(compressed.hasEdge(2, 1));
+        assertEquals(2.5, compressed.getEdgeWeight(2, 1), E);
+        assertEquals(graph.getChildrenOf(1), compressed.getChildrenOf(1));
+        assertEquals(graph.getParentsOf(1), compressed.getParentsOf(1));
+    }
+
+    @Test
+    public void testRandomGraph() {
+        Random random = new Random(7L);
+        DirectedGraph graph = new DirectedGraph();
+
+        for (int i = 0; i < 5000; ++i) {
+            graph.addEdge(random.nextInt(500) * 31,
+                          random.nextInt(500) * 31,
+                          random.nextDouble());
+        }
+
+        CompressedGraph compressed = graph.freeze();
+
+        for (Integer nodeId : graph.getAllNodes()) {
+            int index = compressed.indexOf(nodeId);
+            assertEquals((int) nodeId, compressed.getNodeId(index));
+            assertEquals(graph.getChildrenOf(nodeId),
+                         new HashSet<>(compressed.getChildrenOf(nodeId)));
+            assertEquals(graph.getParentsOf(nodeId),
+                         new HashSet<>(compressed.getParentsOf(nodeId)));
+
+            for (int position = compressed.getChildOffset(index);
+                    position < compressed.getChildOffset(index + 1);
+                    ++position) {
+                int childId = compressed.getNodeId(
+                        compressed.getChildIndex(position));
+                assertEquals(graph.getEdgeWeight(nodeId, childId),
+                             compressed.getChildWeight(position),
+                             0.0);
+            }
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIsReadOnly() {
+        new DirectedGraph().freeze().addEdge(0, 1);
+    }
+}
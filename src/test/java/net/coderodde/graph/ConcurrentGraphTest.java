@@ -0,0 +1,254 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ConcurrentGraphTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 50_000;
+    private static final int NODES = 300;
+
+    @Test
+    public void testSequentialSemantics() {
+        ConcurrentDirectedGraph graph = new ConcurrentDirectedGraph(4);
+        DirectedGraph reference = new DirectedGraph();
+        Random random = new Random(11L);
+
+        for (int i = 0; i < 20_000; ++i) {
+            int a = random.nextInt(50);
+            int b = random.nextInt(50);
+
+            switch (random.nextInt(10)) {
+                case 0:
+                    assertEquals(reference.removeNode(a), graph.removeNode(a));
+                    break;
+
+                case 1:
+                    assertEquals(reference.clearNode(a), graph.clearNode(a));
+                    break;
+
+                case 2:
+                case 3:
+                    assertEquals(reference.removeEdge(a, b),
+                                 graph.removeEdge(a, b));
+                    break;
+
+                default:
+                    double weight = random.nextInt(3);
+                    assertEquals(reference.addEdge(a, b, weight),
+                                 graph.addEdge(a, b, weight));
+                    break;
+            }
+
+            assertEquals(reference.getModificationCount(),
+                         graph.getModificationCount());
+        }
+
+        assertEquals(reference.size(), graph.size());
+        assertEquals(reference.getNumberOfEdges(), graph.getNumberOfEdges());
+        assertEquals(reference.getAllNodes(), graph.getAllNodes());
+
+        for (Integer nodeId : reference.getAllNodes()) {
+            assertEquals(reference.getChildrenOf(nodeId),
+                         graph.getChildrenOf(nodeId));
+            assertEquals(reference.getParentsOf(nodeId),
+                         graph.getParentsOf(nodeId));
+        }
+
+        reference.clear();
+        graph.clear();
+        assertEquals(reference.getModificationCount(),
+                     graph.getModificationCount());
+        assertEquals(0, graph.size());
+    }
+
+    @Test
+    public void testUndirectedClearCount() {
+        ConcurrentUndirectedGraph graph = new ConcurrentUndirectedGraph(4);
+        UndirectedGraph reference = new UndirectedGraph();
+
+        for (int i = 0; i < 100; ++i) {
+            reference.addEdge(i, (i * 7) % 100, i);
+            graph.addEdge(i, (i * 7) % 100, i);
+        }
+
+        reference.addNode(1000);
+        graph.addNode(1000);
+        reference.clear();
+        graph.clear();
+        assertEquals(reference.getModificationCount(),
+                     graph.getModificationCount());
+        assertEquals(0, graph.getNumberOfEdges());
+    }
+
+    @Test(timeout = 60_000)
+    public void testConsumerMayQueryAnotherStripe()
+    throws InterruptedException {
+        // The reader holds the stripe of a and nests a query of the stripe
+        // of b, while the writer locks the stripe of b, which comes first in
+        // the locking order, and then the stripe of a.
+        final ConcurrentDirectedGraph graph = new ConcurrentDirectedGraph(2);
+        int nodeId = 0;
+
+        while (graph.stripeOf(nodeId) != 1) {
+            nodeId++;
+        }
+
+        final int a = nodeId;
+
+        while (graph.stripeOf(nodeId) != 0) {
+            nodeId++;
+        }
+
+        final int b = nodeId;
+        graph.addEdge(a, b, 1.0);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 100_000; ++i) {
+                graph.forEachChild(a, (childId, weight) -> {
+                    graph.hasEdge(childId, a);
+                });
+            }
+        });
+
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 100_000; ++i) {
+                graph.addEdge(b, a, i);
+            }
+        });
+
+        // A deadlocked pair must not keep the test JVM alive.
+        reader.setDaemon(true);
+        writer.setDaemon(true);
+        reader.setUncaughtExceptionHandler((t, ex) -> failure.set(ex));
+        writer.setUncaughtExceptionHandler((t, ex) -> failure.set(ex));
+        reader.start();
+        writer.start();
+        reader.join();
+        writer.join();
+        assertNull(failure.get());
+    }
+
+    @Test(timeout = 60_000)
+    public void testConsumerMayModifyGraph() {
+        ConcurrentUndirectedGraph graph = new ConcurrentUndirectedGraph(4);
+
+        for (int i = 1; i <= 100; ++i) {
+            graph.addEdge(0, i, i);
+        }
+
+        double[] sum = new double[1];
+        graph.forEachChild(0, (childId, weight) -> {
+            sum[0] += weight;
+            assertTrue(graph.removeEdge(0, childId));
+        });
+
+        assertEquals(5050.0, sum[0], 0.0);
+        assertEquals(0, graph.getNumberOfEdges());
+        assertEquals(0, graph.getNumberOfChildren(0));
+    }
+
+    @Test
+    public void testDirectedStress() throws InterruptedException {
+        ConcurrentDirectedGraph graph = new ConcurrentDirectedGraph(8);
+        stress(graph);
+        checkConsistency(graph, true);
+    }
+
+    @Test
+    public void testUndirectedStress() throws InterruptedException {
+        ConcurrentUndirectedGraph graph = new ConcurrentUndirectedGraph(8);
+        stress(graph);
+        checkConsistency(graph, false);
+    }
+
+    private static void stress(final AbstractGraph graph)
+    throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; ++t) {
+            final long seed = t;
+            Thread thread = new Thread(() -> {
+                Random random = new Random(seed);
+
+                try {
+                    start.await();
+
+                    for (int i = 0; i < OPERATIONS; ++i) {
+                        int a = random.nextInt(NODES);
+                        int b = random.nextInt(NODES);
+                        int operation = random.nextInt(100);
+
+                        if (operation < 50) {
+                            graph.addEdge(a, b, random.nextInt(5));
+                        } else if (operation < 75) {
+                            graph.removeEdge(a, b);
+                        } else if (operation < 77) {
+                            graph.clearNode(a);
+                        } else if (operation < 78) {
+                            graph.removeNode(a);
+                        } else {
+                            double[] sum = new double[1];
+                            graph.forEachChild(a, (id, w) -> sum[0] += w);
+                            graph.getParentsOf(b).size();
+                            graph.getEdgeWeight(a, b);
+                        }
+                    }
+                } catch (Throwable ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    private static void checkConsistency(AbstractGraph graph,
+                                         boolean directed) {
+        int arcs = 0;
+
+        for (Integer nodeId : graph.getAllNodes()) {
+            for (Integer childId : graph.getChildrenOf(nodeId)) {
+                assertTrue(graph.getParentsOf(childId).contains(nodeId));
+                arcs++;
+            }
+
+            final int headNodeId = nodeId;
+            graph.forEachParent(headNodeId, (parentId, weight) -> 
+                assertEquals(graph.getEdgeWeight(parentId, headNodeId),
+                             weight,
+                             0.0));
+
+            for (Integer parentId : graph.getParentsOf(nodeId)) {
+                assertTrue(graph.getChildrenOf(parentId).contains(nodeId));
+            }
+        }
+
+        assertEquals(graph.getAllNodes().size(), graph.size());
+        assertEquals(directed ? arcs : arcs / 2, graph.getNumberOfEdges());
+
+        CompressedGraph compressed = graph.freeze();
+        assertEquals(graph.getNumberOfEdges(),
+                     compressed.getNumberOfEdges());
+        assertEquals(directed, compressed.isDirected());
+    }
+}
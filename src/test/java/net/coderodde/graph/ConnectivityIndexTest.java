@@ -0,0 +1,179 @@
+package net.coderodde.graph;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ConnectivityIndexTest {
+
+    @Test
+    public void testInsertionsAndRemovals() {
+        UndirectedGraph graph = new UndirectedGraph();
+        graph.addEdge(1, 2);
+        ConnectivityIndex index = graph.getConnectivityIndex();
+        assertSame(index, graph.getConnectivityIndex());
+
+        assertTrue(index.connected(1, 2));
+        assertFalse(index.connected(1, 3));
+        assertEquals(1, index.getNumberOfComponents());
+
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 1);
+        graph.addNode(4);
+        assertTrue(index.connected(1, 3));
+        assertFalse(index.connected(1, 4));
+        assertEquals(2, index.getNumberOfComponents());
+        assertEquals(3, index.getComponentSize(2));
+
+        // The triangle stays connected without one of its edges.
+        graph.removeEdge(1, 2);
+        assertTrue(index.connected(1, 2));
+        assertEquals(2, index.getNumberOfComponents());
+
+        graph.removeEdge(3, 2);
+        assertFalse(index.connected(1, 2));
+        assertTrue(index.connected(1, 3));
+        assertEquals(3, index.getNumberOfComponents());
+        assertEquals(1, index.getComponentSize(2));
+        assertEquals(2, index.getComponentSize(1));
+
+        graph.removeNode(3);
+        assertFalse(index.connected(1, 3));
+        assertFalse(index.connected(3, 3));
+        assertTrue(index.connected(1, 1));
+        assertEquals(3, index.getNumberOfComponents());
+        assertEquals(0, index.getComponentSize(3));
+
+        graph.clear();
+        assertEquals(0, index.getNumberOfComponents());
+        assertFalse(index.connected(1, 1));
+
+        graph.addEdge(5, 6);
+        assertTrue(index.connected(6, 5));
+        assertEquals(1, index.getNumberOfComponents());
+    }
+
+    @Test
+    public void testClearHub() {
+        UndirectedGraph graph = new UndirectedGraph();
+        ConnectivityIndex index = graph.getConnectivityIndex();
+
+        for (int i = 1; i <= 1000; ++i) {
+            graph.addEdge(0, i);
+        }
+
+        // Leaves 1 and 2 stay connected through another path.
+        graph.addEdge(1, 2);
+        assertEquals(1, index.getNumberOfComponents());
+
+        graph.clearNode(0);
+        assertEquals(1000, index.getNumberOfComponents());
+        assertTrue(index.connected(1, 2));
+        assertFalse(index.connected(0, 1));
+        assertFalse(index.connected(3, 4));
+        assertEquals(1, index.getComponentSize(0));
+        assertEquals(2, index.getComponentSize(2));
+    }
+
+    @Test
+    public void testBulkLoadAndDetach() {
+        UndirectedGraph graph = new UndirectedGraph();
+        graph.addEdge(0, 1);
+        ConnectivityIndex index = graph.getConnectivityIndex();
+        graph.addEdges(new int[]{ 2, 3, 4 }, new int[]{ 3, 1, 5 }, null);
+
+        assertTrue(index.connected(0, 2));
+        assertFalse(index.connected(0, 4));
+        assertEquals(2, index.getNumberOfComponents());
+
+        graph.detachConnectivityIndex();
+        graph.removeEdge(1, 3);
+        assertTrue(index.connected(0, 2));
+        assertFalse(graph.getConnectivityIndex().connected(0, 2));
+    }
+
+    @Test
+    public void testAgainstBreadthFirstSearch() {
+        Random random = new Random(3L);
+        UndirectedGraph graph = new UndirectedGraph();
+        ConnectivityIndex index = graph.getConnectivityIndex();
+        int nodes = 200;
+
+        for (int step = 0; step < 20_000; ++step) {
+            int u = random.nextInt(nodes);
+            int v = random.nextInt(nodes);
+            int operation = random.nextInt(100);
+
+            if (operation < 55) {
+                graph.addEdge(u, v);
+            } else if (operation < 90) {
+                graph.removeEdge(u, v);
+            } else if (operation < 95) {
+                graph.clearNode(u);
+            } else if (operation < 99) {
+                graph.removeNode(u);
+            } else {
+                graph.addNode(u);
+            }
+
+            if (step % 100 == 0) {
+                checkAgainstBreadthFirstSearch(graph, index);
+            }
+
+            if (graph.hasNode(u) && graph.hasNode(v)) {
+                assertEquals(reachable(graph, u).containsKey(v),
+                             index.connected(u, v));
+            }
+        }
+    }
+
+    private static void checkAgainstBreadthFirstSearch(
+            UndirectedGraph graph,
+            ConnectivityIndex index) {
+        Map<Integer, Integer> componentOf = new HashMap<>();
+        int components = 0;
+
+        for (int nodeId : graph.getAllNodes()) {
+            if (componentOf.containsKey(nodeId)) {
+                continue;
+            }
+
+            Map<Integer, Integer> component = reachable(graph, nodeId);
+
+            for (int member : component.keySet()) {
+                componentOf.put(member, components);
+                assertEquals(component.size(), index.getComponentSize(member));
+                assertTrue(index.connected(nodeId, member));
+            }
+
+            components++;
+        }
+
+        assertEquals(components, index.getNumberOfComponents());
+    }
+
+    private static Map<Integer, Integer> reachable(AbstractGraph graph,
+                                                   int source) {
+        Map<Integer, Integer> distance = new HashMap<>();
+        Deque<Integer> queue = new ArrayDeque<>();
+        distance.put(source, 0);
+        queue.add(source);
+
+        while (!queue.isEmpty()) {
+            int nodeId = queue.remove();
+
+            for (int childId : graph.getChildrenOf(nodeId)) {
+                if (!distance.containsKey(childId)) {
+                    distance.put(childId, distance.get(nodeId) + 1);
+                    queue.add(childId);
+                }
+            }
+        }
+
+        return distance;
+    }
+}
@@ -0,0 +1,127 @@
+package net.coderodde.graph;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DenseNodeIndexTest {
+
+    @Test
+    public void testBuildsFromExistingNodes() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(1_000_000, -7);
+        graph.addNode(Integer.MAX_VALUE);
+
+        DenseNodeIndex index = graph.getNodeIndex();
+        assertSame(index, graph.getNodeIndex());
+        assertEquals(3, index.size());
+        assertEquals(3, index.getIndexBound());
+        assertEquals(0, index.indexOf(1_000_000));
+        assertEquals(1, index.indexOf(-7));
+        assertEquals(2, index.indexOf(Integer.MAX_VALUE));
+        assertEquals(-1, index.indexOf(5));
+        assertEquals(-7, index.getNodeId(1));
+    }
+
+    @Test
+    public void testReusesFreedIndices() {
+        UndirectedGraph graph = new UndirectedGraph();
+        DenseNodeIndex index = graph.getNodeIndex();
+
+        for (int i = 0; i < 100; ++i) {
+            graph.addEdge(i * 1000, i * 1000 + 1);
+        }
+
+        assertEquals(200, index.getIndexBound());
+        int freed = index.indexOf(5000);
+        graph.removeNode(5000);
+        assertFalse(index.isUsed(freed));
+        assertEquals(-1, index.indexOf(5000));
+
+        graph.addNode(-1);
+        assertEquals(freed, index.indexOf(-1));
+        assertEquals(200, index.getIndexBound());
+
+        // Bulk loading assigns indices as well.
+        graph.addEdges(new int[]{ -2, -3 },
+                       new int[]{ -3, -4 },
+                       new double[]{ 1.0, 1.0 });
+        assertEquals(203, index.getIndexBound());
+        assertEquals(202, index.indexOf(-4));
+
+        graph.clear();
+        assertEquals(0, index.size());
+        assertEquals(0, index.getIndexBound());
+        graph.addNode(42);
+        assertEquals(0, index.indexOf(42));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(11L);
+        AbstractGraph[] graphs = { new DirectedGraph(), new UndirectedGraph() };
+
+        for (AbstractGraph graph : graphs) {
+            DenseNodeIndex index = graph instanceof DirectedGraph ?
+                    ((DirectedGraph) graph).getNodeIndex() :
+                    ((UndirectedGraph) graph).getNodeIndex();
+            int maximumSize = 0;
+
+            for (int i = 0; i < 20000; ++i) {
+                int nodeId = random.nextInt(300) * 7919;
+
+                switch (random.nextInt(3)) {
+                    case 0:
+                        graph.addNode(nodeId);
+                        break;
+
+                    case 1:
+                        graph.addEdge(nodeId, random.nextInt(300) * 7919);
+                        break;
+
+                    default:
+                        graph.removeNode(nodeId);
+                }
+
+                maximumSize = Math.max(maximumSize, graph.size());
+            }
+
+            assertEquals(graph.size(), index.size());
+            assertEquals(maximumSize, index.getIndexBound());
+            boolean[] seen = new boolean[index.getIndexBound()];
+
+            for (int nodeId : graph.getAllNodes()) {
+                int i = index.indexOf(nodeId);
+                assertFalse(seen[i]);
+                seen[i] = true;
+                assertEquals(nodeId, index.getNodeId(i));
+            }
+
+            for (int i = 0; i < seen.length; ++i) {
+                assertEquals(seen[i], index.isUsed(i));
+            }
+        }
+    }
+
+    @Test
+    public void testDetach() {
+        DirectedGraph graph = new DirectedGraph();
+        DenseNodeIndex index = graph.getNodeIndex();
+        graph.addNode(1);
+        graph.detachNodeIndex();
+        graph.addNode(2);
+
+        assertEquals(1, index.size());
+        assertEquals(-1, index.indexOf(2));
+        assertEquals(2, graph.getNodeIndex().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetNodeIdRejectsFreeIndex() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addNode(1);
+        graph.getNodeIndex();
+        graph.removeNode(1);
+        graph.getNodeIndex().getNodeId(0);
+    }
+}
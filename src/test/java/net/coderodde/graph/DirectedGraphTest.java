@@ -1,5 +1,8 @@
 package net.coderodde.graph;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -335,4 +338,81 @@ public class DirectedGraphTest {
         graph.clear();
         assertEquals(modCount += 3, graph.getModificationCount());
     }
+
+    @Test
+    public void testForEachChildAndParent() {
+        graph.addEdge(0, 1, 1.5);
+        graph.addEdge(0, 2, 2.5);
+        graph.addEdge(3, 0, 3.5);
+
+        final Map<Integer, Double> visited = new HashMap<>();
+        graph.forEachChild(0, (nodeId, weight) -> visited.put(nodeId, weight));
+
+        assertEquals(2, visited.size());
+        assertEquals(1.5, visited.get(1), E);
+        assertEquals(2.5, visited.get(2), E);
+        assertEquals(2, graph.getNumberOfChildren(0));
+
+        visited.clear();
+        graph.forEachParent(0, (nodeId, weight) -> visited.put(nodeId, weight));
+
+        assertEquals(1, visited.size());
+        assertEquals(3.5, visited.get(3), E);
+        assertEquals(1, graph.getNumberOfParents(0));
+
+        visited.clear();
+        graph.forEachChild(10, (nodeId, weight) -> visited.put(nodeId, weight));
+        assertTrue(visited.isEmpty());
+        assertEquals(0, graph.getNumberOfChildren(10));
+    }
+
+    @Test
+    public void testAddEdges() {
+        Random random = new Random(3L);
+        int[] tails = new int[2000];
+        int[] heads = new int[2000];
+        double[] weights = new double[2000];
+
+        for (int i = 0; i < tails.length; ++i) {
+            tails[i] = random.nextInt(60);
+            heads[i] = random.nextInt(60);
+            weights[i] = random.nextInt(3);
+        }
+
+        DirectedGraph reference = new DirectedGraph();
+        graph.addEdge(1000, 1001, 2.0);
+        reference.addEdge(1000, 1001, 2.0);
+
+        for (int i = 0; i < 1000; ++i) {
+            reference.addEdge(tails[i], heads[i], weights[i]);
+        }
+
+        for (int i = 1000; i < tails.length; ++i) {
+            reference.addEdge(tails[i], heads[i]);
+        }
+
+        int modCount = graph.getModificationCount();
+        assertTrue(graph.addEdges(tails, heads, weights, 0, 1000));
+        assertTrue(graph.addEdges(tails, heads, null, 1000, 1000));
+        assertFalse(graph.addEdges(tails, heads, null, 1000, 1000));
+
+        assertEquals(reference.getModificationCount() - 3,
+                     graph.getModificationCount() - modCount);
+        assertEquals(reference.size(), graph.size());
+        assertEquals(reference.getNumberOfEdges(), graph.getNumberOfEdges());
+        assertEquals(reference.getAllNodes(), graph.getAllNodes());
+
+        for (Integer nodeId : reference.getAllNodes()) {
+            assertEquals(reference.getChildrenOf(nodeId),
+                         graph.getChildrenOf(nodeId));
+            assertEquals(reference.getParentsOf(nodeId),
+                         graph.getParentsOf(nodeId));
+
+            for (Integer childId : reference.getChildrenOf(nodeId)) {
+                assertEquals(reference.getEdgeWeight(nodeId, childId),
+                             graph.getEdgeWeight(nodeId, childId),
+                             0.0);
+            }
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import static org.junit.Assert.*;
+
+/**
+ * Holds the graph equality assertions shared by the tests of all backends, so
+ * that every backend is checked against the same contract. It is public only
+ * for the tests of the subpackages.
+ */
+public final class GraphAssert {
+
+    private GraphAssert() {}
+
+    /**
+     * Asserts that {@code actual} has the same nodes, the same children and
+     * parents of each node and the same edge weights as {@code expected},
+     * regardless of the iteration order. The weights are compared by their
+     * bits, so {@code 0.0} and {@code -0.0} differ. In an undirected graph,
+     * each edge must have the same weight in both directions.
+     *
+     * @param expected the expected graph.
+     * @param actual   the actual graph.
+     */
+    public static void assertSameGraph(AbstractGraph expected,
+                                       AbstractGraph actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getNumberOfEdges(), actual.getNumberOfEdges());
+        assertEquals(new HashSet<>(expected.getAllNodes()),
+                     new HashSet<>(actual.getAllNodes()));
+
+        for (int nodeId : expected.getAllNodes()) {
+            assertEquals(new HashSet<>(expected.getChildrenOf(nodeId)),
+                         new HashSet<>(actual.getChildrenOf(nodeId)));
+            assertEquals(new HashSet<>(expected.getParentsOf(nodeId)),
+                         new HashSet<>(actual.getParentsOf(nodeId)));
+            assertEquals(expected.getNumberOfChildren(nodeId),
+                         actual.getNumberOfChildren(nodeId));
+            assertEquals(expected.getNumberOfParents(nodeId),
+                         actual.getNumberOfParents(nodeId));
+
+            for (int childId : expected.getChildrenOf(nodeId)) {
+                long weight = Double.doubleToLongBits(
+                        expected.getEdgeWeight(nodeId, childId));
+                assertEquals(weight,
+                             Double.doubleToLongBits(
+                                     actual.getEdgeWeight(nodeId, childId)));
+
+                if (!actual.isDirected()) {
+                    assertEquals(weight,
+                                 Double.doubleToLongBits(
+                                         actual.getEdgeWeight(childId,
+                                                              nodeId)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the iteration order of {@code graph}: the list of its nodes
+     * followed by the list of the children of each node. Comparing the orders
+     * taken before and after an operation checks that the operation keeps
+     * the order.
+     *
+     * @param graph the graph.
+     * @return the iteration order.
+     */
+    public static List<List<Integer>> iterationOrder(AbstractGraph graph) {
+        List<List<Integer>> order = new ArrayList<>();
+        order.add(new ArrayList<>(graph.getAllNodes()));
+
+        for (int nodeId : graph.getAllNodes()) {
+            order.add(new ArrayList<>(graph.getChildrenOf(nodeId)));
+        }
+
+        return order;
+    }
+
+    /**
+     * Returns a copy of {@code graph} in a {@link DirectedGraph} or an
+     * {@link UndirectedGraph}, whichever matches {@code graph}. The nodes are
+     * added in the iteration order of {@code graph} before the edges.
+     *
+     * @param graph the graph to copy.
+     * @return the copy.
+     */
+    public static AbstractGraph copyOf(AbstractGraph graph) {
+        AbstractGraph copy = graph.isDirected() ?
+                             new DirectedGraph() :
+                             new UndirectedGraph();
+
+        for (int nodeId : graph.getAllNodes()) {
+            copy.addNode(nodeId);
+        }
+
+        for (int nodeId : graph.getAllNodes()) {
+            for (int childId : graph.getChildrenOf(nodeId)) {
+                copy.addEdge(nodeId,
+                             childId,
+                             graph.getEdgeWeight(nodeId, childId));
+            }
+        }
+
+        return copy;
+    }
+}
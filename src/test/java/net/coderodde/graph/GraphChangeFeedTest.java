@@ -0,0 +1,272 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class GraphChangeFeedTest {
+
+    /**
+     * Records each change as a string.
+     */
+    private static final class Recorder implements GraphChangeListener {
+
+        final List<String> changes = new ArrayList<>();
+        int batches;
+
+        @Override
+        public void onChanges(GraphChangeBatch batch) {
+            batches++;
+
+            for (int i = 0; i < batch.size(); ++i) {
+                changes.add(batch.getType(i) + " " +
+                            batch.getTailNodeId(i) + " " +
+                            batch.getHeadNodeId(i) + " " +
+                            batch.getWeight(i));
+            }
+        }
+    }
+
+    /**
+     * Applies the changes to a copy of the graph.
+     */
+    private static final class Mirror implements GraphChangeListener {
+
+        final AbstractGraph copy;
+
+        Mirror(AbstractGraph copy) {
+            this.copy = copy;
+        }
+
+        @Override
+        public void onChanges(GraphChangeBatch batch) {
+            for (int i = 0; i < batch.size(); ++i) {
+                int tail = batch.getTailNodeId(i);
+                int head = batch.getHeadNodeId(i);
+
+                switch (batch.getType(i)) {
+                    case NODE_ADDED:
+                        assertTrue(copy.addNode(tail));
+                        break;
+
+                    case NODE_REMOVED:
+                        assertEquals(0, copy.getNumberOfChildren(tail));
+                        assertTrue(copy.removeNode(tail));
+                        break;
+
+                    case EDGE_ADDED:
+                        assertFalse(copy.hasEdge(tail, head));
+                        copy.addEdge(tail, head, batch.getWeight(i));
+                        break;
+
+                    case EDGE_REMOVED:
+                        assertEquals(copy.getEdgeWeight(tail, head),
+                                     batch.getWeight(i),
+                                     0.0);
+                        assertTrue(copy.removeEdge(tail, head));
+                        break;
+
+                    case EDGE_REWEIGHTED:
+                        assertTrue(copy.hasEdge(tail, head));
+                        assertTrue(copy.addEdge(tail,
+                                                head,
+                                                batch.getWeight(i)));
+                        break;
+
+                    case CLEARED:
+                        copy.clear();
+                        break;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDirectedChanges() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addNode(9);
+        Recorder recorder = new Recorder();
+        graph.setChangeBatchSize(1);
+        graph.addChangeListener(recorder);
+
+        graph.addEdge(1, 2, 3.0);
+        graph.addEdge(1, 2, 3.0);
+        graph.addEdge(1, 2, 4.0);
+        graph.addEdge(2, 2, 5.0);
+        graph.addEdge(3, 2, 6.0);
+        graph.removeEdge(1, 2);
+        graph.removeEdge(1, 2);
+        graph.removeNode(2);
+        graph.clear();
+
+        assertEquals(list("NODE_ADDED 1 0 0.0",
+                          "NODE_ADDED 2 0 0.0",
+                          "EDGE_ADDED 1 2 3.0",
+                          "EDGE_REWEIGHTED 1 2 4.0",
+                          "EDGE_ADDED 2 2 5.0",
+                          "NODE_ADDED 3 0 0.0",
+                          "EDGE_ADDED 3 2 6.0",
+                          "EDGE_REMOVED 1 2 4.0",
+                          "EDGE_REMOVED 2 2 5.0",
+                          "EDGE_REMOVED 3 2 6.0",
+                          "NODE_REMOVED 2 0 0.0",
+                          "CLEARED 0 0 0.0"),
+                     recorder.changes);
+    }
+
+    @Test
+    public void testUndirectedChanges() {
+        UndirectedGraph graph = new UndirectedGraph();
+        Recorder recorder = new Recorder();
+        graph.addChangeListener(recorder);
+
+        graph.addEdge(1, 1);
+        graph.addEdges(new int[]{ 1, 1 }, new int[]{ 2, 3 }, null);
+        graph.addEdge(2, 1, 7.0);
+        graph.clearNode(1);
+
+        // Nothing is delivered before a batch fills up.
+        assertTrue(recorder.changes.isEmpty());
+        graph.flushChanges();
+
+        assertEquals(list("NODE_ADDED 1 0 0.0",
+                          "NODE_ADDED 2 0 0.0",
+                          "NODE_ADDED 3 0 0.0",
+                          "EDGE_ADDED 1 2 1.0",
+                          "EDGE_ADDED 1 3 1.0",
+                          "EDGE_REWEIGHTED 2 1 7.0",
+                          "EDGE_REMOVED 1 2 7.0",
+                          "EDGE_REMOVED 1 3 1.0"),
+                     recorder.changes);
+        assertEquals(1, recorder.batches);
+    }
+
+    @Test
+    public void testBatchesAndHubOperations() {
+        DirectedGraph graph = new DirectedGraph();
+        Recorder recorder = new Recorder();
+        graph.setChangeBatchSize(10);
+        graph.addChangeListener(recorder);
+
+        for (int i = 0; i < 9; ++i) {
+            graph.addNode(i);
+        }
+
+        assertEquals(0, recorder.batches);
+        graph.addNode(9);
+        assertEquals(1, recorder.batches);
+        assertEquals(10, recorder.changes.size());
+
+        for (int i = 1; i < 10; ++i) {
+            graph.addEdge(0, i);
+        }
+
+        // Clearing the hub produces 9 changes in a single operation on top of
+        // the 9 buffered ones, and they are delivered as a whole afterwards.
+        assertEquals(1, recorder.batches);
+        graph.removeNode(0);
+        assertEquals(2, recorder.batches);
+        assertEquals(28, recorder.changes.size());
+        assertEquals("EDGE_REMOVED 0 9 1.0", recorder.changes.get(27));
+
+        graph.addNode(100);
+        graph.removeChangeListener(recorder);
+        assertEquals(30, recorder.changes.size());
+        assertNull(graph.changeFeed);
+
+        graph.addNode(101);
+        assertEquals(30, recorder.changes.size());
+    }
+
+    @Test
+    public void testBatchesDeliveredAfterOperation() {
+        for (AbstractGraph graph : new AbstractGraph[]{ new DirectedGraph(),
+                                                        new UndirectedGraph() }) {
+            List<String> states = new ArrayList<>();
+            graph.setChangeBatchSize(1);
+            graph.addChangeListener(batch -> {
+                states.add(batch.size() + " " +
+                           graph.hasNode(2) + " " +
+                           graph.hasEdge(1, 2));
+            });
+
+            graph.addEdge(1, 2, 3.0);
+            graph.addNode(4, 10);
+            assertEquals(list("3 true true", "1 true true"), states);
+        }
+    }
+
+    @Test
+    public void testMirror() {
+        Random random = new Random(5L);
+        AbstractGraph[] graphs = { new DirectedGraph(), new UndirectedGraph() };
+        AbstractGraph[] copies = { new DirectedGraph(), new UndirectedGraph() };
+
+        for (int g = 0; g < graphs.length; ++g) {
+            AbstractGraph graph = graphs[g];
+            Mirror mirror = new Mirror(copies[g]);
+            graph.setChangeBatchSize(7);
+            graph.addChangeListener(mirror);
+
+            for (int step = 0; step < 10_000; ++step) {
+                int u = random.nextInt(50);
+                int v = random.nextInt(50);
+                int operation = random.nextInt(200);
+
+                if (operation < 100) {
+                    graph.addEdge(u, v, random.nextInt(3));
+                } else if (operation < 170) {
+                    graph.removeEdge(u, v);
+                } else if (operation < 185) {
+                    graph.clearNode(u);
+                } else if (operation < 195) {
+                    graph.removeNode(u);
+                } else if (operation < 199) {
+                    graph.addEdges(new int[]{ u, v, v },
+                                   new int[]{ v, u, v },
+                                   new double[]{ 1.0, 2.0, 3.0 });
+                } else {
+                    graph.clear();
+                }
+            }
+
+            graph.flushChanges();
+            assertEquals(graph.size(), mirror.copy.size());
+            assertEquals(graph.getNumberOfEdges(),
+                         mirror.copy.getNumberOfEdges());
+
+            for (int nodeId : graph.getAllNodes()) {
+                assertEquals(graph.getChildrenOf(nodeId),
+                             mirror.copy.getChildrenOf(nodeId));
+
+                for (int childId : graph.getChildrenOf(nodeId)) {
+                    assertEquals(graph.getEdgeWeight(nodeId, childId),
+                                 mirror.copy.getEdgeWeight(nodeId, childId),
+                                 0.0);
+                }
+            }
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCompressedGraphReportsNoChanges() {
+        new DirectedGraph().freeze().addChangeListener(batch -> {});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsZeroBatchSize() {
+        new DirectedGraph().setChangeBatchSize(0);
+    }
+
+    private static List<String> list(String... changes) {
+        List<String> list = new ArrayList<>();
+
+        for (String change : changes) {
+            list.add(change);
+        }
+
+        return list;
+    }
+}
@@ -0,0 +1,144 @@
+package net.coderodde.graph;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static net.coderodde.graph.GraphAssert.*;
+import static org.junit.Assert.*;
+
+public class GraphCompactionTest {
+
+    @Test
+    public void testCompactAfterChurn() {
+        AbstractGraph[] graphs = { new DirectedGraph(), new UndirectedGraph() };
+
+        for (AbstractGraph graph : graphs) {
+            for (int i = 1; i <= 2000; ++i) {
+                graph.addEdge(0, i, i);
+            }
+
+            for (int i = 1; i <= 2000; ++i) {
+                if (i % 100 != 0) {
+                    graph.removeNode(i);
+                }
+            }
+
+            AbstractGraph expected = copyOf(graph);
+            List<List<Integer>> order = iterationOrder(graph);
+            int modificationCount = graph.getModificationCount();
+            long footprint = graph.memoryFootprint();
+            long released = graph.compact();
+
+            assertTrue(released > 0L);
+            assertEquals(footprint - released, graph.memoryFootprint());
+            assertEquals(0L, graph.compact());
+            assertEquals(modificationCount, graph.getModificationCount());
+            assertSameGraph(expected, graph);
+            assertEquals(order, iterationOrder(graph));
+
+            // The graph keeps growing after compaction.
+            graph.addEdge(0, 5000, 2.0);
+            graph.addEdge(5000, 5001, 3.0);
+            assertEquals(2.0, graph.getEdgeWeight(0, 5000), 0.0);
+            assertEquals(22, graph.getNumberOfEdges());
+        }
+    }
+
+    @Test
+    public void testTrimToSize() {
+        DirectedGraph graph = new DirectedGraph();
+
+        for (int i = 1; i <= 100; ++i) {
+            graph.addEdge(0, i);
+            graph.addEdge(i, 0);
+        }
+
+        for (int i = 1; i < 100; ++i) {
+            graph.removeEdge(0, i);
+        }
+
+        long footprint = graph.memoryFootprint();
+        assertTrue(graph.trimToSize(0));
+        assertFalse(graph.trimToSize(0));
+        assertFalse(graph.trimToSize(12345));
+        assertTrue(graph.memoryFootprint() < footprint);
+        assertEquals(1, graph.getNumberOfChildren(0));
+        assertEquals(100, graph.getNumberOfParents(0));
+        assertTrue(graph.hasEdge(0, 100));
+    }
+
+    @Test
+    public void testCompactKeepsSnapshots() {
+        Random random = new Random(7L);
+        UndirectedGraph graph = new UndirectedGraph();
+        ConnectivityIndex index = graph.getConnectivityIndex();
+
+        for (int i = 0; i < 5000; ++i) {
+            graph.addEdge(random.nextInt(300), random.nextInt(300));
+        }
+
+        GraphSnapshot snapshot = graph.snapshot();
+        AbstractGraph expected = copyOf(graph);
+        List<List<Integer>> expectedOrder = iterationOrder(graph);
+
+        for (int i = 0; i < 4000; ++i) {
+            graph.removeEdge(random.nextInt(300), random.nextInt(300));
+        }
+
+        AbstractGraph churned = copyOf(graph);
+        List<List<Integer>> churnedOrder = iterationOrder(graph);
+        graph.compact();
+
+        assertSameGraph(expected, snapshot);
+        assertSameGraph(churned, graph);
+        assertEquals(expectedOrder, iterationOrder(snapshot));
+        assertEquals(churnedOrder, iterationOrder(graph));
+        assertEquals(index.getNumberOfComponents(),
+                     graph.getConnectivityIndex().getNumberOfComponents());
+    }
+
+    @Test
+    public void testCapacityHints() {
+        DirectedGraph plain = new DirectedGraph();
+        DirectedGraph hinted = new DirectedGraph(100, 800);
+
+        for (int i = 0; i < 100; ++i) {
+            plain.addNode(i);
+            hinted.addNode(i);
+        }
+
+        assertTrue(hinted.memoryFootprint() > plain.memoryFootprint());
+
+        long footprint = hinted.memoryFootprint();
+
+        for (int i = 0; i < 100; ++i) {
+            for (int j = 1; j <= 8; ++j) {
+                hinted.addEdge(i, (i + j) % 100);
+            }
+        }
+
+        // No adjacency had to grow.
+        assertEquals(footprint, hinted.memoryFootprint());
+
+        UndirectedGraph graph = new UndirectedGraph();
+        assertTrue(graph.addNode(1, 1000));
+        long reserved = graph.memoryFootprint();
+        assertFalse(graph.addNode(1, 10));
+        assertEquals(reserved, graph.memoryFootprint());
+        assertFalse(graph.addNode(1, 2000));
+        assertTrue(graph.memoryFootprint() > reserved);
+        assertEquals(0, graph.getNumberOfChildren(1));
+
+        assertEquals(-1L, graph.freeze().memoryFootprint());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNegativeExpectedEdges() {
+        new UndirectedGraph(10, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNegativeExpectedDegree() {
+        new DirectedGraph().addNode(1, -1);
+    }
+}
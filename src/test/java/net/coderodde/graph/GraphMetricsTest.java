@@ -0,0 +1,177 @@
+package net.coderodde.graph;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class GraphMetricsTest {
+
+    @Test
+    public void testCounts() {
+        DirectedGraph graph = new DirectedGraph();
+        assertNull(graph.getMetrics());
+        GraphMetrics metrics = graph.enableMetrics();
+        assertSame(metrics, graph.enableMetrics());
+        assertSame(metrics, graph.getMetrics());
+
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(1, 2, 2.0);
+        graph.addEdges(new int[]{ 1, 2, 3 },
+                       new int[]{ 2, 3, 1 },
+                       new double[]{ 3.0, 1.0, 1.0 });
+        graph.hasEdge(1, 2);
+        graph.hasEdge(2, 1);
+        graph.getEdgeWeight(3, 1);
+        graph.removeEdge(2, 3);
+        graph.addNode(4);
+        graph.removeNode(1);
+
+        GraphMetricsSnapshot snapshot = metrics.snapshot();
+        assertSame(snapshot, metrics.getLastSnapshot());
+        assertEquals(3, snapshot.getCount(GraphOperation.ADD_EDGE));
+        assertEquals(2, snapshot.getChangeCount(GraphOperation.ADD_EDGE));
+        assertEquals(1, snapshot.getCount(GraphOperation.ADD_EDGES));
+        assertEquals(2, snapshot.getCount(GraphOperation.HAS_EDGE));
+        assertEquals(1, snapshot.getChangeCount(GraphOperation.HAS_EDGE));
+        assertEquals(1, snapshot.getChangeCount(GraphOperation.GET_EDGE_WEIGHT));
+        assertEquals(1, snapshot.getCount(GraphOperation.REMOVE_EDGE));
+
+        // The implicit node creation and clearing are not counted separately.
+        assertEquals(1, snapshot.getCount(GraphOperation.ADD_NODE));
+        assertEquals(0, snapshot.getCount(GraphOperation.CLEAR_NODE));
+        assertEquals(1, snapshot.getCount(GraphOperation.REMOVE_NODE));
+
+        assertEquals(3, snapshot.getInsertedEdges());
+        assertEquals(2, snapshot.getUpdatedEdges());
+        assertEquals(3, snapshot.getRemovedEdges());
+        assertEquals(3, snapshot.getNumberOfNodes());
+        assertEquals(0, snapshot.getNumberOfEdges());
+        assertTrue(snapshot.getEstimatedFootprint() > 0L);
+        assertEquals(3, snapshot.getLatency(GraphOperation.ADD_EDGE)
+                                .getTotalCount());
+
+        metrics.reset();
+        assertEquals(3, snapshot.getCount(GraphOperation.ADD_EDGE));
+        assertEquals(0, metrics.snapshot().getCount(GraphOperation.ADD_EDGE));
+
+        graph.disableMetrics();
+        assertNull(graph.getMetrics());
+        graph.addEdge(5, 6);
+        assertEquals(0, metrics.snapshot().getCount(GraphOperation.ADD_EDGE));
+    }
+
+    @Test
+    public void testDegreeHistogramAndFootprint() {
+        UndirectedGraph graph = new UndirectedGraph();
+        GraphMetrics metrics = graph.enableMetrics();
+        graph.addNode(0);
+
+        for (int i = 2; i < 10; ++i) {
+            graph.addEdge(1, i);
+        }
+
+        GraphMetricsSnapshot snapshot = metrics.snapshot();
+
+        // Degree 0: node 0; degree 1: the eight leaves; degree 8: node 1.
+        assertArrayEquals(new long[]{ 1, 8, 0, 0, 1 },
+                          snapshot.getOutDegreeHistogram());
+        assertArrayEquals(snapshot.getOutDegreeHistogram(),
+                          snapshot.getInDegreeHistogram());
+
+        long footprint = snapshot.getEstimatedFootprint();
+
+        for (int i = 10; i < 1000; ++i) {
+            graph.addEdge(1, i);
+        }
+
+        assertTrue(metrics.snapshot().getEstimatedFootprint() >
+                   footprint + 990 * 8);
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getValueAtPercentile(99.0));
+
+        for (long value = 1; value <= 1000; ++value) {
+            histogram.record(value * 1000L);
+        }
+
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(1_000_000L, histogram.getMax());
+        assertEquals(500_500.0, histogram.getMean(), 1e-9);
+
+        for (double percentile : new double[]{ 1.0, 50.0, 90.0, 99.0 }) {
+            long exact = (long) (percentile * 10.0) * 1000L;
+            long reported = histogram.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact);
+            assertTrue(reported < exact * 1.0625);
+        }
+
+        assertEquals(1_000_000L, histogram.getValueAtPercentile(100.0));
+
+        Random random = new Random(1L);
+
+        for (int i = 0; i < 100_000; ++i) {
+            long value = random.nextLong() >>> (1 + random.nextInt(63));
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.highestValueOf(bucket)
+                       || value >= 1L << 41);
+
+            if (bucket > 0) {
+                assertTrue(value > LatencyHistogram.highestValueOf(bucket - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        DirectedGraph graph = new DirectedGraph();
+        GraphMetrics metrics = graph.enableMetrics();
+        ObjectName name = metrics.registerMBean("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            assertEquals(0, server.getAttribute(name, "NumberOfEdges"));
+            graph.addEdge(1, 2);
+            graph.addEdge(2, 3);
+            metrics.snapshot();
+            assertEquals(2, server.getAttribute(name, "NumberOfEdges"));
+
+            TabularData counts =
+                    (TabularData) server.getAttribute(name, "OperationCounts");
+            assertEquals(2L,
+                         counts.get(new Object[]{ "ADD_EDGE" }).get("value"));
+        } finally {
+            graph.disableMetrics();
+        }
+
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotHasNoMetrics() {
+        new DirectedGraph().snapshot().enableMetrics();
+    }
+
+    @Test
+    public void testMetricsAndListenersTogether() {
+        UndirectedGraph graph = new UndirectedGraph();
+        graph.enableMetrics();
+        int[] changes = new int[1];
+        graph.addChangeListener(batch -> changes[0] += batch.size());
+        graph.addEdge(1, 2);
+        graph.removeNode(1);
+        graph.flushChanges();
+
+        assertEquals(5, changes[0]);
+        assertEquals(1, graph.getMetrics()
+                             .snapshot()
+                             .getCount(GraphOperation.REMOVE_NODE));
+    }
+}
@@ -0,0 +1,200 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static net.coderodde.graph.GraphAssert.assertSameGraph;
+import static org.junit.Assert.*;
+
+public class GraphSnapshotTest {
+
+    private static final double E = 0.001;
+
+    @Test
+    public void testDirected() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1, 1.5);
+        graph.addEdge(1, 2, 2.5);
+        graph.addEdge(2, 2, 3.5);
+
+        Set<Integer> liveNodes = graph.getAllNodes();
+        Set<Integer> liveChildren = graph.getChildrenOf(1);
+        GraphSnapshot snapshot = graph.snapshot();
+
+        assertTrue(snapshot.isDirected());
+        assertEquals(graph.getModificationCount(),
+                     snapshot.getModificationCount());
+
+        graph.addEdge(1, 3, 4.5);
+        graph.addEdge(0, 1, 5.5);
+        graph.removeNode(2);
+        graph.addNode(10);
+
+        assertEquals(3, snapshot.size());
+        assertEquals(3, snapshot.getNumberOfEdges());
+        assertTrue(snapshot.hasNode(2));
+        assertFalse(snapshot.hasNode(10));
+        assertTrue(snapshot.hasEdge(2, 2));
+        assertFalse(snapshot.hasEdge(1, 3));
+        assertEquals(1.5, snapshot.getEdgeWeight(0, 1), E);
+        assertEquals(set(2), snapshot.getChildrenOf(1));
+        assertEquals(set(1, 2), snapshot.getParentsOf(2));
+
+        assertEquals(4, graph.size());
+        assertEquals(2, graph.getNumberOfEdges());
+        assertEquals(5.5, graph.getEdgeWeight(0, 1), E);
+        assertFalse(graph.hasNode(2));
+        assertEquals(set(0, 1, 3, 10), liveNodes);
+        assertEquals(set(3), liveChildren);
+        assertEquals(set(1), graph.getParentsOf(3));
+    }
+
+    @Test
+    public void testUndirected() {
+        UndirectedGraph graph = new UndirectedGraph();
+        graph.addEdge(0, 1, 1.5);
+        graph.addEdge(1, 2, 2.5);
+
+        GraphSnapshot snapshot = graph.snapshot();
+        assertFalse(snapshot.isDirected());
+
+        graph.clearNode(1);
+        graph.addEdge(0, 2, 3.5);
+
+        assertEquals(2, snapshot.getNumberOfEdges());
+        assertEquals(set(0, 2), snapshot.getChildrenOf(1));
+        assertEquals(set(1), snapshot.getParentsOf(0));
+        assertFalse(snapshot.hasEdge(0, 2));
+
+        assertEquals(1, graph.getNumberOfEdges());
+        assertTrue(graph.getChildrenOf(1).isEmpty());
+        assertEquals(set(2), graph.getChildrenOf(0));
+
+        graph.clear();
+        assertEquals(3, snapshot.size());
+        assertEquals(0, graph.size());
+    }
+
+    @Test
+    public void testAddEdgesAfterSnapshot() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdges(new int[]{ 0, 0, 1 }, new int[]{ 1, 2, 2 }, null);
+        GraphSnapshot snapshot = graph.snapshot();
+        graph.addEdges(new int[]{ 0, 2, 3 }, new int[]{ 3, 0, 0 }, null);
+
+        assertEquals(3, snapshot.getNumberOfEdges());
+        assertEquals(set(1, 2), snapshot.getChildrenOf(0));
+        assertEquals(set(1, 2, 3), graph.getChildrenOf(0));
+        assertEquals(set(2, 3), graph.getParentsOf(0));
+        assertTrue(snapshot.getParentsOf(0).isEmpty());
+    }
+
+    @Test
+    public void testRandomMutations() {
+        Random random = new Random(13L);
+        DirectedGraph directed = new DirectedGraph();
+        UndirectedGraph undirected = new UndirectedGraph();
+        List<AbstractGraph> snapshots = new ArrayList<>();
+        List<CompressedGraph> expected = new ArrayList<>();
+
+        for (int round = 0; round < 40; ++round) {
+            for (AbstractGraph graph : new AbstractGraph[]{ directed,
+                                                            undirected }) {
+                for (int i = 0; i < 50; ++i) {
+                    mutate(graph, random);
+                }
+
+                snapshots.add(graph.snapshot());
+                expected.add(graph.freeze());
+            }
+        }
+
+        for (int i = 0; i < snapshots.size(); ++i) {
+            assertSameGraph(expected.get(i), snapshots.get(i));
+            assertEquals(expected.get(i).getModificationCount(),
+                         snapshots.get(i).getModificationCount());
+        }
+    }
+
+    @Test
+    public void testConcurrentReaders() throws InterruptedException {
+        UndirectedGraph graph = new UndirectedGraph();
+
+        for (int i = 1; i < 1000; ++i) {
+            graph.addEdge(i - 1, i);
+        }
+
+        GraphSnapshot snapshot = graph.snapshot();
+        boolean[] failed = new boolean[1];
+        Thread[] readers = new Thread[3];
+
+        for (int t = 0; t < readers.length; ++t) {
+            readers[t] = new Thread(() -> {
+                for (int round = 0; round < 50; ++round) {
+                    for (int i = 1; i < 1000; ++i) {
+                        if (!snapshot.hasEdge(i, i - 1)
+                                || snapshot.getNumberOfChildren(0) != 1) {
+                            failed[0] = true;
+                        }
+                    }
+                }
+            });
+
+            readers[t].start();
+        }
+
+        Random random = new Random(17L);
+
+        for (int i = 0; i < 20_000; ++i) {
+            mutate(graph, random);
+        }
+
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertFalse(failed[0]);
+        assertEquals(1000, snapshot.size());
+        assertEquals(999, snapshot.getNumberOfEdges());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIsReadOnly() {
+        new DirectedGraph().snapshot().addNode(0);
+    }
+
+    private static void mutate(AbstractGraph graph, Random random) {
+        int a = random.nextInt(60);
+        int b = random.nextInt(60);
+
+        switch (random.nextInt(6)) {
+            case 0:
+                graph.removeNode(a);
+                break;
+
+            case 1:
+                graph.clearNode(a);
+                break;
+
+            case 2:
+                graph.removeEdge(a, b);
+                break;
+
+            default:
+                graph.addEdge(a, b, random.nextInt(4));
+        }
+    }
+
+    private static Set<Integer> set(Integer... nodeIds) {
+        Set<Integer> set = new HashSet<>();
+
+        for (Integer nodeId : nodeIds) {
+            set.add(nodeId);
+        }
+
+        return set;
+    }
+}
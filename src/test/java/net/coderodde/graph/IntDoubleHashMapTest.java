@@ -0,0 +1,136 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class IntDoubleHashMapTest {
+
+    private static final double E = 0.001;
+    private final IntDoubleHashMap map = new IntDoubleHashMap();
+
+    @Test
+    public void testPutGetRemove() {
+        assertTrue(map.isEmpty());
+        assertEquals(Double.NaN, map.get(3), E);
+        assertTrue(map.put(3, 1.5));
+        assertFalse(map.put(3, 2.5));
+        assertEquals(2.5, map.get(3), E);
+        assertEquals(1, map.size());
+        assertTrue(map.remove(3));
+        assertFalse(map.remove(3));
+        assertFalse(map.containsKey(3));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testHoleMarkerIsNotStored() {
+        double marker = Double.longBitsToDouble(0x7ff8dead0000beefL);
+        assertTrue(map.put(1, marker));
+        assertTrue(map.containsKey(1));
+        assertTrue(Double.isNaN(map.get(1)));
+        assertEquals(1, map.keySet().size());
+    }
+
+    @Test
+    public void testKeysIterateInInsertionOrder() {
+        for (int i = 100; i > 0; --i) {
+            map.put(i * 7, i);
+        }
+
+        for (int i = 100; i > 0; i -= 3) {
+            map.remove(i * 7);
+        }
+
+        Iterator<Integer> iterator = map.keySet().iterator();
+
+        for (int i = 100; i > 0; --i) {
+            if ((100 - i) % 3 != 0) {
+                assertEquals(Integer.valueOf(i * 7), iterator.next());
+            }
+        }
+
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testAgainstLinkedHashMap() {
+        Random random = new Random(13L);
+        Map<Integer, Double> reference = new LinkedHashMap<>();
+
+        for (int round = 0; round < 100000; ++round) {
+            int key = random.nextInt(200) - 100;
+
+            switch (random.nextInt(3)) {
+                case 0:
+                case 1:
+                    double value = random.nextDouble();
+                    assertEquals(reference.put(key, value) == null,
+                                 map.put(key, value));
+                    break;
+
+                default:
+                    assertEquals(reference.remove(key) != null,
+                                 map.remove(key));
+                    break;
+            }
+
+            assertEquals(reference.size(), map.size());
+        }
+
+        List<Integer> keys = new ArrayList<>(map.keySet());
+        assertEquals(new ArrayList<>(reference.keySet()), keys);
+
+        for (Map.Entry<Integer, Double> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()), 0.0);
+        }
+    }
+
+    @Test
+    public void testTrimToSize() {
+        assertFalse(map.trimToSize());
+
+        for (int i = 0; i < 100; ++i) {
+            map.put(i, i);
+        }
+
+        for (int i = 0; i < 100; ++i) {
+            if (i % 10 != 0) {
+                map.remove(i);
+            }
+        }
+
+        assertTrue(map.trimToSize());
+        assertEquals(10, map.capacity());
+        assertFalse(map.trimToSize());
+
+        Iterator<Integer> iterator = map.keySet().iterator();
+
+        for (int i = 0; i < 100; i += 10) {
+            assertEquals(Integer.valueOf(i), iterator.next());
+            assertEquals(i, map.get(i), 0.0);
+        }
+
+        assertFalse(iterator.hasNext());
+
+        // The map grows again from the trimmed capacity.
+        for (int i = 1; i < 100; i += 10) {
+            assertTrue(map.put(i, -i));
+        }
+
+        assertEquals(20, map.size());
+        assertEquals(-91.0, map.get(91), 0.0);
+
+        for (int i = 0; i < 100; ++i) {
+            map.remove(i);
+        }
+
+        assertTrue(map.trimToSize());
+        assertEquals(0, map.capacity());
+    }
+}
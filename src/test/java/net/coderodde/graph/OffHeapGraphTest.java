@@ -0,0 +1,228 @@
+package net.coderodde.graph;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import org.junit.Test;
+import static net.coderodde.graph.GraphAssert.*;
+import static org.junit.Assert.*;
+
+public class OffHeapGraphTest {
+
+    @Test
+    public void testDirectedAgainstDirectedGraph() {
+        testAgainst(new DirectedGraph(), new OffHeapDirectedGraph(1 << 12));
+    }
+
+    @Test
+    public void testUndirectedAgainstUndirectedGraph() {
+        testAgainst(new UndirectedGraph(), new OffHeapUndirectedGraph(1 << 12));
+    }
+
+    @Test
+    public void testHubs() {
+        // The slabs of the hubs outgrow the chunks and get buffers of their
+        // own.
+        OffHeapDirectedGraph graph = new OffHeapDirectedGraph(1 << 12);
+
+        for (int i = 1; i <= 5000; ++i) {
+            graph.addEdge(0, i, i);
+            graph.addEdge(-i, 0, -i);
+        }
+
+        assertEquals(5000, graph.getNumberOfChildren(0));
+        assertEquals(5000, graph.getNumberOfParents(0));
+        assertEquals(10000, graph.getNumberOfEdges());
+        assertEquals(123.0, graph.getEdgeWeight(0, 123), 0.0);
+        assertEquals(-45.0, graph.getEdgeWeight(-45, 0), 0.0);
+
+        for (int i = 1; i <= 5000; ++i) {
+            if (i % 1000 != 0) {
+                graph.removeNode(i);
+            }
+        }
+
+        assertEquals(5, graph.getNumberOfChildren(0));
+        assertEquals(new HashSet<>(Arrays.asList(1000, 2000, 3000,
+                                                 4000, 5000)),
+                     new HashSet<>(graph.getChildrenOf(0)));
+        assertTrue(graph.clearNode(0));
+        assertEquals(0, graph.getNumberOfEdges());
+        assertEquals(0, graph.getNumberOfParents(-1));
+    }
+
+    @Test
+    public void testFootprintStaysBoundedUnderChurn() {
+        OffHeapUndirectedGraph graph = new OffHeapUndirectedGraph();
+        Random random = new Random(3L);
+        long footprint = 0L;
+
+        for (int round = 0; round < 20; ++round) {
+            for (int i = 0; i < 2000; ++i) {
+                graph.addEdge(random.nextInt(500), random.nextInt(500));
+            }
+
+            for (int nodeId = 0; nodeId < 500; ++nodeId) {
+                graph.removeNode(nodeId);
+            }
+
+            assertEquals(0, graph.size());
+            assertEquals(0, graph.getNumberOfEdges());
+
+            if (round == 1) {
+                footprint = graph.memoryFootprint();
+            } else if (round > 1) {
+                // The freed records and slabs are reused.
+                assertEquals(footprint, graph.memoryFootprint());
+            }
+        }
+    }
+
+    @Test
+    public void testCompactAndTrimToSize() {
+        OffHeapDirectedGraph graph = new OffHeapDirectedGraph(1 << 16);
+
+        for (int i = 1; i <= 3000; ++i) {
+            graph.addEdge(0, i, i);
+            graph.addEdge(i, i + 1);
+        }
+
+        for (int i = 1; i <= 3000; ++i) {
+            if (i % 100 != 0) {
+                graph.removeEdge(i, i + 1);
+                graph.removeNode(i);
+            }
+        }
+
+        AbstractGraph expected = copyOf(graph);
+        int modificationCount = graph.getModificationCount();
+        long footprint = graph.memoryFootprint();
+        long released = graph.compact();
+
+        assertTrue(released > 0L);
+        assertEquals(footprint - released, graph.memoryFootprint());
+        assertEquals(modificationCount, graph.getModificationCount());
+        assertSameGraph(expected, graph);
+
+        graph.addEdge(7, 8, 2.0);
+        assertEquals(2.0, graph.getEdgeWeight(7, 8), 0.0);
+
+        for (int i = 1; i <= 200; ++i) {
+            graph.addEdge(-1, -i - 1);
+        }
+
+        // The slab halves at one eighth full only, so 50 children are left
+        // with some slack.
+        for (int i = 1; i <= 150; ++i) {
+            graph.removeEdge(-1, -i - 1);
+        }
+
+        assertTrue(graph.trimToSize(-1));
+        assertFalse(graph.trimToSize(-1));
+        assertFalse(graph.trimToSize(Integer.MIN_VALUE));
+        assertEquals(50, graph.getNumberOfChildren(-1));
+        assertTrue(graph.hasEdge(-1, -201));
+    }
+
+    @Test
+    public void testViews() {
+        OffHeapUndirectedGraph graph = new OffHeapUndirectedGraph();
+        assertFalse(graph.addEdge(1, 1));
+        assertFalse(graph.hasNode(1));
+
+        graph.addEdge(1, 2, 3.0);
+        graph.addEdge(1, 3, 4.0);
+
+        assertEquals(graph.getChildrenOf(1), graph.getParentsOf(1));
+        assertTrue(graph.getChildrenOf(2).contains(1));
+        assertFalse(graph.getChildrenOf(2).contains(3));
+        assertTrue(graph.getChildrenOf(4).isEmpty());
+        assertEquals(3, graph.getAllNodes().size());
+        assertEquals(4.0, graph.getEdgeWeight(3, 1), 0.0);
+
+        CompressedGraph frozen = graph.freeze();
+        assertEquals(2, frozen.getNumberOfEdges());
+        assertTrue(frozen.hasEdge(3, 1));
+
+        Iterator<Integer> iterator = graph.getAllNodes().iterator();
+        iterator.next();
+        graph.compact();
+
+        try {
+            iterator.next();
+            fail();
+        } catch (ConcurrentModificationException ex) {}
+
+        iterator = graph.getChildrenOf(1).iterator();
+        graph.removeEdge(1, 2);
+
+        try {
+            iterator.next();
+            fail();
+        } catch (ConcurrentModificationException ex) {}
+
+        graph.clear();
+        assertEquals(0, graph.size());
+        assertEquals(0, graph.getNumberOfEdges());
+        assertTrue(graph.addEdge(1, 2));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testNotObservable() {
+        new OffHeapDirectedGraph().enableMetrics();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsChunkSizeNotPowerOfTwo() {
+        new OffHeapDirectedGraph(100000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsTooSmallChunkSize() {
+        new OffHeapUndirectedGraph(1 << 11);
+    }
+
+    private static void testAgainst(AbstractGraph expected,
+                                    AbstractGraph actual) {
+        Random random = new Random(13L);
+
+        for (int i = 0; i < 100000; ++i) {
+            int tail = random.nextInt(200);
+            int head = random.nextInt(200);
+            int operation = random.nextInt(100);
+
+            if (operation < 55) {
+                double weight = random.nextInt(4);
+                assertEquals(expected.addEdge(tail, head, weight),
+                             actual.addEdge(tail, head, weight));
+            } else if (operation < 90) {
+                assertEquals(expected.removeEdge(tail, head),
+                             actual.removeEdge(tail, head));
+            } else if (operation < 94) {
+                assertEquals(expected.addNode(tail), actual.addNode(tail));
+            } else if (operation < 97) {
+                assertEquals(expected.clearNode(tail), actual.clearNode(tail));
+            } else {
+                assertEquals(expected.removeNode(tail),
+                             actual.removeNode(tail));
+            }
+
+            assertEquals(expected.getModificationCount(),
+                         actual.getModificationCount());
+
+            if (i % 5000 == 0) {
+                assertSameGraph(expected, actual);
+            }
+        }
+
+        assertSameGraph(expected, actual);
+
+        expected.clear();
+        actual.clear();
+        assertEquals(expected.getModificationCount(),
+                     actual.getModificationCount());
+        assertSameGraph(expected, actual);
+    }
+}
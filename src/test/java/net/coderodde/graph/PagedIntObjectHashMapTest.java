@@ -0,0 +1,114 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PagedIntObjectHashMapTest {
+
+    @Test
+    public void testAgainstLinkedHashMap() {
+        Random random = new Random(11L);
+        PagedIntObjectHashMap<String> map = new PagedIntObjectHashMap<>();
+        Map<Integer, String> expected = new LinkedHashMap<>();
+
+        for (int i = 0; i < 200_000; ++i) {
+            int key = random.nextInt(5000) - 2500;
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(!expected.containsKey(key), map.put(key, value));
+
+                if (!expected.containsKey(key)) {
+                    expected.put(key, value);
+                } else {
+                    expected.replace(key, value);
+                }
+            }
+
+            if (i % 20_000 == 0) {
+                assertSameEntries(expected, map);
+                map.trimToSize();
+            }
+        }
+
+        assertSameEntries(expected, map);
+    }
+
+    @Test
+    public void testCopiesDoNotInterfere() {
+        Random random = new Random(12L);
+        PagedIntObjectHashMap<String> map = new PagedIntObjectHashMap<>();
+        Map<Integer, String> expected = new LinkedHashMap<>();
+        List<PagedIntObjectHashMap<String>> copies = new ArrayList<>();
+        List<Map<Integer, String>> expectedCopies = new ArrayList<>();
+
+        for (int i = 0; i < 10_000; ++i) {
+            map.put(i, "v" + i);
+            expected.put(i, "v" + i);
+        }
+
+        for (int epoch = 1; epoch <= 20; ++epoch) {
+            copies.add(map);
+            expectedCopies.add(new LinkedHashMap<>(expected));
+            map = map.copy(epoch);
+
+            for (int i = 0; i < 50; ++i) {
+                int key = random.nextInt(12_000);
+
+                if (random.nextBoolean()) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    String value = "e" + epoch + "." + i;
+
+                    if (map.put(key, value)) {
+                        expected.put(key, value);
+                    } else {
+                        expected.replace(key, value);
+                    }
+                }
+            }
+        }
+
+        assertSameEntries(expected, map);
+
+        for (int i = 0; i < copies.size(); ++i) {
+            assertSameEntries(expectedCopies.get(i), copies.get(i));
+        }
+    }
+
+    @Test
+    public void testEmptyMap() {
+        PagedIntObjectHashMap<String> map = new PagedIntObjectHashMap<>();
+        assertNull(map.get(1));
+        assertNull(map.remove(1));
+        assertFalse(map.trimToSize());
+        assertTrue(map.keySet().isEmpty());
+
+        map.ensureCapacity(3000);
+        assertTrue(map.put(1, "a"));
+        assertTrue(map.trimToSize());
+        assertEquals("a", map.get(1));
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(1));
+    }
+
+    private static void assertSameEntries(Map<Integer, String> expected,
+                                          PagedIntObjectHashMap<String> map) {
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.keySet()),
+                     new ArrayList<>(map.keySet()));
+
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+}
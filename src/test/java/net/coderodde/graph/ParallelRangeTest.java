@@ -0,0 +1,69 @@
+package net.coderodde.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ParallelRangeTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @Test
+    public void testForEachCoversRangeOnce() {
+        AtomicIntegerArray visits = new AtomicIntegerArray(10_000);
+
+        ParallelRange.forEach(pool, 3, 9_999, 100, (begin, end) -> {
+            assertTrue(end - begin <= 100);
+
+            for (int i = begin; i < end; ++i) {
+                visits.incrementAndGet(i);
+            }
+        });
+
+        for (int i = 0; i < visits.length(); ++i) {
+            assertEquals(i >= 3 && i < 9_999 ? 1 : 0, visits.get(i));
+        }
+    }
+
+    @Test
+    public void testForEachWeightedSplitsByRows() {
+        // The element 0 owns a huge row, the rest own a row of one each.
+        int n = 1000;
+        int[] offsets = new int[n + 1];
+        offsets[1] = 100_000;
+
+        for (int i = 2; i <= n; ++i) {
+            offsets[i] = offsets[i - 1] + 1;
+        }
+
+        AtomicIntegerArray visits = new AtomicIntegerArray(n);
+
+        ParallelRange.forEachWeighted(pool, offsets, 0, n, 64, (b, e) -> {
+            assertTrue(e - b == 1 || offsets[e] - offsets[b] <= 64);
+
+            for (int i = b; i < e; ++i) {
+                visits.incrementAndGet(i);
+            }
+        });
+
+        for (int i = 0; i < n; ++i) {
+            assertEquals(1, visits.get(i));
+        }
+    }
+
+    @Test
+    public void testSum() {
+        double sum = ParallelRange.sum(pool, 0, 100_000, 1000, (b, e) -> {
+            double partial = 0.0;
+
+            for (int i = b; i < e; ++i) {
+                partial += i;
+            }
+
+            return partial;
+        });
+
+        assertEquals(99_999.0 * 100_000.0 / 2.0, sum, 0.0);
+    }
+}
@@ -0,0 +1,179 @@
+package net.coderodde.graph;
+
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.Test;
+import static net.coderodde.graph.GraphAssert.assertSameGraph;
+import static org.junit.Assert.*;
+
+public class SingleWeightUndirectedGraphTest {
+
+    @Test
+    public void testAgainstUndirectedGraph() {
+        Random random = new Random(17L);
+        UndirectedGraph expected = new UndirectedGraph();
+        SingleWeightUndirectedGraph actual = new SingleWeightUndirectedGraph();
+
+        for (int i = 0; i < 100000; ++i) {
+            int tail = random.nextInt(150);
+            int head = random.nextInt(150);
+            int operation = random.nextInt(100);
+
+            if (operation < 55) {
+                double weight = random.nextInt(3) - 1.0;
+
+                if (random.nextInt(10) == 0) {
+                    weight = -0.0;
+                }
+
+                assertEquals(expected.addEdge(tail, head, weight),
+                             actual.addEdge(tail, head, weight));
+            } else if (operation < 90) {
+                assertEquals(expected.removeEdge(tail, head),
+                             actual.removeEdge(tail, head));
+            } else if (operation < 94) {
+                assertEquals(expected.addNode(tail), actual.addNode(tail));
+            } else if (operation < 97) {
+                assertEquals(expected.clearNode(tail), actual.clearNode(tail));
+            } else {
+                assertEquals(expected.removeNode(tail),
+                             actual.removeNode(tail));
+            }
+
+            assertEquals(expected.getModificationCount(),
+                         actual.getModificationCount());
+
+            if (i % 10000 == 0) {
+                actual.compact();
+                assertSameGraph(expected, actual);
+            }
+        }
+
+        assertSameGraph(expected, actual);
+        assertEquals(new ArrayList<>(expected.getAllNodes()),
+                     new ArrayList<>(actual.getAllNodes()));
+    }
+
+    @Test
+    public void testWeightIsShared() {
+        SingleWeightUndirectedGraph graph = new SingleWeightUndirectedGraph();
+        assertTrue(graph.addEdge(1, 2, 3.0));
+        assertTrue(graph.addEdge(2, 1, 4.0));
+        assertFalse(graph.addEdge(1, 2, 4.0));
+
+        assertEquals(4.0, graph.getEdgeWeight(1, 2), 0.0);
+        assertEquals(4.0, graph.getEdgeWeight(2, 1), 0.0);
+        assertEquals(1, graph.getNumberOfEdges());
+        assertEquals(graph.getChildrenOf(1), graph.getParentsOf(1));
+        assertEquals(1, graph.getNumberOfParents(2));
+
+        double[] sum = new double[1];
+        graph.forEachParent(2, (nodeId, weight) -> sum[0] += nodeId * weight);
+        assertEquals(4.0, sum[0], 0.0);
+
+        assertFalse(graph.addEdge(3, 3));
+        assertFalse(graph.hasNode(3));
+    }
+
+    @Test
+    public void testFootprintIsStableUnderChurn() {
+        SingleWeightUndirectedGraph graph =
+                new SingleWeightUndirectedGraph(100, 99);
+
+        for (int i = 1; i < 100; ++i) {
+            graph.addEdge(0, i, i);
+        }
+
+        long footprint = 0L;
+
+        for (int round = 0; round < 10; ++round) {
+            if (round == 1) {
+                // The maps have grown to their final sizes.
+                footprint = graph.memoryFootprint();
+            }
+
+            for (int i = 1; i < 100; ++i) {
+                graph.removeEdge(i, 0);
+            }
+
+            for (int i = 1; i < 100; ++i) {
+                graph.addEdge(i, 0, -i);
+            }
+        }
+
+        assertEquals(footprint, graph.memoryFootprint());
+        assertEquals(-50.0, graph.getEdgeWeight(0, 50), 0.0);
+
+        graph.removeNode(0);
+        assertTrue(graph.compact() > 0L);
+        assertEquals(0, graph.getNumberOfEdges());
+        assertEquals(99, graph.size());
+
+        graph.clear();
+        assertEquals(0, graph.size());
+        assertTrue(graph.addEdge(1, 2));
+    }
+
+    @Test
+    public void testRemovedNodesLeaveNoStorage() {
+        SingleWeightUndirectedGraph graph = new SingleWeightUndirectedGraph();
+        long empty = graph.memoryFootprint();
+
+        for (int i = 0; i < 1000; ++i) {
+            graph.addNode(i, 64);
+            graph.removeNode(i);
+        }
+
+        graph.compact();
+        assertEquals(0, graph.size());
+        assertEquals(empty, graph.memoryFootprint());
+
+        // The lower half of the hint applies to the existing lower set only.
+        graph.addEdge(1, 2);
+        graph.addNode(2, 64);
+        assertTrue(graph.removeEdge(1, 2));
+        assertTrue(graph.removeNode(1));
+        assertTrue(graph.removeNode(2));
+        graph.compact();
+        assertEquals(empty, graph.memoryFootprint());
+    }
+
+    @Test
+    public void testFootprintBelowUndirectedGraph() {
+        Random random = new Random(18L);
+        UndirectedGraph undirected = new UndirectedGraph();
+        SingleWeightUndirectedGraph singleWeight =
+                new SingleWeightUndirectedGraph();
+
+        for (int i = 0; i < 50000; ++i) {
+            int tail = random.nextInt(1000);
+            int head = random.nextInt(1000);
+            double weight = random.nextDouble();
+            undirected.addEdge(tail, head, weight);
+            singleWeight.addEdge(tail, head, weight);
+        }
+
+        undirected.compact();
+        singleWeight.compact();
+        assertEquals(undirected.getNumberOfEdges(),
+                     singleWeight.getNumberOfEdges());
+
+        double undirectedPerEdge = (double) undirected.memoryFootprint() /
+                                   undirected.getNumberOfEdges();
+        double singleWeightPerEdge = (double) singleWeight.memoryFootprint() /
+                                     singleWeight.getNumberOfEdges();
+        assertTrue(singleWeightPerEdge < undirectedPerEdge);
+    }
+
+    @Test
+    public void testFreeze() {
+        SingleWeightUndirectedGraph graph = new SingleWeightUndirectedGraph();
+        graph.addEdge(1, 2, 2.5);
+        graph.addEdge(2, 3, 3.5);
+
+        CompressedGraph frozen = graph.freeze();
+        assertFalse(frozen.isDirected());
+        assertEquals(2, frozen.getNumberOfEdges());
+        assertEquals(3.5, frozen.getEdgeWeight(3, 2), 0.0);
+    }
+}
@@ -1,5 +1,8 @@
 package net.coderodde.graph;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -318,4 +321,73 @@ public class UndirectedGraphTest {
             
         assertEquals(modCount += 5, graph.getModificationCount());
     }
+
+    @Test
+    public void testForEachChildAndParent() {
+        graph.addEdge(0, 1, 1.5);
+        graph.addEdge(2, 0, 2.5);
+
+        final Map<Integer, Double> children = new HashMap<>();
+        final Map<Integer, Double> parents = new HashMap<>();
+        graph.forEachChild(0, (nodeId, weight) -> children.put(nodeId, weight));
+        graph.forEachParent(0, (nodeId, weight) -> parents.put(nodeId, weight));
+
+        assertEquals(children, parents);
+        assertEquals(2, children.size());
+        assertEquals(1.5, children.get(1), E);
+        assertEquals(2.5, children.get(2), E);
+        assertEquals(2, graph.getNumberOfChildren(0));
+        assertEquals(2, graph.getNumberOfParents(0));
+        assertEquals(0, graph.getNumberOfChildren(10));
+    }
+
+    @Test
+    public void testAddEdges() {
+        Random random = new Random(3L);
+        int[] tails = new int[2000];
+        int[] heads = new int[2000];
+        double[] weights = new double[2000];
+
+        for (int i = 0; i < tails.length; ++i) {
+            tails[i] = random.nextInt(60);
+            heads[i] = random.nextInt(60);
+            weights[i] = random.nextInt(3);
+        }
+
+        UndirectedGraph reference = new UndirectedGraph();
+        graph.addEdge(1000, 1001, 2.0);
+        reference.addEdge(1000, 1001, 2.0);
+
+        for (int i = 0; i < 1000; ++i) {
+            reference.addEdge(tails[i], heads[i], weights[i]);
+        }
+
+        for (int i = 1000; i < tails.length; ++i) {
+            reference.addEdge(tails[i], heads[i]);
+        }
+
+        int modCount = graph.getModificationCount();
+        assertTrue(graph.addEdges(tails, heads, weights, 0, 1000));
+        assertTrue(graph.addEdges(tails, heads, null, 1000, 1000));
+        assertFalse(graph.addEdges(tails, heads, null, 1000, 1000));
+
+        assertEquals(reference.getModificationCount() - 3,
+                     graph.getModificationCount() - modCount);
+        assertEquals(reference.size(), graph.size());
+        assertEquals(reference.getNumberOfEdges(), graph.getNumberOfEdges());
+        assertEquals(reference.getAllNodes(), graph.getAllNodes());
+
+        for (Integer nodeId : reference.getAllNodes()) {
+            assertEquals(reference.getChildrenOf(nodeId),
+                         graph.getChildrenOf(nodeId));
+            assertEquals(reference.getParentsOf(nodeId),
+                         graph.getParentsOf(nodeId));
+
+            for (Integer childId : reference.getChildrenOf(nodeId)) {
+                assertEquals(reference.getEdgeWeight(nodeId, childId),
+                             graph.getEdgeWeight(nodeId, childId),
+                             0.0);
+            }
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package net.coderodde.graph.clustering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TriangleCounterTest {
+
+    @Test
+    public void testSmallGraph() {
+        // Two triangles sharing the edge (1, 2), and a pendant node.
+        UndirectedGraph graph = new UndirectedGraph();
+        graph.addEdge(1, 2);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 3);
+        graph.addEdge(1, 4);
+        graph.addEdge(2, 4);
+        graph.addEdge(4, 5);
+        graph.addNode(6);
+
+        TriangleCountResult result = new TriangleCounter().count(graph);
+
+        assertEquals(2L, result.getTriangleCount());
+        assertEquals(2L, result.getTriangleCount(1));
+        assertEquals(1L, result.getTriangleCount(3));
+        assertEquals(0L, result.getTriangleCount(5));
+        assertEquals(-1L, result.getTriangleCount(7));
+        assertEquals(2.0 / 3.0, result.getClusteringCoefficient(1), 1e-12);
+        assertEquals(1.0, result.getClusteringCoefficient(3), 0.0);
+        assertEquals(1.0 / 3.0, result.getClusteringCoefficient(4), 1e-12);
+        assertEquals(0.0, result.getClusteringCoefficient(6), 0.0);
+        assertTrue(Double.isNaN(result.getClusteringCoefficient(7)));
+        assertEquals((2.0 / 3.0 * 2 + 1.0 + 1.0 / 3.0) / 6.0,
+                     result.getAverageClusteringCoefficient(),
+                     1e-12);
+
+        // 6 triangle corners over 3 + 3 + 1 + 3 wedges.
+        assertEquals(6.0 / 10.0,
+                     result.getGlobalClusteringCoefficient(),
+                     1e-12);
+    }
+
+    @Test
+    public void testAgainstBruteForce() {
+        Random random = new Random(21L);
+        UndirectedGraph graph = new UndirectedGraph();
+
+        // A few hubs give the degree ordering something to do.
+        for (int i = 0; i < 30000; ++i) {
+            int u = random.nextInt(8) == 0 ?
+                    random.nextInt(4) :
+                    random.nextInt(2000);
+            graph.addEdge(u * 13, random.nextInt(2000) * 13);
+        }
+
+        List<Integer> nodes = new ArrayList<>(graph.getAllNodes());
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            TriangleCountResult result = new TriangleCounter(pool).count(graph);
+            long total = 0L;
+
+            for (int nodeId : nodes) {
+                long expected = 0L;
+                List<Integer> neighbors =
+                        new ArrayList<>(graph.getChildrenOf(nodeId));
+
+                for (int i = 0; i < neighbors.size(); ++i) {
+                    for (int j = i + 1; j < neighbors.size(); ++j) {
+                        if (graph.hasEdge(neighbors.get(i),
+                                          neighbors.get(j))) {
+                            expected++;
+                        }
+                    }
+                }
+
+                assertEquals(expected, result.getTriangleCount(nodeId));
+                total += expected;
+            }
+
+            assertEquals(total / 3, result.getTriangleCount());
+            assertTrue(result.getTriangleCount() > 0L);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEstimate() {
+        Random random = new Random(4L);
+        UndirectedGraph graph = new UndirectedGraph();
+
+        for (int i = 0; i < 20000; ++i) {
+            int u = random.nextInt(1000);
+            graph.addEdge(u, (u + 1 + random.nextInt(20)) % 1000);
+        }
+
+        TriangleCounter counter = new TriangleCounter();
+        long exact = counter.count(graph).getTriangleCount();
+        double estimate = counter.estimate(graph, 200000, 1L);
+
+        assertEquals(exact, estimate, 0.05 * exact);
+        assertEquals(estimate, counter.estimate(graph, 200000, 1L), 0.0);
+        assertEquals(0.0, counter.estimate(new UndirectedGraph(), 10, 1L), 0.0);
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        TriangleCountResult result =
+                new TriangleCounter().count(new UndirectedGraph());
+
+        assertEquals(0L, result.getTriangleCount());
+        assertEquals(0.0, result.getAverageClusteringCoefficient(), 0.0);
+        assertEquals(0.0, result.getGlobalClusteringCoefficient(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsDirectedGraph() {
+        new TriangleCounter().count(new DirectedGraph());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNonPositiveSamples() {
+        new TriangleCounter().estimate(new UndirectedGraph(), 0, 1L);
+    }
+}
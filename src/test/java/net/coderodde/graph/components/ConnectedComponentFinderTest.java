@@ -0,0 +1,149 @@
+package net.coderodde.graph.components;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ConnectedComponentFinderTest {
+
+    @Test
+    public void testSmallGraph() {
+        UndirectedGraph graph = new UndirectedGraph();
+        graph.addEdge(5, 6);
+        graph.addEdge(7, 8);
+        graph.addEdge(6, 9);
+        graph.addNode(10);
+
+        ComponentLabeling labeling = new ConnectedComponentFinder().find(graph);
+
+        assertEquals(3, labeling.getNumberOfComponents());
+        assertEquals(0, labeling.getComponentId(5));
+        assertEquals(0, labeling.getComponentId(9));
+        assertEquals(1, labeling.getComponentId(7));
+        assertEquals(2, labeling.getComponentId(10));
+        assertEquals(-1, labeling.getComponentId(11));
+        assertArrayEquals(new int[]{ 3, 2, 1 }, labeling.getComponentSizes());
+        assertArrayEquals(new int[]{ 5, 6, 9 }, labeling.getComponent(0));
+        assertTrue(labeling.isConnected(5, 9));
+        assertFalse(labeling.isConnected(5, 7));
+        assertFalse(labeling.isConnected(11, 11));
+    }
+
+    @Test
+    public void testWeakComponentsOfDirectedGraph() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1);
+        graph.addEdge(2, 1);
+        graph.addEdge(3, 4);
+
+        ComponentLabeling labeling = new ConnectedComponentFinder().find(graph);
+
+        assertEquals(2, labeling.getNumberOfComponents());
+        assertTrue(labeling.isConnected(0, 2));
+        assertFalse(labeling.isConnected(0, 3));
+    }
+
+    @Test
+    public void testLongPath() {
+        UndirectedGraph graph = new UndirectedGraph();
+        int n = 300_000;
+        int[] tails = new int[n - 1];
+        int[] heads = new int[n - 1];
+
+        for (int i = 1; i < n; ++i) {
+            tails[i - 1] = i - 1;
+            heads[i - 1] = i;
+        }
+
+        graph.addEdges(tails, heads, null);
+        ComponentLabeling labeling = new ConnectedComponentFinder().find(graph);
+
+        assertEquals(1, labeling.getNumberOfComponents());
+        assertEquals(n, labeling.getComponentSize(0));
+    }
+
+    @Test
+    public void testAgainstBreadthFirstSearch() {
+        Random random = new Random(31L);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (int round = 0; round < 8; ++round) {
+                AbstractGraph graph = round % 2 == 0 ? new UndirectedGraph() :
+                                                       new DirectedGraph();
+                int n = 1000 + random.nextInt(50_000);
+
+                for (int i = 0; i < n / 2 + random.nextInt(n); ++i) {
+                    graph.addEdge(random.nextInt(n), random.nextInt(n));
+                }
+
+                ComponentLabeling labeling =
+                        new ConnectedComponentFinder(pool).find(graph);
+                Map<Integer, Integer> expected = label(graph);
+                Map<Integer, Integer> mapping = new HashMap<>();
+                int[] nodeIds = labeling.getNodeIds();
+                int[] componentIds = labeling.getComponentIds();
+                int[] sizes = new int[labeling.getNumberOfComponents()];
+
+                for (int i = 0; i < nodeIds.length; ++i) {
+                    Integer old = mapping.put(componentIds[i],
+                                              expected.get(nodeIds[i]));
+                    assertTrue(old == null ||
+                               old.equals(expected.get(nodeIds[i])));
+                    sizes[componentIds[i]]++;
+                }
+
+                assertEquals(mapping.size(), labeling.getNumberOfComponents());
+                assertEquals(new HashSet<>(mapping.values()).size(),
+                             labeling.getNumberOfComponents());
+                assertArrayEquals(sizes, labeling.getComponentSizes());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Map<Integer, Integer> label(AbstractGraph graph) {
+        Map<Integer, Integer> labels = new HashMap<>();
+        int label = 0;
+
+        for (Integer start : graph.getAllNodes()) {
+            if (labels.containsKey(start)) {
+                continue;
+            }
+
+            Deque<Integer> queue = new ArrayDeque<>();
+            queue.add(start);
+            labels.put(start, label);
+
+            while (!queue.isEmpty()) {
+                Integer node = queue.remove();
+
+                for (Integer next : graph.getChildrenOf(node)) {
+                    if (labels.putIfAbsent(next, label) == null) {
+                        queue.add(next);
+                    }
+                }
+
+                for (Integer next : graph.getParentsOf(node)) {
+                    if (labels.putIfAbsent(next, label) == null) {
+                        queue.add(next);
+                    }
+                }
+            }
+
+            label++;
+        }
+
+        return labels;
+    }
+}
@@ -0,0 +1,119 @@
+package net.coderodde.graph.components;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import net.coderodde.graph.DirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class StronglyConnectedComponentFinderTest {
+
+    private static final double E = 0.001;
+
+    @Test
+    public void testSmallGraph() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+        graph.addEdge(2, 3);
+        graph.addEdge(1, 3);
+        graph.addEdge(3, 4);
+        graph.addEdge(4, 3);
+        graph.addNode(5);
+
+        ComponentLabeling labeling =
+                new StronglyConnectedComponentFinder().find(graph);
+
+        assertEquals(3, labeling.getNumberOfComponents());
+        assertTrue(labeling.isConnected(0, 2));
+        assertTrue(labeling.isConnected(3, 4));
+        assertFalse(labeling.isConnected(2, 3));
+        assertTrue(labeling.getComponentId(0) < labeling.getComponentId(3));
+        assertEquals(3, labeling.getComponentSize(labeling.getComponentId(1)));
+
+        DirectedGraph condensation = labeling.getCondensation();
+        assertEquals(3, condensation.size());
+        assertEquals(1, condensation.getNumberOfEdges());
+        assertEquals(2.0,
+                     condensation.getEdgeWeight(labeling.getComponentId(0),
+                                                labeling.getComponentId(3)),
+                     E);
+    }
+
+    @Test
+    public void testLongCycle() {
+        DirectedGraph graph = new DirectedGraph();
+        int n = 1_000_000;
+        int[] tails = new int[n];
+        int[] heads = new int[n];
+
+        for (int i = 0; i < n; ++i) {
+            tails[i] = i;
+            heads[i] = (i + 1) % n;
+        }
+
+        graph.addEdges(tails, heads, null);
+        ComponentLabeling labeling =
+                new StronglyConnectedComponentFinder().find(graph);
+
+        assertEquals(1, labeling.getNumberOfComponents());
+
+        graph.removeEdge(n - 1, 0);
+        labeling = new StronglyConnectedComponentFinder().find(graph);
+
+        assertEquals(n, labeling.getNumberOfComponents());
+        assertEquals(n - 1, labeling.getCondensation().getNumberOfEdges());
+    }
+
+    @Test
+    public void testAgainstReachability() {
+        Random random = new Random(37L);
+
+        for (int round = 0; round < 20; ++round) {
+            DirectedGraph graph = new DirectedGraph();
+            int n = 10 + random.nextInt(60);
+
+            for (int i = 0; i < n + random.nextInt(2 * n); ++i) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n));
+            }
+
+            ComponentLabeling labeling =
+                    new StronglyConnectedComponentFinder().find(graph);
+
+            for (Integer u : graph.getAllNodes()) {
+                Set<Integer> fromU = reachable(graph, u);
+
+                for (Integer v : graph.getAllNodes()) {
+                    boolean strong = fromU.contains(v) &&
+                                     reachable(graph, v).contains(u);
+                    assertEquals(strong, labeling.isConnected(u, v));
+                }
+
+                for (Integer child : graph.getChildrenOf(u)) {
+                    assertTrue(labeling.getComponentId(u) <=
+                               labeling.getComponentId(child));
+                }
+            }
+        }
+    }
+
+    private static Set<Integer> reachable(DirectedGraph graph, int source) {
+        Set<Integer> visited = new HashSet<>();
+        ArrayDeque<Integer> stack = new ArrayDeque<>();
+        stack.push(source);
+        visited.add(source);
+
+        while (!stack.isEmpty()) {
+            for (Integer child : graph.getChildrenOf(stack.pop())) {
+                if (visited.add(child)) {
+                    stack.push(child);
+                }
+            }
+        }
+
+        return visited;
+    }
+}
@@ -0,0 +1,108 @@
+package net.coderodde.graph.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Random;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static net.coderodde.graph.GraphAssert.assertSameGraph;
+import static org.junit.Assert.*;
+
+public class BinaryGraphFormatTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDirectedRoundTrip() throws IOException {
+        DirectedGraph graph = randomDirectedGraph(new Random(1L));
+        graph.addNode(-5);
+        Path file = folder.newFile().toPath();
+        BinaryGraphFormat.write(graph, file);
+
+        MappedGraph mapped = BinaryGraphFormat.map(file);
+        assertTrue(mapped.isDirected());
+        assertSameGraph(graph, mapped);
+
+        AbstractGraph loaded = BinaryGraphFormat.read(file);
+        assertTrue(loaded instanceof DirectedGraph);
+        assertSameGraph(graph, loaded);
+    }
+
+    @Test
+    public void testUndirectedRoundTrip() throws IOException {
+        Random random = new Random(2L);
+        UndirectedGraph graph = new UndirectedGraph();
+
+        for (int i = 0; i < 1000; ++i) {
+            graph.addEdge(random.nextInt(200), 
+                          random.nextInt(200), 
+                          random.nextDouble());
+        }
+
+        Path file = folder.newFile().toPath();
+        BinaryGraphFormat.write(graph, file);
+
+        MappedGraph mapped = BinaryGraphFormat.map(file);
+        assertFalse(mapped.isDirected());
+        assertSameGraph(graph, mapped);
+
+        AbstractGraph loaded = BinaryGraphFormat.read(file);
+        assertTrue(loaded instanceof UndirectedGraph);
+        assertSameGraph(graph, loaded);
+    }
+
+    @Test
+    public void testEmptyGraph() throws IOException {
+        Path file = folder.newFile().toPath();
+        BinaryGraphFormat.write(new DirectedGraph(), file);
+        assertEquals(0, BinaryGraphFormat.map(file).size());
+    }
+
+    @Test(expected = GraphFormatException.class)
+    public void testRejectsCorruptPayload() throws IOException {
+        DirectedGraph graph = randomDirectedGraph(new Random(3L));
+        File file = folder.newFile();
+        BinaryGraphFormat.write(graph, file.toPath());
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(raf.length() - 3);
+            int b = raf.read();
+            raf.seek(raf.length() - 3);
+            raf.write(b ^ 0xff);
+        }
+
+        BinaryGraphFormat.map(file.toPath());
+    }
+
+    @Test(expected = GraphFormatException.class)
+    public void testRejectsTruncatedFile() throws IOException {
+        DirectedGraph graph = randomDirectedGraph(new Random(4L));
+        File file = folder.newFile();
+        BinaryGraphFormat.write(graph, file.toPath());
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 8);
+        }
+
+        BinaryGraphFormat.map(file.toPath(), false);
+    }
+
+    private static DirectedGraph randomDirectedGraph(Random random) {
+        DirectedGraph graph = new DirectedGraph();
+
+        for (int i = 0; i < 1000; ++i) {
+            graph.addEdge(random.nextInt(200) * 17, 
+                          random.nextInt(200) * 17, 
+                          random.nextDouble());
+        }
+
+        return graph;
+    }
+}
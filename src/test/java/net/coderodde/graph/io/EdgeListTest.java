@@ -0,0 +1,178 @@
+package net.coderodde.graph.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.ConcurrentUndirectedGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.OffHeapUndirectedGraph;
+import net.coderodde.graph.SingleWeightUndirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class EdgeListTest {
+
+    private static final double E = 0.0;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testParse() throws IOException {
+        String input = "# A comment\n"
+                     + "% Another comment\n"
+                     + "\n"
+                     + "1 2\n"
+                     + "  2\t3   2.5\r\n"
+                     + "3 -4 -1e-3 ignored\n"
+                     + "-4 1 0.1\n"
+                     + "5 6 NaN\n"
+                     + "6 5 123456789012345678901.5";
+        DirectedGraph graph = new DirectedGraph();
+        long edges = new EdgeListImporter().importEdges(graph, channel(input));
+
+        assertEquals(6, edges);
+        assertEquals(6, graph.getNumberOfEdges());
+        assertEquals(1.0, graph.getEdgeWeight(1, 2), E);
+        assertEquals(2.5, graph.getEdgeWeight(2, 3), E);
+        assertEquals(-1e-3, graph.getEdgeWeight(3, -4), E);
+        assertEquals(0.1, graph.getEdgeWeight(-4, 1), E);
+        assertTrue(Double.isNaN(graph.getEdgeWeight(5, 6)));
+        assertEquals(123456789012345678901.5, graph.getEdgeWeight(6, 5), E);
+    }
+
+    @Test(expected = GraphFormatException.class)
+    public void testRejectsMissingHead() throws IOException {
+        new EdgeListImporter().importEdges(new DirectedGraph(),
+                                           channel("1 2\n3\n"));
+    }
+
+    @Test(expected = GraphFormatException.class)
+    public void testRejectsOverflow() throws IOException {
+        new EdgeListImporter().importEdges(new DirectedGraph(),
+                                           channel("1 2147483648\n"));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Random random = new Random(5L);
+        UndirectedGraph graph = new UndirectedGraph();
+
+        for (int i = 0; i < 2000; ++i) {
+            graph.addEdge(random.nextInt(300) - 150,
+                          random.nextInt(300) - 150,
+                          random.nextInt(4) == 0 ?
+                                  random.nextInt(10) :
+                                  random.nextGaussian());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new EdgeListExporter().exportEdges(graph, Channels.newChannel(out));
+
+        UndirectedGraph copy = new UndirectedGraph();
+        EdgeListImporter importer = new EdgeListImporter();
+        importer.setBatchSize(100);
+        long edges = importer.importEdges(
+                copy,
+                Channels.newChannel(
+                        new ByteArrayInputStream(out.toByteArray())));
+
+        assertEquals(graph.getNumberOfEdges(), edges);
+        assertSameEdges(graph, copy);
+    }
+
+    @Test
+    public void testExportUndirectedBackends() throws IOException {
+        checkUndirectedExport(new UndirectedGraph());
+        checkUndirectedExport(new ConcurrentUndirectedGraph());
+        checkUndirectedExport(new OffHeapUndirectedGraph());
+        checkUndirectedExport(new SingleWeightUndirectedGraph());
+    }
+
+    @Test
+    public void testParallelImport() throws IOException {
+        Random random = new Random(6L);
+        DirectedGraph expected = new DirectedGraph();
+        Path file = folder.newFile().toPath();
+
+        try (Writer writer = Files.newBufferedWriter(file,
+                                                     StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < 300_000; ++i) {
+                int tail = random.nextInt(5000);
+                int head = random.nextInt(5000);
+
+                if (!expected.hasEdge(tail, head)) {
+                    expected.addEdge(tail, head, i);
+                    writer.write(tail + " " + head + " " + i + "\n");
+                }
+            }
+        }
+
+        DirectedGraph graph = new DirectedGraph();
+        EdgeListImporter importer = new EdgeListImporter();
+        importer.setParallelism(4);
+        long[] lastProgress = new long[2];
+        importer.setProgressListener((bytes, edges) -> {
+            assertTrue(edges >= lastProgress[1]);
+            lastProgress[0] = bytes;
+            lastProgress[1] = edges;
+        });
+
+        assertEquals(expected.getNumberOfEdges(),
+                     importer.importEdges(graph, file));
+        assertEquals(Files.size(file), lastProgress[0]);
+        assertEquals(expected.getNumberOfEdges(), lastProgress[1]);
+        assertSameEdges(expected, graph);
+    }
+
+    private static void checkUndirectedExport(AbstractGraph graph)
+            throws IOException {
+        assertFalse(graph.isDirected());
+        graph.addEdge(1, 2, 1.5);
+        graph.addEdge(3, 2, 2.5);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new EdgeListExporter().exportEdges(graph, Channels.newChannel(out));
+        String[] lines = new String(out.toByteArray(),
+                                    StandardCharsets.US_ASCII).split("\n");
+
+        assertEquals("# Nodes: 3 Edges: 2", lines[0]);
+        assertEquals(3, lines.length);
+
+        UndirectedGraph copy = new UndirectedGraph();
+        new EdgeListImporter().importEdges(
+                copy,
+                Channels.newChannel(
+                        new ByteArrayInputStream(out.toByteArray())));
+
+        assertSameEdges(graph, copy);
+    }
+
+    private static java.nio.channels.ReadableByteChannel channel(String s) {
+        return Channels.newChannel(
+                new ByteArrayInputStream(s.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static void assertSameEdges(AbstractGraph expected,
+                                        AbstractGraph actual) {
+        assertEquals(expected.getNumberOfEdges(), actual.getNumberOfEdges());
+
+        for (Integer nodeId : expected.getAllNodes()) {
+            for (Integer childId : expected.getChildrenOf(nodeId)) {
+                assertEquals(expected.getEdgeWeight(nodeId, childId),
+                             actual.getEdgeWeight(nodeId, childId),
+                             E);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package net.coderodde.graph.pathfinding;
+
+import java.util.Arrays;
+import java.util.Random;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DijkstraPathFinderTest {
+
+    private static final double E = 1e-9;
+
+    @Test
+    public void testSmallGraph() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1, 4.0);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(2, 1, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(3, 0, 1.0);
+        graph.addNode(9);
+
+        DijkstraPathFinder finder = new DijkstraPathFinder(graph);
+
+        assertEquals(4.0, finder.getDistance(0, 3), E);
+        assertEquals(0.0, finder.getDistance(2, 2), E);
+        assertEquals(Double.POSITIVE_INFINITY, finder.getDistance(0, 9), E);
+        assertEquals(Double.POSITIVE_INFINITY, finder.getDistance(0, 7), E);
+
+        ShortestPath path = finder.findPath(0, 3);
+        assertArrayEquals(new int[]{ 0, 2, 1, 3 }, path.toArray());
+        assertEquals(4, path.size());
+        assertEquals(2, path.getNode(1));
+        assertEquals(4.0, path.getCost(), E);
+        assertNull(finder.findPath(9, 0));
+
+        ShortestPathTree tree = finder.computeTree(1);
+        assertEquals(1, tree.getSourceNodeId());
+        assertEquals(2.0, tree.getDistance(0), E);
+        assertEquals(3.0, tree.getDistance(2), E);
+        assertFalse(tree.isReachable(9));
+        assertArrayEquals(new int[]{ 1, 3, 0, 2 },
+                          tree.getPathTo(2).toArray());
+        assertNull(tree.getPathTo(9));
+
+        double[] distances = new double[4];
+        finder.getDistances(0, new int[]{ 3, 9, 1, 3 }, distances);
+        assertArrayEquals(new double[]{ 4.0, Double.POSITIVE_INFINITY,
+                                        3.0, 4.0 },
+                          distances, E);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNegativeWeights() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1, -1.0);
+        new DijkstraPathFinder(graph);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsMissingSource() {
+        new DijkstraPathFinder(new DirectedGraph()).computeTree(0);
+    }
+
+    @Test
+    public void testAgainstBellmanFord() {
+        Random random = new Random(3L);
+
+        for (int round = 0; round < 20; ++round) {
+            AbstractGraph graph = round % 2 == 0 ? new DirectedGraph() :
+                                                   new UndirectedGraph();
+            int n = 30 + random.nextInt(30);
+
+            for (int i = 0; i < 4 * n; ++i) {
+                graph.addEdge(random.nextInt(n),
+                              random.nextInt(n),
+                              random.nextInt(100) / 10.0);
+            }
+
+            DijkstraPathFinder finder = new DijkstraPathFinder(graph);
+            int[] nodes = new int[n];
+
+            for (int i = 0; i < n; ++i) {
+                nodes[i] = i;
+            }
+
+            double[] distances = new double[n];
+
+            for (int source = 0; source < n; ++source) {
+                if (!graph.hasNode(source)) {
+                    continue;
+                }
+
+                double[] expected = bellmanFord(graph, source, n);
+                ShortestPathTree tree = finder.computeTree(source);
+                finder.getDistances(source, nodes, distances);
+
+                for (int target = 0; target < n; ++target) {
+                    assertEquals(expected[target],
+                                 finder.getDistance(source, target), E);
+                    assertEquals(expected[target], distances[target], E);
+                    assertEquals(expected[target],
+                                 tree.getDistance(target), E);
+
+                    ShortestPath path = finder.findPath(source, target);
+
+                    if (expected[target] == Double.POSITIVE_INFINITY) {
+                        assertNull(path);
+                    } else {
+                        assertEquals(expected[target], cost(graph, path), E);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentQueries() throws InterruptedException {
+        UndirectedGraph graph = new UndirectedGraph();
+
+        for (int i = 1; i < 500; ++i) {
+            graph.addEdge(i - 1, i, 1.0);
+        }
+
+        DijkstraPathFinder finder = new DijkstraPathFinder(graph);
+        boolean[] failed = new boolean[1];
+        Thread[] threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; ++t) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 200; ++i) {
+                    int source = (i + offset) % 500;
+
+                    if (finder.getDistance(source, 499) != 499 - source) {
+                        failed[0] = true;
+                    }
+                }
+            });
+
+            threads[t].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(failed[0]);
+    }
+
+    static double[] bellmanFord(AbstractGraph graph, int source, int n) {
+        double[] distances = new double[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0.0;
+
+        for (int round = 0; round < n; ++round) {
+            for (int tail = 0; tail < n; ++tail) {
+                if (distances[tail] == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                for (Integer head : graph.getChildrenOf(tail)) {
+                    double tentative = distances[tail] +
+                                       graph.getEdgeWeight(tail, head);
+
+                    if (tentative < distances[head]) {
+                        distances[head] = tentative;
+                    }
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    static double cost(AbstractGraph graph, ShortestPath path) {
+        double cost = 0.0;
+
+        for (int i = 1; i < path.size(); ++i) {
+            assertTrue(graph.hasEdge(path.getNode(i - 1), path.getNode(i)));
+            cost += graph.getEdgeWeight(path.getNode(i - 1), path.getNode(i));
+        }
+
+        assertEquals(path.getCost(), cost, E);
+        return cost;
+    }
+}
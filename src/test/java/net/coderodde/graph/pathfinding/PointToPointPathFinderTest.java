@@ -0,0 +1,101 @@
+package net.coderodde.graph.pathfinding;
+
+import java.util.Random;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PointToPointPathFinderTest {
+
+    private static final double E = 1e-9;
+
+    @Test
+    public void testSmallGraph() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1, 4.0);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(2, 1, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addNode(9);
+
+        Heuristic zero = (nodeId, targetNodeId) -> 0.0;
+        PathFinder[] finders = {
+            new AStarPathFinder(graph, zero),
+            new BidirectionalPathFinder(graph),
+            new BidirectionalPathFinder(graph, zero)
+        };
+
+        for (PathFinder finder : finders) {
+            assertEquals(4.0, finder.getDistance(0, 3), E);
+            assertArrayEquals(new int[]{ 0, 2, 1, 3 },
+                              finder.findPath(0, 3).toArray());
+            assertArrayEquals(new int[]{ 2 }, finder.findPath(2, 2).toArray());
+            assertEquals(Double.POSITIVE_INFINITY, finder.getDistance(3, 0), E);
+            assertNull(finder.findPath(0, 9));
+            assertNull(finder.findPath(0, 8));
+        }
+    }
+
+    @Test
+    public void testAgainstDijkstra() {
+        Random random = new Random(5L);
+
+        for (int round = 0; round < 20; ++round) {
+            int n = 40 + random.nextInt(40);
+            double[] x = new double[n];
+            double[] y = new double[n];
+
+            for (int i = 0; i < n; ++i) {
+                x[i] = random.nextDouble() * 10.0;
+                y[i] = random.nextDouble() * 10.0;
+            }
+
+            AbstractGraph graph = round % 2 == 0 ? new DirectedGraph() :
+                                                   new UndirectedGraph();
+
+            for (int i = 0; i < 3 * n; ++i) {
+                int tail = random.nextInt(n);
+                int head = random.nextInt(n);
+                double length = Math.hypot(x[tail] - x[head],
+                                           y[tail] - y[head]);
+                graph.addEdge(tail, head,
+                              length * (1.0 + random.nextDouble()));
+            }
+
+            Heuristic euclidean = (u, v) -> Math.hypot(x[u] - x[v],
+                                                       y[u] - y[v]);
+            DijkstraPathFinder dijkstra = new DijkstraPathFinder(graph);
+            PathFinder[] finders = {
+                new AStarPathFinder(graph, euclidean),
+                new BidirectionalPathFinder(graph),
+                new BidirectionalPathFinder(graph, euclidean)
+            };
+
+            for (int i = 0; i < 100; ++i) {
+                int source = random.nextInt(n);
+                int target = random.nextInt(n);
+                double expected = dijkstra.getDistance(source, target);
+
+                for (PathFinder finder : finders) {
+                    assertEquals(expected,
+                                 finder.getDistance(source, target),
+                                 E);
+
+                    ShortestPath path = finder.findPath(source, target);
+
+                    if (expected == Double.POSITIVE_INFINITY) {
+                        assertNull(path);
+                    } else {
+                        assertEquals(source, path.getNode(0));
+                        assertEquals(target, path.getNode(path.size() - 1));
+                        assertEquals(expected,
+                                     DijkstraPathFinderTest.cost(graph, path),
+                                     E);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package net.coderodde.graph.ranking;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PageRankTest {
+
+    private static final double E = 1e-7;
+
+    @Test
+    public void testCycle() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+
+        PageRankResult result = new PageRank().compute(graph);
+
+        assertTrue(result.isConverged());
+        assertFalse(result.isWarmStarted());
+
+        for (int node = 0; node < 3; ++node) {
+            assertEquals(1.0 / 3.0, result.getRank(node), E);
+        }
+
+        assertTrue(Double.isNaN(result.getRank(3)));
+    }
+
+    @Test
+    public void testDanglingNode() {
+        // The node 1 is dangling; its rank is spread uniformly.
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1);
+
+        PageRankResult result = new PageRank().compute(graph);
+        double d = 0.85;
+        // r0 = (1 - d) / 2 + d * r1 / 2, r1 = (1 - d) / 2 + d * (r0 + r1 / 2)
+        double r0 = 1.0 / (2.0 + d);
+        assertEquals(r0, result.getRank(0), E);
+        assertEquals(1.0 - r0, result.getRank(1), E);
+    }
+
+    @Test
+    public void testAgainstSequentialIteration() {
+        Random random = new Random(23L);
+        DirectedGraph graph = new DirectedGraph();
+        int n = 20_000;
+
+        for (int i = 0; i < 3 * n; ++i) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            PageRank pageRank = new PageRank(pool);
+            pageRank.setTolerance(1e-12);
+            pageRank.setMaxIterations(200);
+            PageRankResult result = pageRank.compute(graph);
+            double[] expected = sequential(graph, n, 0.85, 200);
+            double sum = 0.0;
+
+            for (int node = 0; node < n; ++node) {
+                if (graph.hasNode(node)) {
+                    assertEquals(expected[node], result.getRank(node), 1e-10);
+                    sum += result.getRank(node);
+                }
+            }
+
+            assertEquals(1.0, sum, 1e-9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPersonalized() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+        graph.addEdge(2, 0);
+        graph.addEdge(3, 2);
+
+        PageRankResult result = new PageRank()
+                .computePersonalized(graph, new int[]{ 0 }, null);
+
+        // Nothing leads back to 2 or 3 from the teleport target 0.
+        assertEquals(0.0, result.getRank(2), E);
+        assertEquals(0.0, result.getRank(3), E);
+        assertEquals(1.0 / 1.85, result.getRank(0), E);
+        assertEquals(0.85 / 1.85, result.getRank(1), E);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPersonalizedRejectsMissingNode() {
+        new PageRank().computePersonalized(new DirectedGraph(),
+                                           new int[]{ 1 },
+                                           null);
+    }
+
+    @Test
+    public void testWarmStart() {
+        Random random = new Random(29L);
+        UndirectedGraph graph = new UndirectedGraph();
+
+        for (int i = 0; i < 30_000; ++i) {
+            graph.addEdge(random.nextInt(5_000), random.nextInt(5_000));
+        }
+
+        PageRank pageRank = new PageRank();
+        PageRankResult cold = pageRank.compute(graph);
+
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addNode(99_999);
+
+        PageRankResult warm = pageRank.compute(graph);
+        PageRankResult reference = new PageRank().compute(graph);
+
+        assertTrue(warm.isWarmStarted());
+        assertFalse(reference.isWarmStarted());
+        assertTrue(warm.getIterations() < cold.getIterations());
+
+        for (int node = 0; node < 5_000; ++node) {
+            if (graph.hasNode(node)) {
+                assertEquals(reference.getRank(node), warm.getRank(node), 1e-8);
+            }
+        }
+
+        pageRank.setWarmStartThreshold(0.0);
+        graph.addEdge(4, 5);
+        assertFalse(pageRank.compute(graph).isWarmStarted());
+    }
+
+    private static double[] sequential(DirectedGraph graph,
+                                       int n,
+                                       double d,
+                                       int iterations) {
+        int size = graph.size();
+        double[] ranks = new double[n];
+
+        for (Integer node : graph.getAllNodes()) {
+            ranks[node] = 1.0 / size;
+        }
+
+        for (int iteration = 0; iteration < iterations; ++iteration) {
+            double dangling = 0.0;
+
+            for (Integer node : graph.getAllNodes()) {
+                if (graph.getChildrenOf(node).isEmpty()) {
+                    dangling += ranks[node];
+                }
+            }
+
+            double[] next = new double[n];
+
+            for (Integer node : graph.getAllNodes()) {
+                double pulled = 0.0;
+
+                for (Integer parent : graph.getParentsOf(node)) {
+                    pulled += ranks[parent] /
+                              graph.getChildrenOf(parent).size();
+                }
+
+                next[node] = (1.0 - d) / size + d * (pulled + dangling / size);
+            }
+
+            ranks = next;
+        }
+
+        return ranks;
+    }
+}
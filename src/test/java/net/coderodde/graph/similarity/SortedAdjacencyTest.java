@@ -0,0 +1,132 @@
+package net.coderodde.graph.similarity;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SortedAdjacencyTest {
+
+    @Test
+    public void testAgainstHashSets() {
+        Random random = new Random(5L);
+        AbstractGraph[] graphs = { new DirectedGraph(), new UndirectedGraph() };
+
+        for (AbstractGraph graph : graphs) {
+            // A few hubs make the galloping intersection kick in.
+            for (int i = 0; i < 20000; ++i) {
+                int tail = random.nextInt(10) == 0 ?
+                           random.nextInt(5) :
+                           random.nextInt(1000);
+                graph.addEdge(tail * 31, random.nextInt(1000) * 31);
+            }
+
+            SortedAdjacency adjacency = new SortedAdjacency(graph);
+            assertEquals(graph.size(), adjacency.size());
+
+            for (int i = 0; i < 5000; ++i) {
+                int u = random.nextInt(1001) * 31;
+                int v = random.nextInt(20) == 0 ?
+                        random.nextInt(5) * 31 :
+                        random.nextInt(1001) * 31;
+
+                Set<Integer> expected = new HashSet<>(graph.getChildrenOf(u));
+                expected.retainAll(graph.getChildrenOf(v));
+
+                Set<Integer> actual = new HashSet<>();
+
+                for (int nodeId : adjacency.commonNeighbors(u, v)) {
+                    assertTrue(actual.add(nodeId));
+                }
+
+                assertEquals(expected, actual);
+                assertEquals(expected.size(), adjacency.intersectionSize(u, v));
+                assertEquals(graph.hasEdge(u, v), adjacency.hasEdge(u, v));
+                assertEquals(graph.getNumberOfChildren(u),
+                             adjacency.getDegree(u));
+
+                int union = graph.getNumberOfChildren(u) +
+                            graph.getNumberOfChildren(v) -
+                            expected.size();
+                assertEquals(union == 0 ? 0.0 : (double) expected.size() / union,
+                             adjacency.jaccard(u, v),
+                             0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testSmallGraph() {
+        UndirectedGraph graph = new UndirectedGraph();
+        graph.addEdge(1, 3);
+        graph.addEdge(1, 4);
+        graph.addEdge(2, 3);
+        graph.addEdge(2, 4);
+        graph.addEdge(2, 5);
+        graph.addNode(6);
+
+        SortedAdjacency adjacency = new SortedAdjacency(graph);
+
+        assertEquals(2, adjacency.intersectionSize(1, 2));
+        assertEquals(2.0 / 3.0, adjacency.jaccard(1, 2), 1e-12);
+        assertEquals(0.0, adjacency.jaccard(6, 6), 0.0);
+        assertEquals(0.0, adjacency.jaccard(1, 100), 0.0);
+        assertEquals(0, adjacency.commonNeighbors(1, 100).length);
+        assertTrue(adjacency.hasEdge(5, 2));
+        assertFalse(adjacency.hasEdge(5, 1));
+        assertEquals(0, adjacency.getDegree(100));
+
+        // The adjacency does not follow the graph.
+        graph.addEdge(1, 5);
+        assertFalse(adjacency.hasEdge(1, 5));
+    }
+
+    @Test
+    public void testPairScorer() {
+        Random random = new Random(9L);
+        UndirectedGraph graph = new UndirectedGraph();
+
+        for (int i = 0; i < 10000; ++i) {
+            graph.addEdge(random.nextInt(500), random.nextInt(500));
+        }
+
+        SortedAdjacency adjacency = new SortedAdjacency(graph);
+        int[] nodeIds1 = new int[5000];
+        int[] nodeIds2 = new int[5000];
+
+        for (int i = 0; i < nodeIds1.length; ++i) {
+            nodeIds1[i] = random.nextInt(510);
+            nodeIds2[i] = random.nextInt(510);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            PairScorer scorer = new PairScorer(pool);
+            int[] sizes = scorer.intersectionSizes(adjacency, nodeIds1, nodeIds2);
+            double[] scores = scorer.jaccard(adjacency, nodeIds1, nodeIds2);
+
+            for (int i = 0; i < nodeIds1.length; ++i) {
+                assertEquals(adjacency.intersectionSize(nodeIds1[i], nodeIds2[i]),
+                             sizes[i]);
+                assertEquals(adjacency.jaccard(nodeIds1[i], nodeIds2[i]),
+                             scores[i],
+                             0.0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPairScorerRejectsMismatchedArrays() {
+        new PairScorer().jaccard(new SortedAdjacency(new DirectedGraph()),
+                                 new int[2],
+                                 new int[3]);
+    }
+}
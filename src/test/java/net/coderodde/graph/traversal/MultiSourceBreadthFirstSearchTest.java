@@ -0,0 +1,118 @@
+package net.coderodde.graph.traversal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MultiSourceBreadthFirstSearchTest {
+
+    @Test
+    public void testAgainstSingleSourceSearch() {
+        Random random = new Random(19L);
+
+        for (int round = 0; round < 4; ++round) {
+            AbstractGraph graph = round % 2 == 0 ? new DirectedGraph() :
+                                                   new UndirectedGraph();
+            int n = 300;
+
+            for (int i = 0; i < 2 * n; ++i) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n));
+            }
+
+            // Distinct sources spanning more than one batch.
+            int[] sources = new int[150];
+            int count = 0;
+
+            for (int node = 0; count < sources.length; ++node) {
+                if (graph.hasNode(node)) {
+                    sources[count++] = node;
+                }
+            }
+
+            MultiSourceBreadthFirstSearch search =
+                    new MultiSourceBreadthFirstSearch(graph);
+
+            if (round >= 2) {
+                search.setBatchSize(128);
+            }
+
+            Map<Long, Integer> actual = new HashMap<>();
+            int[] lastDistance = new int[n];
+
+            search.search(sources, (source, node, distance) -> {
+                assertTrue(distance >= lastDistance[source]);
+                lastDistance[source] = distance;
+                Integer old = actual.put(key(source, node), distance);
+                assertTrue(old == null || old == distance);
+            });
+
+            int expectedCount = 0;
+
+            for (int source : sources) {
+                Map<Integer, Integer> expected = bfs(graph, source);
+                expectedCount += expected.size();
+
+                for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+                    assertEquals(entry.getValue(),
+                                 actual.get(key(source, entry.getKey())));
+                }
+            }
+
+            assertEquals(expectedCount, actual.size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsBadBatchSize() {
+        new MultiSourceBreadthFirstSearch(new DirectedGraph()).setBatchSize(65);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsBatchOverflowingMasks() {
+        DirectedGraph graph = new DirectedGraph();
+
+        for (int i = 0; i < 2048; ++i) {
+            graph.addNode(i);
+        }
+
+        // 2048 nodes times 2^20 words per node overflow an int.
+        new MultiSourceBreadthFirstSearch(graph).setBatchSize(1 << 26);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsMissingSource() {
+        new MultiSourceBreadthFirstSearch(new DirectedGraph())
+                .search(new int[]{ 1 }, (source, node, distance) -> {});
+    }
+
+    private static long key(int source, int node) {
+        return ((long) source << 32) | node;
+    }
+
+    private static Map<Integer, Integer> bfs(AbstractGraph graph, int source) {
+        Map<Integer, Integer> distances = new HashMap<>();
+        Deque<Integer> queue = new ArrayDeque<>();
+        distances.put(source, 0);
+        queue.add(source);
+
+        while (!queue.isEmpty()) {
+            Integer node = queue.remove();
+
+            for (Integer child : graph.getChildrenOf(node)) {
+                if (!distances.containsKey(child)) {
+                    distances.put(child, distances.get(node) + 1);
+                    queue.add(child);
+                }
+            }
+        }
+
+        return distances;
+    }
+}
@@ -0,0 +1,119 @@
+package net.coderodde.graph.traversal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import net.coderodde.graph.AbstractGraph;
+import net.coderodde.graph.DirectedGraph;
+import net.coderodde.graph.UndirectedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ParallelBreadthFirstSearchTest {
+
+    @Test
+    public void testSmallGraph() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(10, 11);
+        graph.addEdge(11, 12);
+        graph.addEdge(10, 12);
+        graph.addEdge(12, 13);
+        graph.addNode(20);
+
+        BreadthFirstTree tree = new ParallelBreadthFirstSearch(graph)
+                .search(10);
+
+        assertEquals(10, tree.getSourceNodeId());
+        assertEquals(0, tree.getDistance(10));
+        assertEquals(1, tree.getDistance(12));
+        assertEquals(2, tree.getDistance(13));
+        assertEquals(-1, tree.getDistance(20));
+        assertEquals(-1, tree.getDistance(99));
+        assertFalse(tree.isReachable(20));
+        assertEquals(10, tree.getParent(12));
+        assertEquals(12, tree.getParent(13));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testSourceHasNoParent() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.addEdge(0, 1);
+        new ParallelBreadthFirstSearch(graph).search(0).getParent(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsMissingSource() {
+        new ParallelBreadthFirstSearch(new DirectedGraph()).search(0);
+    }
+
+    @Test
+    public void testAgainstSequentialSearch() {
+        Random random = new Random(11L);
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (int round = 0; round < 6; ++round) {
+                AbstractGraph graph = round % 2 == 0 ? new DirectedGraph() :
+                                                       new UndirectedGraph();
+                int n = 1000 + random.nextInt(20_000);
+                int degree = 1 + random.nextInt(12);
+
+                for (int i = 0; i < degree * n; ++i) {
+                    graph.addEdge(random.nextInt(n), random.nextInt(n));
+                }
+
+                ParallelBreadthFirstSearch search =
+                        new ParallelBreadthFirstSearch(graph, pool);
+
+                for (int i = 0; i < 3; ++i) {
+                    int source = random.nextInt(n);
+
+                    if (!graph.hasNode(source)) {
+                        continue;
+                    }
+
+                    BreadthFirstTree tree = search.search(source);
+                    Map<Integer, Integer> expected = bfs(graph, source);
+
+                    for (Integer node : graph.getAllNodes()) {
+                        Integer distance = expected.get(node);
+                        assertEquals(distance == null ? -1 : distance,
+                                     tree.getDistance(node));
+
+                        if (distance != null && distance > 0) {
+                            int parent = tree.getParent(node);
+                            assertTrue(graph.hasEdge(parent, node));
+                            assertEquals(distance - 1, tree.getDistance(parent));
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Map<Integer, Integer> bfs(AbstractGraph graph, int source) {
+        Map<Integer, Integer> distances = new HashMap<>();
+        Deque<Integer> queue = new ArrayDeque<>();
+        distances.put(source, 0);
+        queue.add(source);
+
+        while (!queue.isEmpty()) {
+            Integer node = queue.remove();
+
+            for (Integer child : graph.getChildrenOf(node)) {
+                if (!distances.containsKey(child)) {
+                    distances.put(child, distances.get(node) + 1);
+                    queue.add(child);
+                }
+            }
+        }
+
+        return distances;
+    }
+}